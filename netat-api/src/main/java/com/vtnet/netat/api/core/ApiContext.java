@@ -1,8 +1,11 @@
 package com.vtnet.netat.api.core;
 
+import com.vtnet.netat.api.replay.ApiReplay;
+import com.vtnet.netat.core.utils.ConfigurationManager;
 import io.restassured.specification.RequestSpecification;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 
@@ -12,6 +15,7 @@ public class ApiContext {
     private int timeout = 30; // seconds (default)
     private boolean logRequests = false;
     private boolean sslVerificationEnabled = true;
+    private Transport transport = Transport.fromConfig();
 
     private Map<String, String> headers;
     private Map<String, Object> queryParams;
@@ -45,6 +49,39 @@ public class ApiContext {
         QUERY
     }
 
+    /**
+     * HTTP stack dùng để gửi request.
+     * <ul>
+     *   <li>{@code REST_ASSURED}: RestAssured + Apache HttpClient (HTTP/1.1), mặc định</li>
+     *   <li>{@code JDK_HTTP2}: {@link JdkHttpTransport} - JDK HttpClient, HTTP/2 multiplexing và gửi bất đồng bộ</li>
+     * </ul>
+     * Mặc định lấy từ {@code api.transport}.
+     */
+    public enum Transport {
+        REST_ASSURED,
+        JDK_HTTP2;
+
+        public static Transport fromString(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return REST_ASSURED;
+            }
+            String normalized = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+            if (normalized.equals("JDK") || normalized.equals("HTTP2") || normalized.equals("HTTP_2")) {
+                return JDK_HTTP2;
+            }
+            try {
+                return valueOf(normalized);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported transport: " + value
+                        + ". Use REST_ASSURED or JDK_HTTP2");
+            }
+        }
+
+        static Transport fromConfig() {
+            return fromString(ConfigurationManager.getProperty("api.transport", "REST_ASSURED"));
+        }
+    }
+
 
     public ApiContext() {
         this.headers = new HashMap<>();
@@ -332,6 +369,7 @@ public class ApiContext {
         this.baseUri = null;
         this.timeout = 30;
         this.logRequests = false;
+        this.transport = Transport.fromConfig();
     }
 
 
@@ -341,11 +379,12 @@ public class ApiContext {
             spec.baseUri(baseUri);
         }
 
-        if (timeout > 0) {
-            spec.config(io.restassured.config.RestAssuredConfig.config()
-                    .connectionConfig(io.restassured.config.ConnectionConfig.connectionConfig()
-                            .closeIdleConnectionsAfterEachResponseAfter(timeout, java.util.concurrent.TimeUnit.SECONDS)));
-        }
+        // Record/replay filter (no-op when api.replay.mode is OFF). Must run before configFor:
+        // the first call starts the mode from api.replay.mode, which sets the replay route
+        ApiReplay.applyTo(spec);
+
+        // Shared pooled client for this base URI (timeout + SSL mode included)
+        spec.config(ApiHttpClientPool.configFor(this));
 
         if (headers != null && !headers.isEmpty()) {
             spec.headers(headers);
@@ -438,6 +477,8 @@ public class ApiContext {
         newContext.baseUri = this.baseUri;
         newContext.timeout = this.timeout;
         newContext.logRequests = this.logRequests;
+        newContext.sslVerificationEnabled = this.sslVerificationEnabled;
+        newContext.transport = this.transport;
         newContext.contentType = this.contentType;
 
         if (this.headers != null) {
@@ -496,6 +537,10 @@ public class ApiContext {
             sb.append("hasBody=true, ");
         }
 
+        if (transport != Transport.REST_ASSURED) {
+            sb.append("transport=").append(transport).append(", ");
+        }
+
         sb.append("timeout=").append(timeout).append("s");
         sb.append("}");
 
@@ -509,4 +554,12 @@ public class ApiContext {
     public boolean isSslVerificationEnabled() {
         return sslVerificationEnabled;
     }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport != null ? transport : Transport.REST_ASSURED;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,344 @@
+package com.vtnet.netat.api.core;
+
+import com.vtnet.netat.core.logging.NetatLogger;
+import com.vtnet.netat.core.utils.ConfigurationManager;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpParams;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared, pooled HTTP clients for RestAssured requests.
+ *
+ * <p>One pooled connection manager is kept per base URI (scheme + host + port), timeout and
+ * SSL mode, and is shared by every request and thread that targets it, so sockets stay open
+ * between requests (keep-alive) and HTTPS connections reuse the TLS session of a single shared
+ * {@code SSLSocketFactory} instead of handshaking again. Each request still gets its own
+ * lightweight client on top of that manager, so credentials and cookies set for one
+ * ApiContext never reach requests of another.
+ * A connection goes back to the pool once the response body has been read, which
+ * {@link ApiResponse} does on construction.
+ *
+ * <p>Configuration keys (System Properties override config files):
+ * <ul>
+ *   <li>{@code api.http.pool.enabled} - share pooled clients (default: true)</li>
+ *   <li>{@code api.http.pool.maxTotal} - max connections per client (default: 200)</li>
+ *   <li>{@code api.http.pool.maxPerRoute} - max connections per host (default: 50)</li>
+ *   <li>{@code api.http.pool.keepAliveMs} - keep-alive when the server sends none (default: 30000)</li>
+ * </ul>
+ *
+ * <p>Example:
+ * <pre>{@code
+ * RequestSpecification spec = RestAssured.given()
+ *         .config(ApiHttpClientPool.configFor("https://api.example.com", 30, true));
+ * }</pre>
+ *
+ * @author NETAT Team
+ * @since 1.1.0
+ */
+@SuppressWarnings("deprecation")
+public final class ApiHttpClientPool {
+
+    private static final NetatLogger logger = NetatLogger.getInstance(ApiHttpClientPool.class);
+
+    private static final String DEFAULT_ORIGIN = "default";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(
+            ConfigurationManager.getProperty("api.http.pool.enabled", "true"));
+    private static final int MAX_TOTAL = readInt("api.http.pool.maxTotal", 200);
+    private static final int MAX_PER_ROUTE = readInt("api.http.pool.maxPerRoute", 50);
+    private static final long KEEP_ALIVE_MS = readInt("api.http.pool.keepAliveMs", 30000);
+
+    private static final Map<PoolKey, PooledClient> POOLS = new ConcurrentHashMap<>();
+
+    // When set, every pooled request opens its socket to this host instead (replay stub)
+    private static volatile HttpHost routeOverride;
+
+    private ApiHttpClientPool() {
+    }
+
+    /**
+     * Returns the shared RestAssured config for the given target.
+     *
+     * @param baseUri base URI or full URL of the target (null uses a default pool)
+     * @param timeoutSeconds connect/read timeout in seconds (0 = no timeout)
+     * @param sslVerificationEnabled false to trust all certificates and host names
+     * @return config bound to the pooled client
+     */
+    public static RestAssuredConfig configFor(String baseUri, int timeoutSeconds,
+                                              boolean sslVerificationEnabled) {
+        HttpHost route = routeOverride;
+        if (!ENABLED && route == null) {
+            return unpooledConfig(timeoutSeconds, sslVerificationEnabled);
+        }
+        PoolKey key = new PoolKey(originOf(baseUri), Math.max(timeoutSeconds, 0), !sslVerificationEnabled,
+                route != null ? route.toHostString() : null);
+        return POOLS.computeIfAbsent(key, PooledClient::new).config;
+    }
+
+    /**
+     * Returns the shared RestAssured config matching an ApiContext.
+     *
+     * @param context the request context
+     * @return config bound to the pooled client
+     */
+    public static RestAssuredConfig configFor(ApiContext context) {
+        return configFor(context.getBaseUri(), context.getTimeout(), context.isSslVerificationEnabled());
+    }
+
+    /**
+     * Sends every pooled request to the given plain-HTTP host instead of its real target,
+     * keeping the original Host header and request path. Used by the record/replay stub.
+     *
+     * @param host host to route to (e.g. 127.0.0.1)
+     * @param port port to route to
+     */
+    public static void routeAllTo(String host, int port) {
+        routeOverride = new HttpHost(host, port, "http");
+        logger.info("All pooled HTTP requests are routed to {}", routeOverride);
+    }
+
+    /**
+     * Removes the route set by {@link #routeAllTo(String, int)}.
+     */
+    public static void clearRoute() {
+        HttpHost previous = routeOverride;
+        routeOverride = null;
+        if (previous != null) {
+            POOLS.entrySet().removeIf(entry -> {
+                if (entry.getKey().route != null) {
+                    entry.getValue().connectionManager.shutdown();
+                    return true;
+                }
+                return false;
+            });
+            logger.info("HTTP route override to {} removed", previous);
+        }
+    }
+
+    /**
+     * Closes connections that have been idle longer than the keep-alive period.
+     */
+    public static void closeIdleConnections() {
+        for (PooledClient pooled : POOLS.values()) {
+            pooled.connectionManager.closeExpiredConnections();
+            pooled.connectionManager.closeIdleConnections(KEEP_ALIVE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Shuts down all pooled clients. Later requests create new ones.
+     */
+    public static void shutdown() {
+        for (PoolKey key : POOLS.keySet()) {
+            PooledClient pooled = POOLS.remove(key);
+            if (pooled != null) {
+                pooled.connectionManager.shutdown();
+            }
+        }
+        logger.debug("HTTP client pools shut down");
+    }
+
+    /**
+     * Reduces a base URI or URL to scheme://host:port so all paths share one pool.
+     */
+    static String originOf(String uri) {
+        if (uri == null || uri.isEmpty()) {
+            return DEFAULT_ORIGIN;
+        }
+        try {
+            URI parsed = URI.create(uri.trim());
+            if (parsed.getScheme() == null || parsed.getHost() == null) {
+                return DEFAULT_ORIGIN;
+            }
+            String scheme = parsed.getScheme().toLowerCase();
+            int port = parsed.getPort() != -1 ? parsed.getPort() : ("https".equals(scheme) ? 443 : 80);
+            return scheme + "://" + parsed.getHost().toLowerCase() + ":" + port;
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_ORIGIN;
+        }
+    }
+
+    private static RestAssuredConfig unpooledConfig(int timeoutSeconds, boolean sslVerificationEnabled) {
+        RestAssuredConfig config = RestAssuredConfig.config()
+                .httpClient(withTimeouts(HttpClientConfig.httpClientConfig(), timeoutSeconds));
+        if (!sslVerificationEnabled) {
+            config = config.sslConfig(io.restassured.config.SSLConfig.sslConfig()
+                    .relaxedHTTPSValidation()
+                    .allowAllHostnames());
+        }
+        return config;
+    }
+
+    private static HttpClientConfig withTimeouts(HttpClientConfig config, int timeoutSeconds) {
+        if (timeoutSeconds <= 0) {
+            return config;
+        }
+        int timeoutMillis = (int) TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        return config
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, timeoutMillis)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, timeoutMillis);
+    }
+
+    private static int readInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(ConfigurationManager.getProperty(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static SSLSocketFactory trustAllSocketFactory() {
+        try {
+            return new SSLSocketFactory((chain, authType) -> true,
+                    SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot create trust-all SSL socket factory", e);
+        }
+    }
+
+    /**
+     * One pooled client and the RestAssured config that hands it out.
+     */
+    private static final class PooledClient {
+        private final PoolingClientConnectionManager connectionManager;
+        private final RestAssuredConfig config;
+        private final HttpHost route;
+
+        PooledClient(PoolKey key) {
+            this.route = key.route != null ? routeOverride : null;
+
+            SchemeRegistry registry = new SchemeRegistry();
+            if (route != null) {
+                // RestAssured installs its own route planner per request, so the redirect is done
+                // where sockets are opened: every host resolves and connects to the route host
+                RoutedSocketFactory routed = new RoutedSocketFactory(route);
+                registry.register(new Scheme("http", 80, routed));
+                registry.register(new Scheme("https", 443, routed));
+                this.connectionManager = new PoolingClientConnectionManager(registry, routed);
+            } else {
+                registry.register(new Scheme("http", 80, PlainSocketFactory.getSocketFactory()));
+                registry.register(new Scheme("https", 443,
+                        key.relaxedSsl ? trustAllSocketFactory() : SSLSocketFactory.getSocketFactory()));
+                this.connectionManager = new PoolingClientConnectionManager(registry);
+            }
+            connectionManager.setMaxTotal(MAX_TOTAL);
+            connectionManager.setDefaultMaxPerRoute(MAX_PER_ROUTE);
+
+            // No reuseHttpClientInstance(): a shared client would also share its credentials
+            // provider and cookie store between contexts; only the connections are shared
+            HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                    .httpClientFactory(this::createClient)
+                    .setParam(CoreConnectionPNames.STALE_CONNECTION_CHECK, true);
+
+            this.config = RestAssuredConfig.config()
+                    .httpClient(withTimeouts(httpClientConfig, key.timeoutSeconds));
+
+            logger.debug("Created HTTP client pool for {} (timeout={}s, relaxedSsl={}, maxPerRoute={})",
+                    key.origin, key.timeoutSeconds, key.relaxedSsl, MAX_PER_ROUTE);
+        }
+
+        private AbstractHttpClient createClient() {
+            DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+            client.setReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE);
+            client.setKeepAliveStrategy(keepAliveStrategy());
+            return client;
+        }
+
+        private static ConnectionKeepAliveStrategy keepAliveStrategy() {
+            return (response, context) -> {
+                long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                        .getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? Math.min(serverKeepAlive, KEEP_ALIVE_MS) : KEEP_ALIVE_MS;
+            };
+        }
+    }
+
+    /**
+     * Plain socket factory and resolver that send every connection to one host, whatever the
+     * request target is. HTTPS targets are not layered, so they reach the route host as plain HTTP.
+     */
+    private static final class RoutedSocketFactory implements SchemeSocketFactory, DnsResolver {
+        private final HttpHost route;
+
+        RoutedSocketFactory(HttpHost route) {
+            this.route = route;
+        }
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            return new InetAddress[]{InetAddress.getByName(route.getHostName())};
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) {
+            return PlainSocketFactory.getSocketFactory().createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            InetSocketAddress routed = new InetSocketAddress(remoteAddress.getAddress(), route.getPort());
+            return PlainSocketFactory.getSocketFactory().connectSocket(socket, routed, localAddress, params);
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return false;
+        }
+    }
+
+    private static final class PoolKey {
+        private final String origin;
+        private final int timeoutSeconds;
+        private final boolean relaxedSsl;
+        private final String route;
+
+        PoolKey(String origin, int timeoutSeconds, boolean relaxedSsl, String route) {
+            this.origin = origin;
+            this.timeoutSeconds = timeoutSeconds;
+            this.relaxedSsl = relaxedSsl;
+            this.route = route;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PoolKey)) return false;
+            PoolKey other = (PoolKey) o;
+            return timeoutSeconds == other.timeoutSeconds
+                    && relaxedSsl == other.relaxedSsl
+                    && origin.equals(other.origin)
+                    && Objects.equals(route, other.route);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origin, timeoutSeconds, relaxedSsl, route);
+        }
+    }
+}
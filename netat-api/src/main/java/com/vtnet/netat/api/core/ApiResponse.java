@@ -1,18 +1,27 @@
 package com.vtnet.netat.api.core;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import io.restassured.http.Cookie;
 import io.restassured.http.Header;
 import io.restassured.response.Response;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 
-import java.util.HashMap;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -26,8 +35,23 @@ public class ApiResponse {
     private final int statusCode;
     private final String statusLine;
 
+    // Lazily populated caches; a racing first access just repeats the work
+    private volatile String body;
+    private volatile Object jsonDocument;
+    private volatile io.restassured.path.json.JsonPath restAssuredJsonPath;
+
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    // Jackson provider giữ thứ tự key (LinkedHashMap) cho cả JSONPath lẫn pretty print
+    private static final Configuration JSON_CONFIGURATION = Configuration.builder()
+            .jsonProvider(new JacksonJsonProvider(objectMapper))
+            .mappingProvider(new JacksonMappingProvider(objectMapper))
+            .build();
+
+    // JSONPath đã compile, dùng chung cho mọi response
+    private static final int MAX_COMPILED_PATHS = 1024;
+    private static final Map<String, JsonPath> COMPILED_PATHS = new ConcurrentHashMap<>();
+
     public ApiResponse(Response response) {
         this.restAssuredResponse = response;
         this.responseTime = response.getTime();
@@ -59,7 +83,12 @@ public class ApiResponse {
     // === BODY ===
 
     public String getBody() {
-        return restAssuredResponse.getBody().asString();
+        String cached = body;
+        if (cached == null) {
+            cached = restAssuredResponse.getBody().asString();
+            body = cached;
+        }
+        return cached;
     }
 
     public String getPrettyBody() {
@@ -76,46 +105,82 @@ public class ApiResponse {
 
     // === JSON ===
 
-    public String getJsonPath(String path) {
-        String normalizedPath = (path != null && !path.startsWith("$")) ? "$." + path : path;
+    /**
+     * Đọc giá trị thô tại JSON path từ document đã parse (parse body đúng một lần).
+     *
+     * @param path JSONPath, có hoặc không có tiền tố "$."
+     * @return giá trị tại path (Map, List, String, Number, Boolean hoặc null)
+     * @throws PathNotFoundException nếu path không tồn tại
+     * @throws InvalidJsonException nếu body không phải JSON
+     */
+    public Object readJsonPath(String path) {
+        return getJsonDocument().read(compilePath(normalizePath(path)));
+    }
 
+    /**
+     * Giá trị tại JSON path dạng String. Object trả về theo {@code Map.toString()} ({@code {a=1}}),
+     * array trả về dạng JSON ({@code [1,"x"]}), giống như khi đọc bằng provider mặc định của JsonPath.
+     *
+     * @param path JSONPath, có hoặc không có tiền tố "$."
+     * @return giá trị dạng String, null nếu path không tồn tại
+     */
+    public String getJsonPath(String path) {
         try {
-            Object result = JsonPath.read(getBody(), normalizedPath);
-            return result != null ? result.toString() : null;
+            Object result = readJsonPath(path);
+            return result != null ? toDefaultProviderValue(result).toString() : null;
         } catch (PathNotFoundException e) {
             return null;
         } catch (Exception e) {
             try {
-                String restPath = path.startsWith("$.") ? path.substring(2) : path;
-                return restAssuredResponse.jsonPath().getString(restPath);
+                return getRestAssuredJsonPath().getString(toRestAssuredPath(path));
             } catch (Exception ex) {
                 return null;
             }
         }
     }
 
+    /**
+     * Giá trị số nguyên tại JSON path.
+     *
+     * @param path JSONPath, có hoặc không có tiền tố "$."
+     * @return giá trị int, null nếu path không tồn tại hoặc không đọc được
+     * @throws IllegalArgumentException nếu giá trị là số không nguyên hoặc vượt phạm vi int
+     */
     public Integer getJsonPathAsInt(String path) {
-        String normalizedPath = (path != null && !path.startsWith("$")) ? "$." + path : path;
+        Object result;
         try {
-            return JsonPath.read(getBody(), normalizedPath);
+            result = readJsonPath(path);
         } catch (Exception e) {
             try {
-                String restPath = path.startsWith("$.") ? path.substring(2) : path;
-                return restAssuredResponse.jsonPath().getInt(restPath);
+                return getRestAssuredJsonPath().getInt(toRestAssuredPath(path));
             } catch (Exception ex) {
                 return null;
             }
         }
+        if (result == null || result instanceof Integer) {
+            return (Integer) result;
+        }
+        if (result instanceof Number) {
+            // Không cắt phần thập phân: 2.5 hay 2^40 không phải một giá trị int
+            try {
+                return new java.math.BigDecimal(result.toString()).intValueExact();
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Value at JSON path '" + path + "' is not an integer: " + result, e);
+            }
+        }
+        throw new IllegalArgumentException("Value at JSON path '" + path + "' is not a number: " + result);
     }
 
     public Double getJsonPathAsDouble(String path) {
-        String normalizedPath = (path != null && !path.startsWith("$")) ? "$." + path : path;
         try {
-            return JsonPath.read(getBody(), normalizedPath);
+            Object result = readJsonPath(path);
+            if (result instanceof Number) {
+                return ((Number) result).doubleValue();
+            }
+            return (Double) result;
         } catch (Exception e) {
             try {
-                String restPath = path.startsWith("$.") ? path.substring(2) : path;
-                return restAssuredResponse.jsonPath().getDouble(restPath);
+                return getRestAssuredJsonPath().getDouble(toRestAssuredPath(path));
             } catch (Exception ex) {
                 return null;
             }
@@ -123,41 +188,126 @@ public class ApiResponse {
     }
 
     public Boolean getJsonPathAsBoolean(String path) {
-        String normalizedPath = (path != null && !path.startsWith("$")) ? "$." + path : path;
         try {
-            return JsonPath.read(getBody(), normalizedPath);
+            return (Boolean) readJsonPath(path);
         } catch (Exception e) {
             try {
-                String restPath = path.startsWith("$.") ? path.substring(2) : path;
-                return restAssuredResponse.jsonPath().getBoolean(restPath);
+                return getRestAssuredJsonPath().getBoolean(toRestAssuredPath(path));
             } catch (Exception ex) {
                 return null;
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
     public <T> List<T> getJsonPathAsList(String path) {
-        String normalizedPath = (path != null && !path.startsWith("$")) ? "$." + path : path;
         try {
-            return JsonPath.read(getBody(), normalizedPath);
+            return (List<T>) readJsonPath(path);
         } catch (Exception e) {
             try {
-                String restPath = path.startsWith("$.") ? path.substring(2) : path;
-                return restAssuredResponse.jsonPath().getList(restPath);
+                return getRestAssuredJsonPath().getList(toRestAssuredPath(path));
             } catch (Exception ex) {
                 return null;
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
     public Map<String, Object> getBodyAsMap() {
         try {
-            return objectMapper.readValue(getBody(), Map.class);
-        } catch (JsonProcessingException e) {
+            Object root = getJsonDocument().json();
+            if (root instanceof Map) {
+                return new LinkedHashMap<>((Map<String, Object>) root);
+            }
+            return objectMapper.convertValue(root, Map.class);
+        } catch (Exception e) {
             throw new RuntimeException("Cannot parse response body as Map", e);
         }
     }
 
+    /**
+     * Parse body thành JSON document một lần duy nhất, các lần sau dùng lại kết quả.
+     * Body không phải JSON cũng được ghi nhớ để không parse lại.
+     */
+    private DocumentContext getJsonDocument() {
+        Object document = jsonDocument;
+        if (document == null) {
+            try {
+                document = JsonPath.using(JSON_CONFIGURATION).parse(getBody());
+            } catch (InvalidJsonException e) {
+                document = e;
+            }
+            jsonDocument = document;
+        }
+        if (document instanceof InvalidJsonException) {
+            throw (InvalidJsonException) document;
+        }
+        return (DocumentContext) document;
+    }
+
+    /**
+     * Đổi List/Map của Jackson provider sang kiểu mà provider mặc định (json-smart) trả về,
+     * để toString() giữ nguyên định dạng cũ
+     */
+    @SuppressWarnings("unchecked")
+    private static Object toDefaultProviderValue(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> converted = new LinkedHashMap<>();
+            ((Map<String, Object>) value).forEach((key, item) -> converted.put(key, toDefaultProviderValue(item)));
+            return converted;
+        }
+        if (value instanceof List) {
+            JsonTextList converted = new JsonTextList();
+            for (Object item : (List<Object>) value) {
+                converted.add(toDefaultProviderValue(item));
+            }
+            return converted;
+        }
+        return value;
+    }
+
+    /**
+     * Array có toString() là JSON compact, như JSONArray của json-smart
+     */
+    private static final class JsonTextList extends ArrayList<Object> {
+        @Override
+        public String toString() {
+            try {
+                return objectMapper.writeValueAsString(this);
+            } catch (Exception e) {
+                return super.toString();
+            }
+        }
+    }
+
+    private io.restassured.path.json.JsonPath getRestAssuredJsonPath() {
+        io.restassured.path.json.JsonPath jsonPath = restAssuredJsonPath;
+        if (jsonPath == null) {
+            jsonPath = restAssuredResponse.jsonPath();
+            restAssuredJsonPath = jsonPath;
+        }
+        return jsonPath;
+    }
+
+    private static JsonPath compilePath(String path) {
+        JsonPath compiled = COMPILED_PATHS.get(path);
+        if (compiled == null) {
+            compiled = JsonPath.compile(path);
+            if (COMPILED_PATHS.size() < MAX_COMPILED_PATHS) {
+                COMPILED_PATHS.putIfAbsent(path, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    private static String normalizePath(String path) {
+        return (path != null && !path.startsWith("$")) ? "$." + path : path;
+    }
+
+    private static String toRestAssuredPath(String path) {
+        return path.startsWith("$.") ? path.substring(2) : path;
+    }
+
     // === XML ===
 
     public String getXPath(String xpath) {
@@ -216,10 +366,21 @@ public class ApiResponse {
     private String attachToAllure() {
         try {
             String body = getBody();
-            // Try to pretty print JSON
-            try {
-                Object json = objectMapper.readValue(body, Object.class);
-                return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json);
+            // Pretty print dạng streaming, không dựng document: body chỉ được parse khi đọc JSONPath
+            try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+                StringWriter pretty = new StringWriter(body.length() + body.length() / 4);
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(pretty)) {
+                    generator.useDefaultPrettyPrinter();
+                    if (parser.nextToken() == null) {
+                        return body;
+                    }
+                    generator.copyCurrentStructure(parser);
+                }
+                if (parser.nextToken() != null) {
+                    // Còn dữ liệu sau giá trị JSON đầu tiên: không phải JSON hợp lệ
+                    return body;
+                }
+                return pretty.toString();
             } catch (Exception e) {
                 // Not JSON, return as is
                 return body;
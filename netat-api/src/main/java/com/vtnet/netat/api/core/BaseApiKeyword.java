@@ -7,12 +7,15 @@ import com.vtnet.netat.core.secret.SensitiveDataProtection;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
-import io.restassured.config.SSLConfig;
-import io.restassured.config.RestAssuredConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 public abstract class BaseApiKeyword extends BaseKeyword {
@@ -20,6 +23,8 @@ public abstract class BaseApiKeyword extends BaseKeyword {
     protected static final NetatLogger logger = NetatLogger.getInstance(BaseApiKeyword.class);
     protected static final SensitiveDataProtection protection = SensitiveDataProtection.getInstance();
 
+    private static final int LOG_BODY_MAX_CHARS = 500;
+
     protected static ThreadLocal<ApiContext> contextThreadLocal = ThreadLocal.withInitial(ApiContext::new);
 
     protected ApiContext getContext() {
@@ -42,6 +47,10 @@ public abstract class BaseApiKeyword extends BaseKeyword {
 
 
     protected ApiResponse executeGet(String endpoint) {
+        if (JdkHttpTransport.supports(getContext())) {
+            return executeViaJdkTransport("GET", endpoint);
+        }
+
         RequestSpecification spec = buildRequestSpec();
 
         logRequest("GET", endpoint);
@@ -55,6 +64,10 @@ public abstract class BaseApiKeyword extends BaseKeyword {
 
 
     protected ApiResponse executePost(String endpoint) {
+        if (JdkHttpTransport.supports(getContext())) {
+            return executeViaJdkTransport("POST", endpoint);
+        }
+
         RequestSpecification spec = buildRequestSpec();
 
         logRequest("POST", endpoint);
@@ -68,6 +81,10 @@ public abstract class BaseApiKeyword extends BaseKeyword {
 
 
     protected ApiResponse executePut(String endpoint) {
+        if (JdkHttpTransport.supports(getContext())) {
+            return executeViaJdkTransport("PUT", endpoint);
+        }
+
         RequestSpecification spec = buildRequestSpec();
 
         logRequest("PUT", endpoint);
@@ -81,6 +98,10 @@ public abstract class BaseApiKeyword extends BaseKeyword {
 
 
     protected ApiResponse executePatch(String endpoint) {
+        if (JdkHttpTransport.supports(getContext())) {
+            return executeViaJdkTransport("PATCH", endpoint);
+        }
+
         RequestSpecification spec = buildRequestSpec();
 
         logRequest("PATCH", endpoint);
@@ -94,6 +115,10 @@ public abstract class BaseApiKeyword extends BaseKeyword {
 
 
     protected ApiResponse executeDelete(String endpoint) {
+        if (JdkHttpTransport.supports(getContext())) {
+            return executeViaJdkTransport("DELETE", endpoint);
+        }
+
         RequestSpecification spec = buildRequestSpec();
 
         logRequest("DELETE", endpoint);
@@ -107,6 +132,10 @@ public abstract class BaseApiKeyword extends BaseKeyword {
 
 
     protected ApiResponse executeHead(String endpoint) {
+        if (JdkHttpTransport.supports(getContext())) {
+            return executeViaJdkTransport("HEAD", endpoint);
+        }
+
         RequestSpecification spec = buildRequestSpec();
 
         logRequest("HEAD", endpoint);
@@ -120,6 +149,10 @@ public abstract class BaseApiKeyword extends BaseKeyword {
 
 
     protected ApiResponse executeOptions(String endpoint) {
+        if (JdkHttpTransport.supports(getContext())) {
+            return executeViaJdkTransport("OPTIONS", endpoint);
+        }
+
         RequestSpecification spec = buildRequestSpec();
 
         logRequest("OPTIONS", endpoint);
@@ -180,16 +213,83 @@ public abstract class BaseApiKeyword extends BaseKeyword {
         return new ApiResponse(response);
     }
 
+    /**
+     * Gửi request và stream body thẳng ra file (không giữ body trong bộ nhớ).
+     * Thư mục cha được tạo nếu chưa tồn tại.
+     */
+    protected StreamedResponse executeStreamingToFile(String method, String endpoint, Path targetFile)
+            throws IOException {
+        Path parent = targetFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = Files.newOutputStream(targetFile)) {
+            return executeStreaming(method, endpoint, out, targetFile);
+        }
+    }
+
+    /**
+     * Gửi request và stream body sang OutputStream (sink không bị đóng).
+     */
+    protected StreamedResponse executeStreamingToSink(String method, String endpoint, OutputStream sink)
+            throws IOException {
+        return executeStreaming(method, endpoint, sink, null);
+    }
+
+    /**
+     * Tải endpoint ra file, chia thành nhiều đoạn Range song song nếu server hỗ trợ.
+     */
+    protected StreamedResponse executeRangedDownload(String endpoint, Path targetFile, int maxChunks)
+            throws IOException {
+        logRequest("GET (ranged download, max " + maxChunks + " chunks)", endpoint);
+
+        StreamedResponse streamed = RangedDownloader.download(getContext(), endpoint, targetFile, maxChunks);
+
+        logStreamedResponse(streamed);
+
+        return streamed;
+    }
+
+    private StreamedResponse executeStreaming(String method, String endpoint, OutputStream sink, Path file)
+            throws IOException {
+        RequestSpecification spec = buildRequestSpec();
+
+        logRequest(method + " (streaming)", endpoint);
+
+        Response response = spec.when().request(method.toUpperCase(), endpoint);
+
+        StreamedResponse streamed = StreamedResponse.stream(response, sink, file);
+
+        logStreamedResponse(streamed);
+
+        return streamed;
+    }
+
+    /**
+     * Gửi request qua JDK HttpClient (HTTP/2) khi context chọn transport JDK_HTTP2.
+     */
+    private ApiResponse executeViaJdkTransport(String method, String endpoint) {
+        ApiContext ctx = getContext();
+
+        if (!ctx.isSslVerificationEnabled()) {
+            logger.info("SSL verification DISABLED - use only for testing!");
+        }
+
+        logRequest(method + " (JDK HTTP/2)", endpoint);
+
+        Response response = JdkHttpTransport.send(ctx, method, endpoint);
+
+        logResponse(response);
+
+        return new ApiResponse(response);
+    }
+
     private RequestSpecification buildRequestSpec() {
         RequestSpecification spec = RestAssured.given();
 
         ApiContext ctx = getContext();
 
         if (!ctx.isSslVerificationEnabled()) {
-            spec.config(RestAssuredConfig.config()
-                    .sslConfig(SSLConfig.sslConfig()
-                            .relaxedHTTPSValidation()
-                            .allowAllHostnames()));
             logger.info("SSL verification DISABLED - use only for testing!");
         }
 
@@ -244,20 +344,54 @@ public abstract class BaseApiKeyword extends BaseKeyword {
 
             logger.info("Response Headers: {}", response.getHeaders());
 
-            String body = response.getBody().asString();
-            if (body != null && !body.isEmpty()) {
-                if (body.length() > 500) {
-                    logger.info("Response Body: {} ... (truncated, total {} chars)",
-                            body.substring(0, 500), body.length());
-                } else {
-                    logger.info("Response Body: {}", body);
-                }
+            // Chỉ decode phần đầu body khi log thực sự được ghi
+            byte[] body = response.getBody().asByteArray();
+            if (body != null && body.length > 0) {
+                logger.info("Response Body: {}", new TruncatedBody(body, LOG_BODY_MAX_CHARS));
             }
 
             logger.info("═══════════════════════════════════════════════════");
         }
     }
 
+    private void logStreamedResponse(StreamedResponse response) {
+        ApiContext ctx = getContext();
+
+        if (ctx.isLogRequests()) {
+            logger.info("───────────────────────────────────────────────────");
+            logger.info("Response Status: {} ({}ms)", response.getStatusLine(), response.getResponseTime());
+            logger.info("Response Headers: {}", response.getHeaders());
+            logger.info("Response Body: streamed {} bytes{} (sha256={})", response.getSizeBytes(),
+                    response.hasFile() ? " to " + response.getFile() : "", response.getSha256());
+            logger.info("═══════════════════════════════════════════════════");
+        }
+    }
+
+    /**
+     * Body rút gọn cho log; chỉ decode khi logger gọi toString().
+     */
+    private static final class TruncatedBody {
+        private final byte[] body;
+        private final int maxChars;
+
+        TruncatedBody(byte[] body, int maxChars) {
+            this.body = body;
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public String toString() {
+            // UTF-8 dùng tối đa 4 byte/ký tự
+            int prefixBytes = (int) Math.min(body.length, maxChars * 4L);
+            String prefix = new String(body, 0, prefixBytes, StandardCharsets.UTF_8);
+            if (prefix.length() <= maxChars && prefixBytes == body.length) {
+                return prefix;
+            }
+            return prefix.substring(0, Math.min(prefix.length(), maxChars))
+                    + " ... (truncated, total " + body.length + " bytes)";
+        }
+    }
+
     protected String convertToMimeType(String shortForm) {
         if (shortForm == null || shortForm.isEmpty()) {
             return null;
@@ -0,0 +1,174 @@
+package com.vtnet.netat.api.core;
+
+import com.vtnet.netat.core.logging.NetatLogger;
+import io.restassured.response.Response;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gửi nhiều request song song với giới hạn số request đang chạy (max in-flight).
+ *
+ * <p>Dùng virtual thread (Java 21+) nếu JVM hỗ trợ, ngược lại dùng fixed thread pool
+ * kích thước bằng maxInFlight. Body được đọc hết trên worker thread để trả connection
+ * về {@link ApiHttpClientPool}; ApiResponse được tạo lại trên thread gọi theo đúng thứ tự,
+ * nên attachment Allure nằm trong step hiện tại.
+ *
+ * <p>Số kết nối thực tế tới cùng một host còn bị giới hạn bởi {@code api.http.pool.maxPerRoute}.
+ *
+ * <p>Request có context chọn transport {@code JDK_HTTP2} được gửi bằng {@code sendAsync} của
+ * {@link JdkHttpTransport}: không cần worker thread, các request tới cùng host multiplex trên một
+ * connection HTTP/2; maxInFlight vẫn giới hạn số request chưa có response.
+ */
+public final class BatchExecutor {
+
+    private static final NetatLogger logger = NetatLogger.getInstance(BatchExecutor.class);
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = findVirtualExecutorFactory();
+
+    private BatchExecutor() {
+    }
+
+    /**
+     * Gửi tất cả request và chờ tới khi xong.
+     *
+     * @param requests danh sách request
+     * @param maxInFlight số request tối đa chạy cùng lúc (>= 1)
+     * @return response theo thứ tự request và thống kê thời gian
+     */
+    public static BatchResult execute(List<BatchRequest> requests, int maxInFlight) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+
+        int size = requests.size();
+        List<Response> rawResponses = new ArrayList<>(size);
+        Map<Integer, String> errors = new TreeMap<>();
+
+        long start = System.nanoTime();
+        boolean needsWorkers = requests.stream().anyMatch(request -> !request.isNativeAsync());
+        ExecutorService executor = needsWorkers ? newWorkerExecutor(maxInFlight) : null;
+        try {
+            Semaphore permits = new Semaphore(maxInFlight);
+            List<Future<Response>> futures = new ArrayList<>(size);
+            for (BatchRequest request : requests) {
+                if (request.isNativeAsync()) {
+                    // Không tốn thread: chờ permit trên thread gọi, trả permit khi response về
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        futures.forEach(f -> f.cancel(true));
+                        throw new IllegalStateException("Interrupted while sending batch requests", e);
+                    }
+                    CompletableFuture<Response> future;
+                    try {
+                        future = request.sendAsync();
+                    } catch (RuntimeException e) {
+                        // Lỗi ngay khi tạo request (URL sai, context thiếu...): trả permit, ghi lỗi cho request này
+                        permits.release();
+                        futures.add(CompletableFuture.failedFuture(e));
+                        continue;
+                    }
+                    futures.add(future.whenComplete((response, error) -> permits.release()));
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return request.send();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < size; i++) {
+                try {
+                    rawResponses.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    rawResponses.add(null);
+                    errors.put(i, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                    logger.warn("Batch request #{} ({}) failed: {}", i, requests.get(i), cause.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    throw new IllegalStateException("Interrupted while waiting for batch requests", e);
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        long totalTimeMs = (System.nanoTime() - start) / 1_000_000;
+
+        List<ApiResponse> responses = new ArrayList<>(size);
+        for (Response raw : rawResponses) {
+            responses.add(raw != null ? new ApiResponse(raw) : null);
+        }
+
+        BatchResult result = new BatchResult(responses, errors, totalTimeMs, maxInFlight);
+        logger.info("Batch finished: {}", result);
+        return result;
+    }
+
+    /**
+     * @return true nếu batch chạy trên virtual thread
+     */
+    public static boolean isUsingVirtualThreads() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Tạo executor cho request song song: virtual thread per task nếu JVM hỗ trợ,
+     * ngược lại fixed pool {@code maxThreads} daemon thread. Caller chịu trách nhiệm shutdown.
+     *
+     * @param maxThreads số thread khi không có virtual thread
+     * @return executor mới
+     */
+    public static ExecutorService newWorkerExecutor(int maxThreads) {
+        if (VIRTUAL_EXECUTOR_FACTORY != null) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                logger.debug("Virtual thread executor unavailable, using platform threads: {}", e.getMessage());
+            }
+        }
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "netat-api-batch-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(maxThreads, factory);
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() chỉ có từ Java 21; tra cứu bằng reflection
+     * để vẫn build với target Java 11.
+     */
+    private static Method findVirtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.vtnet.netat.api.core;
+
+import com.vtnet.netat.api.curl.CurlExecutor;
+import com.vtnet.netat.api.curl.CurlParser;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Định nghĩa một request trong batch: snapshot của ApiContext + method + endpoint,
+ * hoặc một cURL đã parse. Snapshot được copy khi tạo nên thay đổi context sau đó
+ * không ảnh hưởng tới batch.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * List<BatchRequest> requests = new ArrayList<>();
+ * for (String id : userIds) {
+ *     requests.add(BatchRequest.of("GET", "/users/" + id, context));
+ * }
+ * requests.add(BatchRequest.fromCurl("curl https://api.example.com/health"));
+ * }</pre>
+ */
+public class BatchRequest {
+
+    private final String method;
+    private final String endpoint;
+    private final ApiContext context;
+    private final CurlParser.ParsedCurl parsedCurl;
+    private final File multipartFile;
+    private final String multipartField;
+    private final Map<String, String> multipartMetadata;
+
+    private BatchRequest(String method, String endpoint, ApiContext context, CurlParser.ParsedCurl parsedCurl) {
+        this(method, endpoint, context, parsedCurl, null, null, null);
+    }
+
+    private BatchRequest(String method, String endpoint, ApiContext context, CurlParser.ParsedCurl parsedCurl,
+                         File multipartFile, String multipartField, Map<String, String> multipartMetadata) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.context = context;
+        this.parsedCurl = parsedCurl;
+        this.multipartFile = multipartFile;
+        this.multipartField = multipartField;
+        this.multipartMetadata = multipartMetadata;
+    }
+
+    /**
+     * Tạo request từ snapshot của ApiContext.
+     *
+     * @param method HTTP method
+     * @param endpoint endpoint (tương đối với baseUri của context, hoặc URL đầy đủ)
+     * @param context context nguồn (được copy)
+     */
+    public static BatchRequest of(String method, String endpoint, ApiContext context) {
+        if (method == null || method.isEmpty()) {
+            throw new IllegalArgumentException("HTTP method cannot be null or empty");
+        }
+        if (endpoint == null || endpoint.isEmpty()) {
+            throw new IllegalArgumentException("Endpoint cannot be null or empty");
+        }
+        ApiContext snapshot = context != null ? context.copy() : new ApiContext();
+        return new BatchRequest(method.toUpperCase(), endpoint, snapshot, null);
+    }
+
+    /**
+     * Tạo request upload một file dạng multipart (POST). File được stream từ đĩa khi gửi,
+     * không đọc vào bộ nhớ.
+     *
+     * @param endpoint endpoint upload
+     * @param file file cần upload
+     * @param fieldName tên field của file trong form
+     * @param metadata các field text đi kèm (có thể null)
+     * @param context context nguồn (được copy)
+     */
+    public static BatchRequest multipartUpload(String endpoint, File file, String fieldName,
+                                               Map<String, String> metadata, ApiContext context) {
+        if (endpoint == null || endpoint.isEmpty()) {
+            throw new IllegalArgumentException("Endpoint cannot be null or empty");
+        }
+        if (file == null || !file.isFile()) {
+            throw new IllegalArgumentException("File not found: " + file);
+        }
+        if (fieldName == null || fieldName.isEmpty()) {
+            throw new IllegalArgumentException("File field name cannot be null or empty");
+        }
+        ApiContext snapshot = context != null ? context.copy() : new ApiContext();
+        Map<String, String> fields = metadata != null ? new LinkedHashMap<>(metadata) : null;
+        return new BatchRequest("POST", endpoint, snapshot, null, file, fieldName, fields);
+    }
+
+    /**
+     * Tạo request từ cURL đã parse.
+     */
+    public static BatchRequest fromCurl(CurlParser.ParsedCurl parsedCurl) {
+        if (parsedCurl == null) {
+            throw new IllegalArgumentException("ParsedCurl cannot be null");
+        }
+        return new BatchRequest(parsedCurl.getMethod(), parsedCurl.getUrl(), null, parsedCurl);
+    }
+
+    /**
+     * Tạo request từ cURL command.
+     */
+    public static BatchRequest fromCurl(String curlCommand) {
+        return fromCurl(CurlParser.parse(curlCommand));
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public boolean isCurl() {
+        return parsedCurl != null;
+    }
+
+    /**
+     * @return file upload nếu là request multipart, ngược lại null
+     */
+    public File getMultipartFile() {
+        return multipartFile;
+    }
+
+    /**
+     * Gửi request trên thread hiện tại và đọc hết body để trả connection về pool.
+     * An toàn khi gọi đồng thời từ nhiều thread.
+     *
+     * @return RestAssured Response (body đã được đọc vào bộ nhớ)
+     */
+    public Response send() {
+        Response response;
+        if (isNativeAsync()) {
+            return JdkHttpTransport.send(context, method, endpoint);
+        }
+        if (parsedCurl != null) {
+            response = CurlExecutor.send(parsedCurl, null);
+        } else {
+            RequestSpecification spec = context.applyToRequestSpec(RestAssured.given());
+            if (multipartFile != null) {
+                spec.multiPart(multipartField, multipartFile);
+                if (multipartMetadata != null) {
+                    multipartMetadata.forEach(spec::multiPart);
+                }
+            }
+            response = spec.when().request(method, endpoint);
+        }
+        response.getBody().asByteArray();
+        return response;
+    }
+
+    /**
+     * @return true nếu request được gửi bất đồng bộ qua JDK HttpClient (không cần worker thread)
+     */
+    public boolean isNativeAsync() {
+        return parsedCurl == null && multipartFile == null && JdkHttpTransport.supports(context);
+    }
+
+    /**
+     * Gửi request bất đồng bộ qua JDK HttpClient; chỉ dùng khi {@link #isNativeAsync()} là true.
+     *
+     * @return future của RestAssured Response (body đã được đọc vào bộ nhớ)
+     */
+    public CompletableFuture<Response> sendAsync() {
+        if (!isNativeAsync()) {
+            throw new IllegalStateException("Request does not use the JDK HTTP/2 transport: " + this);
+        }
+        return JdkHttpTransport.sendAsync(context, method, endpoint);
+    }
+
+    @Override
+    public String toString() {
+        if (multipartFile != null) {
+            return method + " " + endpoint + " (multipart: " + multipartFile.getName() + ")";
+        }
+        return method + " " + endpoint + (parsedCurl != null ? " (cURL)" : "");
+    }
+}
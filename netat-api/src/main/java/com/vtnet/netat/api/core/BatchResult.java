@@ -0,0 +1,121 @@
+package com.vtnet.netat.api.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kết quả của một batch request: các ApiResponse theo đúng thứ tự request gửi vào,
+ * lỗi theo index và thống kê thời gian.
+ *
+ * <p>Request lỗi (exception khi gửi) có response {@code null} tại index tương ứng
+ * và thông báo lỗi trong {@link #getErrors()}.
+ */
+public class BatchResult {
+
+    private final List<ApiResponse> responses;
+    private final Map<Integer, String> errors;
+    private final long totalTimeMs;
+    private final int maxInFlight;
+
+    BatchResult(List<ApiResponse> responses, Map<Integer, String> errors, long totalTimeMs, int maxInFlight) {
+        this.responses = Collections.unmodifiableList(responses);
+        this.errors = Collections.unmodifiableMap(errors);
+        this.totalTimeMs = totalTimeMs;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public List<ApiResponse> getResponses() {
+        return responses;
+    }
+
+    public ApiResponse getResponse(int index) {
+        return responses.get(index);
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    public Map<Integer, String> getErrors() {
+        return errors;
+    }
+
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * @return thời gian thực (wall clock) của cả batch
+     */
+    public long getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return tổng response time của các request thành công (thời gian nếu chạy tuần tự)
+     */
+    public long getSumResponseTimeMs() {
+        long sum = 0;
+        for (ApiResponse response : responses) {
+            if (response != null) {
+                sum += response.getResponseTime();
+            }
+        }
+        return sum;
+    }
+
+    public long getMinResponseTimeMs() {
+        long min = Long.MAX_VALUE;
+        for (ApiResponse response : responses) {
+            if (response != null) {
+                min = Math.min(min, response.getResponseTime());
+            }
+        }
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    public long getMaxResponseTimeMs() {
+        long max = 0;
+        for (ApiResponse response : responses) {
+            if (response != null) {
+                max = Math.max(max, response.getResponseTime());
+            }
+        }
+        return max;
+    }
+
+    public double getAverageResponseTimeMs() {
+        int succeeded = responses.size() - errors.size();
+        return succeeded == 0 ? 0 : (double) getSumResponseTimeMs() / succeeded;
+    }
+
+    /**
+     * @return số response có status code nằm ngoài 2xx (không tính request lỗi)
+     */
+    public int getNonSuccessCount() {
+        int count = 0;
+        for (ApiResponse response : responses) {
+            if (response != null && (response.getStatusCode() < 200 || response.getStatusCode() >= 300)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult{requests=%d, errors=%d, non2xx=%d, total=%dms, "
+                        + "avg=%.1fms, min=%dms, max=%dms, maxInFlight=%d}",
+                size(), getErrorCount(), getNonSuccessCount(), totalTimeMs,
+                getAverageResponseTimeMs(), getMinResponseTimeMs(), getMaxResponseTimeMs(), maxInFlight);
+    }
+}
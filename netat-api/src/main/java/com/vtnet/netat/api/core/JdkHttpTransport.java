@@ -0,0 +1,538 @@
+package com.vtnet.netat.api.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vtnet.netat.api.replay.ApiReplay;
+import com.vtnet.netat.core.logging.NetatLogger;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Cookie;
+import io.restassured.http.Cookies;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.response.Response;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpCookie;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Transport gửi request qua {@link HttpClient} của JDK (HTTP/2, fallback HTTP/1.1 qua ALPN).
+ *
+ * <p>Một client dùng chung cho mỗi cặp timeout + chế độ SSL. Với HTTP/2, mọi request tới cùng
+ * host được multiplex trên một connection, và {@link #sendAsync} không giữ thread nào trong lúc
+ * chờ response, nên hàng trăm request đồng thời chỉ tốn vài socket và vài worker thread.
+ *
+ * <p>Response được đọc trọn vào bộ nhớ và dựng lại thành RestAssured {@link Response}
+ * (kèm thời gian response), nên {@link ApiResponse}, assertion và log dùng được như với transport mặc định.
+ *
+ * <p>Không áp dụng cho: multipart upload, cURL và chế độ record/replay ({@link ApiReplay});
+ * các trường hợp này vẫn đi qua RestAssured (xem {@link #supports(ApiContext)}).
+ *
+ * <p>Khác biệt so với transport RestAssured:
+ * <ul>
+ *   <li>Basic auth được gửi ngay ở request đầu (preemptive), không chờ server trả 401 rồi mới gửi.</li>
+ *   <li>{@link ApiContext#setLogRequests(boolean)} ghi request qua logger (header Authorization
+ *       được che) thay vì {@code log().all()} ra console.</li>
+ *   <li>Cookie của response được đọc từ header {@code Set-Cookie}; cookie không được lưu lại
+ *       cho request sau (RestAssured cũng không làm vậy nếu không dùng SessionFilter).</li>
+ * </ul>
+ *
+ * <p>Example:
+ * <pre>{@code
+ * ApiContext context = new ApiContext();
+ * context.setBaseUri("https://api.example.com");
+ * context.setTransport(ApiContext.Transport.JDK_HTTP2);
+ * CompletableFuture<Response> future = JdkHttpTransport.sendAsync(context, "GET", "/users/1");
+ * }</pre>
+ */
+public final class JdkHttpTransport {
+
+    private static final NetatLogger logger = NetatLogger.getInstance(JdkHttpTransport.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Header do HttpClient tự quản lý, set thủ công sẽ bị IllegalArgumentException
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade");
+
+    private static final Map<ClientKey, HttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+    private JdkHttpTransport() {
+    }
+
+    /**
+     * @return true nếu request với context này đi qua JDK HttpClient
+     */
+    public static boolean supports(ApiContext context) {
+        return context != null
+                && context.getTransport() == ApiContext.Transport.JDK_HTTP2
+                && ApiReplay.getMode() == ApiReplay.Mode.OFF;
+    }
+
+    /**
+     * Gửi request và chờ response trên thread hiện tại.
+     *
+     * @param context context của request (base URI, header, auth, body...)
+     * @param method HTTP method
+     * @param endpoint endpoint (tương đối với baseUri hoặc URL đầy đủ)
+     * @return RestAssured Response với body đã nằm trong bộ nhớ
+     */
+    public static Response send(ApiContext context, String method, String endpoint) {
+        try {
+            return sendAsync(context, method, endpoint).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + method + " " + endpoint, e);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    /**
+     * Gửi request bất đồng bộ. Không thread nào bị giữ trong lúc chờ response.
+     *
+     * @param context context của request (được đọc ngay khi gọi)
+     * @param method HTTP method
+     * @param endpoint endpoint (tương đối với baseUri hoặc URL đầy đủ)
+     * @return future hoàn thành khi đã nhận đủ body
+     */
+    public static CompletableFuture<Response> sendAsync(ApiContext context, String method, String endpoint) {
+        HttpRequest request;
+        try {
+            request = buildRequest(context, method.toUpperCase(Locale.ROOT), endpoint);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (context.isLogRequests()) {
+            logRequest(context, request);
+        }
+        HttpClient client = clientFor(context);
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> toRestAssuredResponse(response, (System.nanoTime() - start) / 1_000_000));
+    }
+
+    static HttpClient clientFor(ApiContext context) {
+        ClientKey key = new ClientKey(Math.max(context.getTimeout(), 0), !context.isSslVerificationEnabled());
+        return CLIENTS.computeIfAbsent(key, JdkHttpTransport::newClient);
+    }
+
+    private static HttpClient newClient(ClientKey key) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (key.timeoutSeconds > 0) {
+            builder.connectTimeout(Duration.ofSeconds(key.timeoutSeconds));
+        }
+        if (key.relaxedSsl) {
+            builder.sslContext(trustAllSslContext());
+        }
+        logger.info("Created JDK HttpClient (HTTP/2, timeout={}s, relaxedSsl={})", key.timeoutSeconds, key.relaxedSsl);
+        return builder.build();
+    }
+
+    // === REQUEST ===
+
+    private static HttpRequest buildRequest(ApiContext context, String method, String endpoint) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(buildUri(context, endpoint));
+        if (context.getTimeout() > 0) {
+            builder.timeout(Duration.ofSeconds(context.getTimeout()));
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        if (context.getHeaders() != null) {
+            headers.putAll(context.getHeaders());
+        }
+        applyAuthentication(context, headers);
+
+        String contentType = context.getContentType();
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.noBody();
+        if (context.hasRequestBody()) {
+            Object requestBody = context.getRequestBody();
+            if (requestBody instanceof byte[]) {
+                body = HttpRequest.BodyPublishers.ofByteArray((byte[]) requestBody);
+            } else if (requestBody instanceof File) {
+                body = filePublisher((File) requestBody);
+            } else if (requestBody instanceof String) {
+                body = HttpRequest.BodyPublishers.ofString((String) requestBody, StandardCharsets.UTF_8);
+                contentType = contentType != null ? contentType : "text/plain; charset=UTF-8";
+            } else {
+                body = HttpRequest.BodyPublishers.ofString(toJson(requestBody), StandardCharsets.UTF_8);
+                contentType = contentType != null ? contentType : "application/json";
+            }
+        } else if (context.getFormParams() != null && !context.getFormParams().isEmpty()) {
+            body = HttpRequest.BodyPublishers.ofString(encodeParams(context.getFormParams()), StandardCharsets.UTF_8);
+            contentType = contentType != null ? contentType : "application/x-www-form-urlencoded; charset=UTF-8";
+        }
+        if (contentType != null && !contentType.isEmpty()) {
+            headers.put("Content-Type", contentType);
+        }
+
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getValue() == null) {
+                continue;
+            }
+            if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                logger.debug("Header {} is managed by the JDK HttpClient and is ignored", header.getKey());
+                continue;
+            }
+            builder.header(header.getKey(), header.getValue());
+        }
+        return builder.method(method, body).build();
+    }
+
+    private static void applyAuthentication(ApiContext context, Map<String, String> headers) {
+        ApiContext.AuthType authType = context.getAuthType();
+        if (authType == null) {
+            return;
+        }
+        switch (authType) {
+            case BEARER:
+                if (context.getBearerToken() != null && !context.getBearerToken().isEmpty()) {
+                    headers.put("Authorization", "Bearer " + context.getBearerToken());
+                }
+                break;
+            case OAUTH2:
+                if (context.getOAuth2Token() != null && !context.getOAuth2Token().isEmpty()) {
+                    headers.put("Authorization", "Bearer " + context.getOAuth2Token());
+                }
+                break;
+            case BASIC:
+                if (context.getBasicUsername() != null && context.getBasicPassword() != null) {
+                    String credentials = context.getBasicUsername() + ":" + context.getBasicPassword();
+                    headers.put("Authorization", "Basic "
+                            + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+                }
+                break;
+            case API_KEY:
+                if (context.getApiKeyName() != null && context.getApiKeyValue() != null
+                        && context.getApiKeyLocation() == ApiContext.ApiKeyLocation.HEADER) {
+                    headers.put(context.getApiKeyName(), context.getApiKeyValue());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * baseUri + endpoint, thay {@code {name}} bằng path param và nối query param (đã encode).
+     */
+    static URI buildUri(ApiContext context, String endpoint) {
+        String url = endpoint;
+        String baseUri = context.getBaseUri();
+        if (!endpoint.startsWith("http://") && !endpoint.startsWith("https://")) {
+            if (baseUri == null || baseUri.isEmpty()) {
+                throw new IllegalArgumentException("Base URI is required for relative endpoint: " + endpoint);
+            }
+            String base = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+            url = base + (endpoint.startsWith("/") ? endpoint : "/" + endpoint);
+        }
+
+        if (context.getPathParams() != null) {
+            for (Map.Entry<String, Object> param : context.getPathParams().entrySet()) {
+                url = url.replace("{" + param.getKey() + "}",
+                        encode(String.valueOf(param.getValue())).replace("+", "%20"));
+            }
+        }
+
+        Map<String, Object> query = new LinkedHashMap<>();
+        if (context.getQueryParams() != null) {
+            query.putAll(context.getQueryParams());
+        }
+        if (context.getAuthType() == ApiContext.AuthType.API_KEY
+                && context.getApiKeyLocation() == ApiContext.ApiKeyLocation.QUERY
+                && context.getApiKeyName() != null && context.getApiKeyValue() != null) {
+            query.put(context.getApiKeyName(), context.getApiKeyValue());
+        }
+        if (!query.isEmpty()) {
+            url += (url.contains("?") ? "&" : "?") + encodeParams(query);
+        }
+        return URI.create(url);
+    }
+
+    private static String encodeParams(Map<String, Object> params) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            Object value = param.getValue();
+            Iterable<?> values = value instanceof Iterable ? (Iterable<?>) value : Collections.singletonList(value);
+            for (Object single : values) {
+                if (encoded.length() > 0) {
+                    encoded.append('&');
+                }
+                encoded.append(encode(param.getKey()));
+                if (single != null) {
+                    encoded.append('=').append(encode(String.valueOf(single)));
+                }
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body to JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private static HttpRequest.BodyPublisher filePublisher(File file) {
+        try {
+            return HttpRequest.BodyPublishers.ofFile(file.toPath());
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("File not found: " + file, e);
+        }
+    }
+
+    private static void logRequest(ApiContext context, HttpRequest request) {
+        StringBuilder log = new StringBuilder("Request (JDK_HTTP2): ")
+                .append(request.method()).append(' ').append(request.uri());
+        request.headers().map().forEach((name, values) -> {
+            for (String value : values) {
+                log.append("\n  ").append(name).append(": ")
+                        .append("authorization".equalsIgnoreCase(name) ? "***" : value);
+            }
+        });
+        if (context.hasRequestBody()) {
+            Object body = context.getRequestBody();
+            log.append("\n  Body: ");
+            if (body instanceof byte[]) {
+                log.append('<').append(((byte[]) body).length).append(" bytes>");
+            } else if (body instanceof File) {
+                log.append("<file ").append(body).append('>');
+            } else if (body instanceof String) {
+                log.append(body);
+            } else {
+                log.append(toJson(body));
+            }
+        } else if (context.getFormParams() != null && !context.getFormParams().isEmpty()) {
+            log.append("\n  Form params: ").append(context.getFormParams());
+        }
+        logger.info(log.toString());
+    }
+
+    // === RESPONSE ===
+
+    private static Response toRestAssuredResponse(HttpResponse<byte[]> response, long elapsedMs) {
+        List<Header> headerList = new ArrayList<>();
+        List<Cookie> cookieList = new ArrayList<>();
+        String contentType = null;
+        String contentEncoding = null;
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            String name = header.getKey();
+            if (name.startsWith(":")) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                headerList.add(new Header(name, value));
+            }
+            if ("set-cookie".equalsIgnoreCase(name)) {
+                for (String value : header.getValue()) {
+                    parseSetCookie(value, cookieList);
+                }
+            } else if ("content-type".equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                contentType = header.getValue().get(0);
+            } else if ("content-encoding".equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                contentEncoding = header.getValue().get(0);
+            }
+        }
+
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(response.statusCode())
+                .setStatusLine(protocolOf(response.version()) + " " + response.statusCode())
+                .setHeaders(new Headers(headerList))
+                .setCookies(new Cookies(cookieList))
+                .setBody(decode(response.body(), contentEncoding));
+        if (contentType != null) {
+            builder.setContentType(contentType);
+        }
+        Response built = builder.build();
+        if (built instanceof RestAssuredResponseImpl) {
+            // Response.getTime() đọc giá trị TimingFilter ghi vào filter context
+            Map<String, Object> properties = new HashMap<>();
+            properties.put(TimingFilter.RESPONSE_TIME_MILLISECONDS, elapsedMs);
+            ((RestAssuredResponseImpl) built).setFilterContextProperties(properties);
+        }
+        return built;
+    }
+
+    /**
+     * Một header Set-Cookie thành cookie của RestAssured (giữ domain, path, max-age, secure, httpOnly).
+     * Header không hợp lệ bị bỏ qua.
+     */
+    private static void parseSetCookie(String value, List<Cookie> cookies) {
+        List<HttpCookie> parsed;
+        try {
+            parsed = HttpCookie.parse(value);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring invalid Set-Cookie header: {}", value);
+            return;
+        }
+        for (HttpCookie cookie : parsed) {
+            Cookie.Builder builder = new Cookie.Builder(cookie.getName(), cookie.getValue())
+                    .setSecured(cookie.getSecure())
+                    .setHttpOnly(cookie.isHttpOnly());
+            if (cookie.getDomain() != null) {
+                builder.setDomain(cookie.getDomain());
+            }
+            if (cookie.getPath() != null) {
+                builder.setPath(cookie.getPath());
+            }
+            if (cookie.getMaxAge() >= 0) {
+                builder.setMaxAge((int) Math.min(Integer.MAX_VALUE, cookie.getMaxAge()));
+            }
+            if (cookie.getComment() != null) {
+                builder.setComment(cookie.getComment());
+            }
+            cookies.add(builder.build());
+        }
+    }
+
+    /**
+     * HttpClient không tự giải nén; chỉ cần khi caller tự set Accept-Encoding.
+     */
+    private static byte[] decode(byte[] body, String contentEncoding) {
+        if (body == null || body.length == 0 || contentEncoding == null) {
+            return body != null ? body : new byte[0];
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (!encoding.equals("gzip") && !encoding.equals("deflate")) {
+            return body;
+        }
+        try (InputStream in = encoding.equals("gzip")
+                ? new GZIPInputStream(new ByteArrayInputStream(body))
+                : new InflaterInputStream(new ByteArrayInputStream(body))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 4);
+            in.transferTo(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode " + encoding + " response body", e);
+        }
+    }
+
+    private static String protocolOf(HttpClient.Version version) {
+        return version == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof IOException) {
+            return new UncheckedIOException(cause.getMessage(), (IOException) cause);
+        }
+        return new IllegalStateException(cause.getMessage(), cause);
+    }
+
+    private static SSLContext trustAllSslContext() {
+        TrustManager trustAll = new X509ExtendedTrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            }
+
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            }
+
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[]{trustAll}, null);
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot create trust-all SSL context", e);
+        }
+    }
+
+    private static final class ClientKey {
+        private final int timeoutSeconds;
+        private final boolean relaxedSsl;
+
+        ClientKey(int timeoutSeconds, boolean relaxedSsl) {
+            this.timeoutSeconds = timeoutSeconds;
+            this.relaxedSsl = relaxedSsl;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey other = (ClientKey) o;
+            return timeoutSeconds == other.timeoutSeconds && relaxedSsl == other.relaxedSsl;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(timeoutSeconds, relaxedSsl);
+        }
+    }
+}
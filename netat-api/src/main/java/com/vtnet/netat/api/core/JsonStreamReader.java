@@ -0,0 +1,201 @@
+package com.vtnet.netat.api.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Đọc JSON theo kiểu streaming bằng Jackson {@link JsonParser}: bộ nhớ dùng không phụ thuộc
+ * kích thước body, các nhánh không liên quan được bỏ qua bằng {@code skipChildren()}.
+ *
+ * <p>Hỗ trợ path dạng đơn giản: {@code $.data.items}, {@code $.users[0].email},
+ * {@code items[2]} (không hỗ trợ wildcard/filter như JSONPath đầy đủ).
+ *
+ * <p>Example:
+ * <pre>{@code
+ * int count = JsonStreamReader.countArrayElements(Paths.get("export.json"), "$.items");
+ * String total = JsonStreamReader.readValue(Paths.get("export.json"), "$.meta.total");
+ * }</pre>
+ */
+public final class JsonStreamReader {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private JsonStreamReader() {
+    }
+
+    /**
+     * Đếm số phần tử của array tại path.
+     *
+     * @return số phần tử, hoặc -1 nếu path không tồn tại hoặc không phải array
+     */
+    public static int countArrayElements(Path file, String path) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return countArrayElements(in, path);
+        }
+    }
+
+    public static int countArrayElements(InputStream in, String path) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (!seek(parser, parsePath(path)) || parser.currentToken() != JsonToken.START_ARRAY) {
+                return -1;
+            }
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Đọc giá trị tại path. Giá trị scalar trả về dạng text, object/array trả về JSON compact
+     * (chỉ nhánh đó được đọc vào bộ nhớ).
+     *
+     * @return giá trị, hoặc null nếu path không tồn tại hoặc giá trị là null
+     */
+    public static String readValue(Path file, String path) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return readValue(in, path);
+        }
+    }
+
+    public static String readValue(InputStream in, String path) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (!seek(parser, parsePath(path))) {
+                return null;
+            }
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token.isStructStart()) {
+                StringWriter writer = new StringWriter();
+                try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+                    generator.copyCurrentStructure(parser);
+                }
+                return writer.toString();
+            }
+            return parser.getText();
+        }
+    }
+
+    /**
+     * Kiểm tra path có tồn tại (kể cả khi giá trị là null).
+     */
+    public static boolean exists(Path file, String path) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             JsonParser parser = jsonFactory.createParser(in)) {
+            return seek(parser, parsePath(path));
+        }
+    }
+
+    /**
+     * Di chuyển parser tới giá trị tại path. Khi trả về true, {@code currentToken()} là token
+     * đầu tiên của giá trị đó.
+     */
+    private static boolean seek(JsonParser parser, List<Object> segments) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return false;
+        }
+
+        for (Object segment : segments) {
+            if (segment instanceof String) {
+                if (token != JsonToken.START_OBJECT) {
+                    return false;
+                }
+                boolean found = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    token = parser.nextToken();
+                    if (name.equals(segment)) {
+                        found = true;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+                if (!found) {
+                    return false;
+                }
+            } else {
+                if (token != JsonToken.START_ARRAY) {
+                    return false;
+                }
+                int index = (Integer) segment;
+                int current = 0;
+                boolean found = false;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (current == index) {
+                        found = true;
+                        break;
+                    }
+                    parser.skipChildren();
+                    current++;
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tách path thành danh sách field (String) và index (Integer).
+     */
+    static List<Object> parsePath(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("JSON path cannot be null");
+        }
+        String p = path.trim();
+        if (p.startsWith("$")) {
+            p = p.substring(1);
+        }
+
+        List<Object> segments = new ArrayList<>();
+        int i = 0;
+        int length = p.length();
+        while (i < length) {
+            char c = p.charAt(i);
+            if (c == '.') {
+                i++;
+            } else if (c == '[') {
+                int close = p.indexOf(']', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in JSON path: " + path);
+                }
+                String inner = p.substring(i + 1, close).trim();
+                if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')) {
+                    segments.add(inner.substring(1, inner.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.parseInt(inner));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(
+                                "Unsupported segment '[" + inner + "]' in streaming JSON path: " + path);
+                    }
+                }
+                i = close + 1;
+            } else {
+                int end = i;
+                while (end < length && p.charAt(end) != '.' && p.charAt(end) != '[') {
+                    end++;
+                }
+                segments.add(p.substring(i, end));
+                i = end;
+            }
+        }
+        return segments;
+    }
+}
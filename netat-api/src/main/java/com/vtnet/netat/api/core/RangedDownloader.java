@@ -0,0 +1,271 @@
+package com.vtnet.netat.api.core;
+
+import com.vtnet.netat.core.logging.NetatLogger;
+import com.vtnet.netat.core.utils.ConfigurationManager;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.SpecificationQuerier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Tải file lớn thẳng ra đĩa, chia thành nhiều đoạn {@code Range} tải song song nếu server hỗ trợ.
+ *
+ * <p>Request đầu tiên là {@code GET} với {@code Range: bytes=0-0}:
+ * <ul>
+ *   <li>{@code 206} + {@code Content-Range}: biết tổng kích thước, chia đoạn và tải song song;
+ *       mỗi đoạn ghi trực tiếp vào đúng vị trí trong file.</li>
+ *   <li>{@code 200}: server bỏ qua Range, body của chính request này được stream ra file
+ *       (không tốn thêm request).</li>
+ * </ul>
+ *
+ * <p>Dữ liệu được ghi vào file tạm cạnh file đích và chỉ move sang file đích khi tải xong;
+ * tải lỗi thì file tạm bị xóa, file đích không bao giờ bị cắt cụt.
+ *
+ * <p>SHA-256 được tính theo thứ tự đoạn ngay khi mỗi đoạn tải xong (đọc lại từ page cache),
+ * song song với các đoạn sau vẫn đang tải, nên không cần đọc lại cả file ở cuối.
+ *
+ * <p>Configuration keys:
+ * <ul>
+ *   <li>{@code api.download.minChunkBytes} - kích thước đoạn tối thiểu (default: 8388608 = 8 MB)</li>
+ * </ul>
+ */
+public final class RangedDownloader {
+
+    private static final NetatLogger logger = NetatLogger.getInstance(RangedDownloader.class);
+
+    private static final long MIN_CHUNK_BYTES = readLong("api.download.minChunkBytes", 8L * 1024 * 1024);
+
+    private RangedDownloader() {
+    }
+
+    /**
+     * Tải endpoint ra file.
+     *
+     * @param context context của request (base URI, auth, header...)
+     * @param endpoint endpoint cần tải
+     * @param target file đích (thư mục cha được tạo nếu chưa có)
+     * @param maxChunks số đoạn tải song song tối đa (1 = một luồng)
+     * @return kết quả gồm kích thước và SHA-256 của toàn bộ file
+     * @throws IOException nếu tải hoặc ghi thất bại
+     */
+    public static StreamedResponse download(ApiContext context, String endpoint, Path target, int maxChunks)
+            throws IOException {
+        if (maxChunks < 1) {
+            throw new IllegalArgumentException("maxChunks must be at least 1");
+        }
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path temp = Files.createTempFile(parent != null ? parent : Path.of("."),
+                target.getFileName().toString() + ".", ".part");
+        boolean completed = false;
+        try {
+            StreamedResponse result = download(context, endpoint, target, temp, maxChunks);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            completed = true;
+            return result;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Tải vào {@code temp}; kết quả trả về mang đường dẫn {@code target} (file sau khi move).
+     */
+    private static StreamedResponse download(ApiContext context, String endpoint, Path target, Path temp,
+                                             int maxChunks) throws IOException {
+        long start = System.nanoTime();
+        Response probe = newRequest(context)
+                .header("Range", "bytes=0-0")
+                .when().get(endpoint);
+
+        long totalSize = probe.getStatusCode() == 206 ? parseTotalSize(probe.getHeader("Content-Range")) : -1;
+        int chunks = totalSize > 0
+                ? (int) Math.max(1, Math.min(maxChunks, (totalSize + MIN_CHUNK_BYTES - 1) / MIN_CHUNK_BYTES))
+                : 1;
+
+        if (probe.getStatusCode() != 206) {
+            // Server bỏ qua Range (hoặc trả lỗi): body của probe chính là toàn bộ response
+            logger.info("Range not supported for {} (status {}), streaming in a single request",
+                    endpoint, probe.getStatusCode());
+            return streamToFile(probe, temp, target);
+        }
+        probe.asByteArray();
+
+        if (totalSize < 0 || chunks == 1) {
+            return streamToFile(newRequest(context).when().get(endpoint), temp, target);
+        }
+
+        logger.info("Downloading {} ({} bytes) in {} ranged chunks to {}", endpoint, totalSize, chunks, target);
+        Map<String, String> headers = StreamedResponse.headersOf(probe);
+        headers.remove("Content-Range");
+        headers.put("Content-Length", String.valueOf(totalSize));
+
+        MessageDigest digest = StreamedResponse.newSha256();
+        byte[] preview;
+        ExecutorService executor = BatchExecutor.newWorkerExecutor(chunks);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long chunkSize = (totalSize + chunks - 1) / chunks;
+            List<long[]> ranges = new ArrayList<>(chunks);
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (long from = 0; from < totalSize; from += chunkSize) {
+                long[] range = {from, Math.min(from + chunkSize, totalSize) - 1};
+                ranges.add(range);
+                futures.add(executor.submit(() -> {
+                    downloadRange(context, endpoint, channel, range[0], range[1]);
+                    return null;
+                }));
+            }
+
+            // Hash theo thứ tự đoạn trong khi các đoạn sau vẫn đang tải
+            ByteBuffer buffer = ByteBuffer.allocate(StreamedResponse.BUFFER_SIZE);
+            for (int i = 0; i < futures.size(); i++) {
+                awaitChunk(futures, i);
+                hashRange(channel, ranges.get(i)[0], ranges.get(i)[1], digest, buffer);
+            }
+            preview = readPreview(channel, totalSize);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        String protocol = probe.getStatusLine() != null && probe.getStatusLine().startsWith("HTTP/")
+                ? probe.getStatusLine().split(" ")[0]
+                : "HTTP/1.1";
+        return new StreamedResponse(200, protocol + " 200 OK", elapsedMs, probe.getContentType(), headers,
+                target, totalSize, StreamedResponse.toHex(digest.digest()),
+                new String(preview, StandardCharsets.UTF_8));
+    }
+
+    private static StreamedResponse streamToFile(Response response, Path temp, Path target) throws IOException {
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            return StreamedResponse.stream(response, out, target);
+        }
+    }
+
+    private static void downloadRange(ApiContext context, String endpoint, FileChannel channel, long from, long to)
+            throws IOException {
+        Response response = newRequest(context)
+                .header("Range", "bytes=" + from + "-" + to)
+                .when().get(endpoint);
+        if (response.getStatusCode() != 206) {
+            response.asByteArray();
+            throw new IOException("Range " + from + "-" + to + " returned status " + response.getStatusCode());
+        }
+
+        long position = from;
+        byte[] buffer = new byte[StreamedResponse.BUFFER_SIZE];
+        try (InputStream in = response.asInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                while (data.hasRemaining()) {
+                    position += channel.write(data, position);
+                }
+            }
+        }
+        if (position != to + 1) {
+            throw new IOException("Range " + from + "-" + to + " incomplete: received " + (position - from) + " bytes");
+        }
+    }
+
+    private static void awaitChunk(List<Future<?>> futures, int index) throws IOException {
+        try {
+            futures.get(index).get();
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IOException("Chunk #" + index + " failed: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IOException("Interrupted while downloading", e);
+        }
+    }
+
+    private static void hashRange(FileChannel channel, long from, long to, MessageDigest digest, ByteBuffer buffer)
+            throws IOException {
+        long position = from;
+        while (position <= to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), to - position + 1));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of file at " + position);
+            }
+            digest.update(buffer.array(), 0, read);
+            position += read;
+        }
+    }
+
+    private static byte[] readPreview(FileChannel channel, long totalSize) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(StreamedResponse.PREVIEW_BYTES, totalSize));
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+            // đọc tới khi đủ
+        }
+        return head.array();
+    }
+
+    /**
+     * Request không nén: Range áp dụng lên byte đã mã hóa nên phải tắt gzip để ghép đúng.
+     * Bỏ content decoder của RestAssured (nếu chỉ thêm header, RestAssured vẫn gộp "gzip,deflate" vào).
+     */
+    private static RequestSpecification newRequest(ApiContext context) {
+        RequestSpecification spec = context.applyToRequestSpec(RestAssured.given());
+        RestAssuredConfig config = SpecificationQuerier.query(spec).getConfig();
+        return spec
+                .config(config.decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+                .header("Accept-Encoding", "identity");
+    }
+
+    /**
+     * "bytes 0-0/12345" → 12345; -1 nếu không biết tổng.
+     */
+    static long parseTotalSize(String contentRange) {
+        if (contentRange == null) {
+            return -1;
+        }
+        int slash = contentRange.lastIndexOf('/');
+        if (slash < 0 || slash == contentRange.length() - 1) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentRange.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long readLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(ConfigurationManager.getProperty(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
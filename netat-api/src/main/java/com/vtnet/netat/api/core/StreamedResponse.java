@@ -0,0 +1,205 @@
+package com.vtnet.netat.api.core;
+
+import io.qameta.allure.Allure;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kết quả của một request chạy ở chế độ streaming.
+ * Body được ghi thẳng ra file hoặc OutputStream, không giữ trong bộ nhớ;
+ * chỉ lưu lại kích thước, SHA-256 và vài KB đầu tiên để log/report.
+ *
+ * <p>Dùng cho các endpoint export/download lớn (hàng trăm MB) khi nhiều worker chạy song song.
+ */
+public class StreamedResponse {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final int PREVIEW_BYTES = 2048;
+
+    private final int statusCode;
+    private final String statusLine;
+    private final long responseTime;
+    private final String contentType;
+    private final Map<String, String> headers;
+    private final Path file;
+    private final long sizeBytes;
+    private final String sha256;
+    private final String preview;
+
+    private StreamedResponse(Response response, Path file, long sizeBytes, String sha256, String preview) {
+        this(response.getStatusCode(), response.getStatusLine(), response.getTime(), response.getContentType(),
+                headersOf(response), file, sizeBytes, sha256, preview);
+    }
+
+    StreamedResponse(int statusCode, String statusLine, long responseTime, String contentType,
+                     Map<String, String> headers, Path file, long sizeBytes, String sha256, String preview) {
+        this.statusCode = statusCode;
+        this.statusLine = statusLine;
+        this.responseTime = responseTime;
+        this.contentType = contentType;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        this.file = file;
+        this.sizeBytes = sizeBytes;
+        this.sha256 = sha256;
+        this.preview = preview;
+
+        Allure.addAttachment("API Response (streamed)", "text/plain", toSummary());
+    }
+
+    static Map<String, String> headersOf(Response response) {
+        Map<String, String> headerMap = new LinkedHashMap<>();
+        for (Header header : response.getHeaders()) {
+            headerMap.putIfAbsent(header.getName(), header.getValue());
+        }
+        return headerMap;
+    }
+
+    /**
+     * Đọc body của response theo từng block và ghi sang sink, đồng thời đếm byte và tính SHA-256.
+     * Connection được trả về pool khi stream đóng.
+     *
+     * @param response RestAssured response chưa đọc body
+     * @param sink nơi nhận body (không bị đóng bởi method này)
+     * @param file file đích nếu sink ghi ra file (có thể null)
+     * @return kết quả streaming
+     * @throws IOException nếu đọc/ghi thất bại
+     */
+    static StreamedResponse stream(Response response, OutputStream sink, Path file) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] head = new byte[PREVIEW_BYTES];
+        int headLength = 0;
+        long total = 0;
+
+        try (InputStream in = response.asInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                sink.write(buffer, 0, read);
+                if (headLength < PREVIEW_BYTES) {
+                    int copy = Math.min(read, PREVIEW_BYTES - headLength);
+                    System.arraycopy(buffer, 0, head, headLength, copy);
+                    headLength += copy;
+                }
+                total += read;
+            }
+        }
+        sink.flush();
+
+        String preview = new String(head, 0, headLength, StandardCharsets.UTF_8);
+        return new StreamedResponse(response, file, total, toHex(digest.digest()), preview);
+    }
+
+    // === BASIC INFO ===
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getStatusLine() {
+        return statusLine;
+    }
+
+    public long getResponseTime() {
+        return responseTime;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getHeader(String headerName) {
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(headerName)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    // === BODY ===
+
+    /**
+     * @return file chứa body, hoặc null nếu body được stream sang OutputStream
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    public boolean hasFile() {
+        return file != null;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * @return SHA-256 (hex, chữ thường) của toàn bộ body
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
+    /**
+     * @return tối đa 2 KB đầu của body (UTF-8), dùng cho log/report
+     */
+    public String getPreview() {
+        return preview;
+    }
+
+    private String toSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Status: ").append(statusLine).append('\n');
+        sb.append("Time: ").append(responseTime).append("ms\n");
+        sb.append("Content-Type: ").append(contentType).append('\n');
+        sb.append("Size: ").append(sizeBytes).append(" bytes\n");
+        sb.append("SHA-256: ").append(sha256).append('\n');
+        if (file != null) {
+            sb.append("File: ").append(file.toAbsolutePath()).append('\n');
+        }
+        sb.append("\nPreview:\n").append(preview);
+        if (sizeBytes > PREVIEW_BYTES) {
+            sb.append("\n... (truncated)");
+        }
+        return sb.toString();
+    }
+
+    static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StreamedResponse{statusCode=%d, time=%dms, size=%d bytes, sha256=%s}",
+                statusCode, responseTime, sizeBytes, sha256);
+    }
+}
@@ -1,11 +1,11 @@
 package com.vtnet.netat.api.curl;
 
 import com.vtnet.netat.api.core.ApiContext;
+import com.vtnet.netat.api.core.ApiHttpClientPool;
 import com.vtnet.netat.api.core.ApiResponse;
+import com.vtnet.netat.api.replay.ApiReplay;
 import com.vtnet.netat.core.logging.NetatLogger;
 import io.restassured.RestAssured;
-import io.restassured.config.RestAssuredConfig;
-import io.restassured.config.SSLConfig;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
@@ -39,27 +39,35 @@ public class CurlExecutor {
      * @return ApiResponse chứa kết quả response
      */
     public static ApiResponse execute(CurlParser.ParsedCurl parsedCurl, ApiContext additionalContext) {
+        return new ApiResponse(send(parsedCurl, additionalContext));
+    }
+
+    /**
+     * Gửi request từ ParsedCurl và trả về RestAssured Response thô (chưa wrap ApiResponse,
+     * chưa attach vào Allure). Dùng khi cần gửi nhiều request song song.
+     *
+     * @param parsedCurl ParsedCurl đã được parse từ cURL command
+     * @param additionalContext ApiContext chứa các cấu hình bổ sung (có thể null)
+     * @return RestAssured Response
+     */
+    public static Response send(CurlParser.ParsedCurl parsedCurl, ApiContext additionalContext) {
         logger.info("Executing cURL: {} {}", parsedCurl.getMethod(), parsedCurl.getUrl());
 
         RequestSpecification spec = RestAssured.given();
 
-        // Apply SSL config nếu insecure
+        // Replay trước configFor: lần gọi đầu bật mode từ api.replay.mode (và route tới stub)
+        ApiReplay.applyTo(spec);
+
+        // Shared pooled client cho host của URL (gộp SSL + timeout vào một config)
+        boolean insecure = parsedCurl.isInsecure()
+                || (additionalContext != null && !additionalContext.isSslVerificationEnabled());
+        int timeout = additionalContext != null ? additionalContext.getTimeout() : 0;
+        spec.config(ApiHttpClientPool.configFor(parsedCurl.getUrl(), timeout, !insecure));
+
         if (parsedCurl.isInsecure()) {
-            spec.config(RestAssuredConfig.config()
-                    .sslConfig(SSLConfig.sslConfig()
-                            .relaxedHTTPSValidation()
-                            .allowAllHostnames()));
             logger.warn("⚠️ SSL verification DISABLED (--insecure flag)");
         }
 
-        // Apply additional context SSL config nếu có
-        if (additionalContext != null && !additionalContext.isSslVerificationEnabled()) {
-            spec.config(RestAssuredConfig.config()
-                    .sslConfig(SSLConfig.sslConfig()
-                            .relaxedHTTPSValidation()
-                            .allowAllHostnames()));
-        }
-
         // Apply headers
         for (Map.Entry<String, String> header : parsedCurl.getHeaders().entrySet()) {
             spec.header(header.getKey(), header.getValue());
@@ -90,15 +98,6 @@ public class CurlExecutor {
 
         // Apply additional context settings
         if (additionalContext != null) {
-            // Apply timeout
-            if (additionalContext.getTimeout() > 0) {
-                spec.config(RestAssuredConfig.config()
-                        .connectionConfig(io.restassured.config.ConnectionConfig.connectionConfig()
-                                .closeIdleConnectionsAfterEachResponseAfter(
-                                        additionalContext.getTimeout(),
-                                        java.util.concurrent.TimeUnit.SECONDS)));
-            }
-
             // Apply additional headers từ context (không override từ cURL)
             if (additionalContext.getHeaders() != null) {
                 for (Map.Entry<String, String> header : additionalContext.getHeaders().entrySet()) {
@@ -122,7 +121,7 @@ public class CurlExecutor {
                 response.getStatusLine(),
                 response.getTime());
 
-        return new ApiResponse(response);
+        return response;
     }
 
     /**
@@ -1,18 +1,34 @@
 package com.vtnet.netat.api.curl;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Parser để chuyển đổi cURL command thành các thành phần request
- * Hỗ trợ các options phổ biến: -X, -H, -d, --data, -u, -k, --insecure, -b, --cookie
+ * Hỗ trợ các options phổ biến: -X, -H, -d, --data, --data-binary @file, -u, -k, --insecure, -b, --cookie
+ * Tokenizer chạy một lượt (không regex), kết quả parse được cache theo nội dung command
  *
  * @author NETAT Framework
  * @version 1.0
  */
 public class CurlParser {
 
+    // Option cần giá trị đi kèm (giá trị có thể nằm ở token sau hoặc gắn liền: -XPOST, --request=POST)
+    private static final Set<String> OPTIONS_WITH_VALUE = new HashSet<>(Arrays.asList(
+            "-X", "--request", "--url", "-H", "--header",
+            "-d", "--data", "--data-ascii", "--data-binary", "--data-raw", "--data-urlencode",
+            "-F", "--form", "-u", "--user", "-b", "--cookie", "-A", "--user-agent", "-e", "--referer",
+            "-o", "--output", "-m", "--max-time", "--connect-timeout", "-x", "--proxy",
+            "-w", "--write-out", "-c", "--cookie-jar", "-r", "--range", "--retry"));
+
+    private static final String SHORT_OPTIONS_WITH_VALUE = "XHdFubAeomxwcr";
+
     /**
      * Kết quả parse từ cURL command
      */
@@ -62,6 +78,24 @@ public class CurlParser {
         }
         public boolean isFormData() { return isFormData; }
 
+        /**
+         * @return bản copy độc lập (map headers/cookies/formData được copy)
+         */
+        public ParsedCurl copy() {
+            ParsedCurl copy = new ParsedCurl();
+            copy.method = method;
+            copy.url = url;
+            copy.headers.putAll(headers);
+            copy.body = body;
+            copy.basicAuthUser = basicAuthUser;
+            copy.basicAuthPassword = basicAuthPassword;
+            copy.insecure = insecure;
+            copy.cookies.putAll(cookies);
+            copy.formData.putAll(formData);
+            copy.isFormData = isFormData;
+            return copy;
+        }
+
         @Override
         public String toString() {
             StringBuilder sb = new StringBuilder();
@@ -89,8 +123,25 @@ public class CurlParser {
         }
     }
 
+    // Kết quả parse được memoize theo nội dung command (key là chính chuỗi command).
+    // LRU theo thứ tự truy cập: đầy thì chỉ bỏ command lâu không dùng nhất, không xóa cả cache
+    private static final int MAX_CACHED_COMMANDS = 512;
+    private static final Map<String, CachedParse> PARSE_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, CachedParse>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedParse> eldest) {
+                    return size() > MAX_CACHED_COMMANDS;
+                }
+            });
+
+    // cURL file đã parse, reload khi mtime/size thay đổi
+    private static final Map<Path, CachedFile> FILE_CACHE = new ConcurrentHashMap<>();
+
     /**
-     * Parse cURL command thành ParsedCurl object
+     * Parse cURL command thành ParsedCurl object.
+     *
+     * <p>Kết quả được cache theo nội dung command; mỗi lần gọi trả về một bản copy nên caller
+     * có thể sửa tự do. Command có {@code -d @file} chỉ dùng lại cache khi file chưa thay đổi.
      *
      * @param curlCommand cURL command string
      * @return ParsedCurl object chứa các thành phần đã parse
@@ -101,136 +152,193 @@ public class CurlParser {
             throw new IllegalArgumentException("cURL command cannot be null or empty");
         }
 
-        ParsedCurl result = new ParsedCurl();
+        CachedParse cached = PARSE_CACHE.get(curlCommand);
+        if (cached != null && cached.isFresh()) {
+            return cached.parsed.copy();
+        }
+
+        List<DataFile> dataFiles = new ArrayList<>(0);
+        ParsedCurl result = parseTokens(tokenize(curlCommand), dataFiles);
+
+        PARSE_CACHE.put(curlCommand, new CachedParse(result, dataFiles));
+        return result.copy();
+    }
+
+    /**
+     * Đọc và parse cURL command từ file. File chỉ được đọc lại khi mtime hoặc size thay đổi.
+     *
+     * @param file file chứa cURL command
+     * @return ParsedCurl (bản copy)
+     * @throws IOException nếu không đọc được file
+     */
+    public static ParsedCurl parseFile(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        long modified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        CachedFile cached = FILE_CACHE.get(key);
+        if (cached != null && cached.modified == modified && cached.size == size) {
+            return parse(cached.command);
+        }
 
-        // Normalize command: remove line continuations và extra whitespace
-        String normalized = normalizeCommand(curlCommand);
+        String command = new String(Files.readAllBytes(key), StandardCharsets.UTF_8);
+        FILE_CACHE.put(key, new CachedFile(command, modified, size));
+        return parse(command);
+    }
 
-        // Tokenize command
-        List<String> tokens = tokenize(normalized);
+    /**
+     * Xóa cache parse (command và file).
+     */
+    public static void clearCache() {
+        PARSE_CACHE.clear();
+        FILE_CACHE.clear();
+    }
 
+    private static ParsedCurl parseTokens(List<String> tokens, List<DataFile> dataFiles) {
         if (tokens.isEmpty() || !tokens.get(0).equalsIgnoreCase("curl")) {
             throw new IllegalArgumentException("Command must start with 'curl'");
         }
 
-        // Parse tokens
+        ParsedCurl result = new ParsedCurl();
+        StringBuilder body = null;
+        boolean methodExplicit = false;
+        boolean optionsEnded = false;
+
         for (int i = 1; i < tokens.size(); i++) {
             String token = tokens.get(i);
 
-            switch (token) {
+            if (optionsEnded || token.length() < 2 || token.charAt(0) != '-') {
+                if (result.getUrl() == null && !token.trim().isEmpty()) {
+                    result.setUrl(token.trim());
+                }
+                continue;
+            }
+            if (token.equals("--")) {
+                optionsEnded = true;
+                continue;
+            }
+
+            // Tách giá trị gắn liền: --request=POST, -XPOST, -H'Accept: */*'
+            String option = token;
+            String inlineValue = null;
+            if (token.startsWith("--")) {
+                int eq = token.indexOf('=');
+                if (eq > 0) {
+                    option = token.substring(0, eq);
+                    inlineValue = token.substring(eq + 1);
+                }
+            } else if (token.length() > 2 && SHORT_OPTIONS_WITH_VALUE.indexOf(token.charAt(1)) >= 0) {
+                option = token.substring(0, 2);
+                inlineValue = token.substring(2);
+            }
+
+            if (!OPTIONS_WITH_VALUE.contains(option)) {
+                switch (option) {
+                    case "-k":
+                    case "--insecure":
+                        result.setInsecure(true);
+                        break;
+                    case "--compressed":
+                        result.addHeader("Accept-Encoding", "gzip, deflate");
+                        break;
+                    case "-I":
+                    case "--head":
+                        result.setMethod("HEAD");
+                        methodExplicit = true;
+                        break;
+                    default:
+                        // Cờ gộp kiểu -sSk; -L, -v, -s, -S, -O, -i...: không ảnh hưởng tới request
+                        if (option.charAt(1) != '-' && option.indexOf('k', 1) > 0) {
+                            result.setInsecure(true);
+                        }
+                        break;
+                }
+                continue;
+            }
+
+            String value = inlineValue;
+            if (value == null) {
+                if (i + 1 >= tokens.size()) {
+                    continue;
+                }
+                value = tokens.get(++i);
+            }
+
+            switch (option) {
                 case "-X":
                 case "--request":
-                    if (i + 1 < tokens.size()) {
-                        result.setMethod(tokens.get(++i).toUpperCase());
+                    result.setMethod(value.toUpperCase());
+                    methodExplicit = true;
+                    break;
+
+                case "--url":
+                    if (result.getUrl() == null && !value.trim().isEmpty()) {
+                        result.setUrl(value.trim());
                     }
                     break;
 
                 case "-H":
                 case "--header":
-                    if (i + 1 < tokens.size()) {
-                        parseHeader(tokens.get(++i), result);
-                    }
+                    parseHeader(value, result);
                     break;
 
                 case "-d":
                 case "--data":
-                case "--data-raw":
+                case "--data-ascii":
                 case "--data-binary":
-                    if (i + 1 < tokens.size()) {
-                        result.setBody(tokens.get(++i));
-                        // Nếu có body và method vẫn là GET, đổi sang POST
-                        if ("GET".equals(result.getMethod())) {
-                            result.setMethod("POST");
-                        }
+                case "--data-raw":
+                    String data = "--data-raw".equals(option)
+                            ? value
+                            : readDataValue(value, "--data-binary".equals(option), dataFiles);
+                    // Nhiều -d được nối bằng '&' giống cURL
+                    if (body == null) {
+                        body = new StringBuilder(data);
+                    } else {
+                        body.append('&').append(data);
                     }
                     break;
 
                 case "--data-urlencode":
-                    if (i + 1 < tokens.size()) {
-                        parseFormDataItem(tokens.get(++i), result);
-                        if ("GET".equals(result.getMethod())) {
-                            result.setMethod("POST");
-                        }
-                    }
-                    break;
-
                 case "-F":
                 case "--form":
-                    if (i + 1 < tokens.size()) {
-                        parseFormDataItem(tokens.get(++i), result);
-                        if ("GET".equals(result.getMethod())) {
-                            result.setMethod("POST");
-                        }
-                    }
+                    parseFormDataItem(value, result);
                     break;
 
                 case "-u":
                 case "--user":
-                    if (i + 1 < tokens.size()) {
-                        parseBasicAuth(tokens.get(++i), result);
-                    }
-                    break;
-
-                case "-k":
-                case "--insecure":
-                    result.setInsecure(true);
+                    parseBasicAuth(value, result);
                     break;
 
                 case "-b":
                 case "--cookie":
-                    if (i + 1 < tokens.size()) {
-                        parseCookies(tokens.get(++i), result);
-                    }
+                    parseCookies(value, result);
                     break;
 
                 case "-A":
                 case "--user-agent":
-                    if (i + 1 < tokens.size()) {
-                        result.addHeader("User-Agent", tokens.get(++i));
-                    }
+                    result.addHeader("User-Agent", value);
                     break;
 
                 case "-e":
                 case "--referer":
-                    if (i + 1 < tokens.size()) {
-                        result.addHeader("Referer", tokens.get(++i));
-                    }
-                    break;
-
-                case "--compressed":
-                    result.addHeader("Accept-Encoding", "gzip, deflate");
-                    break;
-
-                case "-L":
-                case "--location":
-                    // Follow redirects - REST Assured handles this by default
-                    break;
-
-                case "-v":
-                case "--verbose":
-                case "-s":
-                case "--silent":
-                case "-S":
-                case "--show-error":
-                case "-o":
-                case "--output":
-                case "-O":
-                case "--remote-name":
-                    // Skip these options (and their values if applicable)
-                    if ((token.equals("-o") || token.equals("--output")) && i + 1 < tokens.size()) {
-                        i++; // Skip the output filename
-                    }
+                    result.addHeader("Referer", value);
                     break;
 
                 default:
-                    // Nếu không phải option (không bắt đầu bằng -), có thể là URL
-                    if (!token.startsWith("-") && result.getUrl() == null) {
-                        result.setUrl(cleanUrl(token));
-                    }
+                    // -o, --output, -m, --max-time...: bỏ qua cả giá trị
                     break;
             }
         }
 
+        if (body != null) {
+            result.setBody(body.toString());
+        }
+        // Nếu có body/form mà method chưa được chỉ định, đổi sang POST
+        if (!methodExplicit && (body != null || result.isFormData())) {
+            result.setMethod("POST");
+        }
+
         // Validate
         if (result.getUrl() == null || result.getUrl().isEmpty()) {
             throw new IllegalArgumentException("No URL found in cURL command");
@@ -240,69 +348,218 @@ public class CurlParser {
     }
 
     /**
-     * Normalize cURL command - xử lý line continuation và whitespace
-     */
-    private static String normalizeCommand(String command) {
-        // Remove line continuations (backslash + newline)
-        String normalized = command.replaceAll("\\\\\\s*\\n\\s*", " ");
-        // Remove multiple spaces
-        normalized = normalized.replaceAll("\\s+", " ");
-        // Trim
-        return normalized.trim();
-    }
-
-    /**
-     * Tokenize command - tách thành các tokens, xử lý quotes
+     * Tokenize command trong một lượt theo quy tắc của shell (bash):
+     * <ul>
+     *   <li>{@code '...'}: giữ nguyên mọi ký tự</li>
+     *   <li>{@code "..."}: backslash chỉ escape {@code $ ` " \} và newline</li>
+     *   <li>{@code $'...'}: ANSI-C quoting ({@code \n}, {@code \t}, {@code \'}, {@code \xHH}...)
+     *       như "Copy as cURL" của Chrome</li>
+     *   <li>backslash + newline ngoài quote: nối dòng (chấp nhận cả space/tab thừa trước newline);
+ *       whitespace trong quote được giữ nguyên</li>
+     * </ul>
      */
-    private static List<String> tokenize(String command) {
+    static List<String> tokenize(String command) {
         List<String> tokens = new ArrayList<>();
         StringBuilder current = new StringBuilder();
-        boolean inSingleQuote = false;
-        boolean inDoubleQuote = false;
-        boolean escaped = false;
+        boolean inToken = false;
+        int length = command.length();
+        int i = 0;
 
-        for (int i = 0; i < command.length(); i++) {
+        while (i < length) {
             char c = command.charAt(i);
 
-            if (escaped) {
-                current.append(c);
-                escaped = false;
+            if (c == '\\') {
+                if (i + 1 >= length) {
+                    i++;
+                    continue;
+                }
+                char next = command.charAt(i + 1);
+                int continuation = lineContinuationEnd(command, i + 1);
+                if (next == '\n') {
+                    i += 2;
+                } else if (next == '\r' && i + 2 < length && command.charAt(i + 2) == '\n') {
+                    i += 3;
+                } else if (continuation > 0) {
+                    // Backslash + khoảng trắng thừa cuối dòng (hay gặp khi copy): vẫn là nối dòng, và kết thúc token
+                    if (inToken) {
+                        tokens.add(current.toString());
+                        current.setLength(0);
+                        inToken = false;
+                    }
+                    i = continuation;
+                } else {
+                    current.append(next);
+                    inToken = true;
+                    i += 2;
+                }
                 continue;
             }
 
-            if (c == '\\' && !inSingleQuote) {
-                escaped = true;
+            if (c == '\'') {
+                int close = command.indexOf('\'', i + 1);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unterminated single quote in cURL command");
+                }
+                current.append(command, i + 1, close);
+                inToken = true;
+                i = close + 1;
                 continue;
             }
 
-            if (c == '\'' && !inDoubleQuote) {
-                inSingleQuote = !inSingleQuote;
+            if (c == '"') {
+                i = readDoubleQuoted(command, i + 1, current);
+                inToken = true;
                 continue;
             }
 
-            if (c == '"' && !inSingleQuote) {
-                inDoubleQuote = !inDoubleQuote;
+            if (c == '$' && i + 1 < length && command.charAt(i + 1) == '\'') {
+                i = readAnsiCQuoted(command, i + 2, current);
+                inToken = true;
                 continue;
             }
 
-            if (c == ' ' && !inSingleQuote && !inDoubleQuote) {
-                if (current.length() > 0) {
+            if (Character.isWhitespace(c)) {
+                if (inToken) {
                     tokens.add(current.toString());
-                    current = new StringBuilder();
+                    current.setLength(0);
+                    inToken = false;
                 }
+                i++;
                 continue;
             }
 
             current.append(c);
+            inToken = true;
+            i++;
         }
 
-        if (current.length() > 0) {
+        if (inToken) {
             tokens.add(current.toString());
         }
-
         return tokens;
     }
 
+    /**
+     * @return vị trí ngay sau newline nếu từ {@code i} chỉ có space/tab (và {@code \r}) rồi tới newline, ngược lại -1
+     */
+    private static int lineContinuationEnd(String command, int i) {
+        int length = command.length();
+        while (i < length && (command.charAt(i) == ' ' || command.charAt(i) == '\t' || command.charAt(i) == '\r')) {
+            i++;
+        }
+        return i < length && command.charAt(i) == '\n' ? i + 1 : -1;
+    }
+
+    private static int readDoubleQuoted(String command, int i, StringBuilder out) {
+        int length = command.length();
+        while (i < length) {
+            char c = command.charAt(i);
+            if (c == '"') {
+                return i + 1;
+            }
+            if (c == '\\' && i + 1 < length) {
+                char next = command.charAt(i + 1);
+                if (next == '\n') {
+                    i += 2;
+                    continue;
+                }
+                if (next == '"' || next == '\\' || next == '$' || next == '`') {
+                    out.append(next);
+                    i += 2;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        throw new IllegalArgumentException("Unterminated double quote in cURL command");
+    }
+
+    private static int readAnsiCQuoted(String command, int i, StringBuilder out) {
+        int length = command.length();
+        while (i < length) {
+            char c = command.charAt(i);
+            if (c == '\'') {
+                return i + 1;
+            }
+            if (c != '\\' || i + 1 >= length) {
+                out.append(c);
+                i++;
+                continue;
+            }
+            char next = command.charAt(i + 1);
+            i += 2;
+            switch (next) {
+                case 'n': out.append('\n'); break;
+                case 't': out.append('\t'); break;
+                case 'r': out.append('\r'); break;
+                case 'b': out.append('\b'); break;
+                case 'f': out.append('\f'); break;
+                case 'e': case 'E': out.append((char) 0x1B); break;
+                case 'x':
+                    i = appendHex(command, i, 2, out);
+                    break;
+                case 'u':
+                    i = appendHex(command, i, 4, out);
+                    break;
+                default:
+                    // \\, \', \" và ký tự khác: giữ ký tự sau backslash
+                    out.append(next);
+                    break;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated $'...' quote in cURL command");
+    }
+
+    private static int appendHex(String command, int i, int maxDigits, StringBuilder out) {
+        int value = 0;
+        int digits = 0;
+        while (digits < maxDigits && i < command.length()) {
+            int digit = Character.digit(command.charAt(i), 16);
+            if (digit < 0) {
+                break;
+            }
+            value = value * 16 + digit;
+            i++;
+            digits++;
+        }
+        out.append(digits == 0 ? 'x' : (char) value);
+        return i;
+    }
+
+    /**
+     * Giá trị của {@code -d}/{@code --data-binary}: {@code @file} được đọc từ file.
+     * {@code -d @file} bỏ CR/LF giống cURL, {@code --data-binary @file} giữ nguyên nội dung.
+     */
+    private static String readDataValue(String value, boolean binary, List<DataFile> dataFiles) {
+        if (value.length() < 2 || value.charAt(0) != '@') {
+            return value;
+        }
+        String fileName = value.substring(1);
+        if ("-".equals(fileName)) {
+            throw new IllegalArgumentException("Reading request body from stdin (@-) is not supported");
+        }
+        Path file = Paths.get(fileName).toAbsolutePath().normalize();
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            dataFiles.add(new DataFile(file, attributes.lastModifiedTime().toMillis(), attributes.size()));
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            if (binary) {
+                return content;
+            }
+            StringBuilder stripped = new StringBuilder(content.length());
+            for (int i = 0; i < content.length(); i++) {
+                char c = content.charAt(i);
+                if (c != '\r' && c != '\n') {
+                    stripped.append(c);
+                }
+            }
+            return stripped.toString();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read request body file: " + file, e);
+        }
+    }
+
     /**
      * Parse header string "Name: Value"
      */
@@ -357,20 +614,6 @@ public class CurlParser {
         }
     }
 
-    /**
-     * Clean URL - remove surrounding quotes if present
-     */
-    private static String cleanUrl(String url) {
-        if (url == null) return null;
-        url = url.trim();
-        // Remove surrounding quotes
-        if ((url.startsWith("'") && url.endsWith("'")) ||
-                (url.startsWith("\"") && url.endsWith("\""))) {
-            url = url.substring(1, url.length() - 1);
-        }
-        return url;
-    }
-
     /**
      * Utility method để kiểm tra xem một cURL command có hợp lệ không
      */
@@ -382,4 +625,56 @@ public class CurlParser {
             return false;
         }
     }
+
+    private static final class DataFile {
+        final Path path;
+        final long modified;
+        final long size;
+
+        DataFile(Path path, long modified, long size) {
+            this.path = path;
+            this.modified = modified;
+            this.size = size;
+        }
+
+        boolean isUnchanged() {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return attributes.lastModifiedTime().toMillis() == modified && attributes.size() == size;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class CachedParse {
+        final ParsedCurl parsed;
+        final List<DataFile> dataFiles;
+
+        CachedParse(ParsedCurl parsed, List<DataFile> dataFiles) {
+            this.parsed = parsed;
+            this.dataFiles = dataFiles;
+        }
+
+        boolean isFresh() {
+            for (DataFile dataFile : dataFiles) {
+                if (!dataFile.isUnchanged()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class CachedFile {
+        final String command;
+        final long modified;
+        final long size;
+
+        CachedFile(String command, long modified, long size) {
+            this.command = command;
+            this.modified = modified;
+            this.size = size;
+        }
+    }
 }
\ No newline at end of file
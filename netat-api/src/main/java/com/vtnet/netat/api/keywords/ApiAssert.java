@@ -1,12 +1,15 @@
 package com.vtnet.netat.api.keywords;
 
-import com.jayway.jsonpath.JsonPath;
 import com.vtnet.netat.api.core.ApiResponse;
 import com.vtnet.netat.api.core.BaseApiKeyword;
+import com.vtnet.netat.api.core.JsonStreamReader;
+import com.vtnet.netat.api.core.StreamedResponse;
+import com.vtnet.netat.api.load.LoadResult;
 import com.vtnet.netat.core.annotations.NetatKeyword;
 import io.qameta.allure.Step;
 import org.testng.Assert;
 
+import java.nio.file.Path;
 import java.util.List;
 
 public class ApiAssert extends BaseApiKeyword {
@@ -196,7 +199,7 @@ public class ApiAssert extends BaseApiKeyword {
     public void jsonPathExists(ApiResponse response, String jsonPath) {
         execute(() -> {
             try {
-                JsonPath.read(response.getBody(), jsonPath);
+                response.readJsonPath(jsonPath);
                 logger.info("JSON path '{}' exists", jsonPath);
             } catch (Exception e) {
                 Assert.fail(String.format("JSON path '%s' should exist but was not found", jsonPath));
@@ -221,7 +224,7 @@ public class ApiAssert extends BaseApiKeyword {
     public void jsonPathNotExists(ApiResponse response, String jsonPath) {
         execute(() -> {
             try {
-                Object value = JsonPath.read(response.getBody(), jsonPath);
+                Object value = response.readJsonPath(jsonPath);
                 if (value != null) {
                     Assert.fail(String.format("JSON path '%s' should NOT exist but it does", jsonPath));
                 }
@@ -249,7 +252,7 @@ public class ApiAssert extends BaseApiKeyword {
     public void jsonPathIsNull(ApiResponse response, String jsonPath) {
         execute(() -> {
             try {
-                Object value = JsonPath.read(response.getBody(), jsonPath);
+                Object value = response.readJsonPath(jsonPath);
                 Assert.assertNull(value,
                         String.format("JSON path '%s' should be null but got '%s'", jsonPath, value));
                 logger.info("JSON path '{}' is null", jsonPath);
@@ -276,7 +279,7 @@ public class ApiAssert extends BaseApiKeyword {
     public void jsonPathNotNull(ApiResponse response, String jsonPath) {
         execute(() -> {
             try {
-                Object value = JsonPath.read(response.getBody(), jsonPath);
+                Object value = response.readJsonPath(jsonPath);
                 Assert.assertNotNull(value,
                         String.format("JSON path '%s' should NOT be null", jsonPath));
                 logger.info("JSON path '{}' is not null", jsonPath);
@@ -762,4 +765,230 @@ public class ApiAssert extends BaseApiKeyword {
             return null;
         }, message);
     }
-}
\ No newline at end of file
+
+    // ========================================================================
+    //  SECTION 6: STREAMING ASSERTIONS (4 methods)
+    // ========================================================================
+
+    @NetatKeyword(
+            name = "streamedStatusCode",
+            description = "Kiểm tra status code của response đã stream ra file",
+            category = "API",
+            subCategory = "Assertion/Streaming",
+            parameters = {
+                    "response: StreamedResponse",
+                    "expectedCode: int - Expected status code"
+            },
+            example = "verify.streamedStatusCode(export, 200);",
+            explainer = "Assert streamed status = {1}"
+    )
+    @Step("Assert streamed status = {1}")
+    public void streamedStatusCode(StreamedResponse response, int expectedCode) {
+        execute(() -> {
+            int actual = response.getStatusCode();
+            Assert.assertEquals(actual, expectedCode,
+                    String.format("Expected status %d but got %d", expectedCode, actual));
+            logger.info("Status code {} verified", expectedCode);
+            return null;
+        }, response, expectedCode);
+    }
+
+    @NetatKeyword(
+            name = "streamedArraySize",
+            description = "Kiểm tra số phần tử JSON array trong body đã stream, đọc bằng streaming parser (không load body vào bộ nhớ)",
+            category = "API",
+            subCategory = "Assertion/Streaming",
+            parameters = {
+                    "response: StreamedResponse - Kết quả của downloadResponseToFile",
+                    "jsonPath: String - Path đơn giản tới array, ví dụ $.items",
+                    "expectedSize: int"
+            },
+            example = "verify.streamedArraySize(export, \"$.items\", 100000);",
+            explainer = "Assert streamed {1} size = {2}"
+    )
+    @Step("Assert streamed {1} size = {2}")
+    public void streamedArraySize(StreamedResponse response, String jsonPath, int expectedSize) {
+        execute(() -> {
+            int actual = JsonStreamReader.countArrayElements(requireFile(response), jsonPath);
+            Assert.assertTrue(actual >= 0,
+                    String.format("Array at '%s' not found in streamed body", jsonPath));
+            Assert.assertEquals(actual, expectedSize,
+                    String.format("Array at '%s': expected size %d but got %d", jsonPath, expectedSize, actual));
+            logger.info("Streamed array '{}' size = {} verified", jsonPath, expectedSize);
+            return null;
+        }, response, jsonPath, expectedSize);
+    }
+
+    @NetatKeyword(
+            name = "streamedJsonPathEquals",
+            description = "Kiểm tra giá trị tại JSON path trong body đã stream, đọc bằng streaming parser",
+            category = "API",
+            subCategory = "Assertion/Streaming",
+            parameters = {
+                    "response: StreamedResponse",
+                    "jsonPath: String - Path đơn giản, ví dụ $.meta.total",
+                    "expectedValue: String"
+            },
+            example = "verify.streamedJsonPathEquals(export, \"$.meta.status\", \"COMPLETED\");",
+            explainer = "Assert streamed {1} = {2}"
+    )
+    @Step("Assert streamed {1} = {2}")
+    public void streamedJsonPathEquals(StreamedResponse response, String jsonPath, String expectedValue) {
+        execute(() -> {
+            String actual = JsonStreamReader.readValue(requireFile(response), jsonPath);
+            Assert.assertEquals(actual, expectedValue,
+                    String.format("JSON path '%s': expected '%s' but got '%s'", jsonPath, expectedValue, actual));
+            logger.info("Streamed JSON path '{}' = '{}' verified", jsonPath, expectedValue);
+            return null;
+        }, response, jsonPath, expectedValue);
+    }
+
+    @NetatKeyword(
+            name = "streamedBodySha256Equals",
+            description = "Kiểm tra SHA-256 của body đã stream (tính trong lúc tải, không đọc lại file)",
+            category = "API",
+            subCategory = "Assertion/Streaming",
+            parameters = {
+                    "response: StreamedResponse",
+                    "expectedSha256: String - Hex, không phân biệt hoa thường"
+            },
+            example = "verify.streamedBodySha256Equals(export, \"9f86d081884c7d65...\");",
+            explainer = "Assert streamed body SHA-256 = {1}"
+    )
+    @Step("Assert streamed body SHA-256 = {1}")
+    public void streamedBodySha256Equals(StreamedResponse response, String expectedSha256) {
+        execute(() -> {
+            String actual = response.getSha256();
+            Assert.assertTrue(actual.equalsIgnoreCase(expectedSha256.trim()),
+                    String.format("Expected SHA-256 %s but got %s", expectedSha256, actual));
+            logger.info("Streamed body SHA-256 verified ({} bytes)", response.getSizeBytes());
+            return null;
+        }, response, expectedSha256);
+    }
+
+    private Path requireFile(StreamedResponse response) {
+        if (!response.hasFile()) {
+            throw new IllegalArgumentException("Streamed response was not written to a file");
+        }
+        return response.getFile();
+    }
+
+    // ========================================================================
+    //  SECTION 7: LOAD TEST ASSERTIONS (5 methods)
+    // ========================================================================
+
+    @NetatKeyword(
+            name = "loadPercentileLessThan",
+            description = "Kiểm tra latency tại percentile bất kỳ của kết quả chạy tải nhỏ hơn ngưỡng (ms)",
+            category = "API",
+            subCategory = "Assertion/Performance",
+            parameters = {
+                    "result: LoadResult - Kết quả từ runLoadAtRate/runLoadWithConcurrency",
+                    "percentile: double - Percentile (0..100), ví dụ 99.9",
+                    "maxTimeMs: double - Ngưỡng tối đa (milliseconds)"
+            },
+            example = "verify.loadPercentileLessThan(load, 99.9, 500);",
+            explainer = "Assert p{1} < {2}ms"
+    )
+    @Step("Assert p{1} < {2}ms")
+    public void loadPercentileLessThan(LoadResult result, double percentile, double maxTimeMs) {
+        execute(() -> {
+            assertPercentile(result, percentile, maxTimeMs);
+            return null;
+        }, result, percentile, maxTimeMs);
+    }
+
+    @NetatKeyword(
+            name = "loadP50LessThan",
+            description = "Kiểm tra latency trung vị (p50) của kết quả chạy tải nhỏ hơn ngưỡng (ms)",
+            category = "API",
+            subCategory = "Assertion/Performance",
+            parameters = {
+                    "result: LoadResult",
+                    "maxTimeMs: double - Ngưỡng tối đa (milliseconds)"
+            },
+            example = "verify.loadP50LessThan(load, 100);",
+            explainer = "Assert p50 < {1}ms"
+    )
+    @Step("Assert p50 < {1}ms")
+    public void loadP50LessThan(LoadResult result, double maxTimeMs) {
+        execute(() -> {
+            assertPercentile(result, 50, maxTimeMs);
+            return null;
+        }, result, maxTimeMs);
+    }
+
+    @NetatKeyword(
+            name = "loadP95LessThan",
+            description = "Kiểm tra latency p95 của kết quả chạy tải nhỏ hơn ngưỡng (ms)",
+            category = "API",
+            subCategory = "Assertion/Performance",
+            parameters = {
+                    "result: LoadResult",
+                    "maxTimeMs: double - Ngưỡng tối đa (milliseconds)"
+            },
+            example = "verify.loadP95LessThan(load, 200);",
+            explainer = "Assert p95 < {1}ms"
+    )
+    @Step("Assert p95 < {1}ms")
+    public void loadP95LessThan(LoadResult result, double maxTimeMs) {
+        execute(() -> {
+            assertPercentile(result, 95, maxTimeMs);
+            return null;
+        }, result, maxTimeMs);
+    }
+
+    @NetatKeyword(
+            name = "loadP99LessThan",
+            description = "Kiểm tra latency p99 của kết quả chạy tải nhỏ hơn ngưỡng (ms)",
+            category = "API",
+            subCategory = "Assertion/Performance",
+            parameters = {
+                    "result: LoadResult",
+                    "maxTimeMs: double - Ngưỡng tối đa (milliseconds)"
+            },
+            example = "verify.loadP99LessThan(load, 300);",
+            explainer = "Assert p99 < {1}ms"
+    )
+    @Step("Assert p99 < {1}ms")
+    public void loadP99LessThan(LoadResult result, double maxTimeMs) {
+        execute(() -> {
+            assertPercentile(result, 99, maxTimeMs);
+            return null;
+        }, result, maxTimeMs);
+    }
+
+    @NetatKeyword(
+            name = "loadErrorRateLessThan",
+            description = "Kiểm tra tỉ lệ lỗi (%) của kết quả chạy tải nhỏ hơn ngưỡng. Lỗi gồm exception, status >= 400 và request chưa xong khi hết thời gian chờ.",
+            category = "API",
+            subCategory = "Assertion/Performance",
+            parameters = {
+                    "result: LoadResult",
+                    "maxErrorPercent: double - Tỉ lệ lỗi tối đa (0..100)"
+            },
+            example = "verify.loadErrorRateLessThan(load, 1.0);",
+            explainer = "Assert error rate < {1}%"
+    )
+    @Step("Assert error rate < {1}%")
+    public void loadErrorRateLessThan(LoadResult result, double maxErrorPercent) {
+        execute(() -> {
+            double actual = result.getErrorRatePercent();
+            Assert.assertTrue(actual < maxErrorPercent,
+                    String.format("Expected error rate < %.2f%% but got %.2f%% (%d errors, %d unfinished)%n%s",
+                            maxErrorPercent, actual, result.getErrorCount(), result.getUnfinished(),
+                            result.toSummary()));
+            logger.info("Error rate {}% < {}% verified", String.format("%.2f", actual), maxErrorPercent);
+            return null;
+        }, result, maxErrorPercent);
+    }
+
+    private void assertPercentile(LoadResult result, double percentile, double maxTimeMs) {
+        Assert.assertTrue(result.getTotalRequests() > 0, "Load result has no completed requests");
+        double actual = result.getPercentileMillis(percentile);
+        Assert.assertTrue(actual < maxTimeMs,
+                String.format("Expected p%s < %.1fms but got %.1fms%n%s",
+                        percentile, maxTimeMs, actual, result.toSummary()));
+        logger.info("p{} = {}ms < {}ms verified", percentile, String.format("%.1f", actual), maxTimeMs);
+    }
+}
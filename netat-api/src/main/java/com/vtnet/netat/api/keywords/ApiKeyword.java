@@ -4,14 +4,31 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vtnet.netat.api.core.ApiContext;
 import com.vtnet.netat.api.core.ApiResponse;
 import com.vtnet.netat.api.core.BaseApiKeyword;
+import com.vtnet.netat.api.core.BatchExecutor;
+import com.vtnet.netat.api.core.BatchRequest;
+import com.vtnet.netat.api.core.BatchResult;
+import com.vtnet.netat.api.core.JsonStreamReader;
+import com.vtnet.netat.api.core.StreamedResponse;
 import com.vtnet.netat.api.curl.CurlExecutor;
 import com.vtnet.netat.api.curl.CurlParser;
+import com.vtnet.netat.api.load.LoadOptions;
+import com.vtnet.netat.api.load.LoadResult;
+import com.vtnet.netat.api.load.LoadRunner;
+import com.vtnet.netat.api.replay.ApiReplay;
+import com.vtnet.netat.api.template.RequestTemplate;
 import com.vtnet.netat.core.annotations.NetatKeyword;
 import com.vtnet.netat.core.secret.SecretDecryptor;
 import com.vtnet.netat.core.secret.SensitiveDataProtection;
+import com.vtnet.netat.core.utils.DataUtils;
 
+import java.io.File;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -136,6 +153,30 @@ public class ApiKeyword extends BaseApiKeyword {
         });
     }
 
+    @NetatKeyword(
+            name = "setHttpTransport",
+            description = "Chọn HTTP stack cho các request tiếp theo trong context hiện tại. " +
+                    "JDK_HTTP2 dùng JDK HttpClient: HTTP/2 multiplexing (fallback HTTP/1.1) và gửi bất đồng bộ, " +
+                    "batch/parallel request không cần thread riêng cho mỗi request.",
+            category = "API",
+            subCategory = "Configuration",
+            parameters = {
+                    "transport: String - REST_ASSURED (mặc định) hoặc JDK_HTTP2"
+            },
+            example = "api.setHttpTransport(\"JDK_HTTP2\");\nBatchResult result = api.sendGetRequestsInParallel(endpoints, 100);",
+            explainer = "Use HTTP transport: {transport}",
+            note = "Multipart upload, cURL và chế độ record/replay luôn dùng REST_ASSURED. " +
+                    "Mặc định lấy từ cấu hình api.transport."
+    )
+    public void setHttpTransport(String transport) {
+        execute(() -> {
+            ApiContext.Transport selected = ApiContext.Transport.fromString(transport);
+            getContext().setTransport(selected);
+            logger.info("HTTP transport set to {}", selected);
+            return null;
+        }, transport);
+    }
+
     @NetatKeyword(
             name = "executeCurl",
             description = "Thực thi một cURL command trực tiếp. Hỗ trợ các options: " +
@@ -167,7 +208,7 @@ public class ApiKeyword extends BaseApiKeyword {
 
     @NetatKeyword(
             name = "executeCurlFromFile",
-            description = "Thực thi cURL command từ file. Hữu ích khi cURL command quá dài hoặc cần reuse.",
+            description = "Thực thi cURL command từ file. Hữu ích khi cURL command quá dài hoặc cần reuse. File đã parse được cache, chỉ đọc lại khi file thay đổi.",
             category = "API",
             subCategory = "cURL",
             parameters = {"filePath: String - Đường dẫn đến file chứa cURL command"},
@@ -180,8 +221,7 @@ public class ApiKeyword extends BaseApiKeyword {
     public ApiResponse executeCurlFromFile(String filePath) {
         return execute(() -> {
             logger.info("Reading cURL command from file: {}", filePath);
-            String curlCommand = new String(Files.readAllBytes(Paths.get(filePath)));
-            CurlParser.ParsedCurl parsed = CurlParser.parse(curlCommand);
+            CurlParser.ParsedCurl parsed = CurlParser.parseFile(Paths.get(filePath));
             logger.info("Parsed from file: {} {}", parsed.getMethod(), parsed.getUrl());
             ApiResponse response = CurlExecutor.execute(parsed, getContext());  // 
             logger.info("cURL from file executed - Status: {}", response.getStatusCode());
@@ -657,6 +697,294 @@ public class ApiKeyword extends BaseApiKeyword {
         }, endpoint, paramsJson);
     }
 
+    @NetatKeyword(
+            name = "createBatchRequest",
+            description = "Tạo định nghĩa request cho batch từ snapshot của context hiện tại (base URL, headers, auth, params, body)",
+            category = "API",
+            subCategory = "Batch",
+            parameters = {
+                    "method: String - HTTP method (GET, POST, PUT...)",
+                    "endpoint: String - Endpoint URL"
+            },
+            returnValue = "BatchRequest - Định nghĩa request để truyền vào sendBatchRequests",
+            example = "BatchRequest req = api.createBatchRequest(\"GET\", \"/users/1\");",
+            note = "Context được copy tại thời điểm gọi, thay đổi context sau đó không ảnh hưởng tới request đã tạo.",
+            explainer = "Create batch request: {method} {endpoint}"
+    )
+    public BatchRequest createBatchRequest(String method, String endpoint) {
+        return execute(() -> BatchRequest.of(method, endpoint, getContext()), method, endpoint);
+    }
+
+    @NetatKeyword(
+            name = "sendBatchRequests",
+            description = "Gửi song song danh sách request (snapshot context hoặc cURL), giới hạn số request chạy cùng lúc. Trả về response theo đúng thứ tự kèm thống kê thời gian.",
+            category = "API",
+            subCategory = "Batch",
+            parameters = {
+                    "requests: List<BatchRequest> - Danh sách request (createBatchRequest hoặc BatchRequest.fromCurl)",
+                    "maxInFlight: int - Số request tối đa chạy cùng lúc"
+            },
+            returnValue = "BatchResult - Danh sách ApiResponse theo thứ tự, lỗi theo index, tổng thời gian, min/max/avg",
+            example = "BatchResult result = api.sendBatchRequests(requests, 20);\nApiResponse first = result.getResponse(0);",
+            note = "Dùng virtual thread nếu JVM hỗ trợ (Java 21+), ngược lại dùng thread pool. Số kết nối tới cùng host còn bị giới hạn bởi api.http.pool.maxPerRoute.",
+            explainer = "Send batch requests (max in-flight: {maxInFlight})"
+    )
+    public BatchResult sendBatchRequests(List<BatchRequest> requests, int maxInFlight) {
+        return execute(() -> {
+            BatchResult result = BatchExecutor.execute(requests, maxInFlight);
+            logger.info("Batch of {} requests done in {}ms (sequential would be ~{}ms), errors: {}",
+                    result.size(), result.getTotalTimeMs(), result.getSumResponseTimeMs(), result.getErrorCount());
+            return result;
+        }, requests, maxInFlight);
+    }
+
+    @NetatKeyword(
+            name = "sendGetRequestsInParallel",
+            description = "Gửi song song GET tới nhiều endpoint với context hiện tại (shortcut cho sendBatchRequests)",
+            category = "API",
+            subCategory = "Batch",
+            parameters = {
+                    "endpoints: List<String> - Danh sách endpoint",
+                    "maxInFlight: int - Số request tối đa chạy cùng lúc"
+            },
+            returnValue = "BatchResult - Response theo thứ tự endpoint",
+            example = "BatchResult result = api.sendGetRequestsInParallel(Arrays.asList(\"/users/1\", \"/users/2\"), 10);",
+            explainer = "GET endpoints in parallel (max in-flight: {maxInFlight})"
+    )
+    public BatchResult sendGetRequestsInParallel(List<String> endpoints, int maxInFlight) {
+        return execute(() -> {
+            ApiContext ctx = getContext();
+            List<BatchRequest> requests = new ArrayList<>(endpoints.size());
+            for (String endpoint : endpoints) {
+                requests.add(BatchRequest.of("GET", endpoint, ctx));
+            }
+            BatchResult result = BatchExecutor.execute(requests, maxInFlight);
+            logger.info("Parallel GET of {} endpoints done in {}ms, errors: {}",
+                    result.size(), result.getTotalTimeMs(), result.getErrorCount());
+            return result;
+        }, endpoints, maxInFlight);
+    }
+
+    @NetatKeyword(
+            name = "runLoadAtRate",
+            description = "Chạy tải với tốc độ cố định (open model) trong một khoảng thời gian, dùng context hiện tại. Latency tính từ thời điểm request được lên lịch nên không bị coordinated omission.",
+            category = "API",
+            subCategory = "Load",
+            parameters = {
+                    "method: String - HTTP method",
+                    "endpoint: String - Endpoint URL",
+                    "ratePerSecond: double - Số request mỗi giây",
+                    "durationSeconds: int - Thời gian chạy (giây)"
+            },
+            returnValue = "LoadResult - Histogram latency (p50/p95/p99...), error rate, throughput",
+            example = "LoadResult load = api.runLoadAtRate(\"GET\", \"/health\", 50, 30);\nverify.loadP99LessThan(load, 300);",
+            note = "Kết quả được đính kèm vào Allure (tóm tắt + CSV percentile). Request có status >= 400 hoặc exception được tính là lỗi.",
+            explainer = "Load {method} {endpoint} at {ratePerSecond}/s for {durationSeconds}s"
+    )
+    public LoadResult runLoadAtRate(String method, String endpoint, double ratePerSecond, int durationSeconds) {
+        return execute(() -> {
+            BatchRequest request = BatchRequest.of(method, endpoint, getContext());
+            LoadResult result = LoadRunner.run(request,
+                    LoadOptions.atRate(ratePerSecond, Duration.ofSeconds(durationSeconds)));
+            result.attachToAllure();
+            return result;
+        }, method, endpoint, ratePerSecond, durationSeconds);
+    }
+
+    @NetatKeyword(
+            name = "runLoadWithConcurrency",
+            description = "Chạy tải với số worker cố định (closed model) trong một khoảng thời gian, dùng context hiện tại. Phù hợp để đo throughput tối đa.",
+            category = "API",
+            subCategory = "Load",
+            parameters = {
+                    "method: String - HTTP method",
+                    "endpoint: String - Endpoint URL",
+                    "concurrency: int - Số worker gửi đồng thời",
+                    "durationSeconds: int - Thời gian chạy (giây)"
+            },
+            returnValue = "LoadResult - Histogram latency, error rate, throughput",
+            example = "LoadResult load = api.runLoadWithConcurrency(\"GET\", \"/search?q=a\", 10, 30);",
+            note = "Closed model chờ request trước xong mới gửi tiếp, nên latency khi server nghẽn sẽ thấp hơn thực tế. Dùng runLoadAtRate cho performance gate.",
+            explainer = "Load {method} {endpoint} with {concurrency} workers for {durationSeconds}s"
+    )
+    public LoadResult runLoadWithConcurrency(String method, String endpoint, int concurrency, int durationSeconds) {
+        return execute(() -> {
+            BatchRequest request = BatchRequest.of(method, endpoint, getContext());
+            LoadResult result = LoadRunner.run(request,
+                    LoadOptions.withConcurrency(concurrency, Duration.ofSeconds(durationSeconds)));
+            result.attachToAllure();
+            return result;
+        }, method, endpoint, concurrency, durationSeconds);
+    }
+
+    @NetatKeyword(
+            name = "runCurlLoadAtRate",
+            description = "Chạy tải với tốc độ cố định (open model) cho một cURL command",
+            category = "API",
+            subCategory = "Load",
+            parameters = {
+                    "curlCommand: String - cURL command",
+                    "ratePerSecond: double - Số request mỗi giây",
+                    "durationSeconds: int - Thời gian chạy (giây)"
+            },
+            returnValue = "LoadResult - Histogram latency, error rate, throughput",
+            example = "LoadResult load = api.runCurlLoadAtRate(\"curl https://api.example.com/health\", 20, 60);",
+            explainer = "Load cURL at {ratePerSecond}/s for {durationSeconds}s"
+    )
+    public LoadResult runCurlLoadAtRate(String curlCommand, double ratePerSecond, int durationSeconds) {
+        return execute(() -> {
+            LoadResult result = LoadRunner.run(BatchRequest.fromCurl(curlCommand),
+                    LoadOptions.atRate(ratePerSecond, Duration.ofSeconds(durationSeconds)));
+            result.attachToAllure();
+            return result;
+        }, curlCommand, ratePerSecond, durationSeconds);
+    }
+
+    @NetatKeyword(
+            name = "loadRequestTemplate",
+            description = "Nạp request template từ file (.json định nghĩa request hoặc file cURL). Template được parse một lần, cache theo file và tự nạp lại khi file thay đổi. Placeholder dạng ${tenCot}.",
+            category = "API",
+            subCategory = "Template",
+            parameters = {"filePath: String - Đường dẫn file template (.json hoặc .txt/.curl chứa cURL)"},
+            returnValue = "RequestTemplate - Template đã compile",
+            example = "RequestTemplate tpl = api.loadRequestTemplate(\"templates/create-order.json\");",
+            note = "File JSON gồm: method, endpoint, contentType, headers, queryParams, cookies, formParams, body. Body dạng object thì placeholder phải nằm trong string; dùng body dạng string nếu cần chèn số/boolean.",
+            explainer = "Load request template: {filePath}"
+    )
+    public RequestTemplate loadRequestTemplate(String filePath) {
+        return execute(() -> {
+            validateFilePath(filePath);
+            RequestTemplate template = RequestTemplate.fromFile(Paths.get(filePath));
+            logger.info("Request template loaded: {}", template);
+            return template;
+        }, filePath);
+    }
+
+    @NetatKeyword(
+            name = "sendTemplateRequest",
+            description = "Bind một row dữ liệu vào request template và gửi request. Base URL, auth và header chung lấy từ context hiện tại.",
+            category = "API",
+            subCategory = "Template",
+            parameters = {
+                    "template: RequestTemplate - Template từ loadRequestTemplate",
+                    "row: Map<String, String> - Row dữ liệu (ví dụ một phần tử từ DataUtils.getTestDataFromJson)"
+            },
+            returnValue = "ApiResponse",
+            example = "@Test(dataProvider = \"orders\")\npublic void createOrder(Map<String, String> row) {\n    ApiResponse response = api.sendTemplateRequest(tpl, row);\n}",
+            explainer = "Send template {template} with data row"
+    )
+    public ApiResponse sendTemplateRequest(RequestTemplate template, Map<String, String> row) {
+        return execute(() -> {
+            BatchRequest request = template.bind(row, getContext());
+            ApiResponse response = new ApiResponse(request.send());
+            logger.info("{} - Status: {}", request, response.getStatusCode());
+            return response;
+        }, template, row);
+    }
+
+    @NetatKeyword(
+            name = "sendTemplateRequests",
+            description = "Bind nhiều row dữ liệu vào request template và gửi song song. Response trả về theo đúng thứ tự row.",
+            category = "API",
+            subCategory = "Template",
+            parameters = {
+                    "template: RequestTemplate",
+                    "rows: List<Map<String, String>> - Danh sách row dữ liệu",
+                    "maxInFlight: int - Số request tối đa chạy cùng lúc"
+            },
+            returnValue = "BatchResult - Response theo thứ tự row kèm thống kê thời gian",
+            example = "BatchResult result = api.sendTemplateRequests(tpl, rows, 10);",
+            explainer = "Send template {template} for data rows (max in-flight: {maxInFlight})"
+    )
+    public BatchResult sendTemplateRequests(RequestTemplate template, List<Map<String, String>> rows, int maxInFlight) {
+        return execute(() -> {
+            ApiContext ctx = getContext();
+            List<BatchRequest> requests = new ArrayList<>(rows.size());
+            for (Map<String, String> row : rows) {
+                requests.add(template.bind(row, ctx));
+            }
+            return BatchExecutor.execute(requests, maxInFlight);
+        }, template, rows, maxInFlight);
+    }
+
+    @NetatKeyword(
+            name = "sendTemplateRequestsFromDataSource",
+            description = "Đọc dữ liệu bằng DataUtils.getTestDataFromJson (Excel/CSV), bind từng row vào request template và gửi song song",
+            category = "API",
+            subCategory = "Template",
+            parameters = {
+                    "template: RequestTemplate",
+                    "dataSourceJson: String - Cấu hình nguồn dữ liệu (giống DataUtils.getTestDataFromJson)",
+                    "maxInFlight: int - Số request tối đa chạy cùng lúc"
+            },
+            returnValue = "BatchResult - Response theo thứ tự row",
+            example = "BatchResult result = api.sendTemplateRequestsFromDataSource(tpl, \"{\\\"driver\\\":\\\"CSVFile\\\",\\\"filePath\\\":\\\"data/orders.csv\\\"}\", 10);",
+            explainer = "Send template {template} for data source (max in-flight: {maxInFlight})"
+    )
+    @SuppressWarnings("unchecked")
+    public BatchResult sendTemplateRequestsFromDataSource(RequestTemplate template, String dataSourceJson, int maxInFlight) {
+        return execute(() -> {
+            Object[][] data = DataUtils.getTestDataFromJson(dataSourceJson);
+            ApiContext ctx = getContext();
+            List<BatchRequest> requests = new ArrayList<>(data.length);
+            for (Object[] row : data) {
+                requests.add(template.bind((Map<String, String>) row[0], ctx));
+            }
+            logger.info("Bound {} data rows to template {}", requests.size(), template.getName());
+            return BatchExecutor.execute(requests, maxInFlight);
+        }, template, dataSourceJson, maxInFlight);
+    }
+
+    @NetatKeyword(
+            name = "startApiRecording",
+            description = "Bật chế độ ghi: mọi request API (executeGet/executePost/cURL/batch...) vẫn gọi backend thật và cặp request/response được ghi vào store để replay offline",
+            category = "API",
+            subCategory = "Record/Replay",
+            parameters = {"storeName: String - Tên store (lưu trong api.replay.dir) hoặc đường dẫn file .jsonl"},
+            returnValue = "String - Đường dẫn file store",
+            example = "api.startApiRecording(\"user-contract\");\n// ... chạy test với backend thật ...\napi.stopApiRecordReplay();",
+            note = "File store cũ cùng tên bị ghi đè. Request được nhận diện theo method + URL + body, không theo header.",
+            explainer = "Start recording API calls to store: {storeName}"
+    )
+    public String startApiRecording(String storeName) {
+        return execute(() -> ApiReplay.startRecording(storeName).toString(), storeName);
+    }
+
+    @NetatKeyword(
+            name = "startApiReplay",
+            description = "Bật chế độ replay: request API được trả lời bởi HTTP stub cục bộ từ store đã ghi, không cần mạng hay backend",
+            category = "API",
+            subCategory = "Record/Replay",
+            parameters = {
+                    "storeName: String - Tên store hoặc đường dẫn file .jsonl",
+                    "latencyMs: int - Latency cố định chèn vào mỗi response (0 = không chèn)"
+            },
+            returnValue = "int - Cổng của replay stub",
+            example = "api.startApiReplay(\"user-contract\", 0);",
+            note = "Request chưa được ghi sẽ báo lỗi (tắt bằng api.replay.failOnMiss=false). Có thể bật từ cấu hình: api.replay.mode=REPLAY, api.replay.store=user-contract.",
+            explainer = "Replay API calls from store: {storeName}"
+    )
+    public int startApiReplay(String storeName, int latencyMs) {
+        return execute(() -> ApiReplay.startReplay(storeName, latencyMs, false), storeName, latencyMs);
+    }
+
+    @NetatKeyword(
+            name = "stopApiRecordReplay",
+            description = "Tắt chế độ ghi/replay, request API quay lại gọi backend thật",
+            category = "API",
+            subCategory = "Record/Replay",
+            parameters = {},
+            returnValue = "void",
+            example = "api.stopApiRecordReplay();",
+            explainer = "Stop API record/replay"
+    )
+    public void stopApiRecordReplay() {
+        execute(() -> {
+            ApiReplay.stop();
+            return null;
+        });
+    }
+
     @NetatKeyword(
             name = "getStatusCode",
             description = "Lấy HTTP status code từ response",
@@ -847,6 +1175,195 @@ public class ApiKeyword extends BaseApiKeyword {
         }, response, headerName);
     }
 
+    @NetatKeyword(
+            name = "downloadResponseToFile",
+            description = "Gửi request và stream body thẳng ra file (không load body vào bộ nhớ). Tính kích thước và SHA-256 trong lúc ghi. Dùng cho endpoint export/download dung lượng lớn.",
+            category = "API",
+            subCategory = "Streaming",
+            parameters = {
+                    "method: String - HTTP method (GET, POST...)",
+                    "endpoint: String - Endpoint URL",
+                    "outputFilePath: String - File đích (thư mục cha sẽ được tạo nếu chưa có)"
+            },
+            returnValue = "StreamedResponse - Status, headers, kích thước, SHA-256 và đường dẫn file",
+            example = "StreamedResponse export = api.downloadResponseToFile(\"GET\", \"/reports/export\", \"target/export.json\");",
+            note = "Body không được giữ trong bộ nhớ nên không dùng được với các keyword nhận ApiResponse. Dùng countJsonArrayInFile/extractJsonFromFile để kiểm tra nội dung.",
+            explainer = "{method} {endpoint} → {outputFilePath}"
+    )
+    public StreamedResponse downloadResponseToFile(String method, String endpoint, String outputFilePath) {
+        return execute(() -> {
+            validateEndpoint(endpoint);
+            StreamedResponse response = executeStreamingToFile(method, endpoint, Paths.get(outputFilePath));
+            logger.info("{} {} - Status: {}, streamed {} bytes to {}", method, endpoint,
+                    response.getStatusCode(), response.getSizeBytes(), outputFilePath);
+            return response;
+        }, method, endpoint, outputFilePath);
+    }
+
+    @NetatKeyword(
+            name = "countJsonArrayInFile",
+            description = "Đếm số phần tử của JSON array trong file bằng streaming parser (không load toàn bộ file vào bộ nhớ)",
+            category = "API",
+            subCategory = "Streaming",
+            parameters = {
+                    "filePath: String - File JSON (ví dụ file từ downloadResponseToFile)",
+                    "jsonPath: String - Path đơn giản tới array, ví dụ $.data.items"
+            },
+            returnValue = "int - Số phần tử, -1 nếu path không tồn tại hoặc không phải array",
+            example = "int count = api.countJsonArrayInFile(\"target/export.json\", \"$.items\");",
+            note = "Chỉ hỗ trợ field và index ($.a.b[0].c), không hỗ trợ wildcard/filter.",
+            explainer = "Count array {jsonPath} in {filePath}"
+    )
+    public int countJsonArrayInFile(String filePath, String jsonPath) {
+        return execute(() -> {
+            validateFilePath(filePath);
+            int count = JsonStreamReader.countArrayElements(Paths.get(filePath), jsonPath);
+            logger.info("Array '{}' in {}: {} elements", jsonPath, filePath, count);
+            return count;
+        }, filePath, jsonPath);
+    }
+
+    @NetatKeyword(
+            name = "extractJsonFromFile",
+            description = "Lấy giá trị tại JSON path trong file bằng streaming parser. Object/array trả về dạng JSON.",
+            category = "API",
+            subCategory = "Streaming",
+            parameters = {
+                    "filePath: String - File JSON",
+                    "jsonPath: String - Path đơn giản, ví dụ $.meta.total"
+            },
+            returnValue = "String - Giá trị, null nếu không tồn tại",
+            example = "String total = api.extractJsonFromFile(\"target/export.json\", \"$.meta.total\");",
+            note = "Chỉ hỗ trợ field và index ($.a.b[0].c), không hỗ trợ wildcard/filter.",
+            explainer = "Extract {jsonPath} from {filePath}"
+    )
+    public String extractJsonFromFile(String filePath, String jsonPath) {
+        return execute(() -> {
+            validateFilePath(filePath);
+            String value = JsonStreamReader.readValue(Paths.get(filePath), jsonPath);
+            logger.info("Extracted '{}' from {}: {}", jsonPath, filePath, truncateForLog(value));
+            return value;
+        }, filePath, jsonPath);
+    }
+
+    @NetatKeyword(
+            name = "uploadFilesInParallel",
+            description = "Upload song song tất cả file trong thư mục khớp pattern, mỗi file một request multipart. File được stream từ đĩa, không load vào bộ nhớ.",
+            category = "API",
+            subCategory = "Bulk Transfer",
+            parameters = {
+                    "endpoint: String - Endpoint upload",
+                    "directoryPath: String - Thư mục chứa file",
+                    "filePattern: String - Glob pattern, ví dụ *.pdf hoặc *.{pdf,docx} (null = tất cả)",
+                    "fileFieldName: String - Tên field của file trong form",
+                    "maxInFlight: int - Số upload tối đa chạy cùng lúc"
+            },
+            returnValue = "BatchResult - Response theo thứ tự tên file",
+            example = "BatchResult result = api.uploadFilesInParallel(\"/documents\", \"src/test/resources/fixtures\", \"*.pdf\", \"file\", 8);\nAssert.assertEquals(result.getNonSuccessCount(), 0);",
+            note = "Header, auth và base URL lấy từ context hiện tại. Số kết nối tới cùng host còn bị giới hạn bởi api.http.pool.maxPerRoute.",
+            explainer = "Upload {filePattern} from {directoryPath} to {endpoint} (max in-flight: {maxInFlight})"
+    )
+    public BatchResult uploadFilesInParallel(String endpoint, String directoryPath, String filePattern,
+                                             String fileFieldName, int maxInFlight) {
+        return execute(() -> {
+            validateEndpoint(endpoint);
+            Path directory = Paths.get(directoryPath);
+            if (!Files.isDirectory(directory)) {
+                throw new IllegalArgumentException("Directory not found: " + directoryPath);
+            }
+            String glob = filePattern == null || filePattern.isEmpty() ? "*" : filePattern;
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+                for (Path file : stream) {
+                    if (Files.isRegularFile(file)) {
+                        files.add(file);
+                    }
+                }
+            }
+            Collections.sort(files);
+            List<String> paths = new ArrayList<>(files.size());
+            for (Path file : files) {
+                paths.add(file.toString());
+            }
+            return uploadFiles(endpoint, paths, fileFieldName, maxInFlight);
+        }, endpoint, directoryPath, filePattern, fileFieldName, maxInFlight);
+    }
+
+    @NetatKeyword(
+            name = "uploadFileListInParallel",
+            description = "Upload song song danh sách file, mỗi file một request multipart stream từ đĩa",
+            category = "API",
+            subCategory = "Bulk Transfer",
+            parameters = {
+                    "endpoint: String - Endpoint upload",
+                    "filePaths: List<String> - Danh sách đường dẫn file",
+                    "fileFieldName: String - Tên field của file trong form",
+                    "maxInFlight: int - Số upload tối đa chạy cùng lúc"
+            },
+            returnValue = "BatchResult - Response theo thứ tự danh sách file",
+            example = "BatchResult result = api.uploadFileListInParallel(\"/documents\", Arrays.asList(\"a.pdf\", \"b.pdf\"), \"file\", 4);",
+            explainer = "Upload files to {endpoint} (max in-flight: {maxInFlight})"
+    )
+    public BatchResult uploadFileListInParallel(String endpoint, List<String> filePaths, String fileFieldName,
+                                                int maxInFlight) {
+        return execute(() -> {
+            validateEndpoint(endpoint);
+            return uploadFiles(endpoint, filePaths, fileFieldName, maxInFlight);
+        }, endpoint, filePaths, fileFieldName, maxInFlight);
+    }
+
+    private BatchResult uploadFiles(String endpoint, List<String> filePaths, String fileFieldName, int maxInFlight) {
+        ApiContext ctx = getContext();
+        List<BatchRequest> requests = new ArrayList<>(filePaths.size());
+        long totalBytes = 0;
+        for (String filePath : filePaths) {
+            validateFilePath(filePath);
+            File file = new File(filePath);
+            totalBytes += file.length();
+            requests.add(BatchRequest.multipartUpload(endpoint, file, fileFieldName, null, ctx));
+        }
+        BatchResult result = BatchExecutor.execute(requests, maxInFlight);
+        long elapsedMs = Math.max(1, result.getTotalTimeMs());
+        logger.info("Uploaded {} files ({} bytes) in {}ms (~{} KB/s), errors: {}", requests.size(), totalBytes,
+                result.getTotalTimeMs(), totalBytes * 1000 / elapsedMs / 1024, result.getErrorCount());
+        return result;
+    }
+
+    @NetatKeyword(
+            name = "downloadFileInChunks",
+            description = "Tải file lớn thẳng ra đĩa. Nếu server hỗ trợ Range, file được chia thành nhiều đoạn tải song song; SHA-256 được tính trong lúc tải và so với giá trị mong đợi.",
+            category = "API",
+            subCategory = "Bulk Transfer",
+            parameters = {
+                    "endpoint: String - Endpoint tải file",
+                    "outputFilePath: String - File đích (thư mục cha sẽ được tạo nếu chưa có)",
+                    "maxChunks: int - Số đoạn tải song song tối đa (1 = một luồng)",
+                    "expectedSha256: String - SHA-256 mong đợi (hex), null/rỗng để bỏ qua kiểm tra"
+            },
+            returnValue = "StreamedResponse - Kích thước, SHA-256 và đường dẫn file",
+            example = "StreamedResponse file = api.downloadFileInChunks(\"/files/dataset.zip\", \"target/dataset.zip\", 8, expectedHash);",
+            note = "Mỗi đoạn tối thiểu api.download.minChunkBytes (mặc định 8 MB). Server không hỗ trợ Range thì tự chuyển sang tải một luồng. Sai checksum sẽ báo lỗi.",
+            explainer = "Download {endpoint} → {outputFilePath} (max chunks: {maxChunks})"
+    )
+    public StreamedResponse downloadFileInChunks(String endpoint, String outputFilePath, int maxChunks,
+                                                 String expectedSha256) {
+        return execute(() -> {
+            validateEndpoint(endpoint);
+            StreamedResponse response = executeRangedDownload(endpoint, Paths.get(outputFilePath), maxChunks);
+            if (response.getStatusCode() >= 400) {
+                throw new IllegalStateException("Download failed with status " + response.getStatusLine());
+            }
+            if (expectedSha256 != null && !expectedSha256.trim().isEmpty()
+                    && !expectedSha256.trim().equalsIgnoreCase(response.getSha256())) {
+                throw new IllegalStateException("Checksum mismatch for " + outputFilePath
+                        + ": expected " + expectedSha256.trim() + " but was " + response.getSha256());
+            }
+            logger.info("Downloaded {} bytes to {} in {}ms (sha256={})", response.getSizeBytes(), outputFilePath,
+                    response.getResponseTime(), response.getSha256());
+            return response;
+        }, endpoint, outputFilePath, maxChunks, expectedSha256);
+    }
+
     @NetatKeyword(
             name = "setHeaderSensitive",
             description = "Thiết lập HTTP header với giá trị đã mã hóa. Giá trị sẽ được giải mã và che dấu trong log/report.",
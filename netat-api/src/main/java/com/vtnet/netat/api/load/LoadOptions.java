@@ -0,0 +1,156 @@
+package com.vtnet.netat.api.load;
+
+import java.time.Duration;
+
+/**
+ * Cấu hình một lần chạy tải.
+ *
+ * <p>Hai chế độ:
+ * <ul>
+ *   <li><b>Rate (open model)</b> - gửi request theo lịch cố định {@code ratePerSecond}, không phụ
+ *   thuộc request trước đã xong hay chưa. Latency được tính từ thời điểm request <i>lẽ ra</i>
+ *   được gửi, nên server chậm không làm giảm tải và không che giấu độ trễ (coordinated omission).</li>
+ *   <li><b>Concurrency (closed model)</b> - {@code concurrency} worker gửi liên tục, request sau
+ *   chỉ bắt đầu khi request trước xong. Phù hợp để đo throughput tối đa.</li>
+ * </ul>
+ *
+ * <p>Example:
+ * <pre>{@code
+ * LoadOptions options = LoadOptions.builder()
+ *         .ratePerSecond(50)
+ *         .duration(Duration.ofSeconds(30))
+ *         .build();
+ * }</pre>
+ */
+public final class LoadOptions {
+
+    public enum Mode {
+        RATE,
+        CONCURRENCY
+    }
+
+    private final Mode mode;
+    private final double ratePerSecond;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int maxInFlight;
+    private final Duration drainTimeout;
+
+    private LoadOptions(Builder builder) {
+        this.mode = builder.mode;
+        this.ratePerSecond = builder.ratePerSecond;
+        this.concurrency = builder.concurrency;
+        this.duration = builder.duration;
+        this.warmup = builder.warmup;
+        this.maxInFlight = builder.maxInFlight;
+        this.drainTimeout = builder.drainTimeout;
+    }
+
+    // Getters
+    public Mode getMode() { return mode; }
+    public double getRatePerSecond() { return ratePerSecond; }
+    public int getConcurrency() { return concurrency; }
+    public Duration getDuration() { return duration; }
+    public Duration getWarmup() { return warmup; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public Duration getDrainTimeout() { return drainTimeout; }
+
+    public static LoadOptions atRate(double ratePerSecond, Duration duration) {
+        return builder().ratePerSecond(ratePerSecond).duration(duration).build();
+    }
+
+    public static LoadOptions withConcurrency(int concurrency, Duration duration) {
+        return builder().concurrency(concurrency).duration(duration).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.RATE
+                ? String.format("LoadOptions[rate=%.1f/s, duration=%ds, warmup=%ds, maxInFlight=%d]",
+                ratePerSecond, duration.getSeconds(), warmup.getSeconds(), maxInFlight)
+                : String.format("LoadOptions[concurrency=%d, duration=%ds, warmup=%ds]",
+                concurrency, duration.getSeconds(), warmup.getSeconds());
+    }
+
+    public static class Builder {
+        private Mode mode = Mode.RATE;
+        private double ratePerSecond = 10;
+        private int concurrency = 1;
+        private Duration duration = Duration.ofSeconds(10);
+        private Duration warmup = Duration.ZERO;
+        private int maxInFlight = 200;
+        private Duration drainTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Chế độ open model với tốc độ cố định.
+         */
+        public Builder ratePerSecond(double ratePerSecond) {
+            this.mode = Mode.RATE;
+            this.ratePerSecond = ratePerSecond;
+            return this;
+        }
+
+        /**
+         * Chế độ closed model với số worker cố định.
+         */
+        public Builder concurrency(int concurrency) {
+            this.mode = Mode.CONCURRENCY;
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Khoảng thời gian đầu không ghi vào kết quả (JIT, connection pool, cache...).
+         */
+        public Builder warmup(Duration warmup) {
+            this.warmup = warmup;
+            return this;
+        }
+
+        /**
+         * Số request tối đa đang chạy ở chế độ rate. Request vượt ngưỡng phải chờ,
+         * thời gian chờ vẫn được tính vào latency.
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Thời gian tối đa chờ các request còn dang dở sau khi hết duration.
+         */
+        public Builder drainTimeout(Duration drainTimeout) {
+            this.drainTimeout = drainTimeout;
+            return this;
+        }
+
+        public LoadOptions build() {
+            if (mode == Mode.RATE && ratePerSecond <= 0) {
+                throw new IllegalStateException("ratePerSecond must be positive");
+            }
+            if (mode == Mode.CONCURRENCY && concurrency < 1) {
+                throw new IllegalStateException("concurrency must be at least 1");
+            }
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalStateException("duration must be positive");
+            }
+            if (warmup == null || warmup.isNegative() || warmup.compareTo(duration) >= 0) {
+                throw new IllegalStateException("warmup must be non-negative and shorter than duration");
+            }
+            if (maxInFlight < 1) {
+                throw new IllegalStateException("maxInFlight must be at least 1");
+            }
+            return new LoadOptions(this);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.vtnet.netat.api.load;
+
+import io.qameta.allure.Allure;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Kết quả một lần chạy tải: histogram latency, số lỗi, phân bố status code và throughput.
+ *
+ * <p>Request lỗi gồm exception khi gửi (timeout, connection refused...) và response có
+ * status code &gt;= 400. Latency của mọi request đã hoàn tất đều được ghi vào histogram.
+ */
+public class LoadResult {
+
+    private final String target;
+    private final LoadOptions options;
+    private final LatencyHistogram histogram;
+    private final long errorCount;
+    private final Map<Integer, Long> statusCounts;
+    private final Map<String, Long> exceptionCounts;
+    private final long measuredMillis;
+    private final long unfinished;
+
+    LoadResult(String target, LoadOptions options, LatencyHistogram histogram, long errorCount,
+               Map<Integer, Long> statusCounts, Map<String, Long> exceptionCounts,
+               long measuredMillis, long unfinished) {
+        this.target = target;
+        this.options = options;
+        this.histogram = histogram;
+        this.errorCount = errorCount;
+        this.statusCounts = Collections.unmodifiableMap(new TreeMap<>(statusCounts));
+        this.exceptionCounts = Collections.unmodifiableMap(new TreeMap<>(exceptionCounts));
+        this.measuredMillis = measuredMillis;
+        this.unfinished = unfinished;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public LoadOptions getOptions() {
+        return options;
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * @return số request đã hoàn tất trong thời gian đo (không tính warmup)
+     */
+    public long getTotalRequests() {
+        return histogram.getCount();
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return tỉ lệ lỗi theo phần trăm (0..100)
+     */
+    public double getErrorRatePercent() {
+        long total = getTotalRequests() + unfinished;
+        return total == 0 ? 0 : (errorCount + unfinished) * 100.0 / total;
+    }
+
+    /**
+     * @return số request chưa xong khi hết drain timeout (được tính là lỗi trong error rate)
+     */
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    public Map<Integer, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public Map<String, Long> getExceptionCounts() {
+        return exceptionCounts;
+    }
+
+    public double getThroughputPerSecond() {
+        return measuredMillis == 0 ? 0 : getTotalRequests() * 1000.0 / measuredMillis;
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return histogram.getPercentileMillis(percentile);
+    }
+
+    public double getP50Millis() {
+        return getPercentileMillis(50);
+    }
+
+    public double getP95Millis() {
+        return getPercentileMillis(95);
+    }
+
+    public double getP99Millis() {
+        return getPercentileMillis(99);
+    }
+
+    public double getMaxMillis() {
+        return histogram.getMaxMicros() / 1000.0;
+    }
+
+    public double getMeanMillis() {
+        return histogram.getMeanMicros() / 1000.0;
+    }
+
+    /**
+     * Bảng tóm tắt dạng text (dùng cho log và Allure).
+     */
+    public String toSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Target: ").append(target).append('\n');
+        sb.append("Options: ").append(options).append('\n');
+        sb.append(String.format("Requests: %d (errors: %d, unfinished: %d, error rate: %.2f%%)%n",
+                getTotalRequests(), errorCount, unfinished, getErrorRatePercent()));
+        sb.append(String.format("Throughput: %.1f req/s over %d ms%n", getThroughputPerSecond(), measuredMillis));
+        sb.append(String.format("Latency (ms): mean=%.2f p50=%.2f p90=%.2f p95=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                getMeanMillis(), getP50Millis(), getPercentileMillis(90), getP95Millis(), getP99Millis(),
+                getPercentileMillis(99.9), getMaxMillis()));
+        sb.append("Status codes: ").append(statusCounts).append('\n');
+        if (!exceptionCounts.isEmpty()) {
+            sb.append("Exceptions: ").append(exceptionCounts).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Kết quả dạng CSV percentile (percentile,latency_ms) để vẽ biểu đồ.
+     */
+    public String toPercentileCsv() {
+        double[] percentiles = {0, 10, 25, 50, 75, 90, 95, 99, 99.9, 99.99, 100};
+        StringBuilder sb = new StringBuilder("percentile,latency_ms\n");
+        for (double p : percentiles) {
+            sb.append(p).append(',').append(String.format("%.3f", getPercentileMillis(p))).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Đính kèm tóm tắt và bảng percentile vào Allure report.
+     */
+    public void attachToAllure() {
+        Allure.addAttachment("Load Test Summary", "text/plain", toSummary());
+        Allure.addAttachment("Load Test Percentiles", "text/csv", toPercentileCsv(), ".csv");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LoadResult{requests=%d, errorRate=%.2f%%, p50=%.1fms, p95=%.1fms, p99=%.1fms, "
+                        + "throughput=%.1f/s}",
+                getTotalRequests(), getErrorRatePercent(), getP50Millis(), getP95Millis(), getP99Millis(),
+                getThroughputPerSecond());
+    }
+}
@@ -0,0 +1,203 @@
+package com.vtnet.netat.api.load;
+
+import com.vtnet.netat.api.core.BatchExecutor;
+import com.vtnet.netat.api.core.BatchRequest;
+import com.vtnet.netat.core.logging.NetatLogger;
+import io.restassured.response.Response;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Chạy một request lặp lại theo {@link LoadOptions} và thu kết quả vào {@link LatencyHistogram}.
+ *
+ * <p>Request được mô tả bằng {@link BatchRequest} (snapshot ApiContext hoặc ParsedCurl) nên
+ * dùng chung connection pool với các keyword API khác.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * LoadResult result = LoadRunner.run(
+ *         BatchRequest.of("GET", "/health", context),
+ *         LoadOptions.atRate(100, Duration.ofSeconds(20)));
+ * assert result.getP99Millis() < 250;
+ * }</pre>
+ */
+public final class LoadRunner {
+
+    private static final NetatLogger logger = NetatLogger.getInstance(LoadRunner.class);
+
+    private LoadRunner() {
+    }
+
+    public static LoadResult run(BatchRequest request, LoadOptions options) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+        if (options == null) {
+            throw new IllegalArgumentException("LoadOptions cannot be null");
+        }
+
+        logger.info("Starting load run: {} with {}", request, options);
+
+        Recorder recorder = new Recorder();
+        long durationNanos = options.getDuration().toNanos();
+        long warmupNanos = options.getWarmup().toNanos();
+
+        long unfinished = options.getMode() == LoadOptions.Mode.RATE
+                ? runAtRate(request, options, recorder, durationNanos, warmupNanos)
+                : runWithConcurrency(request, options, recorder, durationNanos, warmupNanos);
+
+        long measuredMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos - warmupNanos);
+        LoadResult result = new LoadResult(request.toString(), options, recorder.histogram,
+                recorder.errors.sum(), recorder.statusSnapshot(), recorder.exceptionSnapshot(),
+                measuredMillis, unfinished);
+
+        logger.info("Load run finished: {}", result);
+        return result;
+    }
+
+    /**
+     * Open model: request thứ i được lên lịch tại start + i * period, không phụ thuộc request
+     * trước đã xong chưa. Latency tính từ thời điểm lên lịch để thời gian xếp hàng (khi server
+     * hoặc maxInFlight bị nghẽn) không bị bỏ sót.
+     */
+    private static long runAtRate(BatchRequest request, LoadOptions options, Recorder recorder,
+                                  long durationNanos, long warmupNanos) {
+        long periodNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / options.getRatePerSecond()));
+        Semaphore permits = new Semaphore(options.getMaxInFlight());
+        AtomicLong measuredPending = new AtomicLong();
+        ExecutorService executor = BatchExecutor.newWorkerExecutor(options.getMaxInFlight());
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        try {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * periodNanos;
+                if (intendedStart - start >= durationNanos) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+
+                boolean measured = intendedStart >= measureFrom;
+                if (measured) {
+                    measuredPending.incrementAndGet();
+                }
+                executor.execute(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        recorder.sendAndRecord(request, intendedStart, measured);
+                    } finally {
+                        permits.release();
+                        if (measured) {
+                            measuredPending.decrementAndGet();
+                        }
+                    }
+                });
+            }
+            drain(executor, options);
+        } finally {
+            executor.shutdownNow();
+        }
+        return measuredPending.get();
+    }
+
+    /**
+     * Closed model: mỗi worker gửi request mới ngay khi request trước xong.
+     */
+    private static long runWithConcurrency(BatchRequest request, LoadOptions options, Recorder recorder,
+                                           long durationNanos, long warmupNanos) {
+        ExecutorService executor = BatchExecutor.newWorkerExecutor(options.getConcurrency());
+
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        long measureFrom = start + warmupNanos;
+        try {
+            for (int w = 0; w < options.getConcurrency(); w++) {
+                executor.execute(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) - end < 0 && !Thread.currentThread().isInterrupted()) {
+                        recorder.sendAndRecord(request, now, now >= measureFrom);
+                    }
+                });
+            }
+            drain(executor, options);
+        } finally {
+            executor.shutdownNow();
+        }
+        return 0;
+    }
+
+    private static void drain(ExecutorService executor, LoadOptions options) {
+        executor.shutdown();
+        try {
+            long drainMillis = options.getDrainTimeout().toMillis()
+                    + (options.getMode() == LoadOptions.Mode.CONCURRENCY ? options.getDuration().toMillis() : 0);
+            if (!executor.awaitTermination(drainMillis, TimeUnit.MILLISECONDS)) {
+                logger.warn("Load run: requests still in flight after drain timeout {}", options.getDrainTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Ghi latency, status code và lỗi từ nhiều thread.
+     */
+    private static final class Recorder {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> exceptionCounts = new ConcurrentHashMap<>();
+
+        void sendAndRecord(BatchRequest request, long startNanos, boolean measured) {
+            int status = -1;
+            String exception = null;
+            try {
+                Response response = request.send();
+                status = response.getStatusCode();
+            } catch (Exception e) {
+                exception = e.getClass().getSimpleName();
+            }
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+
+            if (!measured) {
+                return;
+            }
+            histogram.record(latencyMicros);
+            if (exception != null) {
+                errors.increment();
+                exceptionCounts.computeIfAbsent(exception, k -> new LongAdder()).increment();
+            } else {
+                if (status >= 400) {
+                    errors.increment();
+                }
+                statusCounts.computeIfAbsent(status, k -> new LongAdder()).increment();
+            }
+        }
+
+        Map<Integer, Long> statusSnapshot() {
+            Map<Integer, Long> snapshot = new HashMap<>();
+            statusCounts.forEach((k, v) -> snapshot.put(k, v.sum()));
+            return snapshot;
+        }
+
+        Map<String, Long> exceptionSnapshot() {
+            Map<String, Long> snapshot = new HashMap<>();
+            exceptionCounts.forEach((k, v) -> snapshot.put(k, v.sum()));
+            return snapshot;
+        }
+    }
+}
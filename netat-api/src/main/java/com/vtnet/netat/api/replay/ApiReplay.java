@@ -0,0 +1,310 @@
+package com.vtnet.netat.api.replay;
+
+import com.vtnet.netat.api.core.ApiHttpClientPool;
+import com.vtnet.netat.core.logging.NetatLogger;
+import com.vtnet.netat.core.utils.ConfigurationManager;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.MultiPartSpecification;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Chế độ record/replay cho request API.
+ *
+ * <ul>
+ *   <li>{@code RECORD}: request đi tới backend thật, cặp request/response được ghi vào
+ *       {@link RecordingStore} (JSON Lines).</li>
+ *   <li>{@code REPLAY}: mọi request qua {@link ApiHttpClientPool} được chuyển tới {@link ReplayStub}
+ *       trên loopback, không cần mạng hay backend.</li>
+ * </ul>
+ *
+ * <p>Request được nhận diện bằng key: method + URL đầy đủ (scheme://host:port/path?query) +
+ * SHA-256 rút gọn của body (hoặc form/multipart params). Header không nằm trong key.
+ *
+ * <p>Configuration keys (System Properties override config files):
+ * <ul>
+ *   <li>{@code api.replay.mode} - OFF | RECORD | REPLAY (default: OFF)</li>
+ *   <li>{@code api.replay.store} - tên store hoặc đường dẫn file (default: default)</li>
+ *   <li>{@code api.replay.dir} - thư mục chứa store (default: src/test/resources/api-recordings)</li>
+ *   <li>{@code api.replay.latencyMs} - latency cố định khi replay (default: 0)</li>
+ *   <li>{@code api.replay.useRecordedLatency} - replay với thời gian đã ghi (default: false)</li>
+ *   <li>{@code api.replay.failOnMiss} - ném lỗi khi request chưa được ghi (default: true)</li>
+ * </ul>
+ *
+ * <p>Example:
+ * <pre>{@code
+ * // Ghi một lần với backend thật
+ * ApiReplay.startRecording("user-contract");
+ * // CI offline
+ * ApiReplay.startReplay("user-contract");
+ * }</pre>
+ */
+public final class ApiReplay {
+
+    private static final NetatLogger logger = NetatLogger.getInstance(ApiReplay.class);
+
+    /** Header mang key của request tới replay stub. */
+    public static final String KEY_HEADER = "X-Netat-Replay-Key";
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    private static final Filter FILTER = ApiReplay::filter;
+
+    private static volatile Mode mode = Mode.OFF;
+    private static volatile RecordingStore store;
+    private static volatile ReplayStub stub;
+    private static volatile boolean configLoaded;
+
+    private ApiReplay() {
+    }
+
+    /**
+     * Bắt đầu ghi vào store (file cũ bị ghi đè).
+     *
+     * @param storeName tên store (lưu trong {@code api.replay.dir}) hoặc đường dẫn file .jsonl
+     * @return file store
+     */
+    public static synchronized Path startRecording(String storeName) throws IOException {
+        stop();
+        configLoaded = true;
+        store = RecordingStore.create(resolveStore(storeName));
+        mode = Mode.RECORD;
+        logger.info("API recording started: {}", store.getFile());
+        return store.getFile();
+    }
+
+    /**
+     * Bắt đầu replay từ store đã ghi, latency lấy từ cấu hình.
+     *
+     * @param storeName tên store hoặc đường dẫn file .jsonl
+     * @return cổng của replay stub
+     */
+    public static int startReplay(String storeName) throws IOException {
+        return startReplay(storeName,
+                readLong("api.replay.latencyMs", 0),
+                Boolean.parseBoolean(ConfigurationManager.getProperty("api.replay.useRecordedLatency", "false")));
+    }
+
+    /**
+     * Bắt đầu replay từ store đã ghi.
+     *
+     * @param storeName tên store hoặc đường dẫn file .jsonl
+     * @param latencyMs latency cố định chèn vào mỗi response
+     * @param useRecordedLatency true để dùng thời gian response đã ghi thay cho latencyMs
+     * @return cổng của replay stub
+     */
+    public static synchronized int startReplay(String storeName, long latencyMs, boolean useRecordedLatency)
+            throws IOException {
+        stop();
+        configLoaded = true;
+        RecordingStore loaded = RecordingStore.load(resolveStore(storeName));
+        ReplayStub newStub = new ReplayStub(loaded, latencyMs, useRecordedLatency);
+        int port = newStub.start();
+        ApiHttpClientPool.routeAllTo(ReplayStub.HOST, port);
+        store = loaded;
+        stub = newStub;
+        mode = Mode.REPLAY;
+        logger.info("API replay started: {} ({} recordings, latency={})", loaded.getFile(), loaded.size(),
+                useRecordedLatency ? "recorded" : latencyMs + "ms");
+        return port;
+    }
+
+    /**
+     * Tắt record/replay, request đi tới backend thật.
+     */
+    public static synchronized void stop() {
+        Mode previous = mode;
+        mode = Mode.OFF;
+        if (stub != null) {
+            ApiHttpClientPool.clearRoute();
+            stub.stop();
+            stub = null;
+        }
+        if (previous != Mode.OFF && store != null) {
+            logger.info("API {} stopped: {} ({} recordings)", previous, store.getFile(), store.size());
+        }
+        store = null;
+    }
+
+    public static Mode getMode() {
+        ensureConfigured();
+        return mode;
+    }
+
+    /**
+     * Gắn filter record/replay vào request spec nếu đang bật. Không làm gì khi mode OFF.
+     */
+    public static RequestSpecification applyTo(RequestSpecification spec) {
+        if (getMode() != Mode.OFF) {
+            spec.filter(FILTER);
+        }
+        return spec;
+    }
+
+    /**
+     * Key nhận diện request: method, URL đầy đủ và digest của body.
+     */
+    static String keyOf(FilterableRequestSpecification request) {
+        return request.getMethod().toUpperCase(Locale.ROOT) + " "
+                + normalizeUri(request.getURI()) + " "
+                + bodyDigest(request);
+    }
+
+    private static Response filter(FilterableRequestSpecification request,
+                                   FilterableResponseSpecification response, FilterContext ctx) {
+        Mode current = mode;
+        String key = keyOf(request);
+
+        if (current == Mode.REPLAY) {
+            request.header(KEY_HEADER, key);
+            Response replayed = ctx.next(request, response);
+            if (replayed.getHeader(ReplayStub.MISS_HEADER) != null
+                    && Boolean.parseBoolean(ConfigurationManager.getProperty("api.replay.failOnMiss", "true"))) {
+                throw new IllegalStateException("No recording for request: " + key);
+            }
+            return replayed;
+        }
+
+        Response real = ctx.next(request, response);
+        RecordingStore target = store;
+        if (current == Mode.RECORD && target != null) {
+            try {
+                target.append(new Recording(key, real.getStatusCode(), real.getTime(),
+                        recordableHeaders(real), real.getBody().asByteArray()));
+            } catch (IOException e) {
+                logger.warn("Cannot write recording for {}: {}", key, e.getMessage());
+            }
+        }
+        return real;
+    }
+
+    private static List<String[]> recordableHeaders(Response response) {
+        List<String[]> headers = new ArrayList<>();
+        for (Header header : response.getHeaders()) {
+            String name = header.getName().toLowerCase(Locale.ROOT);
+            // Body đã được giải nén và ghi trọn vẹn, nên bỏ các header mô tả cách truyền
+            if (name.equals("content-length") || name.equals("transfer-encoding") || name.equals("connection")
+                    || name.equals("keep-alive") || name.equals("content-encoding") || name.equals("date")) {
+                continue;
+            }
+            headers.add(new String[]{header.getName(), header.getValue()});
+        }
+        return headers;
+    }
+
+    private static String normalizeUri(String uri) {
+        try {
+            URI parsed = URI.create(uri);
+            if (parsed.getScheme() == null || parsed.getHost() == null) {
+                return uri;
+            }
+            String scheme = parsed.getScheme().toLowerCase(Locale.ROOT);
+            int port = parsed.getPort() != -1 ? parsed.getPort() : ("https".equals(scheme) ? 443 : 80);
+            String path = parsed.getRawPath() == null || parsed.getRawPath().isEmpty() ? "/" : parsed.getRawPath();
+            String query = parsed.getRawQuery() != null ? "?" + parsed.getRawQuery() : "";
+            return scheme + "://" + parsed.getHost().toLowerCase(Locale.ROOT) + ":" + port + path + query;
+        } catch (IllegalArgumentException e) {
+            return uri;
+        }
+    }
+
+    private static String bodyDigest(FilterableRequestSpecification request) {
+        StringBuilder content = new StringBuilder();
+        Object body = request.getBody();
+        if (body instanceof byte[]) {
+            content.append(new String((byte[]) body, StandardCharsets.ISO_8859_1));
+        } else if (body != null) {
+            content.append(body);
+        }
+        Map<String, ?> formParams = request.getFormParams();
+        if (formParams != null && !formParams.isEmpty()) {
+            content.append("|form:").append(new TreeMap<>(formParams));
+        }
+        List<MultiPartSpecification> multiParts = request.getMultiPartParams();
+        if (multiParts != null && !multiParts.isEmpty()) {
+            content.append("|multipart:");
+            for (MultiPartSpecification part : multiParts) {
+                content.append(part.getControlName()).append('=')
+                        .append(part.hasFileName() ? part.getFileName() : String.valueOf(part.getContent()))
+                        .append(';');
+            }
+        }
+        if (content.length() == 0) {
+            return "-";
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Path resolveStore(String storeName) {
+        String name = storeName == null || storeName.trim().isEmpty()
+                ? ConfigurationManager.getProperty("api.replay.store", "default")
+                : storeName.trim();
+        if (name.endsWith(".jsonl") || name.contains("/") || name.contains("\\")) {
+            return Paths.get(name);
+        }
+        String dir = ConfigurationManager.getProperty("api.replay.dir", "src/test/resources/api-recordings");
+        return Paths.get(dir, name + ".jsonl");
+    }
+
+    /**
+     * Bật mode theo {@code api.replay.mode} ở lần dùng đầu tiên.
+     */
+    private static void ensureConfigured() {
+        if (configLoaded) {
+            return;
+        }
+        synchronized (ApiReplay.class) {
+            if (configLoaded) {
+                return;
+            }
+            configLoaded = true;
+            String configured = ConfigurationManager.getProperty("api.replay.mode", "OFF").trim().toUpperCase(Locale.ROOT);
+            try {
+                if (Mode.RECORD.name().equals(configured)) {
+                    startRecording(null);
+                } else if (Mode.REPLAY.name().equals(configured)) {
+                    startReplay(null);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot start API " + configured + " mode: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static long readLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(ConfigurationManager.getProperty(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
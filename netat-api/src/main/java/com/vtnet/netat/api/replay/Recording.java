@@ -0,0 +1,126 @@
+package com.vtnet.netat.api.replay;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Một cặp request/response đã ghi lại. Mỗi recording là một dòng JSON trong store:
+ * <pre>{@code
+ * {"key":"GET https://api.example.com:443/users/1 -","status":200,"timeMs":85,
+ *  "headers":[["Content-Type","application/json"]],"body":"{\"id\":1}"}
+ * }</pre>
+ * Body dạng text được lưu nguyên văn, body nhị phân lưu base64 ({@code bodyBase64}).
+ */
+public final class Recording {
+
+    private final String key;
+    private final int status;
+    private final long timeMs;
+    private final List<String[]> headers;
+    private final byte[] body;
+
+    public Recording(String key, int status, long timeMs, List<String[]> headers, byte[] body) {
+        this.key = key;
+        this.status = status;
+        this.timeMs = timeMs;
+        this.headers = headers != null ? headers : Collections.emptyList();
+        this.body = body != null ? body : new byte[0];
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getTimeMs() {
+        return timeMs;
+    }
+
+    public List<String[]> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("key", key);
+        map.put("status", status);
+        map.put("timeMs", timeMs);
+        List<List<String>> headerList = new ArrayList<>(headers.size());
+        for (String[] header : headers) {
+            headerList.add(List.of(header[0], header[1]));
+        }
+        map.put("headers", headerList);
+        if (body.length > 0) {
+            if (isText(contentType())) {
+                map.put("body", new String(body, StandardCharsets.UTF_8));
+            } else {
+                map.put("bodyBase64", Base64.getEncoder().encodeToString(body));
+            }
+        }
+        return map;
+    }
+
+    static Recording fromMap(Map<?, ?> map) {
+        String key = (String) map.get("key");
+        if (key == null) {
+            throw new IllegalArgumentException("Recording has no 'key'");
+        }
+        int status = ((Number) map.get("status")).intValue();
+        Object time = map.get("timeMs");
+        long timeMs = time instanceof Number ? ((Number) time).longValue() : 0;
+
+        List<String[]> headers = new ArrayList<>();
+        Object headerList = map.get("headers");
+        if (headerList instanceof List) {
+            for (Object header : (List<?>) headerList) {
+                List<?> pair = (List<?>) header;
+                headers.add(new String[]{String.valueOf(pair.get(0)), String.valueOf(pair.get(1))});
+            }
+        }
+
+        byte[] body;
+        if (map.get("body") != null) {
+            body = map.get("body").toString().getBytes(StandardCharsets.UTF_8);
+        } else if (map.get("bodyBase64") != null) {
+            body = Base64.getDecoder().decode(map.get("bodyBase64").toString());
+        } else {
+            body = new byte[0];
+        }
+        return new Recording(key, status, timeMs, headers, body);
+    }
+
+    private String contentType() {
+        for (String[] header : headers) {
+            if ("content-type".equalsIgnoreCase(header[0])) {
+                return header[1];
+            }
+        }
+        return null;
+    }
+
+    private static boolean isText(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+                || type.contains("javascript") || type.contains("x-www-form-urlencoded");
+    }
+
+    @Override
+    public String toString() {
+        return key + " -> " + status + " (" + body.length + " bytes)";
+    }
+}
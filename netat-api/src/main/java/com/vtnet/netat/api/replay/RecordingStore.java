@@ -0,0 +1,109 @@
+package com.vtnet.netat.api.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File lưu recording dạng JSON Lines (mỗi dòng một {@link Recording}).
+ *
+ * <p>Khi ghi, mỗi recording được append và flush ngay nên file vẫn dùng được nếu test dừng giữa chừng.
+ * Khi đọc, các recording cùng key được giữ theo thứ tự ghi để replay đúng trình tự
+ * (ví dụ GET trước và sau khi tạo resource).
+ */
+public final class RecordingStore {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Path file;
+    private final Map<String, List<Recording>> recordings;
+
+    private RecordingStore(Path file, Map<String, List<Recording>> recordings) {
+        this.file = file;
+        this.recordings = recordings;
+    }
+
+    /**
+     * Mở store để ghi mới (file cũ bị xóa).
+     */
+    public static RecordingStore create(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.deleteIfExists(file);
+        Files.createFile(file);
+        return new RecordingStore(file, new LinkedHashMap<>());
+    }
+
+    /**
+     * Nạp store đã ghi.
+     */
+    public static RecordingStore load(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("Recording store not found: " + file.toAbsolutePath());
+        }
+        Map<String, List<Recording>> recordings = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    Recording recording = Recording.fromMap(objectMapper.readValue(line, Map.class));
+                    recordings.computeIfAbsent(recording.getKey(), k -> new ArrayList<>()).add(recording);
+                } catch (RuntimeException | IOException e) {
+                    throw new IOException("Invalid recording at " + file + ":" + lineNumber + " - " + e.getMessage(), e);
+                }
+            }
+        }
+        return new RecordingStore(file, recordings);
+    }
+
+    /**
+     * Ghi thêm một recording (append + flush).
+     */
+    public synchronized void append(Recording recording) throws IOException {
+        String line = objectMapper.writeValueAsString(recording.toMap());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND)) {
+            writer.write(line);
+            writer.newLine();
+        }
+        recordings.computeIfAbsent(recording.getKey(), k -> new ArrayList<>()).add(recording);
+    }
+
+    /**
+     * @return bản copy các recording theo key (mỗi key giữ thứ tự ghi)
+     */
+    synchronized Map<String, List<Recording>> snapshot() {
+        Map<String, List<Recording>> copy = new LinkedHashMap<>();
+        recordings.forEach((key, list) -> copy.put(key, new ArrayList<>(list)));
+        return copy;
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (List<Recording> list : recordings.values()) {
+            size += list.size();
+        }
+        return size;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
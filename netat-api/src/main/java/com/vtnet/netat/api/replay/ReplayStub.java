@@ -0,0 +1,164 @@
+package com.vtnet.netat.api.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.vtnet.netat.core.logging.NetatLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP stub nhúng (loopback) trả response từ {@link RecordingStore}.
+ *
+ * <p>Request được tra theo header {@link ApiReplay#KEY_HEADER} do filter replay gắn vào.
+ * Các recording cùng key được trả lần lượt theo thứ tự ghi; hết danh sách thì lặp lại cái cuối.
+ * Key không có recording trả về {@code 501} kèm header {@code X-Netat-Replay: miss}.
+ *
+ * <p>Latency được chèn cố định ({@code latencyMs}) hoặc bằng thời gian đã ghi
+ * ({@code useRecordedLatency}), nên kết quả replay lặp lại được giữa các lần chạy.
+ */
+public final class ReplayStub {
+
+    private static final NetatLogger logger = NetatLogger.getInstance(ReplayStub.class);
+
+    static final String HOST = "127.0.0.1";
+    static final String MISS_HEADER = "X-Netat-Replay";
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Map<String, List<Recording>> recordings;
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    private final long latencyMs;
+    private final boolean useRecordedLatency;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ReplayStub(RecordingStore store, long latencyMs, boolean useRecordedLatency) {
+        this.recordings = store.snapshot();
+        this.latencyMs = Math.max(0, latencyMs);
+        this.useRecordedLatency = useRecordedLatency;
+    }
+
+    /**
+     * Khởi động stub trên cổng loopback ngẫu nhiên.
+     *
+     * @return cổng đang lắng nghe
+     */
+    public synchronized int start() throws IOException {
+        if (server != null) {
+            return getPort();
+        }
+        // Tắt Nagle cho socket của HttpServer, nếu không header và body ghi riêng
+        // sẽ bị delayed ACK giữ lại ~40ms mỗi request
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(HOST, 0), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "netat-api-replay-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        startAsDaemon(server);
+        logger.info("Replay stub listening on {} ({} recorded keys)", server.getAddress(), recordings.size());
+        return getPort();
+    }
+
+    /**
+     * Dispatcher thread của HttpServer kế thừa cờ daemon từ thread gọi start(); start từ
+     * thread daemon để stub quên stop() không giữ JVM sống sau khi test xong.
+     */
+    private static void startAsDaemon(HttpServer server) throws IOException {
+        Thread starter = new Thread(server::start, "netat-api-replay-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.stop(0);
+            throw new IOException("Interrupted while starting replay stub", e);
+        }
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+            logger.info("Replay stub stopped");
+        }
+    }
+
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Replay stub is not running");
+        }
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            // Đọc hết body để connection keep-alive dùng lại được
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        String key = exchange.getRequestHeaders().getFirst(ApiReplay.KEY_HEADER);
+        Recording recording = key != null ? next(key) : null;
+        if (recording == null) {
+            logger.warn("Replay miss: {} {} (key={})", exchange.getRequestMethod(), exchange.getRequestURI(), key);
+            byte[] body = ("No recording for " + key).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add(MISS_HEADER, "miss");
+            exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+            exchange.sendResponseHeaders(501, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            return;
+        }
+
+        long delay = useRecordedLatency ? recording.getTimeMs() : latencyMs;
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        for (String[] header : recording.getHeaders()) {
+            exchange.getResponseHeaders().add(header[0], header[1]);
+        }
+        byte[] body = recording.getBody();
+        boolean noBody = body.length == 0 || "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(recording.getStatus(), noBody ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (!noBody) {
+                out.write(body);
+            }
+        }
+    }
+
+    private Recording next(String key) {
+        List<Recording> list = recordings.get(key);
+        if (list == null || list.isEmpty()) {
+            return null;
+        }
+        int index = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return list.get(Math.min(index, list.size() - 1));
+    }
+}
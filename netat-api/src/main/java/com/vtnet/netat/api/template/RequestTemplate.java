@@ -0,0 +1,354 @@
+package com.vtnet.netat.api.template;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vtnet.netat.api.core.ApiContext;
+import com.vtnet.netat.api.core.BatchRequest;
+import com.vtnet.netat.api.curl.CurlParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request template đã compile: file định nghĩa (JSON hoặc cURL) được đọc và parse một lần,
+ * mọi chuỗi có placeholder {@code ${column}} được tách sẵn thành slot. Mỗi row dữ liệu
+ * (ví dụ từ {@code DataUtils.getTestDataFromJson}) chỉ cần bind để có request sẵn sàng gửi.
+ *
+ * <p>File JSON:
+ * <pre>{@code
+ * {
+ *   "method": "POST",
+ *   "endpoint": "/users/${userId}/orders",
+ *   "contentType": "application/json",
+ *   "headers": { "X-Tenant": "${tenant}" },
+ *   "queryParams": { "lang": "${lang}" },
+ *   "body": { "product": "${product}", "note": "${note}" }
+ * }
+ * }</pre>
+ * {@code body} là object/array (placeholder nằm trong string, giá trị được escape JSON)
+ * hoặc string (cho phép placeholder ngoài string, ví dụ {@code "{\"qty\": ${qty}}"}).
+ *
+ * <p>File cURL: nội dung giống {@code executeCurlFromFile}, placeholder đặt ở URL, header,
+ * body, cookie, form field.
+ *
+ * <p>Template được cache theo đường dẫn file và tự nạp lại khi file thay đổi (mtime/size).
+ * Instance là immutable và dùng chung được giữa các thread.
+ */
+public final class RequestTemplate {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Map<Path, CachedTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String method;
+    private final TemplateString endpoint;
+    private final String contentType;
+    private final Map<String, TemplateString> headers;
+    private final Map<String, TemplateString> queryParams;
+    private final Map<String, TemplateString> cookies;
+    private final Map<String, TemplateString> formData;
+    private final TemplateString body;
+    private final TemplateString basicAuthUser;
+    private final TemplateString basicAuthPassword;
+    private final boolean insecure;
+    private final boolean curl;
+
+    private RequestTemplate(Builder builder) {
+        this.name = builder.name;
+        this.method = builder.method;
+        this.endpoint = builder.endpoint;
+        this.contentType = builder.contentType;
+        this.headers = Collections.unmodifiableMap(builder.headers);
+        this.queryParams = Collections.unmodifiableMap(builder.queryParams);
+        this.cookies = Collections.unmodifiableMap(builder.cookies);
+        this.formData = Collections.unmodifiableMap(builder.formData);
+        this.body = builder.body;
+        this.basicAuthUser = builder.basicAuthUser;
+        this.basicAuthPassword = builder.basicAuthPassword;
+        this.insecure = builder.insecure;
+        this.curl = builder.curl;
+    }
+
+    /**
+     * Nạp template từ file (cache theo đường dẫn, nạp lại khi file thay đổi).
+     * File có đuôi .json là định nghĩa JSON; còn lại được xem là cURL command.
+     *
+     * @param file đường dẫn file template
+     * @return template đã compile
+     * @throws IOException nếu không đọc được file
+     */
+    public static RequestTemplate fromFile(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        long modified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        CachedTemplate cached = CACHE.get(key);
+        if (cached != null && cached.modified == modified && cached.size == size) {
+            return cached.template;
+        }
+
+        String content = new String(Files.readAllBytes(key), StandardCharsets.UTF_8);
+        String fileName = key.getFileName().toString();
+        RequestTemplate template = fileName.toLowerCase().endsWith(".json")
+                ? fromJson(fileName, content)
+                : fromCurl(fileName, content);
+        CACHE.put(key, new CachedTemplate(template, modified, size));
+        return template;
+    }
+
+    /**
+     * Compile template từ định nghĩa JSON.
+     */
+    public static RequestTemplate fromJson(String name, String definition) throws IOException {
+        Object parsed = objectMapper.readValue(definition, Object.class);
+        if (!(parsed instanceof Map)) {
+            throw new IllegalArgumentException("Request template must be a JSON object: " + name);
+        }
+        Map<?, ?> root = (Map<?, ?>) parsed;
+
+        Builder builder = new Builder(name, false);
+        Object method = root.get("method");
+        builder.method = method != null ? method.toString().toUpperCase() : "GET";
+
+        Object endpoint = root.get("endpoint") != null ? root.get("endpoint") : root.get("url");
+        if (endpoint == null || endpoint.toString().isEmpty()) {
+            throw new IllegalArgumentException("Request template has no 'endpoint': " + name);
+        }
+        builder.endpoint = TemplateString.compile(endpoint.toString());
+        builder.contentType = root.get("contentType") != null ? root.get("contentType").toString() : null;
+
+        compileObject(root.get("headers"), builder.headers);
+        compileObject(root.get("queryParams"), builder.queryParams);
+        compileObject(root.get("cookies"), builder.cookies);
+        compileObject(root.get("formParams"), builder.formData);
+
+        Object body = root.get("body");
+        if (body != null) {
+            // Object/array được serialize một lần tại đây, không serialize lại mỗi row
+            boolean container = body instanceof Map || body instanceof List;
+            builder.body = container
+                    ? TemplateString.compileJson(objectMapper.writeValueAsString(body))
+                    : TemplateString.compileJson(body.toString());
+            if (builder.contentType == null && container) {
+                builder.contentType = "application/json";
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compile template từ cURL command (parse bằng {@link CurlParser} một lần).
+     */
+    public static RequestTemplate fromCurl(String name, String curlCommand) {
+        CurlParser.ParsedCurl parsed = CurlParser.parse(curlCommand);
+
+        Builder builder = new Builder(name, true);
+        builder.method = parsed.getMethod();
+        builder.endpoint = TemplateString.compile(parsed.getUrl());
+        builder.insecure = parsed.isInsecure();
+
+        for (Map.Entry<String, String> header : parsed.getHeaders().entrySet()) {
+            builder.headers.put(header.getKey(), TemplateString.compile(header.getValue()));
+            if ("content-type".equalsIgnoreCase(header.getKey())) {
+                builder.contentType = header.getValue();
+            }
+        }
+        for (Map.Entry<String, String> cookie : parsed.getCookies().entrySet()) {
+            builder.cookies.put(cookie.getKey(), TemplateString.compile(cookie.getValue()));
+        }
+        for (Map.Entry<String, String> field : parsed.getFormData().entrySet()) {
+            builder.formData.put(field.getKey(), TemplateString.compile(field.getValue()));
+        }
+        if (parsed.getBody() != null) {
+            boolean json = builder.contentType != null && builder.contentType.toLowerCase().contains("json");
+            builder.body = json ? TemplateString.compileJson(parsed.getBody()) : TemplateString.compile(parsed.getBody());
+        }
+        if (parsed.hasBasicAuth()) {
+            builder.basicAuthUser = TemplateString.compile(parsed.getBasicAuthUser());
+            builder.basicAuthPassword = TemplateString.compile(parsed.getBasicAuthPassword());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Bind một row dữ liệu thành request sẵn sàng gửi.
+     *
+     * <p>Với template JSON, request dùng snapshot của {@code baseContext} (base URL, auth, header
+     * chung...) rồi áp header/param/body của template lên trên. Template cURL đã đầy đủ nên
+     * {@code baseContext} chỉ bổ sung header chưa có.
+     *
+     * @param row dữ liệu (tên cột → giá trị)
+     * @param baseContext context nền (có thể null)
+     * @return request đã bind
+     * @throws IllegalArgumentException nếu row thiếu giá trị cho placeholder
+     */
+    public BatchRequest bind(Map<String, ?> row, ApiContext baseContext) {
+        if (curl) {
+            return BatchRequest.fromCurl(bindCurl(row, baseContext));
+        }
+
+        ApiContext context = baseContext != null ? baseContext.copy() : new ApiContext();
+        for (Map.Entry<String, TemplateString> header : headers.entrySet()) {
+            context.addHeader(header.getKey(), header.getValue().bind(row));
+        }
+        for (Map.Entry<String, TemplateString> param : queryParams.entrySet()) {
+            context.addQueryParam(param.getKey(), param.getValue().bind(row));
+        }
+        for (Map.Entry<String, TemplateString> param : formData.entrySet()) {
+            context.addFormParam(param.getKey(), param.getValue().bind(row));
+        }
+        for (Map.Entry<String, TemplateString> cookie : cookies.entrySet()) {
+            context.addHeader("Cookie", appendCookie(context.getHeader("Cookie"),
+                    cookie.getKey(), cookie.getValue().bind(row)));
+        }
+        if (contentType != null) {
+            context.setContentType(contentType);
+        }
+        if (body != null) {
+            context.setRequestBody(body.bind(row));
+        }
+        return BatchRequest.of(method, endpoint.bind(row), context);
+    }
+
+    private CurlParser.ParsedCurl bindCurl(Map<String, ?> row, ApiContext baseContext) {
+        CurlParser.ParsedCurl parsed = new CurlParser.ParsedCurl();
+        parsed.setMethod(method);
+        parsed.setUrl(endpoint.bind(row));
+        parsed.setInsecure(insecure || (baseContext != null && !baseContext.isSslVerificationEnabled()));
+
+        for (Map.Entry<String, TemplateString> header : headers.entrySet()) {
+            parsed.addHeader(header.getKey(), header.getValue().bind(row));
+        }
+        if (baseContext != null && baseContext.getHeaders() != null) {
+            for (Map.Entry<String, String> header : baseContext.getHeaders().entrySet()) {
+                parsed.getHeaders().putIfAbsent(header.getKey(), header.getValue());
+            }
+        }
+        for (Map.Entry<String, TemplateString> cookie : cookies.entrySet()) {
+            parsed.addCookie(cookie.getKey(), cookie.getValue().bind(row));
+        }
+        for (Map.Entry<String, TemplateString> field : formData.entrySet()) {
+            parsed.addFormData(field.getKey(), field.getValue().bind(row));
+        }
+        if (body != null) {
+            parsed.setBody(body.bind(row));
+        }
+        if (basicAuthUser != null) {
+            parsed.setBasicAuth(basicAuthUser.bind(row),
+                    basicAuthPassword != null ? basicAuthPassword.bind(row) : "");
+        }
+        return parsed;
+    }
+
+    private static String appendCookie(String existing, String name, String value) {
+        String pair = name + "=" + value;
+        return existing == null || existing.isEmpty() ? pair : existing + "; " + pair;
+    }
+
+    private static void compileObject(Object node, Map<String, TemplateString> target) throws IOException {
+        if (!(node instanceof Map)) {
+            return;
+        }
+        for (Map.Entry<?, ?> field : ((Map<?, ?>) node).entrySet()) {
+            Object value = field.getValue();
+            String text = value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                    ? String.valueOf(value)
+                    : objectMapper.writeValueAsString(value);
+            target.put(String.valueOf(field.getKey()), TemplateString.compile(text));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public boolean isCurl() {
+        return curl;
+    }
+
+    /**
+     * @return tên tất cả placeholder mà row cần cung cấp
+     */
+    public Set<String> getPlaceholders() {
+        Set<String> names = new LinkedHashSet<>(endpoint.getPlaceholders());
+        headers.values().forEach(t -> names.addAll(t.getPlaceholders()));
+        queryParams.values().forEach(t -> names.addAll(t.getPlaceholders()));
+        cookies.values().forEach(t -> names.addAll(t.getPlaceholders()));
+        formData.values().forEach(t -> names.addAll(t.getPlaceholders()));
+        if (body != null) {
+            names.addAll(body.getPlaceholders());
+        }
+        if (basicAuthUser != null) {
+            names.addAll(basicAuthUser.getPlaceholders());
+        }
+        if (basicAuthPassword != null) {
+            names.addAll(basicAuthPassword.getPlaceholders());
+        }
+        return names;
+    }
+
+    /**
+     * Xóa cache template (ví dụ giữa các suite).
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RequestTemplate{name='%s', %s %s, placeholders=%s}",
+                name, method, endpoint, getPlaceholders());
+    }
+
+    private static final class CachedTemplate {
+        private final RequestTemplate template;
+        private final long modified;
+        private final long size;
+
+        CachedTemplate(RequestTemplate template, long modified, long size) {
+            this.template = template;
+            this.modified = modified;
+            this.size = size;
+        }
+    }
+
+    private static final class Builder {
+        private final String name;
+        private final boolean curl;
+        private String method = "GET";
+        private TemplateString endpoint;
+        private String contentType;
+        private final Map<String, TemplateString> headers = new LinkedHashMap<>();
+        private final Map<String, TemplateString> queryParams = new LinkedHashMap<>();
+        private final Map<String, TemplateString> cookies = new LinkedHashMap<>();
+        private final Map<String, TemplateString> formData = new LinkedHashMap<>();
+        private TemplateString body;
+        private TemplateString basicAuthUser;
+        private TemplateString basicAuthPassword;
+        private boolean insecure;
+
+        Builder(String name, boolean curl) {
+            this.name = name;
+            this.curl = curl;
+        }
+
+        RequestTemplate build() {
+            return new RequestTemplate(this);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.vtnet.netat.api.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chuỗi có placeholder {@code ${name}} đã được compile: tách sẵn thành các đoạn literal và slot,
+ * nên mỗi lần bind chỉ còn nối chuỗi, không scan/regex lại.
+ *
+ * <p>Ở chế độ JSON, slot nằm trong string literal ({@code "name": "${name}"}) được escape theo JSON;
+ * slot nằm ngoài string ({@code "age": ${age}}) được chèn nguyên văn để truyền số/boolean/null.
+ *
+ * <p>Instance là immutable và dùng chung được giữa các thread.
+ */
+public final class TemplateString {
+
+    private static final String OPEN = "${";
+    private static final char CLOSE = '}';
+
+    private final String source;
+    private final String[] literals;
+    private final String[] slots;
+    private final boolean[] jsonEscape;
+    private final int literalLength;
+
+    private TemplateString(String source, List<String> literals, List<String> slots, List<Boolean> jsonEscape) {
+        this.source = source;
+        this.literals = literals.toArray(new String[0]);
+        this.slots = slots.toArray(new String[0]);
+        this.jsonEscape = new boolean[jsonEscape.size()];
+        for (int i = 0; i < this.jsonEscape.length; i++) {
+            this.jsonEscape[i] = jsonEscape.get(i);
+        }
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compile chuỗi thường (giá trị được chèn nguyên văn).
+     */
+    public static TemplateString compile(String text) {
+        return compile(text, false);
+    }
+
+    /**
+     * Compile body JSON (giá trị trong string literal được escape).
+     */
+    public static TemplateString compileJson(String text) {
+        return compile(text, true);
+    }
+
+    private static TemplateString compile(String text, boolean json) {
+        if (text == null) {
+            return null;
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        List<Boolean> escapes = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        boolean inString = false;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '$' && text.startsWith(OPEN, i)) {
+                int close = text.indexOf(CLOSE, i + OPEN.length());
+                if (close > i + OPEN.length()) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    slots.add(text.substring(i + OPEN.length(), close).trim());
+                    escapes.add(json && inString);
+                    i = close + 1;
+                    continue;
+                }
+            }
+            if (json) {
+                if (c == '\\' && inString && i + 1 < length) {
+                    literal.append(c).append(text.charAt(i + 1));
+                    i += 2;
+                    continue;
+                }
+                if (c == '"') {
+                    inString = !inString;
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+
+        return new TemplateString(text, literals, slots, escapes);
+    }
+
+    /**
+     * Thay các slot bằng giá trị trong row.
+     *
+     * @param row dữ liệu (tên cột → giá trị)
+     * @return chuỗi đã bind
+     * @throws IllegalArgumentException nếu row thiếu giá trị cho một placeholder
+     */
+    public String bind(Map<String, ?> row) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        StringBuilder sb = new StringBuilder(literalLength + slots.length * 16);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            if (row == null || !row.containsKey(slots[i])) {
+                throw new IllegalArgumentException("No value for placeholder '${" + slots[i] + "}'");
+            }
+            Object value = row.get(slots[i]);
+            if (jsonEscape[i]) {
+                appendJsonEscaped(sb, value == null ? "" : value.toString());
+            } else {
+                sb.append(value);
+            }
+        }
+        sb.append(literals[slots.length]);
+        return sb.toString();
+    }
+
+    public boolean hasPlaceholders() {
+        return slots.length > 0;
+    }
+
+    /**
+     * @return tên các placeholder theo thứ tự xuất hiện (không trùng)
+     */
+    public Set<String> getPlaceholders() {
+        Set<String> names = new LinkedHashSet<>();
+        Collections.addAll(names, slots);
+        return names;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    private static void appendJsonEscaped(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,72 @@
+package com.vtnet.netat.api.load;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(histogram.getCount(), 0);
+        assertEquals(histogram.getMinMicros(), 0);
+        assertEquals(histogram.getPercentileMicros(99), 0);
+        assertEquals(histogram.getMeanMicros(), 0.0);
+    }
+
+    @Test
+    public void valuesBelowLinearRangeAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 100; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(histogram.getCount(), 100);
+        assertEquals(histogram.getMinMicros(), 1);
+        assertEquals(histogram.getMaxMicros(), 100);
+        assertEquals(histogram.getPercentileMicros(50), 50);
+        assertEquals(histogram.getPercentileMicros(99), 99);
+        assertEquals(histogram.getPercentileMicros(100), 100);
+        assertEquals(histogram.getMeanMicros(), 50.5);
+    }
+
+    @Test
+    public void percentilesStayWithinRelativeErrorAndNeverUnderReport() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis * 1000L);
+        }
+
+        for (double percentile : new double[]{50, 90, 95, 99, 99.9}) {
+            long expected = (long) Math.ceil(percentile * 10) * 1000L;
+            long actual = histogram.getPercentileMicros(percentile);
+            assertTrue(actual >= expected, "p" + percentile + " under-reported: " + actual);
+            assertTrue(actual <= expected * 1.016, "p" + percentile + " error too large: " + actual);
+        }
+        assertEquals(histogram.getPercentileMicros(100), 1_000_000);
+    }
+
+    @Test
+    public void negativeSamplesCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertEquals(histogram.getCount(), 1);
+        assertEquals(histogram.getMaxMicros(), 0);
+        assertEquals(histogram.getPercentileMicros(50), 0);
+    }
+
+    @Test
+    public void bucketUpperBoundsCoverEveryValue() {
+        for (long value : new long[]{127, 128, 129, 255, 256, 1_000, 65_535, 1_000_000, 60_000_000_000L}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value, "bucket of " + value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value, "previous bucket of " + value);
+            }
+        }
+    }
+}
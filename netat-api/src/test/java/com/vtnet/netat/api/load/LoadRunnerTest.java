@@ -0,0 +1,142 @@
+package com.vtnet.netat.api.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.vtnet.netat.api.core.ApiContext;
+import com.vtnet.netat.api.core.BatchRequest;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Chạy LoadRunner với stub server local (JDK HttpServer), không cần mạng
+ */
+public class LoadRunnerTest {
+
+    private static final int SLOW_DELAY_MS = 50;
+
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ApiContext context;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200, 0));
+        server.createContext("/slow", exchange -> respond(exchange, 200, SLOW_DELAY_MS));
+        server.createContext("/unavailable", exchange -> respond(exchange, 503, 0));
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    @BeforeMethod
+    public void resetHits() {
+        hits.clear();
+        context = new ApiContext();
+        context.setBaseUri("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @Test
+    public void rateModeSendsExactlyTheScheduledRequests() {
+        LoadResult result = LoadRunner.run(BatchRequest.of("GET", "/ok", context),
+                LoadOptions.atRate(40, Duration.ofSeconds(1)));
+
+        assertEquals(result.getTotalRequests(), 40);
+        assertEquals(result.getHistogram().getCount(), 40);
+        assertEquals(result.getStatusCounts().get(200), Long.valueOf(40));
+        assertEquals(result.getErrorCount(), 0);
+        assertEquals(result.getUnfinished(), 0);
+        assertEquals(hitsOf("/ok"), 40);
+    }
+
+    @Test
+    public void warmupRequestsAreSentButNotRecorded() {
+        LoadResult result = LoadRunner.run(BatchRequest.of("GET", "/ok", context),
+                LoadOptions.builder()
+                        .ratePerSecond(20)
+                        .duration(Duration.ofSeconds(1))
+                        .warmup(Duration.ofMillis(500))
+                        .build());
+
+        assertEquals(result.getTotalRequests(), 10);
+        assertEquals(hitsOf("/ok"), 20);
+    }
+
+    @Test
+    public void concurrencyModePercentilesIncludeServerDelay() {
+        LoadResult result = LoadRunner.run(BatchRequest.of("GET", "/slow", context),
+                LoadOptions.withConcurrency(4, Duration.ofSeconds(1)));
+
+        long total = result.getTotalRequests();
+        // 4 worker, mỗi request >= 50ms: tối đa 4 * (1000 / 50) request, cộng request cuối của mỗi worker
+        assertTrue(total > 0 && total <= 4 * (1000 / SLOW_DELAY_MS) + 4, "requests: " + total);
+        assertEquals(result.getStatusCounts().get(200), Long.valueOf(total));
+        assertEquals(hitsOf("/slow"), total);
+
+        assertTrue(result.getHistogram().getMinMicros() >= SLOW_DELAY_MS * 1000L,
+                "min latency below server delay: " + result.getHistogram().getMinMicros());
+        assertTrue(result.getP50Millis() >= SLOW_DELAY_MS, "p50: " + result.getP50Millis());
+        assertTrue(result.getP50Millis() <= result.getP95Millis());
+        assertTrue(result.getP95Millis() <= result.getP99Millis());
+        assertTrue(result.getP99Millis() <= result.getMaxMillis());
+    }
+
+    @Test
+    public void errorStatusesAreCountedAsErrors() {
+        LoadResult result = LoadRunner.run(BatchRequest.of("GET", "/unavailable", context),
+                LoadOptions.atRate(20, Duration.ofSeconds(1)));
+
+        assertEquals(result.getTotalRequests(), 20);
+        assertEquals(result.getErrorCount(), 20);
+        assertEquals(result.getStatusCounts().get(503), Long.valueOf(20));
+        assertEquals(result.getErrorRatePercent(), 100.0);
+        assertEquals(hitsOf("/unavailable"), 20);
+    }
+
+    private void respond(HttpExchange exchange, int status, int delayMillis) throws IOException {
+        hits.computeIfAbsent(exchange.getRequestURI().getPath(), k -> new AtomicInteger()).incrementAndGet();
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = ("status " + status).getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private int hitsOf(String path) {
+        AtomicInteger count = hits.get(path);
+        return count != null ? count.get() : 0;
+    }
+}
@@ -133,7 +133,7 @@ public abstract class BaseKeyword {
                 screenshotPath = ScreenshotUtils.takeScreenshot(baseName);
             }
 
-            HTMLSnapshotUtils.captureHTMLSnapshot(baseName);
+            HTMLSnapshotUtils.captureHTMLSnapshot(baseName, extractObjectsFromParams(params));
 
             return screenshotPath;
 
@@ -143,6 +143,22 @@ public abstract class BaseKeyword {
         }
     }
 
+    private List<com.vtnet.netat.core.ui.ObjectUI> extractObjectsFromParams(Object... params) {
+        List<com.vtnet.netat.core.ui.ObjectUI> objects = new ArrayList<>();
+        com.vtnet.netat.core.ui.ObjectUI contextElement = BaseUiKeyword.getCurrentElement();
+        if (contextElement != null) {
+            objects.add(contextElement);
+        }
+        if (params != null) {
+            for (Object param : params) {
+                if (param instanceof com.vtnet.netat.core.ui.ObjectUI && !objects.contains(param)) {
+                    objects.add((com.vtnet.netat.core.ui.ObjectUI) param);
+                }
+            }
+        }
+        return objects;
+    }
+
     private WebElement extractElementFromParams(Object... params) {
         if (params == null || params.length == 0) {
             return null;
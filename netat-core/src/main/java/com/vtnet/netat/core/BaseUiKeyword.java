@@ -1,9 +1,13 @@
 package com.vtnet.netat.core;
 
 import com.vtnet.netat.core.context.ExecutionContext;
+import com.vtnet.netat.core.ui.ElementFingerprint;
+import com.vtnet.netat.core.ui.FastClick;
+import com.vtnet.netat.core.ui.FingerprintStore;
 import com.vtnet.netat.core.ui.Locator;
 import com.vtnet.netat.core.ui.ObjectUI;
 import com.vtnet.netat.core.utils.ScreenshotUtils;
+import com.vtnet.netat.core.wait.AdaptiveWait;
 import com.vtnet.netat.driver.ConfigReader;
 import com.vtnet.netat.driver.DriverManager;
 import io.appium.java_client.AppiumDriver;
@@ -11,16 +15,20 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.asserts.SoftAssert;
 
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -43,10 +51,6 @@ public abstract class BaseUiKeyword extends BaseKeyword {
         return getConfigInt("smart.wait.ajax.timeout", DEFAULT_AJAX_TIMEOUT);
     }
 
-    private int getPollingInterval() {
-        return getConfigInt("smart.wait.polling.interval", ((int) POLLING_INTERVAL.toMillis()));
-    }
-
     private boolean isSmartWaitEnabled() {
         return getConfigBoolean("smart.wait.enabled", true);
     }
@@ -107,7 +111,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
                 attempts--;
                 WebElement element = findElement(uiObject);
 
-                new WebDriverWait(driver, PRIMARY_TIMEOUT)
+                AdaptiveWait.on(driver, PRIMARY_TIMEOUT)
                         .ignoring(StaleElementReferenceException.class)
                         .until(waitCondition.apply(element));
 
@@ -135,7 +139,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
     private void waitForDocumentReady(WebDriver driver) {
         try {
             logger.info("Wait for DOM ready ...");
-            new WebDriverWait(driver, Duration.ofSeconds(getDocReadyTimeout()))
+            AdaptiveWait.on(driver, Duration.ofSeconds(getDocReadyTimeout()))
                     .until(d -> ((JavascriptExecutor) d)
                             .executeScript("return document.readyState").equals("complete"));
         } catch (Exception ignored) {}
@@ -144,7 +148,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
     private void waitForAjaxComplete(WebDriver driver) {
         try {
             logger.info("Wait for Ajax complete ...");
-            new WebDriverWait(driver, Duration.ofSeconds(getAjaxTimeout()))
+            AdaptiveWait.on(driver, Duration.ofSeconds(getAjaxTimeout()))
                     .until(d -> (Boolean) ((JavascriptExecutor) d)
                             .executeScript("return (typeof jQuery === 'undefined') || jQuery.active === 0"));
         } catch (Exception ignored) {}
@@ -197,31 +201,172 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             waitForAjaxComplete(driver);
         }
 
+        logger.info("Searching for element '{}' using locators: {} (Timeout: {}s)",
+                uiObject.getName(), uiObject.getActiveLocators(), timeout.getSeconds());
+        try {
+            LocatedElement located = locate(driver, uiObject, timeout, false);
+            logger.info("Found element '{}' with locator: {}", uiObject.getName(), located.getLocator());
+            captureFingerprint(driver, uiObject, located.getElement());
+            return located.getElement();
+        } catch (TimeoutException e) {
+            logger.error("COULD NOT FIND element '{}' using any defined locators within {}s.",
+                    uiObject.getName(), timeout.getSeconds());
+            throw new NoSuchElementException("Cannot find element '" + uiObject.getName() +
+                    "' using any of the defined locators within the timeout period.");
+        } catch (IllegalArgumentException e) {
+            throw notFoundWithInvalidLocators(uiObject, e);
+        }
+    }
+
+    /**
+     * Mọi locator đều không hợp lệ: báo không tìm thấy element (như khi thử từng locator trước đây),
+     * để nơi gọi bắt {@link NoSuchElementException} xử lý giống nhau. Object không có locator nào
+     * đang hoạt động vẫn là lỗi cấu hình ({@link IllegalArgumentException}).
+     */
+    private RuntimeException notFoundWithInvalidLocators(ObjectUI uiObject, IllegalArgumentException e) {
+        if (uiObject.getActiveLocators().isEmpty()) {
+            return e;
+        }
+        logger.error("COULD NOT FIND element '{}': {}", uiObject.getName(), e.getMessage());
+        return new NoSuchElementException("Cannot find element '" + uiObject.getName() + "': " + e.getMessage());
+    }
+
+    /**
+     * Element tìm được cùng locator đã dùng
+     */
+    protected static final class LocatedElement {
+        private final Locator locator;
+        private final By by;
+        private final WebElement element;
+
+        LocatedElement(Locator locator, By by, WebElement element) {
+            this.locator = locator;
+            this.by = by;
+            this.element = element;
+        }
+
+        public Locator getLocator() { return locator; }
+        public By getBy() { return by; }
+        public WebElement getElement() { return element; }
+    }
+
+    /**
+     * Tìm element theo mọi locator đang hoạt động trong cùng một timeout: mỗi lần poll thử lần lượt các locator
+     * (locator đứng trước được ưu tiên), thay vì chờ hết timeout cho từng locator rồi mới sang locator sau.
+     * Locator không hợp lệ bị bỏ qua cho tới hết lần chờ.
+     *
+     * @param visible chỉ nhận khi element đầu tiên khớp locator đang hiển thị
+     * @throws TimeoutException khi không locator nào tìm được element trong timeout
+     * @throws IllegalArgumentException khi object không có locator đang hoạt động hoặc mọi locator đều không hợp lệ
+     */
+    protected LocatedElement locate(WebDriver driver, ObjectUI uiObject, Duration timeout, boolean visible) {
         List<Locator> locators = uiObject.getActiveLocators();
         if (locators == null || locators.isEmpty()) {
             throw new IllegalArgumentException("No active locator is defined for object: " + uiObject.getName());
         }
+        Set<Locator> invalid = new HashSet<>();
+        return AdaptiveWait.on(driver, timeout)
+                .describedAs("element '" + uiObject.getName() + "' to be " + (visible ? "visible" : "present"))
+                .ignoring(StaleElementReferenceException.class)
+                .until(d -> {
+                    for (Locator locator : locators) {
+                        if (invalid.contains(locator)) {
+                            continue;
+                        }
+                        try {
+                            By by = locator.convertToBy();
+                            List<WebElement> found = d.findElements(by);
+                            if (!found.isEmpty() && (!visible || found.get(0).isDisplayed())) {
+                                return new LocatedElement(locator, by, found.get(0));
+                            }
+                        } catch (InvalidSelectorException | InvalidArgumentException | IllegalStateException
+                                 | UnsupportedOperationException | UncheckedIOException e) {
+                            // Selector sai, strategy driver không hỗ trợ (IMAGE ngoài Appium), ảnh mẫu không đọc được
+                            logger.warn("Skipping invalid locator {} of '{}': {}", locator, uiObject.getName(), e.getMessage());
+                            invalid.add(locator);
+                        }
+                    }
+                    if (invalid.size() == locators.size()) {
+                        throw new IllegalArgumentException("No valid locator is defined for object: " + uiObject.getName());
+                    }
+                    return null;
+                });
+    }
 
-        for (Locator locator : locators) {
-            WebDriverWait wait = new WebDriverWait(driver, timeout, POLLING_INTERVAL);
-            try {
-                By by = locator.convertToBy();
-                logger.info("Searching for element '{}' using locator: {} (Timeout: {}s)",
-                        uiObject.getName(), locator, timeout.getSeconds());
-                WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(by));
-                if (element != null) {
-                    logger.info("Found element '{}' with locator: {}", uiObject.getName(), locator);
-                    return element;
+    /** Chụp fingerprint của element trong một lần gọi JS */
+    private static final String FINGERPRINT_SCRIPT = "return (" + ElementFingerprint.CAPTURE_FUNCTION + ")(arguments[0]);";
+
+    /**
+     * Ghi fingerprint của element vừa tìm thấy vào {@link FingerprintStore} để healing dùng khi locator hỏng.
+     * Lấy mẫu theo interval của kho nên phần lớn các lần tìm chỉ tốn một lần tra map; lỗi chụp không ảnh hưởng bước test.
+     */
+    private void captureFingerprint(WebDriver driver, ObjectUI uiObject, WebElement element) {
+        captureFingerprint(driver, uiObject, element, dueFingerprintKey(driver, uiObject));
+    }
+
+    /**
+     * @param key key đã được {@link #dueFingerprintKey} cấp (null = không chụp)
+     */
+    private void captureFingerprint(WebDriver driver, ObjectUI uiObject, WebElement element, String key) {
+        if (key == null) {
+            return;
+        }
+        try {
+            recordFingerprint(key, ((JavascriptExecutor) driver).executeScript(FINGERPRINT_SCRIPT, element));
+        } catch (Exception e) {
+            logger.debug("Cannot capture fingerprint for '{}': {}", uiObject.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * @return key của object trong {@link FingerprintStore} nếu đã đến lượt chụp, null nếu không chụp
+     */
+    private String dueFingerprintKey(WebDriver driver, ObjectUI uiObject) {
+        if (!isWebDriver(driver) || !(driver instanceof JavascriptExecutor) || !FingerprintStore.isCaptureEnabled()) {
+            return null;
+        }
+        String key = FingerprintStore.keyOf(uiObject);
+        return FingerprintStore.getShared().isDue(key) ? key : null;
+    }
+
+    private static void recordFingerprint(String key, Object raw) {
+        if (key != null && raw instanceof Map) {
+            FingerprintStore.getShared().record(key, toFingerprint((Map<?, ?>) raw));
+        }
+    }
+
+    private static ElementFingerprint toFingerprint(Map<?, ?> raw) {
+        ElementFingerprint fingerprint = new ElementFingerprint();
+        fingerprint.setTag(asString(raw.get("tag")));
+        fingerprint.setId(asString(raw.get("id")));
+        fingerprint.setName(asString(raw.get("name")));
+        fingerprint.setClasses(asStringList(raw.get("classes")));
+        fingerprint.setText(asString(raw.get("text")));
+        Map<String, String> attributes = new LinkedHashMap<>();
+        if (raw.get("attributes") instanceof Map) {
+            ((Map<?, ?>) raw.get("attributes")).forEach((k, v) -> attributes.put(String.valueOf(k), String.valueOf(v)));
+        }
+        fingerprint.setAttributes(attributes);
+        fingerprint.setDomPath(asString(raw.get("domPath")));
+        fingerprint.setAncestors(asStringList(raw.get("ancestors")));
+        fingerprint.setNeighbourText(asStringList(raw.get("neighbourText")));
+        return fingerprint;
+    }
+
+    private static String asString(Object value) {
+        return value == null || String.valueOf(value).isEmpty() ? null : String.valueOf(value);
+    }
+
+    private static List<String> asStringList(Object value) {
+        List<String> list = new ArrayList<>();
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                if (item != null) {
+                    list.add(String.valueOf(item));
                 }
-            } catch (Exception e) {
-                logger.debug("Element '{}' not found with locator {}. Trying next.", uiObject.getName(), locator);
             }
         }
-
-        logger.error("COULD NOT FIND element '{}' using any defined locators within {}s.",
-                uiObject.getName(), timeout.getSeconds());
-        throw new NoSuchElementException("Cannot find element '" + uiObject.getName() +
-                "' using any of the defined locators within the timeout period.");
+        return list;
     }
 
     public List<WebElement> findElements(ObjectUI uiObject) {
@@ -317,34 +462,51 @@ public abstract class BaseUiKeyword extends BaseKeyword {
         execute(() -> {
             WebDriver driver = DriverManager.getDriver();
             JavascriptExecutor js = (JavascriptExecutor) driver;
-            List<Locator> locators = uiObject.getActiveLocators();
             WebElement element = null;
             By usedBy = null;
 
+            // Click nhanh: chờ sẵn sàng + tìm + kiểm tra + scroll + click trong một lệnh script
+            // Key fingerprint đã cấp cho click nhanh nhưng script chưa chụp được: chụp ở đường native
+            String fingerprintKey = null;
+            if (isWebDriver(driver) && FastClick.isEnabled() && FastClick.supports(uiObject.getActiveLocators())) {
+                Duration readyTimeout = Duration.ofSeconds(getDocReadyTimeout() + getAjaxTimeout());
+                String dueKey = dueFingerprintKey(driver, uiObject);
+                FastClick.Result fast = FastClick.click(driver, uiObject, getPrimaryTimeout(), readyTimeout,
+                        CLICK_READY_TIMEOUT, dueKey != null);
+                if (fast.getFingerprint() != null) {
+                    recordFingerprint(dueKey, fast.getFingerprint());
+                } else {
+                    fingerprintKey = dueKey;
+                }
+                if (fast.isClicked()) {
+                    logger.info("Clicked '{}' successfully (fast)", uiObject.getName());
+                    return null;
+                }
+                if (fast.getElement() != null) {
+                    // Element đã được tìm và scroll trong script, chỉ còn click native
+                    logger.debug("Fast click on '{}' not applicable ({}), clicking natively", uiObject.getName(), fast.getReason());
+                    performClick(driver, js, fast.getElement(), fast.getLocator().convertToBy(), uiObject.getName());
+                    return null;
+                }
+            }
+
             if (isWebDriver(driver)) {
                 waitForDocumentReady(driver);
                 waitForAjaxComplete(driver);
             }
 
-            // BƯỚC 1: Tìm element trong DOM
-            for (Locator locator : locators) {
-                try {
-                    By by = locator.convertToBy();
-                    element = new WebDriverWait(driver, getPrimaryTimeout())
-                            .pollingEvery(Duration.ofMillis(getPollingInterval()))
-                            .ignoring(StaleElementReferenceException.class)
-                            .until(ExpectedConditions.presenceOfElementLocated(by));
-
-                    if (element != null) {
-                        usedBy = by;
-                        logger.debug("Found element '{}' in DOM with locator: {}", uiObject.getName(), locator);
-                        break;
-                    }
-                } catch (TimeoutException e) {
-                    logger.debug("Element not found with locator {}: timeout", locator);
-                } catch (Exception e) {
-                    logger.debug("Element not found with locator {}: {}", locator, e.getMessage());
-                }
+            // BƯỚC 1: Tìm element trong DOM (một timeout chung cho mọi locator)
+            try {
+                LocatedElement located = locate(driver, uiObject, getPrimaryTimeout(), false);
+                element = located.getElement();
+                usedBy = located.getBy();
+                logger.debug("Found element '{}' in DOM with locator: {}", uiObject.getName(), located.getLocator());
+                captureFingerprint(driver, uiObject, element,
+                        fingerprintKey != null ? fingerprintKey : dueFingerprintKey(driver, uiObject));
+            } catch (TimeoutException e) {
+                logger.debug("Element '{}' not found with any locator: timeout", uiObject.getName());
+            } catch (IllegalArgumentException e) {
+                throw notFoundWithInvalidLocators(uiObject, e);
             }
 
             if (element == null || usedBy == null) {
@@ -353,8 +515,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
 
             final By finalBy = usedBy;
             try {
-                element = new WebDriverWait(driver, CLICK_READY_TIMEOUT)
-                        .pollingEvery(Duration.ofMillis(getPollingInterval()))
+                element = AdaptiveWait.on(driver, CLICK_READY_TIMEOUT)
                         .ignoring(StaleElementReferenceException.class)
                         .until(ExpectedConditions.elementToBeClickable(finalBy));
             } catch (TimeoutException e) {
@@ -480,8 +641,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             // Có animation → chờ tối đa 2 giây
             logger.debug("Animation detected on '{}', waiting...", elementName);
 
-            new WebDriverWait(driver, Duration.ofSeconds(2))
-                    .pollingEvery(Duration.ofMillis(200)) // Poll chậm hơn: 200ms thay vì 100ms
+            AdaptiveWait.on(driver, Duration.ofSeconds(2))
                     .until(d -> {
                         Boolean done = (Boolean) ((JavascriptExecutor) d).executeScript(
                                 "var el = arguments[0];" +
@@ -518,35 +678,24 @@ public abstract class BaseUiKeyword extends BaseKeyword {
     protected void sendKeys(ObjectUI uiObject, String text) {
         execute(() -> {
             WebDriver driver = DriverManager.getDriver();
-            List<Locator> locators = uiObject.getActiveLocators();
 
             if (isSmartWaitEnabled() && isWebDriver(driver)) {
                 waitForDocumentReady(driver);
                 waitForAjaxComplete(driver);
             }
 
-            for (Locator locator : locators) {
-                try {
-                    By by = locator.convertToBy();
-
-                    WebElement element = new WebDriverWait(driver, getPrimaryTimeout())
-                            .pollingEvery(Duration.ofMillis(getPollingInterval()))
-                            .ignoring(StaleElementReferenceException.class)
-                            .until(ExpectedConditions.visibilityOfElementLocated(by));
-
-                    element.clear();
-                    element.sendKeys(text);
-
-                    logger.info("Successfully sent keys to '{}' with locator: {}",
-                            uiObject.getName(), locator);
-                    return null;
-
-                } catch (Exception e) {
-                    logger.debug("Failed with locator {}: {}", locator, e.getMessage());
-                }
+            try {
+                LocatedElement located = locate(driver, uiObject, getPrimaryTimeout(), true);
+                WebElement element = located.getElement();
+                element.clear();
+                element.sendKeys(text);
+
+                logger.info("Successfully sent keys to '{}' with locator: {}",
+                        uiObject.getName(), located.getLocator());
+                return null;
+            } catch (Exception e) {
+                throw new RuntimeException("Cannot send keys to '" + uiObject.getName() + "'", e);
             }
-
-            throw new RuntimeException("Cannot send keys to '" + uiObject.getName() + "'");
         }, uiObject != null ? uiObject.getName() : "null");
     }
 
@@ -563,30 +712,19 @@ public abstract class BaseUiKeyword extends BaseKeyword {
 
             // 4. Thực hiện sendKeys
             WebDriver driver = DriverManager.getDriver();
-            List<Locator> locators = uiObject.getActiveLocators();
-
-            for (Locator locator : locators) {
-                try {
-                    By by = locator.convertToBy();
-
-                    WebElement element = new WebDriverWait(driver, PRIMARY_TIMEOUT)
-                            .pollingEvery(POLLING_INTERVAL)
-                            .ignoring(StaleElementReferenceException.class)
-                            .until(ExpectedConditions.visibilityOfElementLocated(by));
-
-                    element.clear();
-                    element.sendKeys(plainText);
 
-                    logger.info("Successfully sent sensitive keys '{}' to '{}'",
-                            maskedText, uiObject.getName());
-                    return null;
+            try {
+                WebElement element = locate(driver, uiObject, PRIMARY_TIMEOUT, true).getElement();
+                element.clear();
+                element.sendKeys(plainText);
 
-                } catch (Exception e) {
-                    logger.debug("Failed with locator {}, trying next", locator);
-                }
+                logger.info("Successfully sent sensitive keys '{}' to '{}'",
+                        maskedText, uiObject.getName());
+                return null;
+            } catch (Exception e) {
+                // Không đính kèm cause: message của exception có thể chứa giá trị đã giải mã
+                throw new RuntimeException("Cannot send keys to '" + uiObject.getName() + "'");
             }
-
-            throw new RuntimeException("Cannot send keys to '" + uiObject.getName() + "'");
         }, uiObject != null ? uiObject.getName() : "null");
     }
 
@@ -618,8 +756,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             int attempts = 3;
             while (attempts-- > 0) {
                 try {
-                    WebElement element = new WebDriverWait(driver, getPrimaryTimeout())
-                            .pollingEvery(Duration.ofMillis(getPollingInterval()))
+                    WebElement element = AdaptiveWait.on(driver, getPrimaryTimeout())
                             .ignoring(StaleElementReferenceException.class)
                             .until(d -> {
                                 try {
@@ -675,7 +812,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
     protected void waitForElementVisible(ObjectUI uiObject, int timeoutInSeconds) {
         execute(() -> {
             Duration totalTimeout = Duration.ofSeconds(timeoutInSeconds);
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), totalTimeout, POLLING_INTERVAL);
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), totalTimeout);
             wait.until(ExpectedConditions.visibilityOfElementLocated(uiObject.getActiveLocators().get(0).convertToBy()));
             return null;
         }, uiObject, timeoutInSeconds);
@@ -684,7 +821,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
     protected void waitForElementNotVisible(ObjectUI uiObject, int timeoutInSeconds) {
         execute(() -> {
             Duration totalTimeout = Duration.ofSeconds(timeoutInSeconds);
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), totalTimeout, POLLING_INTERVAL);
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), totalTimeout);
             wait.until(ExpectedConditions.invisibilityOfElementLocated(uiObject.getActiveLocators().get(0).convertToBy()));
             return null;
         }, uiObject, timeoutInSeconds);
@@ -693,7 +830,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
     protected void waitForElementClickable(ObjectUI uiObject, int timeoutInSeconds) {
         execute(() -> {
             Duration totalTimeout = Duration.ofSeconds(timeoutInSeconds);
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), totalTimeout, POLLING_INTERVAL);
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), totalTimeout);
             By locator = uiObject.getActiveLocators().get(0).convertToBy();
             wait.until(ExpectedConditions.elementToBeClickable(locator));
 
@@ -717,7 +854,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             }
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT, POLLING_INTERVAL);
+        AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
         String actualText = "";
 
         try {
@@ -756,7 +893,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             }
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT, POLLING_INTERVAL);
+        AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
         boolean contains = false;
         String actualText = "";
 
@@ -803,7 +940,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             }
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT, POLLING_INTERVAL);
+        AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
         String actualValue = null;
         boolean attributeMatched = false;
 
@@ -852,7 +989,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             }
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT, POLLING_INTERVAL);
+        AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
         boolean actualState = !expectedState;
 
         try {
@@ -900,7 +1037,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             }
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT, POLLING_INTERVAL);
+        AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
         boolean actualSelection = !expectedSelection; // Khởi tạo giá trị ngược
 
         try {
@@ -941,7 +1078,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             }
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT, POLLING_INTERVAL);
+        AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
         boolean matches = false;
         String actualText = "";
 
@@ -994,7 +1131,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
 
             WebElement el = findElement(uiObject);
             Duration timeout = Duration.ofSeconds(20);
-            WebDriverWait wait = new WebDriverWait(driver, timeout, POLLING_INTERVAL);
+            AdaptiveWait wait = AdaptiveWait.on(driver, timeout);
 
             if (expectedVisibility) {
                 wait.until(ExpectedConditions.visibilityOf(el));
@@ -1035,7 +1172,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
                 Assert.fail(msg);
             }
         }
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT, POLLING_INTERVAL);
+        AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
         String actualValue;
         try {
             wait.until(d -> {
@@ -1084,7 +1221,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
             }
         }
 
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT, POLLING_INTERVAL);
+        AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
         boolean contains = false;
         String actualValue = null;
 
@@ -1132,7 +1269,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
         execute(() -> {
             try {
                 Duration totalTimeout = Duration.ofSeconds(timeoutInSeconds);
-                WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), totalTimeout, POLLING_INTERVAL);
+                AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), totalTimeout);
                 By locator = uiObject.getActiveLocators().get(0).convertToBy();
                 wait.until(ExpectedConditions.presenceOfElementLocated(locator));
 
@@ -1206,7 +1343,7 @@ public abstract class BaseUiKeyword extends BaseKeyword {
         By by = uiObject.getActiveLocators().get(0).convertToBy();
         try {
             driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(0));
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+            AdaptiveWait wait = AdaptiveWait.on(driver, Duration.ofSeconds(timeoutInSeconds));
             wait.until(d -> !d.findElements(by).isEmpty());
             return true;
         } catch (TimeoutException e) {
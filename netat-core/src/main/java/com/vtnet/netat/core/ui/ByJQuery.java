@@ -0,0 +1,85 @@
+package com.vtnet.netat.core.ui;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locator theo selector jQuery (hỗ trợ cả pseudo-selector như {@code :contains()}, {@code :visible}, {@code :eq()}).
+ * Mọi element khớp được lấy về trong một lần gọi script; trang không có jQuery thì dùng
+ * {@code querySelectorAll} với selector CSS chuẩn.
+ *
+ * <p>Selector sai cú pháp (hoặc pseudo-selector riêng của jQuery trên trang không có jQuery) ném
+ * {@link InvalidSelectorException}, như các locator CSS/XPath sai, để nơi gọi bỏ qua locator này.
+ */
+public class ByJQuery extends By implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String SCRIPT =
+            "var s=arguments[0],r=arguments[1]||document;" +
+            "try{" +
+            "if(window.jQuery){return window.jQuery.makeArray(window.jQuery(s,r));}" +
+            "return Array.prototype.slice.call(r.querySelectorAll(s));" +
+            "}catch(e){return {invalidSelector:String(e&&e.message||e),jquery:!!window.jQuery};}";
+
+    private final String selector;
+
+    public ByJQuery(String selector) {
+        if (selector == null || selector.trim().isEmpty()) {
+            throw new IllegalArgumentException("Cannot find elements with a null or empty jQuery selector.");
+        }
+        this.selector = selector;
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        JavascriptExecutor js = executorOf(context);
+        Object scope = context instanceof WebElement ? context : null;
+        Object result = js.executeScript(SCRIPT, selector, scope);
+        if (result instanceof Map && ((Map<?, ?>) result).containsKey("invalidSelector")) {
+            Map<?, ?> error = (Map<?, ?>) result;
+            throw new InvalidSelectorException("Invalid jQuery selector '" + selector + "'"
+                    + (Boolean.TRUE.equals(error.get("jquery")) ? "" : " (page has no jQuery, only standard CSS is supported)")
+                    + ": " + error.get("invalidSelector"));
+        }
+        if (!(result instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<WebElement> elements = new ArrayList<>();
+        for (Object item : (List<?>) result) {
+            if (item instanceof WebElement) {
+                elements.add((WebElement) item);
+            }
+        }
+        return elements;
+    }
+
+    private static JavascriptExecutor executorOf(SearchContext context) {
+        if (context instanceof JavascriptExecutor) {
+            return (JavascriptExecutor) context;
+        }
+        if (context instanceof WrapsDriver) {
+            WebDriver driver = ((WrapsDriver) context).getWrappedDriver();
+            if (driver instanceof JavascriptExecutor) {
+                return (JavascriptExecutor) driver;
+            }
+        }
+        throw new UnsupportedOperationException("jQuery locator requires a driver that can execute JavaScript.");
+    }
+
+    @Override
+    public String toString() {
+        return "By.jQuery: " + selector;
+    }
+}
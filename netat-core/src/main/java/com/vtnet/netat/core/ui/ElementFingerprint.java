@@ -0,0 +1,134 @@
+package com.vtnet.netat.core.ui;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Dấu vết của element ở lần tìm thấy gần nhất: tag, id, name, class, text, các attribute ổn định,
+ * đường dẫn tag trong DOM, vài tổ tiên gần nhất và text của element lân cận. Được lưu cùng {@link ObjectUI} để khi mọi locator đều hỏng,
+ * bộ healing có thể so khớp element trong DOM hiện tại mà không cần gọi AI.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ElementFingerprint {
+
+    /**
+     * Hàm JavaScript {@code function(e)} chụp fingerprint của element {@code e} trong một lần gọi script:
+     * tag, id, name, class, text, attribute ổn định, đường dẫn tag, 3 tổ tiên gần nhất và text của label/element
+     * lân cận. Attribute phải khớp danh sách mà bộ healing heuristic dùng để so khớp.
+     * Dùng chung cho lệnh chụp riêng và cho script click nhanh (chụp trong cùng round trip).
+     */
+    public static final String CAPTURE_FUNCTION =
+            "function(e){" +
+            "function t(n,max){var s=(n&&n.textContent||'').replace(/\\s+/g,' ').trim();return s.length>max?'':s;}" +
+            "function d(n){var s=n.tagName.toLowerCase();if(n.id)s+='#'+n.id;" +
+            "for(var i=0;i<n.classList.length&&i<3;i++)s+='.'+n.classList[i];return s;}" +
+            "var keys=['type','placeholder','aria-label','title','role','href','alt','for','value'," +
+            "'data-test-id','data-testid','data-test','data-qa','data-cy'];" +
+            "var a={};for(var i=0;i<keys.length;i++){var v=e.getAttribute(keys[i]);if(v!==null)a[keys[i]]=v.substring(0,200);}" +
+            "var c=[];for(var i=0;i<e.classList.length;i++)c.push(e.classList[i]);" +
+            "var p=[];for(var n=e;n&&n.nodeType===1;n=n.parentElement)p.unshift(n.tagName.toLowerCase());" +
+            "var anc=[];for(var n=e.parentElement;n&&anc.length<3&&n!==document.body&&n!==document.documentElement;n=n.parentElement)anc.push(d(n));" +
+            "var nb=[];if(e.labels&&e.labels.length){var l=t(e.labels[0],80);if(l)nb.push(l);}" +
+            "var ps=e.previousElementSibling,ns=e.nextElementSibling;" +
+            "[ps,ns].forEach(function(x){var s=t(x,80);if(s&&nb.length<3&&nb.indexOf(s)<0)nb.push(s);});" +
+            "return {tag:e.tagName.toLowerCase(),id:e.id||null,name:e.getAttribute('name'),classes:c," +
+            "text:t(e,200)||null,attributes:a,domPath:p.join(' > '),ancestors:anc,neighbourText:nb};}";
+
+    private String tag;
+    private String id;
+    private String name;
+    private List<String> classes = new ArrayList<>();
+    private String text;
+    private Map<String, String> attributes = new LinkedHashMap<>();
+    private String domPath;
+    private List<String> ancestors = new ArrayList<>();
+    private List<String> neighbourText = new ArrayList<>();
+
+    // --- Constructors ---
+    public ElementFingerprint() {}
+
+    // --- Getters and Setters ---
+    public String getTag() { return tag; }
+    public void setTag(String tag) { this.tag = tag; }
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public List<String> getClasses() { return classes; }
+    public void setClasses(List<String> classes) { this.classes = classes != null ? classes : new ArrayList<>(); }
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    /**
+     * Các attribute khác ngoài id/name/class (type, placeholder, aria-label, data-test-id, href...)
+     */
+    public Map<String, String> getAttributes() { return attributes; }
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes != null ? attributes : new LinkedHashMap<>();
+    }
+
+    /**
+     * Chuỗi tag từ gốc tới element, ví dụ {@code html > body > div > form > button}
+     */
+    public String getDomPath() { return domPath; }
+    public void setDomPath(String domPath) { this.domPath = domPath; }
+
+    /**
+     * Tổ tiên gần nhất trước, mỗi phần tử dạng {@code tag#id.class1.class2}, ví dụ {@code form#login.auth-form}
+     */
+    public List<String> getAncestors() { return ancestors; }
+    public void setAncestors(List<String> ancestors) { this.ancestors = ancestors != null ? ancestors : new ArrayList<>(); }
+
+    /**
+     * Text ngắn của label/element anh em ngay trước và sau element
+     */
+    public List<String> getNeighbourText() { return neighbourText; }
+    public void setNeighbourText(List<String> neighbourText) {
+        this.neighbourText = neighbourText != null ? neighbourText : new ArrayList<>();
+    }
+
+    /**
+     * @return true nếu không có thông tin nào để so khớp
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return isBlank(tag) && isBlank(id) && isBlank(name) && classes.isEmpty()
+                && isBlank(text) && attributes.isEmpty() && isBlank(domPath)
+                && ancestors.isEmpty() && neighbourText.isEmpty();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ElementFingerprint that = (ElementFingerprint) o;
+        return Objects.equals(tag, that.tag) && Objects.equals(id, that.id) && Objects.equals(name, that.name)
+                && classes.equals(that.classes) && Objects.equals(text, that.text)
+                && attributes.equals(that.attributes) && Objects.equals(domPath, that.domPath)
+                && ancestors.equals(that.ancestors) && neighbourText.equals(that.neighbourText);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tag, id, name, classes, text, attributes, domPath, ancestors, neighbourText);
+    }
+
+    @Override
+    public String toString() {
+        return "ElementFingerprint{" + "tag='" + tag + '\'' + ", id='" + id + '\'' + ", name='" + name + '\'' +
+                ", classes=" + classes + ", text='" + text + '\'' + ", attributes=" + attributes +
+                ", ancestors=" + ancestors + ", neighbourText=" + neighbourText + '}';
+    }
+}
@@ -0,0 +1,298 @@
+package com.vtnet.netat.core.ui;
+
+import com.vtnet.netat.core.wait.AdaptiveWait;
+import com.vtnet.netat.driver.ConfigReader;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnhandledAlertException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Click nhanh: gộp chờ trang sẵn sàng (document + jQuery AJAX), tìm element theo các locator, kiểm tra hiển thị/enabled,
+ * scroll và click vào một lệnh {@code executeScript}. Lượt thử thành công chỉ tốn một round trip WebDriver,
+ * trong khi đường click native cần ít nhất {@value #NATIVE_ROUND_TRIPS} lệnh (rất đáng kể khi chạy qua Grid).
+ *
+ * <p>Script chỉ click khi điểm giữa element thực sự trúng element (không bị overlay che) và không có transition/animation
+ * hữu hạn nào đang chạy trên element hoặc tổ tiên của nó (Web Animations API; trình duyệt cũ dùng computed style và
+ * class transition của các framework). Opacity tĩnh hay animation lặp vô hạn (spinner) không bị coi là đang chuyển động.
+ * Các trường hợp còn lại trả element về để keyword click bằng đường native (normal, Actions, JavaScript).
+ *
+ * <p>Khi được yêu cầu, script chụp luôn fingerprint của element ({@link ElementFingerprint#CAPTURE_FUNCTION})
+ * trước khi click, trong cùng round trip.
+ * Sự kiện chuột do script phát ra không phải "trusted" event, nên chế độ này tắt mặc định.
+ *
+ * <p>Configuration keys:
+ * <ul>
+ *   <li>{@code click.fast.enabled} - bật click nhanh cho web (default: false)</li>
+ * </ul>
+ */
+public final class FastClick {
+
+    private static final Logger log = LoggerFactory.getLogger(FastClick.class);
+
+    /** Số lệnh tối thiểu của đường click native: document ready, AJAX, find, clickable (3), scroll, click */
+    public static final int NATIVE_ROUND_TRIPS = 8;
+
+    private static final LongAdder CLICKS = new LongAdder();
+    private static final LongAdder FALLBACKS = new LongAdder();
+    /** Số lệnh của các click nhanh thành công */
+    private static final LongAdder ROUND_TRIPS = new LongAdder();
+
+    private static final List<Locator.Strategy> SUPPORTED = Arrays.asList(
+            Locator.Strategy.ID, Locator.Strategy.NAME, Locator.Strategy.XPATH, Locator.Strategy.CSS_SELECTOR,
+            Locator.Strategy.CLASS_NAME, Locator.Strategy.LINK_TEXT, Locator.Strategy.PARTIAL_LINK_TEXT,
+            Locator.Strategy.TAG_NAME, Locator.Strategy.JQUERY);
+
+    private static final String SCRIPT =
+            "var locs=arguments[0],waitReady=arguments[1],capture=arguments[2];" +
+            "if(waitReady){if(document.readyState!=='complete')return {state:'pending',reason:'document'};" +
+            "if(window.jQuery&&window.jQuery.active>0)return {state:'pending',reason:'ajax'};}" +
+            "function first(l){return l.length?l[0]:null;}" +
+            "function link(v,partial){var as=document.getElementsByTagName('a');for(var i=0;i<as.length;i++){" +
+            "var s=(as[i].innerText||as[i].textContent||'').trim();if(partial?s.indexOf(v)>=0:s===v)return as[i];}return null;}" +
+            "function find(t,v){switch(t){" +
+            "case 'ID':return document.getElementById(v);" +
+            "case 'NAME':return first(document.getElementsByName(v));" +
+            "case 'XPATH':var n=document.evaluate(v,document,null,9,null).singleNodeValue;return n&&n.nodeType===1?n:null;" +
+            "case 'CSS_SELECTOR':return document.querySelector(v);" +
+            "case 'CLASS_NAME':return first(document.getElementsByClassName(v));" +
+            "case 'LINK_TEXT':return link(v,false);" +
+            "case 'PARTIAL_LINK_TEXT':return link(v,true);" +
+            "case 'TAG_NAME':return first(document.getElementsByTagName(v));" +
+            "case 'JQUERY':return window.jQuery?first(window.jQuery(v)):document.querySelector(v);}return null;}" +
+            "var el=null,idx=-1;" +
+            "for(var i=0;i<locs.length&&!el;i++){try{el=find(locs[i][0],locs[i][1]);}catch(x){return {state:'unsupported',reason:String(x)};}if(el)idx=i;}" +
+            "if(!el)return {state:'pending',reason:'missing'};" +
+            "var fp=null;if(capture){try{fp=(" + ElementFingerprint.CAPTURE_FUNCTION + ")(el);}catch(x){}}" +
+            "function skip(reason){return {state:'native',reason:reason,element:el,index:idx,fingerprint:fp};}" +
+            "function running(n){var as=n.getAnimations();for(var i=0;i<as.length;i++){var a=as[i]," +
+            "t=a.effect&&a.effect.getTiming?a.effect.getTiming():null;" +
+            "if(a.playState==='running'&&!(t&&t.iterations===Infinity))return true;}return false;}" +
+            "function animating(){if(!el.getAnimations){var cls=typeof el.className==='string'?el.className:'';" +
+            "return (st.animationName!=='none'&&st.animationPlayState==='running'&&st.animationIterationCount!=='infinite')" +
+            "||/v-enter|v-leave|ng-animate|collapsing|animating/.test(cls);}" +
+            "for(var n=el;n&&n.nodeType===1;n=n.parentElement){if(running(n))return true;}return false;}" +
+            "el.scrollIntoView({behavior:'instant',block:'center',inline:'nearest'});" +
+            "var r=el.getBoundingClientRect(),st=window.getComputedStyle(el);" +
+            "if(r.width<=0||r.height<=0||st.visibility==='hidden'||st.display==='none'||parseFloat(st.opacity)===0)return skip('hidden');" +
+            "if(el.matches&&el.matches(':disabled'))return skip('disabled');" +
+            "if(animating())return skip('animating');" +
+            "var x=r.left+r.width/2,y=r.top+r.height/2,hit=document.elementFromPoint(x,y);" +
+            "if(!hit||(hit!==el&&!el.contains(hit)))return skip('obscured');" +
+            "var o={bubbles:true,cancelable:true,view:window,clientX:x,clientY:y,button:0,detail:1};" +
+            "if(window.PointerEvent)hit.dispatchEvent(new PointerEvent('pointerdown',o));" +
+            "hit.dispatchEvent(new MouseEvent('mousedown',o));" +
+            "if(typeof el.focus==='function')el.focus();" +
+            "if(window.PointerEvent)hit.dispatchEvent(new PointerEvent('pointerup',o));" +
+            "hit.dispatchEvent(new MouseEvent('mouseup',o));" +
+            "hit.dispatchEvent(new MouseEvent('click',o));" +
+            "return {state:'clicked',index:idx,fingerprint:fp};";
+
+    private FastClick() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("click.fast.enabled", "false"));
+    }
+
+    /**
+     * Click nhanh chỉ áp dụng khi mọi locator đang hoạt động đều đánh giá được trong trang
+     */
+    public static boolean supports(List<Locator> locators) {
+        if (locators == null || locators.isEmpty()) {
+            return false;
+        }
+        for (Locator locator : locators) {
+            if (locator.getStrategy() == null || locator.getValue() == null || !SUPPORTED.contains(locator.getStrategy())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Thử click nhanh. Vẫn chờ như đường native: trang sẵn sàng tối đa {@code readyTimeout}, element xuất hiện
+     * tối đa {@code findTimeout}, element hiển thị/enabled tối đa {@code clickableTimeout} (quá thì vẫn trả về
+     * để click native), nhưng mỗi lần poll chỉ là một lệnh script.
+     *
+     * @param captureFingerprint chụp fingerprint của element trong cùng script ({@link Result#getFingerprint()})
+     * @return kết quả; {@link Result#isClicked()} false nghĩa là keyword phải click bằng đường native
+     * @throws NoSuchElementException khi không locator nào tìm được element trong {@code findTimeout}
+     */
+    public static Result click(WebDriver driver, ObjectUI uiObject, Duration findTimeout,
+                               Duration readyTimeout, Duration clickableTimeout, boolean captureFingerprint) {
+        List<Locator> locators = uiObject.getActiveLocators();
+        List<List<String>> encoded = new ArrayList<>(locators.size());
+        for (Locator locator : locators) {
+            encoded.add(Arrays.asList(locator.getStrategy().name(), locator.getValue()));
+        }
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long start = System.nanoTime();
+        long readyDeadline = start + readyTimeout.toNanos();
+        long[] foundAt = {0};
+        int[] roundTrips = {0};
+
+        Result result;
+        try {
+            result = AdaptiveWait.on(driver, findTimeout)
+                    .describedAs("fast click on '" + uiObject.getName() + "'")
+                    .until(d -> {
+                        roundTrips[0]++;
+                        Object raw;
+                        try {
+                            raw = js.executeScript(SCRIPT, encoded, System.nanoTime() < readyDeadline, captureFingerprint);
+                        } catch (UnhandledAlertException e) {
+                            // Alert do chính cú click mở ra: click đã xảy ra, không click lại
+                            return Result.clicked(null, null);
+                        } catch (JavascriptException e) {
+                            return Result.nativeClick(null, null, "script error: " + e.getMessage());
+                        }
+                        if (!(raw instanceof Map)) {
+                            return Result.nativeClick(null, null, "unexpected result: " + raw);
+                        }
+                        Map<?, ?> map = (Map<?, ?>) raw;
+                        String state = String.valueOf(map.get("state"));
+                        switch (state) {
+                            case "clicked":
+                                return Result.clicked(locators.get(index(map)), fingerprint(map));
+                            case "pending":
+                                return null;
+                            case "native":
+                                String reason = String.valueOf(map.get("reason"));
+                                boolean notReady = "hidden".equals(reason) || "disabled".equals(reason);
+                                long now = System.nanoTime();
+                                if (foundAt[0] == 0) {
+                                    foundAt[0] = now;
+                                }
+                                // Như elementToBeClickable: chờ element hiển thị/enabled một lúc rồi vẫn trả về
+                                if (notReady && now - foundAt[0] < clickableTimeout.toNanos()) {
+                                    return null;
+                                }
+                                return Result.nativeClick((WebElement) map.get("element"), locators.get(index(map)), reason)
+                                        .withFingerprint(fingerprint(map));
+                            default:
+                                return Result.nativeClick(null, null, String.valueOf(map.get("reason")));
+                        }
+                    });
+        } catch (TimeoutException e) {
+            if (foundAt[0] != 0) {
+                // Element có trong DOM nhưng chưa click được khi hết thời gian: để đường native quyết định
+                result = Result.nativeClick(null, null, "not clickable within timeout");
+            } else {
+                throw new NoSuchElementException("Cannot find element '" + uiObject.getName() + "' in DOM");
+            }
+        }
+
+        if (result.isClicked()) {
+            CLICKS.increment();
+            ROUND_TRIPS.add(roundTrips[0]);
+            log.debug("Fast click on '{}' with locator {} in {} round trip(s), {}ms (native path: at least {})",
+                    uiObject.getName(), result.getLocator(), roundTrips[0],
+                    (System.nanoTime() - start) / 1_000_000, NATIVE_ROUND_TRIPS);
+        } else {
+            FALLBACKS.increment();
+            log.debug("Fast click on '{}' falls back to native click: {}", uiObject.getName(), result.getReason());
+        }
+        return result;
+    }
+
+    private static int index(Map<?, ?> map) {
+        return ((Number) map.get("index")).intValue();
+    }
+
+    private static Map<?, ?> fingerprint(Map<?, ?> map) {
+        Object fingerprint = map.get("fingerprint");
+        return fingerprint instanceof Map ? (Map<?, ?>) fingerprint : null;
+    }
+
+    /**
+     * @return thống kê dồn của click nhanh trong JVM
+     */
+    public static Stats getStats() {
+        return new Stats(CLICKS.sum(), FALLBACKS.sum(), ROUND_TRIPS.sum());
+    }
+
+    /**
+     * Kết quả một lần click nhanh
+     */
+    public static final class Result {
+        private final boolean clicked;
+        private final WebElement element;
+        private final Locator locator;
+        private final String reason;
+        private final Map<?, ?> fingerprint;
+
+        private Result(boolean clicked, WebElement element, Locator locator, String reason, Map<?, ?> fingerprint) {
+            this.clicked = clicked;
+            this.element = element;
+            this.locator = locator;
+            this.reason = reason;
+            this.fingerprint = fingerprint;
+        }
+
+        static Result clicked(Locator locator, Map<?, ?> fingerprint) {
+            return new Result(true, null, locator, null, fingerprint);
+        }
+
+        static Result nativeClick(WebElement element, Locator locator, String reason) {
+            return new Result(false, element, locator, reason, null);
+        }
+
+        Result withFingerprint(Map<?, ?> fingerprint) {
+            return new Result(clicked, element, locator, reason, fingerprint);
+        }
+
+        public boolean isClicked() { return clicked; }
+        /** Element đã tìm được để click native (null nếu script không dùng được, khi đó tìm lại từ đầu) */
+        public WebElement getElement() { return element; }
+        public Locator getLocator() { return locator; }
+        public String getReason() { return reason; }
+        /** Kết quả thô của {@link ElementFingerprint#CAPTURE_FUNCTION}, null nếu không yêu cầu hoặc không chụp được */
+        public Map<?, ?> getFingerprint() { return fingerprint; }
+    }
+
+    /**
+     * Ảnh chụp thống kê click nhanh
+     */
+    public static final class Stats {
+        private final long clicks;
+        private final long fallbacks;
+        private final long roundTrips;
+
+        Stats(long clicks, long fallbacks, long roundTrips) {
+            this.clicks = clicks;
+            this.fallbacks = fallbacks;
+            this.roundTrips = roundTrips;
+        }
+
+        public long getClicks() { return clicks; }
+        public long getFallbacks() { return fallbacks; }
+        public long getRoundTrips() { return roundTrips; }
+
+        /**
+         * Ước lượng số round trip tiết kiệm được so với đường native
+         */
+        public long getRoundTripsSaved() {
+            return Math.max(0, clicks * NATIVE_ROUND_TRIPS - roundTrips);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("fastClicks=%d, fallbacks=%d, roundTrips=%d, saved~%d",
+                    clicks, fallbacks, roundTrips, getRoundTripsSaved());
+        }
+    }
+}
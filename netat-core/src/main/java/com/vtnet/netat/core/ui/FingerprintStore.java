@@ -0,0 +1,239 @@
+package com.vtnet.netat.core.ui;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vtnet.netat.core.utils.JsonFileWriter;
+import com.vtnet.netat.driver.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kho {@link ElementFingerprint} cục bộ, ghi lại từ các lần tìm element thành công để bộ healing
+ * có dữ liệu so khớp khi locator hỏng ở lần chạy sau.
+ *
+ * <p>Chi phí trên đường chạy bình thường được giữ ở mức rất nhỏ:
+ * <ul>
+ *   <li>lấy mẫu: mỗi object chỉ được chụp lại sau {@code fingerprint.capture.interval.minutes},
+ *       các lần tìm khác chỉ tốn một lần tra map</li>
+ *   <li>khử trùng lặp: fingerprint không đổi thì không ghi file</li>
+ *   <li>ghi file gộp (debounce) trên thread nền, ghi nốt khi JVM tắt</li>
+ * </ul>
+ *
+ * <p>Configuration keys:
+ * <ul>
+ *   <li>{@code fingerprint.capture.enabled} - chụp fingerprint khi tìm element thành công
+ *       (default: giá trị của {@code ai.self.healing.enabled})</li>
+ *   <li>{@code fingerprint.capture.interval.minutes} - khoảng cách tối thiểu giữa hai lần chụp cùng object (default: 60)</li>
+ *   <li>{@code fingerprint.store.file} - file lưu (default: .netat/element-fingerprints.json)</li>
+ * </ul>
+ */
+public class FingerprintStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FingerprintStore.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static volatile FingerprintStore shared;
+
+    private final Path file;
+    private final JsonFileWriter writer;
+    private final long intervalMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastChecked = new ConcurrentHashMap<>();
+
+    /**
+     * @param file file lưu fingerprint (null = chỉ trong bộ nhớ)
+     * @param intervalMillis khoảng cách tối thiểu giữa hai lần chụp cùng một object
+     */
+    public FingerprintStore(Path file, long intervalMillis) {
+        this.file = file;
+        this.writer = file != null
+                ? new JsonFileWriter(file, "element fingerprint store", () -> new TreeMap<>(entries))
+                : null;
+        this.intervalMillis = Math.max(0, intervalMillis);
+        load();
+    }
+
+    /**
+     * Kho dùng chung trong JVM, nạp từ file ở lần gọi đầu
+     */
+    public static FingerprintStore getShared() {
+        FingerprintStore instance = shared;
+        if (instance == null) {
+            synchronized (FingerprintStore.class) {
+                instance = shared;
+                if (instance == null) {
+                    Path path = Paths.get(ConfigReader.getProperty("fingerprint.store.file", ".netat/element-fingerprints.json"));
+                    long minutes = readLong("fingerprint.capture.interval.minutes", 60);
+                    instance = new FingerprintStore(path, TimeUnit.MINUTES.toMillis(minutes));
+                    Runtime.getRuntime().addShutdownHook(new Thread(instance::flush, "netat-fingerprint-flush"));
+                    shared = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Mặc định theo {@code ai.self.healing.enabled}: không bật healing thì không tốn lệnh chụp và không ghi file
+     */
+    public static boolean isCaptureEnabled() {
+        String healing = ConfigReader.getProperty("ai.self.healing.enabled", "false");
+        return Boolean.parseBoolean(ConfigReader.getProperty("fingerprint.capture.enabled", healing));
+    }
+
+    /**
+     * Key của object trong kho: uuid (hoặc tên) kèm mã băm của các locator đang hoạt động.
+     * Object tham số hóa giữ nguyên uuid nhưng có locator khác nhau sau khi thay {@code {i}},
+     * nên mỗi instance (dòng "1", dòng "5"...) có fingerprint riêng.
+     */
+    public static String keyOf(ObjectUI uiObject) {
+        if (uiObject == null) {
+            return null;
+        }
+        String uuid = uiObject.getUuid();
+        String base = uuid != null && !uuid.isEmpty() ? uuid : uiObject.getName();
+        if (base == null) {
+            return null;
+        }
+        StringBuilder locators = new StringBuilder();
+        for (Locator locator : uiObject.getActiveLocators()) {
+            locators.append(locator.getStrategy()).append('=').append(locator.getValue()).append('\n');
+        }
+        return base + "@" + UUID.nameUUIDFromBytes(locators.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Có cần chụp fingerprint cho object này không. Trả true nhiều nhất một lần mỗi interval cho mỗi key,
+     * kể cả khi lần chụp đó thất bại, để lỗi chụp không lặp lại ở mọi bước.
+     */
+    public boolean isDue(String key) {
+        if (key == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Entry existing = entries.get(key);
+        if (existing != null && now - existing.getCapturedAt() < intervalMillis) {
+            return false;
+        }
+        Long checked = lastChecked.get(key);
+        if (checked != null && now - checked < intervalMillis) {
+            return false;
+        }
+        // Chỉ một thread thắng khi nhiều thread cùng tìm một object
+        return checked == null
+                ? lastChecked.putIfAbsent(key, now) == null
+                : lastChecked.replace(key, checked, now);
+    }
+
+    /**
+     * Ghi fingerprint mới; fingerprint trùng với bản đã lưu chỉ làm mới thời điểm chụp, không ghi file
+     */
+    public void record(String key, ElementFingerprint fingerprint) {
+        if (key == null || fingerprint == null || fingerprint.isEmpty()) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(fingerprint, System.currentTimeMillis()));
+        if (previous != null && fingerprint.equals(previous.getFingerprint())) {
+            return;
+        }
+        log.debug("Recorded fingerprint for '{}': {}", key, fingerprint);
+        scheduleFlush();
+    }
+
+    /**
+     * @return fingerprint đã lưu của object, hoặc null
+     */
+    public ElementFingerprint get(String key) {
+        Entry entry = key != null ? entries.get(key) : null;
+        return entry != null ? entry.getFingerprint() : null;
+    }
+
+    /**
+     * Fingerprint tốt nhất cho object: bản chụp trong kho (mới nhất), nếu không có thì bản lưu kèm object
+     */
+    public ElementFingerprint resolve(ObjectUI uiObject) {
+        ElementFingerprint stored = get(keyOf(uiObject));
+        return stored != null ? stored : (uiObject != null ? uiObject.getFingerprint() : null);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // === PERSISTENCE ===
+
+    private void load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            Map<String, Entry> loaded = objectMapper.readValue(
+                    Files.readAllBytes(file), new TypeReference<Map<String, Entry>>() {
+                    });
+            loaded.forEach((key, entry) -> {
+                if (entry != null && entry.getFingerprint() != null) {
+                    entries.put(key, entry);
+                }
+            });
+            log.info("Loaded {} element fingerprints from {}", entries.size(), file.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot read element fingerprint store {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void scheduleFlush() {
+        if (writer != null) {
+            writer.scheduleFlush();
+        }
+    }
+
+    /**
+     * Ghi ngay các thay đổi chưa lưu (thread nền tự ghi sau vài giây, hàm này dùng khi JVM tắt)
+     */
+    public void flush() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private static long readLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(ConfigReader.getProperty(key, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Một fingerprint trong kho cùng thời điểm chụp
+     */
+    static final class Entry {
+        private ElementFingerprint fingerprint;
+        private long capturedAt;
+
+        Entry() {
+        }
+
+        Entry(ElementFingerprint fingerprint, long capturedAt) {
+            this.fingerprint = fingerprint;
+            this.capturedAt = capturedAt;
+        }
+
+        public ElementFingerprint getFingerprint() { return fingerprint; }
+        public void setFingerprint(ElementFingerprint fingerprint) { this.fingerprint = fingerprint; }
+        public long getCapturedAt() { return capturedAt; }
+        public void setCapturedAt(long capturedAt) { this.capturedAt = capturedAt; }
+    }
+}
@@ -7,6 +7,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.appium.java_client.AppiumBy;
 import org.openqa.selenium.By;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Locator {
     public enum Strategy {
@@ -25,14 +33,18 @@ public class Locator {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    // By đã biên dịch (hoặc lỗi biên dịch), reset khi strategy/value thay đổi
+    private transient volatile By compiledBy;
+    private transient volatile RuntimeException compileError;
+
     // --- Constructors ---
     public Locator() {}
 
     // --- Getters and Setters ---
     public Strategy getStrategy() { return strategy; }
-    public void setStrategy(Strategy strategy) { this.strategy = strategy; }
+    public void setStrategy(Strategy strategy) { this.strategy = strategy; invalidate(); }
     public String getValue() { return value; }
-    public void setValue(String value) { this.value = value; }
+    public void setValue(String value) { this.value = value; invalidate(); }
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
 
@@ -42,7 +54,45 @@ public class Locator {
 
     // --- Core & JSON Logic (Giữ nguyên) ---
 
+    /**
+     * By tương ứng với locator. Biên dịch một lần rồi dùng lại cùng instance (By là immutable),
+     * nên các vòng retry không tạo object mới; locator không hợp lệ ném lại lỗi đã ghi nhận khi biên dịch.
+     */
     public By convertToBy() {
+        By by = compiledBy;
+        if (by != null) {
+            return by;
+        }
+        RuntimeException error = compileError;
+        if (error != null) {
+            throw error;
+        }
+        return compile();
+    }
+
+    /**
+     * Kiểm tra và biên dịch locator thành By, gọi lúc nạp object để lỗi cấu hình lộ ra sớm
+     *
+     * @throws IllegalStateException nếu strategy/value không hợp lệ
+     * @throws UnsupportedOperationException nếu strategy không được hỗ trợ
+     */
+    public synchronized By compile() {
+        if (compiledBy != null) {
+            return compiledBy;
+        }
+        try {
+            compiledBy = buildBy();
+            return compiledBy;
+        } catch (RuntimeException e) {
+            compileError = e;
+            throw e;
+        }
+    }
+
+    private By buildBy() {
+        if (strategy == null) {
+            throw new IllegalStateException("Chiến lược (strategy) của locator không được để trống.");
+        }
         if (this.value == null || this.value.trim().isEmpty()) {
             throw new IllegalStateException("Giá trị (value) của locator không được để trống.");
         }
@@ -59,11 +109,82 @@ public class Locator {
             case ANDROID_UIAUTOMATOR: return AppiumBy.androidUIAutomator(value);
             case IOS_PREDICATE_STRING: return AppiumBy.iOSNsPredicateString(value);
             case IOS_CLASS_CHAIN: return AppiumBy.iOSClassChain(value);
+            case IMAGE: return AppiumBy.image(readImageTemplate(value.trim()));
+            case JQUERY: return new ByJQuery(value);
             default:
                 throw new UnsupportedOperationException("Chiến lược locator '" + strategy + "' không được hỗ trợ.");
         }
     }
 
+    /**
+     * Ảnh mẫu cho strategy IMAGE: đường dẫn tới file ảnh (đọc và mã hóa base64 một lần) hoặc chuỗi base64 sẵn.
+     * Đường dẫn tương đối được tìm trong {@link ObjectUI#getRepositoryRoot() kho object} trước, rồi tới thư mục
+     * làm việc. Chuỗi base64 chỉ được nhận khi giải mã ra ảnh (PNG, JPEG, GIF, BMP, WebP), để tên file gõ sai
+     * như {@code button} (cũng là base64 hợp lệ) báo lỗi thay vì gửi lên Appium như ảnh mẫu.
+     */
+    private static String readImageTemplate(String value) {
+        Path file = findImageFile(value);
+        if (file != null) {
+            try {
+                return Base64.getEncoder().encodeToString(Files.readAllBytes(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Không đọc được ảnh mẫu của locator IMAGE: " + file, e);
+            }
+        }
+        String base64 = value.replaceAll("\\s", "");
+        try {
+            if (isImage(Base64.getDecoder().decode(base64))) {
+                return base64;
+            }
+        } catch (IllegalArgumentException e) {
+            // Không phải base64
+        }
+        throw new IllegalStateException("Locator IMAGE phải là file ảnh tồn tại (tương đối với "
+                + ObjectUI.getRepositoryRoot() + " hoặc thư mục làm việc) hoặc chuỗi base64 của ảnh: " + value);
+    }
+
+    private static Path findImageFile(String value) {
+        Path path;
+        try {
+            path = Paths.get(value);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        if (!path.isAbsolute()) {
+            Path inRepository = ObjectUI.getRepositoryRoot().resolve(path);
+            if (Files.isRegularFile(inRepository)) {
+                return inRepository;
+            }
+        }
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    private static boolean isImage(byte[] data) {
+        return startsWith(data, 0x89, 'P', 'N', 'G')
+                || startsWith(data, 0xFF, 0xD8, 0xFF)
+                || startsWith(data, 'G', 'I', 'F', '8')
+                || startsWith(data, 'B', 'M')
+                || (startsWith(data, 'R', 'I', 'F', 'F') && data.length >= 12
+                && data[8] == 'W' && data[9] == 'E' && data[10] == 'B' && data[11] == 'P');
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void invalidate() {
+        compiledBy = null;
+        compileError = null;
+    }
+
     @Override
     public String toString() {
         return "Locator{" + "strategy=" + strategy + ", value='" + value + '\'' + '}';
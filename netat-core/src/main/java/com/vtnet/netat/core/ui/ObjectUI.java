@@ -1,8 +1,13 @@
 package com.vtnet.netat.core.ui;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -12,11 +17,16 @@ import java.util.stream.Collectors;
 public class ObjectUI {
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final Path REPOSITORY_ROOT = Paths.get(
+            System.getProperty("user.dir"), "src", "test", "java", "automationtest", "object");
+
     private String uuid;
     private String name;
     private String type;
     private String description;
     private List<Locator> locators;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ElementFingerprint fingerprint;
 
     // --- Constructors, Getters and Setters (Giữ nguyên) ---
     public ObjectUI() {
@@ -33,11 +43,25 @@ public class ObjectUI {
     public List<Locator> getLocators() { return locators; }
     public void setLocators(List<Locator> locators) { this.locators = locators; }
 
+    /**
+     * Dấu vết của element ở lần tìm thấy gần nhất, dùng cho healing không cần AI (có thể null)
+     */
+    public ElementFingerprint getFingerprint() { return fingerprint; }
+    public void setFingerprint(ElementFingerprint fingerprint) { this.fingerprint = fingerprint; }
+
+    /**
+     * Thư mục gốc của kho object; đường dẫn tương đối trong locator (ảnh mẫu IMAGE) được tính từ đây.
+     */
+    public static Path getRepositoryRoot() {
+        return REPOSITORY_ROOT;
+    }
+
     // --- Convenience Methods ---
 
     /**
      * Cung cấp một danh sách các locator đang hoạt động (`active=true`).
      */
+    @JsonIgnore
     public List<Locator> getActiveLocators() {
         if (locators == null || locators.isEmpty()) {
             return Collections.emptyList();
@@ -52,6 +76,7 @@ public class ObjectUI {
      * Lấy ra locator được đánh dấu là mặc định.
      * Trả về một Optional để xử lý trường hợp không có locator nào là mặc định.
      */
+    @JsonIgnore
     public Optional<Locator> getDefaultLocator() {
         if (locators == null || locators.isEmpty()) {
             return Optional.empty();
@@ -61,6 +86,24 @@ public class ObjectUI {
                 .findFirst();
     }
 
+    /**
+     * Biên dịch trước mọi locator đang hoạt động thành By, để lỗi cấu hình lộ ra ngay khi nạp object
+     * thay vì ở từng lần tìm element.
+     *
+     * @return mô tả lỗi của các locator không hợp lệ (rỗng nếu tất cả hợp lệ)
+     */
+    public List<String> compileLocators() {
+        List<String> errors = new ArrayList<>();
+        for (Locator locator : getActiveLocators()) {
+            try {
+                locator.compile();
+            } catch (RuntimeException e) {
+                errors.add(locator + ": " + e.getMessage());
+            }
+        }
+        return errors;
+    }
+
 
     // --- toString() and toJson() (Giữ nguyên) ---
     @Override
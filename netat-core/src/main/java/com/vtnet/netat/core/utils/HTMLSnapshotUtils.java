@@ -1,6 +1,8 @@
 package com.vtnet.netat.core.utils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vtnet.netat.core.logging.NetatLogger;
+import com.vtnet.netat.core.ui.ObjectUI;
 import com.vtnet.netat.driver.SessionManager;
 import io.qameta.allure.Allure;
 import org.apache.commons.io.FileUtils;
@@ -14,12 +16,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 public class HTMLSnapshotUtils {
 
     private static final String SNAPSHOT_DIR = System.getProperty("user.dir") + "/html-snapshots";
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
     private static final NetatLogger logger = NetatLogger.getInstance(HTMLSnapshotUtils.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Hậu tố của file liệt kê các ObjectUI liên quan tới snapshot, dùng cho healing offline */
+    public static final String OBJECTS_SUFFIX = ".objects.json";
 
     private static final ThreadLocal<Boolean> IN_PROGRESS = ThreadLocal.withInitial(() -> false);
 
@@ -32,6 +39,14 @@ public class HTMLSnapshotUtils {
     }
 
     public static String captureHTMLSnapshot(String fileName) {
+        return captureHTMLSnapshot(fileName, null);
+    }
+
+    /**
+     * Lưu snapshot HTML; nếu có {@code objects} thì ghi thêm file {@code <snapshot>.objects.json}
+     * chứa các ObjectUI của bước lỗi để healing offline biết element nào cần tìm lại trên trang này.
+     */
+    public static String captureHTMLSnapshot(String fileName, List<ObjectUI> objects) {
         if (Boolean.TRUE.equals(IN_PROGRESS.get())) {
             return null;
         }
@@ -79,6 +94,9 @@ public class HTMLSnapshotUtils {
                 Path dest = Path.of(SNAPSHOT_DIR, finalName);
                 FileUtils.writeStringToFile(dest.toFile(), htmlContent, StandardCharsets.UTF_8);
                 logger.info("HTML snapshot saved: {}", dest.toAbsolutePath());
+                if (objects != null && !objects.isEmpty()) {
+                    writeObjects(dest, objects);
+                }
                 return dest.toAbsolutePath().toString();
             } catch (Exception e) {
                 logger.warn("Failed to save HTML file: {}", e.getMessage());
@@ -93,6 +111,15 @@ public class HTMLSnapshotUtils {
         }
     }
 
+    private static void writeObjects(Path snapshot, List<ObjectUI> objects) {
+        Path sidecar = snapshot.resolveSibling(snapshot.getFileName().toString().replaceFirst("\\.html$", "") + OBJECTS_SUFFIX);
+        try {
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(sidecar.toFile(), objects);
+        } catch (Exception e) {
+            logger.warn("Failed to save snapshot objects file: {}", e.getMessage());
+        }
+    }
+
     /**
      * Get enhanced page source with inline styles
      */
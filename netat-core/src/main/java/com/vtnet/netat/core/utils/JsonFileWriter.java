@@ -0,0 +1,118 @@
+package com.vtnet.netat.core.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Ghi một file JSON theo kiểu debounce: các thay đổi trong {@link #FLUSH_DELAY_MS} được gộp thành
+ * một lần ghi trên thread nền. File được ghi ra file tạm rồi move (atomic), để process/thread khác
+ * không đọc phải file ghi dở.
+ *
+ * <p>Nội dung file lấy từ {@code snapshot} tại thời điểm ghi, nên nơi gọi chỉ cần
+ * {@link #scheduleFlush()} sau mỗi thay đổi và {@link #flush()} khi JVM tắt.
+ */
+public final class JsonFileWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonFileWriter.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static final long FLUSH_DELAY_MS = 2000;
+
+    private static volatile ScheduledExecutorService flusher;
+
+    private final Path file;
+    private final String description;
+    private final Supplier<?> snapshot;
+
+    private final Object saveLock = new Object();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * @param file file đích
+     * @param description tên nội dung, dùng trong log (vd "AI locator cache")
+     * @param snapshot trả về dữ liệu cần ghi (serialize bằng Jackson); được gọi trên thread ghi
+     */
+    public JsonFileWriter(Path file, String description, Supplier<?> snapshot) {
+        this.file = file;
+        this.description = description;
+        this.snapshot = snapshot;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Đánh dấu có thay đổi và hẹn một lần ghi (nếu chưa có lần ghi nào đang chờ)
+     */
+    public void scheduleFlush() {
+        dirty.set(true);
+        if (flushScheduled.compareAndSet(false, true)) {
+            flusher().schedule(() -> {
+                flushScheduled.set(false);
+                flush();
+            }, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Ghi ngay các thay đổi chưa lưu; không làm gì nếu không có thay đổi
+     */
+    public void flush() {
+        synchronized (saveLock) {
+            if (!dirty.getAndSet(false)) {
+                return;
+            }
+            try {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+                try {
+                    Files.write(temp, objectMapper.writeValueAsString(snapshot.get()).getBytes(StandardCharsets.UTF_8));
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Cannot write {} {}: {}", description, file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Một daemon thread dùng chung cho mọi file, tạo ở lần ghi đầu tiên
+     */
+    private static ScheduledExecutorService flusher() {
+        ScheduledExecutorService instance = flusher;
+        if (instance == null) {
+            synchronized (JsonFileWriter.class) {
+                instance = flusher;
+                if (instance == null) {
+                    instance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "netat-json-file-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    flusher = instance;
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,233 @@
+package com.vtnet.netat.core.wait;
+
+import com.vtnet.netat.driver.ConfigReader;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.Wait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Wait dùng chung cho mọi keyword UI, thay cho {@code WebDriverWait} với polling cố định.
+ *
+ * <p>Khác với {@code WebDriverWait}:
+ * <ul>
+ *   <li>polling thích ứng: bắt đầu nhanh (điều kiện thường thỏa ngay), sau đó giãn dần theo cấp số nhân
+ *       tới mức trần, có jitter để nhiều thread không poll Grid cùng nhịp</li>
+ *   <li>trần polling cao hơn với driver remote (Selenium Grid, Appium) để không làm ngập hub</li>
+ *   <li>telemetry cho mỗi lần chờ (số lần poll, thời gian chờ, kết quả) và thống kê dồn qua {@link #getStats()}</li>
+ * </ul>
+ * Như {@code WebDriverWait}, {@link NotFoundException} mặc định được bỏ qua trong lúc chờ.
+ *
+ * <p>Configuration keys:
+ * <ul>
+ *   <li>{@code smart.wait.polling.initial} - khoảng poll đầu tiên, ms
+ *       (default: {@code smart.wait.polling.interval} nếu có, ngược lại 50)</li>
+ *   <li>{@code smart.wait.polling.max} - khoảng poll tối đa với driver local, ms (default: 500)</li>
+ *   <li>{@code smart.wait.polling.max.remote} - khoảng poll tối đa với driver remote, ms (default: 1000)</li>
+ * </ul>
+ */
+public class AdaptiveWait implements Wait<WebDriver> {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveWait.class);
+
+    private static final double BACKOFF_MULTIPLIER = 1.5;
+    private static final double JITTER = 0.2;
+
+    private static final LongAdder WAITS = new LongAdder();
+    private static final LongAdder SATISFIED = new LongAdder();
+    private static final LongAdder TIMED_OUT = new LongAdder();
+    private static final LongAdder POLLS = new LongAdder();
+    private static final LongAdder WAITED_MILLIS = new LongAdder();
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final long initialPollMillis;
+    private final long maxPollMillis;
+    private final List<Class<? extends Throwable>> ignored = new ArrayList<>();
+    private String description;
+
+    private AdaptiveWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+        long legacyInterval = readLong("smart.wait.polling.interval", 50);
+        this.initialPollMillis = Math.max(1, readLong("smart.wait.polling.initial", legacyInterval));
+        long max = isRemote(driver)
+                ? readLong("smart.wait.polling.max.remote", 1000)
+                : readLong("smart.wait.polling.max", 500);
+        this.maxPollMillis = Math.max(initialPollMillis, max);
+        this.ignored.add(NotFoundException.class);
+    }
+
+    public static AdaptiveWait on(WebDriver driver, Duration timeout) {
+        return new AdaptiveWait(driver, timeout);
+    }
+
+    /**
+     * Bỏ qua các exception này khi đánh giá điều kiện (coi như chưa thỏa)
+     */
+    @SafeVarargs
+    public final AdaptiveWait ignoring(Class<? extends Throwable>... types) {
+        for (Class<? extends Throwable> type : types) {
+            ignored.add(type);
+        }
+        return this;
+    }
+
+    /**
+     * Mô tả dùng trong log/telemetry và trong thông báo timeout (mặc định là toString của điều kiện)
+     */
+    public AdaptiveWait describedAs(String description) {
+        this.description = description;
+        return this;
+    }
+
+    /**
+     * Chờ tới khi điều kiện trả về giá trị khác null và khác {@code false}
+     *
+     * @throws TimeoutException khi hết thời gian, cause là exception bị bỏ qua gần nhất (nếu có)
+     */
+    @Override
+    public <V> V until(Function<? super WebDriver, V> condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = initialPollMillis;
+        int polls = 0;
+        Throwable lastError = null;
+        WAITS.increment();
+
+        while (true) {
+            polls++;
+            try {
+                V value = condition.apply(driver);
+                if (value != null && (!(value instanceof Boolean) || (Boolean) value)) {
+                    record(condition, polls, start, true);
+                    return value;
+                }
+                lastError = null;
+            } catch (Throwable e) {
+                if (!isIgnored(e)) {
+                    record(condition, polls, start, false);
+                    throw e;
+                }
+                lastError = e;
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                record(condition, polls, start, false);
+                TIMED_OUT.increment();
+                String message = String.format("Expected condition failed: waiting for %s (tried for %d ms with %d polls)",
+                        describe(condition), timeout.toMillis(), polls);
+                throw new TimeoutException(message, lastError);
+            }
+
+            long sleep = Math.min(remainingMillis, jitter(interval));
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                record(condition, polls, start, false);
+                throw new WebDriverException(e);
+            }
+            interval = Math.min(maxPollMillis, (long) Math.ceil(interval * BACKOFF_MULTIPLIER));
+        }
+    }
+
+    private boolean isIgnored(Throwable e) {
+        for (Class<? extends Throwable> type : ignored) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long jitter(long interval) {
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return Math.max(1, Math.round(interval * factor));
+    }
+
+    private void record(Function<?, ?> condition, int polls, long start, boolean satisfied) {
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        POLLS.add(polls);
+        WAITED_MILLIS.add(elapsedMillis);
+        if (satisfied) {
+            SATISFIED.increment();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Wait [{}] {} after {} polls in {}ms", describe(condition),
+                    satisfied ? "satisfied" : "failed", polls, elapsedMillis);
+        }
+    }
+
+    private String describe(Function<?, ?> condition) {
+        return description != null ? description : String.valueOf(condition);
+    }
+
+    private static boolean isRemote(WebDriver driver) {
+        return driver != null && (driver.getClass() == RemoteWebDriver.class || driver instanceof AppiumDriver);
+    }
+
+    private static long readLong(String key, long defaultValue) {
+        try {
+            String value = ConfigReader.getProperty(key);
+            return value != null && !value.trim().isEmpty() ? Long.parseLong(value.trim()) : defaultValue;
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @return thống kê dồn của mọi lần chờ trong JVM
+     */
+    public static Stats getStats() {
+        return new Stats(WAITS.sum(), SATISFIED.sum(), TIMED_OUT.sum(), POLLS.sum(), WAITED_MILLIS.sum());
+    }
+
+    /**
+     * Ảnh chụp thống kê wait
+     */
+    public static final class Stats {
+        private final long waits;
+        private final long satisfied;
+        private final long timedOut;
+        private final long polls;
+        private final long waitedMillis;
+
+        Stats(long waits, long satisfied, long timedOut, long polls, long waitedMillis) {
+            this.waits = waits;
+            this.satisfied = satisfied;
+            this.timedOut = timedOut;
+            this.polls = polls;
+            this.waitedMillis = waitedMillis;
+        }
+
+        public long getWaits() { return waits; }
+        public long getSatisfied() { return satisfied; }
+        public long getTimedOut() { return timedOut; }
+        public long getPolls() { return polls; }
+        public long getWaitedMillis() { return waitedMillis; }
+
+        public double getAveragePolls() {
+            return waits == 0 ? 0 : (double) polls / waits;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("waits=%d, satisfied=%d, timedOut=%d, polls=%d (avg %.1f), waited=%dms",
+                    waits, satisfied, timedOut, polls, getAveragePolls(), waitedMillis);
+        }
+    }
+}
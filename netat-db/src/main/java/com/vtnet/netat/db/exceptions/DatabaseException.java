@@ -45,15 +45,21 @@ import java.util.stream.Collectors;
  */
 public abstract class DatabaseException extends RuntimeException {
 
-    private static final long serialVersionUID = 1L;
+    // 2: the JDBC URL is masked lazily (raw URL is transient), so version 1 streams are not read back
+    private static final long serialVersionUID = 2L;
     private static final ObjectMapper JSON_MAPPER = createObjectMapper();
 
     // Pattern to detect sensitive parameter names
     private static final Pattern SENSITIVE_PATTERN = Pattern.compile(
-            ".*(password|pwd|secret|token|key|ssn|credit|card).*",
+            "password|pwd|secret|token|key|ssn|credit|card",
             Pattern.CASE_INSENSITIVE
     );
 
+    // Credential patterns masked out of JDBC URLs
+    private static final Pattern URL_PASSWORD_PATTERN = Pattern.compile("password=[^&;]+");
+    private static final Pattern URL_PWD_PATTERN = Pattern.compile("pwd=[^&;]+");
+    private static final Pattern URL_USER_INFO_PATTERN = Pattern.compile("://[^:]+:[^@]+@");
+
     // Maximum query length in error messages
     private static final int MAX_QUERY_LENGTH = 500;
 
@@ -63,7 +69,9 @@ public abstract class DatabaseException extends RuntimeException {
     private final String query;
     private final Object[] parameters;
     private final String profileName;
-    private final String jdbcUrl;
+    // Masked lazily on first access; only the masked form is serialized
+    private final transient String rawJdbcUrl;
+    private volatile String jdbcUrl;
     private final ErrorSeverity severity;
     private final Instant timestamp;
     private final String threadName;
@@ -82,7 +90,7 @@ public abstract class DatabaseException extends RuntimeException {
         this.query = builder.query;
         this.parameters = builder.parameters != null ? builder.parameters.clone() : null;
         this.profileName = builder.profileName;
-        this.jdbcUrl = maskJdbcUrl(builder.jdbcUrl);
+        this.rawJdbcUrl = builder.jdbcUrl;
         this.severity = builder.severity;
         this.timestamp = builder.timestamp;
         this.threadName = builder.threadName;
@@ -143,7 +151,13 @@ public abstract class DatabaseException extends RuntimeException {
      * @return masked JDBC URL
      */
     public String getJdbcUrl() {
-        return jdbcUrl;
+        String masked = jdbcUrl;
+        if (masked == null && rawJdbcUrl != null) {
+            // Masking is idempotent, so a racing first access just repeats the work
+            masked = maskJdbcUrl(rawJdbcUrl);
+            jdbcUrl = masked;
+        }
+        return masked;
     }
 
     /**
@@ -208,8 +222,9 @@ public abstract class DatabaseException extends RuntimeException {
         if (profileName != null) {
             sb.append(String.format("Profile: %s\n", profileName));
         }
-        if (jdbcUrl != null) {
-            sb.append(String.format("Database: %s\n", jdbcUrl));
+        String maskedUrl = getJdbcUrl();
+        if (maskedUrl != null) {
+            sb.append(String.format("Database: %s\n", maskedUrl));
         }
 
         // Error codes
@@ -278,7 +293,8 @@ public abstract class DatabaseException extends RuntimeException {
         if (sqlState != null) map.put("sqlState", sqlState);
         if (vendorErrorCode != 0) map.put("vendorErrorCode", vendorErrorCode);
         if (profileName != null) map.put("profileName", profileName);
-        if (jdbcUrl != null) map.put("jdbcUrl", jdbcUrl);
+        String maskedUrl = getJdbcUrl();
+        if (maskedUrl != null) map.put("jdbcUrl", maskedUrl);
         if (query != null) map.put("query", truncateQuery(query));
         if (parameters != null) map.put("parameters", formatParameters());
 
@@ -347,9 +363,9 @@ public abstract class DatabaseException extends RuntimeException {
         if (url == null) return null;
 
         // Extract and mask password if present in URL
-        return url.replaceAll("password=[^&;]+", "password=***")
-                .replaceAll("pwd=[^&;]+", "pwd=***")
-                .replaceAll("://[^:]+:[^@]+@", "://***:***@");
+        String masked = URL_PASSWORD_PATTERN.matcher(url).replaceAll("password=***");
+        masked = URL_PWD_PATTERN.matcher(masked).replaceAll("pwd=***");
+        return URL_USER_INFO_PATTERN.matcher(masked).replaceAll("://***:***@");
     }
 
     /**
@@ -362,19 +378,15 @@ public abstract class DatabaseException extends RuntimeException {
             return "[]";
         }
 
+        // Check if this looks like a query over sensitive columns
+        // This is a simplistic approach; real implementation might be more sophisticated
+        boolean sensitive = query != null && SENSITIVE_PATTERN.matcher(query).find();
+
         List<String> formatted = new ArrayList<>();
         for (int i = 0; i < parameters.length; i++) {
             Object param = parameters[i];
             String value;
 
-            // Check if this looks like a sensitive parameter
-            boolean sensitive = false;
-            if (query != null) {
-                // Try to determine if this parameter position is sensitive
-                // This is a simplistic approach; real implementation might be more sophisticated
-                sensitive = SENSITIVE_PATTERN.matcher(query.toLowerCase()).find();
-            }
-
             if (sensitive) {
                 value = "***";
             } else if (param == null) {
@@ -423,6 +435,12 @@ public abstract class DatabaseException extends RuntimeException {
         return getFormattedMessage();
     }
 
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+        // Resolve the masked URL so the transient raw value is never needed after deserialization
+        getJdbcUrl();
+        out.defaultWriteObject();
+    }
+
     // Builder Pattern
 
     /**
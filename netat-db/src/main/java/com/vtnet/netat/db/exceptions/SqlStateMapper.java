@@ -32,66 +32,92 @@ public final class SqlStateMapper {
     private static final String CONSTRAINT_VIOLATION_PREFIX = "23";
     private static final String TRANSACTION_ERROR_PREFIX = "40";
 
+    // Factories for each mapped exception type. Built once; no reflection on the error path.
+    private static final ExceptionFactory CONNECTION = (e, query, params, profile) ->
+            populate(ConnectionException.builder(), e, query, params, profile).build();
+    private static final ExceptionFactory CONNECTION_REFUSED = (e, query, params, profile) ->
+            populate(ConnectionRefusedException.builder(), e, query, params, profile).build();
+    private static final ExceptionFactory CONNECTION_TIMEOUT = (e, query, params, profile) ->
+            populate(ConnectionTimeoutException.builder(), e, query, params, profile).build();
+    private static final ExceptionFactory POOL_EXHAUSTED = (e, query, params, profile) ->
+            populate(ConnectionPoolExhaustedException.builder(), e, query, params, profile).build();
+    private static final ExceptionFactory QUERY_SYNTAX = (e, query, params, profile) ->
+            populate(QuerySyntaxException.builder(), e, query, params, profile)
+                    .extractPositionFromMessage()
+                    .build();
+    private static final ExceptionFactory QUERY_TIMEOUT = (e, query, params, profile) ->
+            populate(QueryTimeoutException.builder(), e, query, params, profile).build();
+    private static final ExceptionFactory CONSTRAINT_VIOLATION = (e, query, params, profile) ->
+            populate(ConstraintViolationException.builder(), e, query, params, profile)
+                    .detectConstraintType()
+                    .build();
+    private static final ExceptionFactory TRANSACTION = (e, query, params, profile) ->
+            populate(TransactionException.builder(), e, query, params, profile).build();
+    private static final ExceptionFactory TRANSACTION_ROLLBACK = (e, query, params, profile) ->
+            populate(TransactionRollbackException.builder(), e, query, params, profile).build();
+    private static final ExceptionFactory DEADLOCK = (e, query, params, profile) ->
+            populate(DeadlockException.builder(), e, query, params, profile).build();
+
     // Specific SQL States
-    private static final Map<String, Class<? extends DatabaseException>> SQL_STATE_MAP = new HashMap<>();
+    private static final Map<String, ExceptionFactory> SQL_STATE_MAP = new HashMap<>();
 
     static {
         // Connection errors (08xxx)
-        SQL_STATE_MAP.put("08000", ConnectionException.class);
-        SQL_STATE_MAP.put("08001", ConnectionException.class);
-        SQL_STATE_MAP.put("08003", ConnectionRefusedException.class);
-        SQL_STATE_MAP.put("08004", ConnectionRefusedException.class);
-        SQL_STATE_MAP.put("08006", ConnectionException.class);
-        SQL_STATE_MAP.put("08007", ConnectionException.class);
-        SQL_STATE_MAP.put("08S01", ConnectionTimeoutException.class);
+        SQL_STATE_MAP.put("08000", CONNECTION);
+        SQL_STATE_MAP.put("08001", CONNECTION);
+        SQL_STATE_MAP.put("08003", CONNECTION_REFUSED);
+        SQL_STATE_MAP.put("08004", CONNECTION_REFUSED);
+        SQL_STATE_MAP.put("08006", CONNECTION);
+        SQL_STATE_MAP.put("08007", CONNECTION);
+        SQL_STATE_MAP.put("08S01", CONNECTION_TIMEOUT);
 
         // Syntax errors (42xxx)
-        SQL_STATE_MAP.put("42000", QuerySyntaxException.class);
-        SQL_STATE_MAP.put("42S01", QuerySyntaxException.class); // Table already exists
-        SQL_STATE_MAP.put("42S02", QuerySyntaxException.class); // Table not found
-        SQL_STATE_MAP.put("42S21", QuerySyntaxException.class); // Column already exists
-        SQL_STATE_MAP.put("42S22", QuerySyntaxException.class); // Column not found
+        SQL_STATE_MAP.put("42000", QUERY_SYNTAX);
+        SQL_STATE_MAP.put("42S01", QUERY_SYNTAX); // Table already exists
+        SQL_STATE_MAP.put("42S02", QUERY_SYNTAX); // Table not found
+        SQL_STATE_MAP.put("42S21", QUERY_SYNTAX); // Column already exists
+        SQL_STATE_MAP.put("42S22", QUERY_SYNTAX); // Column not found
 
         // Constraint violations (23xxx)
-        SQL_STATE_MAP.put("23000", ConstraintViolationException.class);
-        SQL_STATE_MAP.put("23001", ConstraintViolationException.class);
-        SQL_STATE_MAP.put("23502", ConstraintViolationException.class); // NOT NULL violation
-        SQL_STATE_MAP.put("23503", ConstraintViolationException.class); // Foreign key violation
-        SQL_STATE_MAP.put("23505", ConstraintViolationException.class); // Unique violation
-        SQL_STATE_MAP.put("23514", ConstraintViolationException.class); // Check constraint
+        SQL_STATE_MAP.put("23000", CONSTRAINT_VIOLATION);
+        SQL_STATE_MAP.put("23001", CONSTRAINT_VIOLATION);
+        SQL_STATE_MAP.put("23502", CONSTRAINT_VIOLATION); // NOT NULL violation
+        SQL_STATE_MAP.put("23503", CONSTRAINT_VIOLATION); // Foreign key violation
+        SQL_STATE_MAP.put("23505", CONSTRAINT_VIOLATION); // Unique violation
+        SQL_STATE_MAP.put("23514", CONSTRAINT_VIOLATION); // Check constraint
 
         // Transaction errors (40xxx)
-        SQL_STATE_MAP.put("40001", DeadlockException.class);
-        SQL_STATE_MAP.put("40P01", DeadlockException.class); // PostgreSQL deadlock
-        SQL_STATE_MAP.put("40002", TransactionRollbackException.class);
-        SQL_STATE_MAP.put("40003", TransactionRollbackException.class);
+        SQL_STATE_MAP.put("40001", DEADLOCK);
+        SQL_STATE_MAP.put("40P01", DEADLOCK); // PostgreSQL deadlock
+        SQL_STATE_MAP.put("40002", TRANSACTION_ROLLBACK);
+        SQL_STATE_MAP.put("40003", TRANSACTION_ROLLBACK);
     }
 
     // Vendor-specific error codes
-    private static final Map<Integer, Class<? extends DatabaseException>> MYSQL_ERROR_MAP = new HashMap<>();
-    private static final Map<Integer, Class<? extends DatabaseException>> POSTGRES_ERROR_MAP = new HashMap<>();
+    private static final Map<Integer, ExceptionFactory> MYSQL_ERROR_MAP = new HashMap<>();
+    private static final Map<Integer, ExceptionFactory> POSTGRES_ERROR_MAP = new HashMap<>();
 
     static {
         // MySQL / MariaDB error codes
-        MYSQL_ERROR_MAP.put(1040, ConnectionPoolExhaustedException.class); // Too many connections
-        MYSQL_ERROR_MAP.put(1042, ConnectionRefusedException.class); // Can't get hostname
-        MYSQL_ERROR_MAP.put(1043, ConnectionRefusedException.class); // Bad handshake
-        MYSQL_ERROR_MAP.put(1045, ConnectionRefusedException.class); // Access denied
-        MYSQL_ERROR_MAP.put(1046, QuerySyntaxException.class); // No database selected
-        MYSQL_ERROR_MAP.put(1054, QuerySyntaxException.class); // Unknown column
-        MYSQL_ERROR_MAP.put(1062, ConstraintViolationException.class); // Duplicate entry
-        MYSQL_ERROR_MAP.put(1064, QuerySyntaxException.class); // SQL syntax error
-        MYSQL_ERROR_MAP.put(1146, QuerySyntaxException.class); // Table doesn't exist
-        MYSQL_ERROR_MAP.put(1205, QueryTimeoutException.class); // Lock wait timeout
-        MYSQL_ERROR_MAP.put(1213, DeadlockException.class); // Deadlock found
-        MYSQL_ERROR_MAP.put(1216, ConstraintViolationException.class); // Foreign key constraint
-        MYSQL_ERROR_MAP.put(1217, ConstraintViolationException.class); // Cannot delete parent row
-        MYSQL_ERROR_MAP.put(1364, ConstraintViolationException.class); // Field doesn't have default
-        MYSQL_ERROR_MAP.put(1451, ConstraintViolationException.class); // Cannot delete/update parent
-        MYSQL_ERROR_MAP.put(1452, ConstraintViolationException.class); // Cannot add/update child
-        MYSQL_ERROR_MAP.put(2003, ConnectionRefusedException.class); // Can't connect to server
-        MYSQL_ERROR_MAP.put(2006, ConnectionException.class); // Server has gone away
-        MYSQL_ERROR_MAP.put(2013, ConnectionException.class); // Lost connection during query
+        MYSQL_ERROR_MAP.put(1040, POOL_EXHAUSTED); // Too many connections
+        MYSQL_ERROR_MAP.put(1042, CONNECTION_REFUSED); // Can't get hostname
+        MYSQL_ERROR_MAP.put(1043, CONNECTION_REFUSED); // Bad handshake
+        MYSQL_ERROR_MAP.put(1045, CONNECTION_REFUSED); // Access denied
+        MYSQL_ERROR_MAP.put(1046, QUERY_SYNTAX); // No database selected
+        MYSQL_ERROR_MAP.put(1054, QUERY_SYNTAX); // Unknown column
+        MYSQL_ERROR_MAP.put(1062, CONSTRAINT_VIOLATION); // Duplicate entry
+        MYSQL_ERROR_MAP.put(1064, QUERY_SYNTAX); // SQL syntax error
+        MYSQL_ERROR_MAP.put(1146, QUERY_SYNTAX); // Table doesn't exist
+        MYSQL_ERROR_MAP.put(1205, QUERY_TIMEOUT); // Lock wait timeout
+        MYSQL_ERROR_MAP.put(1213, DEADLOCK); // Deadlock found
+        MYSQL_ERROR_MAP.put(1216, CONSTRAINT_VIOLATION); // Foreign key constraint
+        MYSQL_ERROR_MAP.put(1217, CONSTRAINT_VIOLATION); // Cannot delete parent row
+        MYSQL_ERROR_MAP.put(1364, CONSTRAINT_VIOLATION); // Field doesn't have default
+        MYSQL_ERROR_MAP.put(1451, CONSTRAINT_VIOLATION); // Cannot delete/update parent
+        MYSQL_ERROR_MAP.put(1452, CONSTRAINT_VIOLATION); // Cannot add/update child
+        MYSQL_ERROR_MAP.put(2003, CONNECTION_REFUSED); // Can't connect to server
+        MYSQL_ERROR_MAP.put(2006, CONNECTION); // Server has gone away
+        MYSQL_ERROR_MAP.put(2013, CONNECTION); // Lost connection during query
 
         // PostgreSQL (using SQL State mostly, but some specific ones)
         // PostgreSQL typically relies more on SQL State than error codes
@@ -127,50 +153,43 @@ public final class SqlStateMapper {
 
         String sqlState = sqlException.getSQLState();
         int errorCode = sqlException.getErrorCode();
-        String message = sqlException.getMessage();
 
         // Try exact SQL State match first
-        Class<? extends DatabaseException> exceptionClass = SQL_STATE_MAP.get(sqlState);
+        ExceptionFactory factory = sqlState != null ? SQL_STATE_MAP.get(sqlState) : null;
 
         // Try vendor-specific error code
-        if (exceptionClass == null && errorCode != 0) {
-            exceptionClass = getVendorSpecificException(errorCode, message);
+        if (factory == null && errorCode != 0) {
+            factory = getVendorSpecificFactory(errorCode, sqlException.getMessage());
         }
 
         // Try SQL State prefix matching
-        if (exceptionClass == null && sqlState != null && sqlState.length() >= 2) {
-            String prefix = sqlState.substring(0, 2);
-            exceptionClass = getExceptionByPrefix(prefix);
+        if (factory == null && sqlState != null && sqlState.length() >= 2) {
+            factory = getFactoryByPrefix(sqlState.substring(0, 2));
         }
 
         // Fallback to generic DatabaseException
-        if (exceptionClass == null) {
+        if (factory == null) {
             return createGenericException(sqlException, query, parameters, profileName);
         }
 
-        // Create specific exception instance
-        return createException(exceptionClass, sqlException, query, parameters, profileName);
+        return factory.create(sqlException, query, parameters, profileName);
     }
 
     /**
-     * Gets exception class based on vendor-specific error code.
+     * Gets exception factory based on vendor-specific error code.
      */
-    /**
-     * Gets exception class based on vendor-specific error code.
-     */
-    private static Class<? extends DatabaseException> getVendorSpecificException(
-            int errorCode, String message) {
+    private static ExceptionFactory getVendorSpecificFactory(int errorCode, String message) {
 
         // Try MySQL/MariaDB codes
-        Class<? extends DatabaseException> exceptionClass = MYSQL_ERROR_MAP.get(errorCode);
-        if (exceptionClass != null) {
-            return exceptionClass;
+        ExceptionFactory factory = MYSQL_ERROR_MAP.get(errorCode);
+        if (factory != null) {
+            return factory;
         }
 
         // Try PostgreSQL codes
-        exceptionClass = POSTGRES_ERROR_MAP.get(errorCode);
-        if (exceptionClass != null) {
-            return exceptionClass;
+        factory = POSTGRES_ERROR_MAP.get(errorCode);
+        if (factory != null) {
+            return factory;
         }
 
         // Try to infer from message content (last resort)
@@ -179,26 +198,26 @@ public final class SqlStateMapper {
 
             if (lowerMsg.contains("timeout")) {
                 if (lowerMsg.contains("connection")) {
-                    return ConnectionTimeoutException.class;
+                    return CONNECTION_TIMEOUT;
                 } else {
-                    return QueryTimeoutException.class;
+                    return QUERY_TIMEOUT;
                 }
             }
 
             if (lowerMsg.contains("deadlock")) {
-                return DeadlockException.class;
+                return DEADLOCK;
             }
 
             if (lowerMsg.contains("duplicate") || lowerMsg.contains("unique")) {
-                return ConstraintViolationException.class;
+                return CONSTRAINT_VIOLATION;
             }
 
             if (lowerMsg.contains("foreign key") || lowerMsg.contains("referential")) {
-                return ConstraintViolationException.class;
+                return CONSTRAINT_VIOLATION;
             }
 
             if (lowerMsg.contains("syntax")) {
-                return QuerySyntaxException.class;
+                return QUERY_SYNTAX;
             }
         }
 
@@ -206,62 +225,38 @@ public final class SqlStateMapper {
     }
 
     /**
-     * Gets exception class based on SQL State prefix.
+     * Gets exception factory based on SQL State prefix.
      */
-    private static Class<? extends DatabaseException> getExceptionByPrefix(String prefix) {
+    private static ExceptionFactory getFactoryByPrefix(String prefix) {
         switch (prefix) {
             case CONNECTION_ERROR_PREFIX:
-                return ConnectionException.class;
+                return CONNECTION;
             case SYNTAX_ERROR_PREFIX:
-                return QuerySyntaxException.class;
+                return QUERY_SYNTAX;
             case CONSTRAINT_VIOLATION_PREFIX:
-                return ConstraintViolationException.class;
+                return CONSTRAINT_VIOLATION;
             case TRANSACTION_ERROR_PREFIX:
-                return TransactionException.class;
+                return TRANSACTION;
             default:
                 return null;
         }
     }
 
     /**
-     * Creates a specific exception instance using reflection.
+     * Populates the fields shared by every mapped exception type.
      */
-    private static DatabaseException createException(
-            Class<? extends DatabaseException> exceptionClass,
+    private static <B extends DatabaseException.Builder<?>> B populate(
+            B builder,
             SQLException sqlException,
             String query,
             Object[] parameters,
             String profileName) {
 
-        try {
-            // All exception classes should have a builder() static method
-            Object builder = exceptionClass.getMethod("builder").invoke(null);
-
-            // Get the builder class
-            Class<?> builderClass = builder.getClass();
-
-            // Populate common fields
-            builderClass.getMethod("fromSQLException", SQLException.class).invoke(builder, sqlException);
-            builderClass.getMethod("query", String.class).invoke(builder, query);
-            builderClass.getMethod("parameters", Object[].class).invoke(builder, (Object) parameters);
-            builderClass.getMethod("profileName", String.class).invoke(builder, profileName);
-
-            // Special handling for specific exception types
-            if (exceptionClass == QuerySyntaxException.class) {
-                // Try to extract error position from message
-                builderClass.getMethod("extractPositionFromMessage").invoke(builder);
-            } else if (exceptionClass == ConstraintViolationException.class) {
-                // Try to detect constraint type from message
-                builderClass.getMethod("detectConstraintType").invoke(builder);
-            }
-
-            // Build and return the exception
-            return (DatabaseException) builderClass.getMethod("build").invoke(builder);
-
-        } catch (Exception e) {
-            // If reflection fails, fall back to generic exception
-            return createGenericException(sqlException, query, parameters, profileName);
-        }
+        builder.fromSQLException(sqlException);
+        builder.query(query);
+        builder.parameters(parameters);
+        builder.profileName(profileName);
+        return builder;
     }
 
     /**
@@ -421,4 +416,12 @@ public final class SqlStateMapper {
 
         return summary.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a specific DatabaseException from a SQLException and its query context.
+     */
+    @FunctionalInterface
+    private interface ExceptionFactory {
+        DatabaseException create(SQLException sqlException, String query, Object[] parameters, String profileName);
+    }
+}
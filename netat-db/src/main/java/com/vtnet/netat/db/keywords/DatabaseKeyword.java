@@ -14,6 +14,8 @@ import com.vtnet.netat.db.exceptions.query.QueryExecutionException;
 import com.vtnet.netat.db.logging.DatabaseLogger;
 import com.vtnet.netat.db.logging.LogContext;
 import com.vtnet.netat.db.logging.model.PoolStats;
+import com.vtnet.netat.db.retry.RetryExecutor;
+import com.vtnet.netat.db.retry.RetryPolicy;
 import io.qameta.allure.Step;
 
 import java.sql.*;
@@ -23,6 +25,7 @@ public class DatabaseKeyword extends BaseKeyword {
 
     private static final DatabaseLogger dbLogger = DatabaseLogger.getInstance();
     private static final NetatLogger netatLogger = NetatLogger.getInstance(DatabaseKeyword.class);
+    private static volatile RetryExecutor retryExecutor = new RetryExecutor(RetryPolicy.fromConfiguration());
 
     @NetatKeyword(
             name = "connectDatabase",
@@ -287,6 +290,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> executeQueryInternal(profileName, query, params)
         );
     }
@@ -434,6 +438,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<Map<String, Object>> results = executeQueryInternal(profileName, query, params);
 
@@ -573,6 +578,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.NON_IDEMPOTENT,
                 () -> executeUpdateInternal(profileName, query, params)
         );
     }
@@ -634,6 +640,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 new Object[]{batchParams.size() + " batches"},
+                RetryMode.NON_IDEMPOTENT,
                 () -> executeBatchInternal(profileName, query, batchParams)
         );
     }
@@ -688,6 +695,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 script,
                 new Object[0],
+                RetryMode.NON_IDEMPOTENT,
                 () -> {
                     executeScriptInternal(profileName, script);
                     return null;
@@ -695,6 +703,86 @@ public class DatabaseKeyword extends BaseKeyword {
         );
     }
 
+    @NetatKeyword(
+            name = "executeIdempotentUpdate",
+            description = "Thực thi câu lệnh INSERT/UPDATE/DELETE an toàn khi chạy lại (idempotent) - tự động retry khi gặp lỗi tạm thời như deadlock hoặc mất kết nối",
+            category = "Database",
+            subCategory = "Query Execution",
+            parameters = {
+                    "profileName: String - Tên database profile đã cấu hình",
+                    "query: String - Câu lệnh SQL idempotent (ví dụ: UPDATE ... SET status = ?, DELETE ... WHERE id = ?, MERGE/UPSERT)",
+                    "params: Object... - Các tham số để thay thế cho ? trong query (tùy chọn)"
+            },
+            returnValue = "int - Số lượng rows đã được insert/update/delete (của lần thực thi thành công)",
+            example =
+                    "DatabaseKeyword db = new DatabaseKeyword();\n" +
+                            "\n" +
+                            "// Set trạng thái tuyệt đối - chạy lại nhiều lần cho cùng kết quả\n" +
+                            "db.executeIdempotentUpdate(\n" +
+                            "    \"mysql-dev\",\n" +
+                            "    \"UPDATE orders SET status = ? WHERE id = ?\",\n" +
+                            "    \"SHIPPED\",\n" +
+                            "    1001\n" +
+                            ");\n" +
+                            "\n" +
+                            "// Upsert\n" +
+                            "db.executeIdempotentUpdate(\n" +
+                            "    \"mysql-dev\",\n" +
+                            "    \"INSERT INTO settings (k, v) VALUES (?, ?) ON DUPLICATE KEY UPDATE v = VALUES(v)\",\n" +
+                            "    \"feature.x\",\n" +
+                            "    \"on\"\n" +
+                            ");",
+            note = "- Chỉ dùng cho câu lệnh cho cùng kết quả khi chạy nhiều lần (KHÔNG dùng cho counter = counter + 1, INSERT không có unique key)\n" +
+                    "- Retry theo cấu hình db.retry.maxAttempts và db.retry.deadlineMs, backoff có jitter\n" +
+                    "- executeUpdate thông thường chỉ retry khi db.retry.writes.enabled=true\n" +
+                    "- Lỗi không retryable (syntax, constraint violation) được throw ngay lập tức"
+    )
+    @Step("Execute idempotent update in database {0}: {1}")
+    public int executeIdempotentUpdate(String profileName, String query, Object... params) {
+        return executeWithLogging(
+                "executeIdempotentUpdate",
+                profileName,
+                query,
+                params,
+                RetryMode.IDEMPOTENT,
+                () -> executeUpdateInternal(profileName, query, params)
+        );
+    }
+
+    @NetatKeyword(
+            name = "configureRetryPolicy",
+            description = "Cấu hình cơ chế tự động retry cho các lỗi database tạm thời (deadlock, connection timeout, pool exhausted)",
+            category = "Database",
+            subCategory = "Query Execution",
+            parameters = {
+                    "maxAttempts: int - Tổng số lần thực thi tối đa, bao gồm lần đầu (1 = tắt retry)",
+                    "deadlineMs: long - Tổng thời gian tối đa cho tất cả các lần thử và backoff (milliseconds)",
+                    "retryWrites: boolean - true để retry cả executeUpdate/executeBatch/executeScript"
+            },
+            returnValue = "void - Không trả về giá trị",
+            example =
+                    "DatabaseKeyword db = new DatabaseKeyword();\n" +
+                            "\n" +
+                            "// Failover test: retry tối đa 5 lần trong 20 giây, chỉ cho reads\n" +
+                            "db.configureRetryPolicy(5, 20000, false);\n" +
+                            "\n" +
+                            "// Tắt retry hoàn toàn\n" +
+                            "db.configureRetryPolicy(1, 0, false);",
+            note = "- Áp dụng cho tất cả các thread (cấu hình dùng chung)\n" +
+                    "- Mặc định được đọc từ db.retry.enabled, db.retry.maxAttempts, db.retry.deadlineMs, db.retry.writes.enabled\n" +
+                    "- Queries và verify keywords luôn được retry; writes chỉ khi retryWrites=true hoặc dùng executeIdempotentUpdate\n" +
+                    "- Transaction keywords (begin/commit/rollback) không bao giờ được retry"
+    )
+    public void configureRetryPolicy(int maxAttempts, long deadlineMs, boolean retryWrites) {
+        RetryPolicy policy = RetryPolicy.builder()
+                .maxAttempts(maxAttempts)
+                .deadlineMillis(deadlineMs)
+                .retryWrites(retryWrites)
+                .build();
+        retryExecutor = new RetryExecutor(policy);
+        netatLogger.info("Database retry policy updated: {}", policy);
+    }
+
     // ========================================================================
     // VERIFICATION KEYWORDS
     // ========================================================================
@@ -759,6 +847,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<Map<String, Object>> results = executeQueryInternal(profileName, query, params);
                     if (results.isEmpty()) {
@@ -828,6 +917,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<Map<String, Object>> results = executeQueryInternal(profileName, query, params);
                     if (!results.isEmpty()) {
@@ -896,6 +986,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<Map<String, Object>> results = executeQueryInternal(profileName, query, params);
                     if (results.size() != expectedCount) {
@@ -977,6 +1068,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<Map<String, Object>> results = executeQueryInternal(profileName, query, params);
                     if (results.isEmpty()) {
@@ -1063,6 +1155,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<Map<String, Object>> results = executeQueryInternal(profileName, query, params);
                     if (results.isEmpty()) {
@@ -1138,6 +1231,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<Map<String, Object>> results = executeQueryInternal(profileName, query, params);
                     List<Object> values = new ArrayList<>();
@@ -1201,6 +1295,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 queryOrTable,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> {
                     String query = queryOrTable;
 
@@ -1743,6 +1838,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 new Object[0],
+                RetryMode.IDEMPOTENT,
                 () -> {
                     executeUpdateInternal(profileName, query);
                     return null;
@@ -1803,6 +1899,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 new Object[0],
+                RetryMode.IDEMPOTENT,
                 () -> {
                     executeUpdateInternal(profileName, query);
                     return null;
@@ -1869,6 +1966,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 "CHECK_TABLE_EXISTS",
                 new Object[]{tableName},
+                RetryMode.IDEMPOTENT,
                 () -> {
                     try (Connection conn = ConnectionManager.getConnection(profileName)) {
                         DatabaseMetaData metadata = conn.getMetaData();
@@ -1931,6 +2029,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 "GET_TABLE_COLUMNS",
                 new Object[]{tableName},
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<String> columns = new ArrayList<>();
 
@@ -2112,6 +2211,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query1 + " vs " + query2,
                 new Object[0],
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<Map<String, Object>> results1 = executeQueryInternal(profileName, query1);
                     List<Map<String, Object>> results2 = executeQueryInternal(profileName, query2);
@@ -2185,6 +2285,7 @@ public class DatabaseKeyword extends BaseKeyword {
                 profileName,
                 query,
                 params,
+                RetryMode.IDEMPOTENT,
                 () -> {
                     List<Map<String, Object>> results = executeQueryInternal(profileName, query, params);
 
@@ -2216,13 +2317,18 @@ public class DatabaseKeyword extends BaseKeyword {
     // ========================================================================
 
     /**
-     * Generic method to execute operations with logging.
+     * Generic method to execute operations with logging (never retried).
      */
+    private <T> T executeWithLogging(String keywordName, String profileName, String query,
+                                     Object[] params, DatabaseOperation<T> operation) {
+        return executeWithLogging(keywordName, profileName, query, params, RetryMode.NONE, operation);
+    }
+
     /**
-     * Generic method to execute operations with logging.
+     * Generic method to execute operations with logging and retry of transient failures.
      */
     private <T> T executeWithLogging(String keywordName, String profileName, String query,
-                                     Object[] params, DatabaseOperation<T> operation) {
+                                     Object[] params, RetryMode retryMode, DatabaseOperation<T> operation) {
         LogContext.setDatabaseContext(profileName, getCurrentTestCase(), keywordName);
 
         long startTime = System.currentTimeMillis();
@@ -2230,7 +2336,9 @@ public class DatabaseKeyword extends BaseKeyword {
         dbLogger.logQueryStart(profileName, query, params);
 
         try {
-            T result = operation.execute();
+            T result = retryMode == RetryMode.NONE
+                    ? operation.execute()
+                    : retryExecutor.execute(profileName, retryMode == RetryMode.IDEMPOTENT, operation::execute);
 
             long duration = System.currentTimeMillis() - startTime;
             int rowsAffected = calculateRowsAffected(result);
@@ -2481,4 +2589,16 @@ public class DatabaseKeyword extends BaseKeyword {
     private interface DatabaseOperation<T> {
         T execute() throws Exception;
     }
+
+    /**
+     * How an operation may be retried on transient database errors.
+     */
+    private enum RetryMode {
+        /** Session-bound operations (connect, transactions, polling) - never retried. */
+        NONE,
+        /** Reads and writes that are safe to repeat - always retried. */
+        IDEMPOTENT,
+        /** Writes that may have been applied - retried only if db.retry.writes.enabled. */
+        NON_IDEMPOTENT
+    }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.vtnet.netat.db.retry;
+
+import com.vtnet.netat.core.logging.NetatLogger;
+import com.vtnet.netat.db.exceptions.DatabaseException;
+import com.vtnet.netat.db.exceptions.SqlStateMapper;
+
+/**
+ * Re-runs database operations that fail with a transient error
+ * (deadlock victim, connection blip, pool exhaustion, ...).
+ *
+ * <p>Retry eligibility and backoff come from {@link SqlStateMapper#isRetryable(DatabaseException)}
+ * and {@link SqlStateMapper#getRetryDelay(DatabaseException, int)}, which already applies
+ * exponential backoff with jitter. Attempts stop at {@link RetryPolicy#getMaxAttempts()} or
+ * when the next backoff would overrun {@link RetryPolicy#getDeadlineMillis()}.
+ *
+ * <p>Reads are always eligible. Writes are only retried when the caller declares them
+ * idempotent or the policy enables {@link RetryPolicy#isRetryWrites()}, because a write
+ * may have been applied before the connection failed.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * RetryExecutor executor = new RetryExecutor(RetryPolicy.fromConfiguration());
+ * List<Map<String, Object>> rows = executor.execute("mysql-dev", true,
+ *         () -> runQuery("SELECT * FROM users"));
+ * }</pre>
+ *
+ * @author NETAT Team
+ * @since 1.1.0
+ */
+public class RetryExecutor {
+
+    private static final NetatLogger logger = NetatLogger.getInstance(RetryExecutor.class);
+
+    private final RetryPolicy policy;
+
+    public RetryExecutor(RetryPolicy policy) {
+        this.policy = policy;
+    }
+
+    public RetryPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Executes an operation, retrying transient database failures according to the policy.
+     *
+     * @param profileName the database profile (for logging)
+     * @param idempotent true if the operation is safe to repeat (reads, idempotent writes)
+     * @param operation the operation to run
+     * @param <T> result type
+     * @return the operation result
+     * @throws Exception the last failure if retries are exhausted or not allowed
+     */
+    public <T> T execute(String profileName, boolean idempotent, RetryableOperation<T> operation)
+            throws Exception {
+
+        long deadline = System.currentTimeMillis() + policy.getDeadlineMillis();
+        int attempt = 1;
+
+        while (true) {
+            try {
+                T result = operation.execute();
+                if (attempt > 1) {
+                    logger.info("[{}] Operation succeeded on attempt {}", profileName, attempt);
+                }
+                return result;
+
+            } catch (DatabaseException e) {
+                if (!shouldRetry(e, idempotent, attempt)) {
+                    throw e;
+                }
+
+                long delay = SqlStateMapper.getRetryDelay(e, attempt);
+                long remaining = deadline - System.currentTimeMillis();
+                if (delay >= remaining) {
+                    logger.warn("[{}] Retry budget of {} ms exhausted after {} attempt(s): {}",
+                            profileName, policy.getDeadlineMillis(), attempt,
+                            SqlStateMapper.getSummaryMessage(e));
+                    throw e;
+                }
+
+                logger.warn("[{}] Attempt {}/{} failed, retrying in {} ms: {}",
+                        profileName, attempt, policy.getMaxAttempts(), delay,
+                        SqlStateMapper.getSummaryMessage(e));
+
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a failed attempt may be repeated.
+     */
+    private boolean shouldRetry(DatabaseException e, boolean idempotent, int attempt) {
+        if (!policy.isEnabled() || attempt >= policy.getMaxAttempts()) {
+            return false;
+        }
+        if (!idempotent && !policy.isRetryWrites()) {
+            return false;
+        }
+        return SqlStateMapper.isRetryable(e);
+    }
+
+    /**
+     * Database operation that may be executed more than once.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    public interface RetryableOperation<T> {
+        T execute() throws Exception;
+    }
+}
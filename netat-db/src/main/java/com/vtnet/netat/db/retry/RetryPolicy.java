@@ -0,0 +1,124 @@
+package com.vtnet.netat.db.retry;
+
+import com.vtnet.netat.core.utils.ConfigurationManager;
+
+/**
+ * Retry settings for database operations that fail with a transient error.
+ * Can be loaded from configuration or created programmatically.
+ *
+ * <p>Configuration keys (System Properties override config files):
+ * <ul>
+ *   <li>{@code db.retry.enabled} - enable automatic retry (default: true)</li>
+ *   <li>{@code db.retry.maxAttempts} - total attempts including the first one (default: 3)</li>
+ *   <li>{@code db.retry.deadlineMs} - time budget for all attempts and backoff (default: 30000)</li>
+ *   <li>{@code db.retry.writes.enabled} - also retry writes not declared idempotent (default: false)</li>
+ * </ul>
+ *
+ * @author NETAT Team
+ * @since 1.1.0
+ */
+public final class RetryPolicy {
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long deadlineMillis;
+    private final boolean retryWrites;
+
+    private RetryPolicy(Builder builder) {
+        this.enabled = builder.enabled;
+        this.maxAttempts = builder.maxAttempts;
+        this.deadlineMillis = builder.deadlineMillis;
+        this.retryWrites = builder.retryWrites;
+    }
+
+    // Getters
+    public boolean isEnabled() { return enabled; }
+    public int getMaxAttempts() { return maxAttempts; }
+    public long getDeadlineMillis() { return deadlineMillis; }
+    public boolean isRetryWrites() { return retryWrites; }
+
+    /**
+     * Loads the retry policy from ConfigurationManager, falling back to defaults.
+     *
+     * @return configured policy
+     */
+    public static RetryPolicy fromConfiguration() {
+        Builder builder = builder();
+        builder.enabled(Boolean.parseBoolean(
+                ConfigurationManager.getProperty("db.retry.enabled", String.valueOf(builder.enabled))));
+        builder.retryWrites(Boolean.parseBoolean(
+                ConfigurationManager.getProperty("db.retry.writes.enabled", String.valueOf(builder.retryWrites))));
+
+        try {
+            builder.maxAttempts(Integer.parseInt(
+                    ConfigurationManager.getProperty("db.retry.maxAttempts", String.valueOf(builder.maxAttempts))));
+        } catch (NumberFormatException e) {
+            // Keep default
+        }
+
+        try {
+            builder.deadlineMillis(Long.parseLong(
+                    ConfigurationManager.getProperty("db.retry.deadlineMs", String.valueOf(builder.deadlineMillis))));
+        } catch (NumberFormatException e) {
+            // Keep default
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a policy that never retries.
+     *
+     * @return disabled policy
+     */
+    public static RetryPolicy disabled() {
+        return builder().enabled(false).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RetryPolicy[enabled=%s, maxAttempts=%d, deadlineMs=%d, retryWrites=%s]",
+                enabled, maxAttempts, deadlineMillis, retryWrites);
+    }
+
+    public static class Builder {
+        private boolean enabled = true;
+        private int maxAttempts = 3;
+        private long deadlineMillis = 30000;
+        private boolean retryWrites = false;
+
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder deadlineMillis(long deadlineMillis) {
+            this.deadlineMillis = deadlineMillis;
+            return this;
+        }
+
+        public Builder retryWrites(boolean retryWrites) {
+            this.retryWrites = retryWrites;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            if (maxAttempts < 1) {
+                throw new IllegalStateException("maxAttempts must be at least 1");
+            }
+            if (deadlineMillis < 0) {
+                throw new IllegalStateException("deadlineMillis must not be negative");
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
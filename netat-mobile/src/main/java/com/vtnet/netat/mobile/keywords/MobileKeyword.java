@@ -4,6 +4,7 @@ import com.vtnet.netat.core.BaseUiKeyword;
 import com.vtnet.netat.core.annotations.NetatKeyword;
 import com.vtnet.netat.core.ui.ObjectUI;
 import com.vtnet.netat.core.utils.ScreenshotUtils;
+import com.vtnet.netat.core.wait.AdaptiveWait;
 import com.vtnet.netat.driver.DriverManager;
 import io.appium.java_client.*;
 import io.appium.java_client.android.AndroidDriver;
@@ -18,7 +19,6 @@ import org.openqa.selenium.interactions.Pause;
 import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 
 import java.io.IOException;
@@ -2356,7 +2356,7 @@ public class MobileKeyword extends BaseUiKeyword {
         )
         public void waitForText(ObjectUI uiObject, String expectedText, int timeoutInSeconds) {
             execute(() -> {
-                WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+                AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
                 wait.until(ExpectedConditions.textToBePresentInElement(findElement(uiObject), expectedText));
                 return null;
             }, uiObject, expectedText, timeoutInSeconds);
@@ -2386,7 +2386,7 @@ public class MobileKeyword extends BaseUiKeyword {
     )
     public void waitForElementCount(ObjectUI uiObject, int count, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
             wait.until(driver -> {
                 List<WebElement> elements = findElements(uiObject);
                 return elements.size() == count;
@@ -2421,7 +2421,7 @@ public class MobileKeyword extends BaseUiKeyword {
     )
     public void waitForAttributeValue(ObjectUI uiObject, String attributeName, String expectedValue, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
             wait.until(driver -> {
                 WebElement element = findElement(uiObject);
                 String actualValue = element.getAttribute(attributeName);
@@ -2457,7 +2457,7 @@ public class MobileKeyword extends BaseUiKeyword {
     )
     public void waitForEnabled(ObjectUI uiObject, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
             wait.until(ExpectedConditions.elementToBeClickable(findElement(uiObject)));
             return null;
         }, uiObject, timeoutInSeconds);
@@ -2487,7 +2487,7 @@ public class MobileKeyword extends BaseUiKeyword {
     )
     public void waitForDisabled(ObjectUI uiObject, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
             wait.until(driver -> {
                 WebElement element = findElement(uiObject);
                 return !element.isEnabled();
@@ -2522,7 +2522,7 @@ public class MobileKeyword extends BaseUiKeyword {
     )
     public void waitForAppToLoad(int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
             AppiumDriver driver = getAppiumDriver();
 
             if (driver instanceof AndroidDriver) {
@@ -3661,7 +3661,7 @@ public class MobileKeyword extends BaseUiKeyword {
                 locator = AppiumBy.iOSNsPredicateString("label CONTAINS '" + containingText + "' OR value CONTAINS '" + containingText + "'");
             }
 
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+            AdaptiveWait wait = AdaptiveWait.on(driver, Duration.ofSeconds(timeoutInSeconds));
             return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
         }, containingText, timeoutInSeconds);
     }
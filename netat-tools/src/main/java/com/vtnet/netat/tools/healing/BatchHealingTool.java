@@ -0,0 +1,442 @@
+package com.vtnet.netat.tools.healing;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vtnet.netat.core.ui.ElementFingerprint;
+import com.vtnet.netat.core.ui.Locator;
+import com.vtnet.netat.core.ui.ObjectUI;
+import com.vtnet.netat.core.utils.HTMLSnapshotUtils;
+import com.vtnet.netat.web.ai.AiSelfHealingService;
+import com.vtnet.netat.web.ai.DomSnapshot;
+import com.vtnet.netat.web.ai.HeuristicLocatorHealer;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Healing locator offline trên các HTML snapshot đã lưu khi test lỗi.
+ *
+ * <p>Với mỗi snapshot có file {@code <snapshot>.objects.json} (do {@link HTMLSnapshotUtils} ghi khi bước lỗi),
+ * tool parse DOM một lần, kiểm tra lại locator cũ của từng ObjectUI, heal các locator hỏng bằng
+ * {@link HeuristicLocatorHealer} (và AI nếu bật {@code --ai}), rồi kiểm tra locator mới trên chính snapshot đó.
+ * Các snapshot được xử lý song song theo số core.
+ *
+ * <p>Kết quả: {@code <out>/healing-report.json}; với {@code --apply}, bản ObjectUI đã vá
+ * (locator mới đứng đầu, kèm fingerprint) được ghi vào {@code <out>/objects/} theo cùng đường dẫn tương đối.
+ *
+ * <pre>
+ * mvn -pl netat-tools exec:java@batch-healing -Dexec.args="--snapshots html-snapshots --objects src/test/java/automationtest/object --apply"
+ * </pre>
+ *
+ * Tham số: {@code --snapshots <dir>}, {@code --objects <dir>}, {@code --out <dir>}, {@code --threads <n>},
+ * {@code --min-confidence <0..1>}, {@code --ai}, {@code --apply}.
+ */
+public class BatchHealingTool {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\d+}");
+
+    private final Path snapshotDir;
+    private final Path objectDir;
+    private final Path outDir;
+    private final int threads;
+    private final boolean useAi;
+    private final boolean apply;
+    private final HeuristicLocatorHealer heuristicHealer;
+
+    private final Map<String, ObjectFile> objectsByUuid = new HashMap<>();
+    private final Map<String, ObjectFile> objectsByName = new HashMap<>();
+    private AiSelfHealingService aiService;
+
+    BatchHealingTool(Path snapshotDir, Path objectDir, Path outDir, int threads, double minConfidence,
+                     boolean useAi, boolean apply) {
+        this.snapshotDir = snapshotDir;
+        this.objectDir = objectDir;
+        this.outDir = outDir;
+        this.threads = threads;
+        this.useAi = useAi;
+        this.apply = apply;
+        this.heuristicHealer = new HeuristicLocatorHealer(minConfidence);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        BatchHealingTool tool = new BatchHealingTool(
+                Paths.get(options.getOrDefault("snapshots", "html-snapshots")),
+                Paths.get(options.getOrDefault("objects", Paths.get("src", "test", "java", "automationtest", "object").toString())),
+                Paths.get(options.getOrDefault("out", "healing-report")),
+                Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Double.parseDouble(options.getOrDefault("min-confidence",
+                        String.valueOf(new HeuristicLocatorHealer().getMinConfidence()))),
+                options.containsKey("ai"),
+                options.containsKey("apply"));
+        tool.run();
+    }
+
+    void run() throws Exception {
+        long start = System.currentTimeMillis();
+        loadObjectRepository();
+        if (useAi) {
+            aiService = new AiSelfHealingService();
+            if (!aiService.isAvailable()) {
+                System.out.println("AI không khả dụng (ai.self.healing.enabled / model), chỉ dùng heuristic.");
+                aiService = null;
+            }
+        }
+
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.walk(snapshotDir)) {
+            snapshots = files.filter(path -> path.toString().endsWith(".html")).sorted().collect(Collectors.toList());
+        }
+
+        ConcurrentLinkedQueue<HealingResult> results = new ConcurrentLinkedQueue<>();
+        int skipped = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Path snapshot : snapshots) {
+                Path sidecar = sidecarOf(snapshot);
+                if (!Files.isRegularFile(sidecar)) {
+                    skipped++;
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    results.addAll(healSnapshot(snapshot, sidecar));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<HealingResult> report = new ArrayList<>(results);
+        report.sort(Comparator.comparing(HealingResult::getSnapshot).thenComparing(HealingResult::getObjectName,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+        Files.createDirectories(outDir);
+        int patched = apply ? writePatchedObjects(report) : 0;
+        Path reportFile = outDir.resolve("healing-report.json");
+        MAPPER.writeValue(reportFile.toFile(), report);
+
+        Map<HealingResult.Status, Long> byStatus = report.stream()
+                .collect(Collectors.groupingBy(HealingResult::getStatus, LinkedHashMap::new, Collectors.counting()));
+        System.out.println("Snapshot đã xử lý: " + (snapshots.size() - skipped) + "/" + snapshots.size()
+                + " (bỏ qua " + skipped + " snapshot không có file " + HTMLSnapshotUtils.OBJECTS_SUFFIX + ")");
+        System.out.println("Kết quả: " + byStatus);
+        if (apply) {
+            System.out.println("Đã ghi " + patched + " object đã vá vào: " + outDir.resolve("objects").toAbsolutePath());
+        }
+        System.out.println("Báo cáo: " + reportFile.toAbsolutePath() + " (" + (System.currentTimeMillis() - start) + "ms)");
+    }
+
+    // === HEALING ===
+
+    private List<HealingResult> healSnapshot(Path snapshot, Path sidecar) {
+        List<HealingResult> results = new ArrayList<>();
+        String snapshotName = snapshotDir.relativize(snapshot).toString();
+        List<ObjectUI> failedObjects;
+        String html;
+        try {
+            failedObjects = MAPPER.readValue(sidecar.toFile(), new TypeReference<List<ObjectUI>>() {
+            });
+            html = new String(Files.readAllBytes(snapshot), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            HealingResult result = new HealingResult();
+            result.setSnapshot(snapshotName);
+            result.setStatus(HealingResult.Status.ERROR);
+            result.setMessage(e.getMessage());
+            results.add(result);
+            return results;
+        }
+
+        // Parse một lần cho mọi object của snapshot
+        DomSnapshot page = DomSnapshot.parse(html);
+        for (ObjectUI failed : failedObjects) {
+            HealingResult result = new HealingResult();
+            result.setSnapshot(snapshotName);
+            result.setObjectName(failed.getName());
+            result.setObjectUuid(failed.getUuid());
+            ObjectFile source = findSource(failed);
+            if (source != null) {
+                result.setObjectFile(source.relativePath.toString());
+            }
+            try {
+                healObject(page, failed, source, result);
+            } catch (RuntimeException e) {
+                result.setStatus(HealingResult.Status.ERROR);
+                result.setMessage(e.toString());
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private void healObject(DomSnapshot page, ObjectUI failed, ObjectFile source, HealingResult result) {
+        List<Locator> locators = failed.getActiveLocators();
+        if (!locators.isEmpty()) {
+            result.setPreviousLocator(locators.get(0).getStrategy() + "=" + locators.get(0).getValue());
+        }
+        Locator notEvaluable = null;
+        for (Locator locator : locators) {
+            int matches = countMatches(page, locator);
+            if (matches == 1) {
+                result.setStatus(HealingResult.Status.STILL_VALID);
+                result.setMessage("Locator " + locator.getStrategy() + " vẫn khớp đúng 1 element trong snapshot");
+                return;
+            }
+            if (matches < 0 && notEvaluable == null) {
+                notEvaluable = locator;
+            }
+        }
+        if (notEvaluable != null) {
+            // Object mobile (hoặc IMAGE): HTML snapshot không nói được locator có hỏng không, heal trên HTML là sai
+            result.setStatus(HealingResult.Status.SKIPPED);
+            result.setMessage("Locator " + notEvaluable.getStrategy() + " không kiểm tra được trên HTML snapshot");
+            return;
+        }
+
+        ElementFingerprint fingerprint = failed.getFingerprint() != null ? failed.getFingerprint()
+                : source != null && source.object.getFingerprint() != null ? source.object.getFingerprint()
+                : HeuristicLocatorHealer.fingerprintFromLocator(result.getPreviousLocator());
+
+        Optional<HeuristicLocatorHealer.Match> match = heuristicHealer.heal(page, fingerprint);
+        if (match.isPresent() && match.get().getConfidence() >= heuristicHealer.getMinConfidence()) {
+            healed(result, match.get().getLocator(), match.get().getConfidence(), "HEURISTIC", match.get().getElement());
+            return;
+        }
+
+        if (aiService != null) {
+            String description = failed.getDescription() != null && !failed.getDescription().isEmpty()
+                    ? failed.getName() + " - " + failed.getDescription()
+                    : failed.getName();
+            // Chỉ gọi model: heuristic của service dùng ngưỡng ai.heuristic.minConfidence và sẽ trả lại
+            // đúng ứng viên vừa bị loại bởi --min-confidence
+            Optional<String> aiLocator = aiService.findNewLocatorWithModel(description, page,
+                    result.getPreviousLocator(), fingerprint);
+            if (aiLocator.isPresent()) {
+                Elements found = page.select(aiLocator.get());
+                if (found.size() == 1) {
+                    healed(result, aiLocator.get(), null, "AI", found.first());
+                    return;
+                }
+                result.setMessage("AI đề xuất '" + aiLocator.get() + "' nhưng khớp " + found.size() + " element");
+            }
+        }
+
+        if (match.isPresent()) {
+            result.setStatus(HealingResult.Status.LOW_CONFIDENCE);
+            result.setNewLocator(match.get().getLocator());
+            result.setConfidence(round(match.get().getConfidence()));
+            result.setSource("HEURISTIC");
+        } else {
+            result.setStatus(HealingResult.Status.NOT_FOUND);
+        }
+    }
+
+    private void healed(HealingResult result, String locator, Double confidence, String source, Element element) {
+        result.setStatus(HealingResult.Status.HEALED);
+        result.setNewLocator(locator);
+        result.setConfidence(confidence != null ? round(confidence) : null);
+        result.setSource(source);
+        result.setFingerprint(HeuristicLocatorHealer.fingerprintOf(element));
+    }
+
+    /**
+     * Số element khớp locator trong snapshot; locator mobile và IMAGE (không đánh giá được trên HTML) trả -1.
+     * JQUERY được đánh giá bằng selector của jsoup nếu jsoup hiểu được ({@code :contains}, {@code :eq}, {@code :has}).
+     */
+    static int countMatches(DomSnapshot page, Locator locator) {
+        String value = locator.getValue();
+        if (value == null || value.trim().isEmpty() || locator.getStrategy() == null) {
+            return 0;
+        }
+        try {
+            switch (locator.getStrategy()) {
+                case CSS_SELECTOR:
+                    return page.select(value).size();
+                case ID:
+                    return page.select("[id=\"" + escape(value) + "\"]").size();
+                case NAME:
+                    return page.select("[name=\"" + escape(value) + "\"]").size();
+                case CLASS_NAME:
+                    return page.getDocument().getElementsByClass(value.trim()).size();
+                case TAG_NAME:
+                    return page.select(value).size();
+                case JQUERY:
+                    return countJQueryMatches(page, value);
+                case XPATH:
+                    return page.selectXpath(value).size();
+                case LINK_TEXT:
+                    return (int) page.select("a").stream().filter(a -> a.text().trim().equals(value.trim())).count();
+                case PARTIAL_LINK_TEXT:
+                    return (int) page.select("a").stream().filter(a -> a.text().contains(value)).count();
+                default:
+                    return -1;
+            }
+        } catch (RuntimeException e) {
+            // Selector sai cú pháp cũng hỏng khi chạy thật
+            return 0;
+        }
+    }
+
+    /**
+     * Pseudo-selector chỉ jQuery có (vd {@code :visible}, {@code :first}) phụ thuộc trạng thái hiển thị hoặc
+     * jsoup không hiểu: trả -1 thay vì coi là hỏng
+     */
+    private static int countJQueryMatches(DomSnapshot page, String value) {
+        try {
+            return page.select(value).size();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    // === OBJECT REPOSITORY ===
+
+    private void loadObjectRepository() throws IOException {
+        if (!Files.isDirectory(objectDir)) {
+            System.out.println("Không tìm thấy thư mục object: " + objectDir.toAbsolutePath() + " (sẽ không vá được object)");
+            return;
+        }
+        try (Stream<Path> files = Files.walk(objectDir)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".json")).collect(Collectors.toList())) {
+                try {
+                    ObjectUI object = MAPPER.readValue(file.toFile(), ObjectUI.class);
+                    ObjectFile objectFile = new ObjectFile(objectDir.relativize(file), object);
+                    if (object.getUuid() != null) {
+                        objectsByUuid.putIfAbsent(object.getUuid(), objectFile);
+                    }
+                    if (object.getName() != null) {
+                        objectsByName.putIfAbsent(object.getName(), objectFile);
+                    }
+                } catch (IOException e) {
+                    System.out.println("Bỏ qua file object không hợp lệ: " + file + " - " + e.getMessage());
+                }
+            }
+        }
+        System.out.println("Đã nạp " + objectsByName.size() + " object từ " + objectDir.toAbsolutePath());
+    }
+
+    private ObjectFile findSource(ObjectUI failed) {
+        ObjectFile source = failed.getUuid() != null ? objectsByUuid.get(failed.getUuid()) : null;
+        return source != null ? source : objectsByName.get(failed.getName());
+    }
+
+    /**
+     * Với mỗi object file, lấy kết quả HEALED có độ tin cậy cao nhất (kết quả AI không có độ tin cậy,
+     * chỉ được chọn khi không có kết quả heuristic),
+     * thêm locator CSS mới lên đầu và lưu fingerprint. Object có locator tham số hóa ({0}) không được vá tự động.
+     */
+    private int writePatchedObjects(List<HealingResult> report) throws IOException {
+        Map<String, HealingResult> best = new LinkedHashMap<>();
+        for (HealingResult result : report) {
+            if (result.getStatus() != HealingResult.Status.HEALED || result.getObjectFile() == null) {
+                continue;
+            }
+            best.merge(result.getObjectFile(), result, (a, b) -> score(b) > score(a) ? b : a);
+        }
+
+        int patched = 0;
+        for (HealingResult result : best.values()) {
+            Path relative = Paths.get(result.getObjectFile());
+            ObjectUI object = MAPPER.readValue(objectDir.resolve(relative).toFile(), ObjectUI.class);
+            boolean parameterized = object.getLocators() != null && object.getLocators().stream()
+                    .anyMatch(locator -> locator.getValue() != null && PLACEHOLDER.matcher(locator.getValue()).find());
+            if (parameterized) {
+                result.setMessage("Object có locator tham số hóa, không vá tự động");
+                continue;
+            }
+
+            Locator healed = new Locator();
+            healed.setStrategy(Locator.Strategy.CSS_SELECTOR);
+            healed.setValue(result.getNewLocator());
+            healed.setActive(true);
+            List<Locator> locators = new ArrayList<>();
+            locators.add(healed);
+            if (object.getLocators() != null) {
+                object.getLocators().stream()
+                        .filter(locator -> !(locator.getStrategy() == Locator.Strategy.CSS_SELECTOR
+                                && result.getNewLocator().equals(locator.getValue())))
+                        .forEach(locators::add);
+            }
+            object.setLocators(locators);
+            if (result.getFingerprint() != null) {
+                object.setFingerprint(result.getFingerprint());
+            }
+
+            File target = outDir.resolve("objects").resolve(relative).toFile();
+            target.getParentFile().mkdirs();
+            Files.write(target.toPath(), object.toJson().getBytes(StandardCharsets.UTF_8));
+            patched++;
+        }
+        return patched;
+    }
+
+    private static double score(HealingResult result) {
+        return result.getConfidence() != null ? result.getConfidence() : 0.0;
+    }
+
+    // === HELPERS ===
+
+    private static Path sidecarOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return snapshot.resolveSibling(name.substring(0, name.length() - ".html".length()) + HTMLSnapshotUtils.OBJECTS_SUFFIX);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Tham số không hợp lệ: " + args[i]);
+            }
+            String key = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(key, args[++i]);
+            } else {
+                options.put(key, "true");
+            }
+        }
+        return options;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static final class ObjectFile {
+        final Path relativePath;
+        final ObjectUI object;
+
+        ObjectFile(Path relativePath, ObjectUI object) {
+            this.relativePath = relativePath;
+            this.object = object;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.vtnet.netat.tools.healing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.vtnet.netat.core.ui.ElementFingerprint;
+
+/**
+ * Kết quả healing của một ObjectUI trên một HTML snapshot
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class HealingResult {
+
+    enum Status {
+        /** Locator cũ vẫn khớp đúng một element trong snapshot: lỗi không phải do locator */
+        STILL_VALID,
+        /** Tìm được locator mới đã kiểm tra trên snapshot */
+        HEALED,
+        /** Có ứng viên nhưng độ tin cậy thấp, cần người xem lại */
+        LOW_CONFIDENCE,
+        NOT_FOUND,
+        /** Object có locator không kiểm tra được trên HTML (mobile, IMAGE), không heal */
+        SKIPPED,
+        ERROR
+    }
+
+    private String snapshot;
+    private String objectName;
+    private String objectUuid;
+    private String objectFile;
+    private String previousLocator;
+    private Status status;
+    private String newLocator;
+    private Double confidence;
+    private String source;
+    private String message;
+    @JsonIgnore
+    private ElementFingerprint fingerprint;
+
+    // Getters và Setters
+    public String getSnapshot() { return snapshot; }
+    public void setSnapshot(String snapshot) { this.snapshot = snapshot; }
+
+    public String getObjectName() { return objectName; }
+    public void setObjectName(String objectName) { this.objectName = objectName; }
+
+    public String getObjectUuid() { return objectUuid; }
+    public void setObjectUuid(String objectUuid) { this.objectUuid = objectUuid; }
+
+    public String getObjectFile() { return objectFile; }
+    public void setObjectFile(String objectFile) { this.objectFile = objectFile; }
+
+    public String getPreviousLocator() { return previousLocator; }
+    public void setPreviousLocator(String previousLocator) { this.previousLocator = previousLocator; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getNewLocator() { return newLocator; }
+    public void setNewLocator(String newLocator) { this.newLocator = newLocator; }
+
+    public Double getConfidence() { return confidence; }
+    public void setConfidence(Double confidence) { this.confidence = confidence; }
+
+    /** HEURISTIC hoặc AI */
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    /** Fingerprint của element đã heal, ghi vào object khi patch */
+    public ElementFingerprint getFingerprint() { return fingerprint; }
+    public void setFingerprint(ElementFingerprint fingerprint) { this.fingerprint = fingerprint; }
+}
@@ -0,0 +1,82 @@
+package com.vtnet.netat.tools.validation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kết quả kiểm tra locator của một ObjectUI trên trang của nó
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class LocatorValidationResult {
+
+    enum Status {
+        /** Locator đầu tiên khớp đúng một element */
+        VALID,
+        /** Locator đầu tiên không khớp, một locator sau khớp đúng một element: nên sắp xếp lại */
+        FALLBACK,
+        /** Locator được dùng (locator đầu tiên có khớp) khớp nhiều element: findElement lấy element đầu tiên */
+        AMBIGUOUS,
+        /** Không locator nào khớp: mỗi lần dùng object sẽ tốn trọn timeout của findElement */
+        BROKEN,
+        /** Không kiểm tra được: trang chưa có URL, locator tham số hóa hoặc locator mobile */
+        SKIPPED,
+        ERROR
+    }
+
+    private String page;
+    private String url;
+    private String objectName;
+    private String objectFile;
+    private Status status;
+    private String message;
+    private List<LocatorCheck> locators = new ArrayList<>();
+
+    // Getters và Setters
+    public String getPage() { return page; }
+    public void setPage(String page) { this.page = page; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getObjectName() { return objectName; }
+    public void setObjectName(String objectName) { this.objectName = objectName; }
+
+    public String getObjectFile() { return objectFile; }
+    public void setObjectFile(String objectFile) { this.objectFile = objectFile; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public List<LocatorCheck> getLocators() { return locators; }
+    public void setLocators(List<LocatorCheck> locators) { this.locators = locators; }
+
+    /**
+     * Kết quả đánh giá một locator đang hoạt động
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class LocatorCheck {
+        private String locator;
+        /** Số element khớp; null nếu locator không được đánh giá */
+        private Integer matches;
+        /** Element khớp đầu tiên có đang hiển thị không */
+        private Boolean visible;
+        private String error;
+
+        public String getLocator() { return locator; }
+        public void setLocator(String locator) { this.locator = locator; }
+
+        public Integer getMatches() { return matches; }
+        public void setMatches(Integer matches) { this.matches = matches; }
+
+        public Boolean getVisible() { return visible; }
+        public void setVisible(Boolean visible) { this.visible = visible; }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -0,0 +1,419 @@
+package com.vtnet.netat.tools.validation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vtnet.netat.core.ui.Locator;
+import com.vtnet.netat.core.ui.ObjectUI;
+import com.vtnet.netat.core.wait.AdaptiveWait;
+import com.vtnet.netat.driver.DriverManager;
+import com.vtnet.netat.tools.validation.LocatorValidationResult.LocatorCheck;
+import com.vtnet.netat.tools.validation.LocatorValidationResult.Status;
+import com.vtnet.netat.web.utils.UiObjectHelper;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Kiểm tra toàn bộ locator của kho object trên ứng dụng thật, trước khi chạy test.
+ *
+ * <p>Object được nạp qua {@link UiObjectHelper} và nhóm theo trang (thư mục chứa file object, ví dụ
+ * {@code LoginPage/email_input} thuộc trang {@code LoginPage}). Mỗi trang chỉ được mở một lần; mọi locator
+ * đang hoạt động của các object trong trang được đánh giá trong một lệnh {@code executeScript} duy nhất
+ * (số element khớp và element đầu tiên có hiển thị không). Các trang được chia cho nhiều session headless
+ * chạy song song.
+ *
+ * <p>Kết quả: {@code <out>/locator-validation.json}, trạng thái theo {@link LocatorValidationResult.Status}.
+ * Locator trong iframe/shadow DOM và locator mobile không đánh giá được theo cách này.
+ *
+ * <pre>
+ * mvn -pl netat-tools exec:java@locator-validation -Dexec.args="--pages locator-pages.json --threads 4"
+ * </pre>
+ *
+ * File {@code --pages} ánh xạ trang tới URL: {@code {"LoginPage": "https://app/login", "Admin/Users": "https://app/admin/users"}};
+ * trang không có URL được báo SKIPPED.
+ * Tham số: {@code --pages <file>}, {@code --out <dir>}, {@code --threads <n>}, {@code --platform <browser>},
+ * {@code --settle <ms>} (chờ thêm sau khi trang sẵn sàng, cho SPA render), {@code --headed}.
+ */
+public class LocatorValidationTool {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\d+}");
+    private static final Duration PAGE_READY_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Set<Locator.Strategy> BROWSER_STRATEGIES = EnumSet.of(
+            Locator.Strategy.ID, Locator.Strategy.NAME, Locator.Strategy.XPATH, Locator.Strategy.CSS_SELECTOR,
+            Locator.Strategy.CLASS_NAME, Locator.Strategy.LINK_TEXT, Locator.Strategy.PARTIAL_LINK_TEXT,
+            Locator.Strategy.TAG_NAME, Locator.Strategy.JQUERY);
+
+    /**
+     * Đánh giá mọi locator trong một lần gọi: với mỗi cặp [strategy, value] trả về số element khớp,
+     * element đầu tiên có hiển thị không, hoặc lỗi (selector sai cú pháp...)
+     */
+    private static final String BATCH_SCRIPT =
+            "var locs=arguments[0],out=[];" +
+            "function arr(l){return Array.prototype.slice.call(l);}" +
+            "function vis(e){if(!e||!e.getBoundingClientRect)return false;var r=e.getBoundingClientRect(),s=window.getComputedStyle(e);" +
+            "return r.width>0&&r.height>0&&s.visibility!=='hidden'&&s.display!=='none'&&parseFloat(s.opacity)>0;}" +
+            "function links(v,p){return arr(document.getElementsByTagName('a')).filter(function(a){" +
+            "var s=(a.innerText||a.textContent||'').trim();return p?s.indexOf(v)>=0:s===v;});}" +
+            "function all(t,v){switch(t){" +
+            "case 'ID':return arr(document.querySelectorAll('[id]')).filter(function(e){return e.id===v;});" +
+            "case 'NAME':return arr(document.querySelectorAll('[name]')).filter(function(e){return e.getAttribute('name')===v;});" +
+            "case 'XPATH':var r=document.evaluate(v,document,null,7,null),n=[];" +
+            "for(var i=0;i<r.snapshotLength;i++){if(r.snapshotItem(i).nodeType===1)n.push(r.snapshotItem(i));}return n;" +
+            "case 'CSS_SELECTOR':return arr(document.querySelectorAll(v));" +
+            "case 'CLASS_NAME':return arr(document.getElementsByClassName(v));" +
+            "case 'LINK_TEXT':return links(v,false);" +
+            "case 'PARTIAL_LINK_TEXT':return links(v,true);" +
+            "case 'TAG_NAME':return arr(document.getElementsByTagName(v));" +
+            "case 'JQUERY':return window.jQuery?window.jQuery.makeArray(window.jQuery(v)):arr(document.querySelectorAll(v));}" +
+            "throw new Error('unsupported strategy '+t);}" +
+            "for(var i=0;i<locs.length;i++){try{var m=all(locs[i][0],locs[i][1]);" +
+            "out.push({count:m.length,visible:m.length>0&&vis(m[0])});}" +
+            "catch(x){out.push({count:0,error:String(x&&x.message||x)});}}" +
+            "return out;";
+
+    private final Path objectDir;
+    private final Path pagesFile;
+    private final Path outDir;
+    private final int threads;
+    private final String platform;
+    private final long settleMillis;
+
+    LocatorValidationTool(Path pagesFile, Path outDir, int threads, String platform, long settleMillis) {
+        this.objectDir = UiObjectHelper.getRepositoryRoot();
+        this.pagesFile = pagesFile;
+        this.outDir = outDir;
+        this.threads = threads;
+        this.platform = platform;
+        this.settleMillis = settleMillis;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        if (!options.containsKey("headed")) {
+            System.setProperty("browser.headless", "true");
+        }
+        LocatorValidationTool tool = new LocatorValidationTool(
+                Paths.get(options.getOrDefault("pages", "locator-pages.json")),
+                Paths.get(options.getOrDefault("out", "locator-validation")),
+                Integer.parseInt(options.getOrDefault("threads", "2")),
+                options.getOrDefault("platform", "chrome"),
+                Long.parseLong(options.getOrDefault("settle", "500")));
+        tool.run();
+    }
+
+    void run() throws Exception {
+        long start = System.currentTimeMillis();
+        Map<String, String> urls = loadPageUrls();
+        Map<String, List<ObjectEntry>> pages = loadObjectRepository();
+
+        ConcurrentLinkedQueue<LocatorValidationResult> results = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<PageWork> queue = new ConcurrentLinkedQueue<>();
+        for (Map.Entry<String, List<ObjectEntry>> page : pages.entrySet()) {
+            String url = urls.get(page.getKey());
+            if (url == null || url.trim().isEmpty()) {
+                for (ObjectEntry entry : page.getValue()) {
+                    results.add(skipped(page.getKey(), null, entry, "Trang chưa có URL trong " + pagesFile));
+                }
+            } else {
+                queue.add(new PageWork(page.getKey(), url.trim(), page.getValue()));
+            }
+        }
+
+        int sessions = queue.isEmpty() ? 0 : Math.max(1, Math.min(threads, queue.size()));
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 1; i <= sessions; i++) {
+            Thread worker = new Thread(() -> runSession(queue, results), "locator-validation-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // Mọi session đều không khởi tạo được
+        for (PageWork work; (work = queue.poll()) != null; ) {
+            for (ObjectEntry entry : work.objects) {
+                results.add(error(work, entry, "Không khởi tạo được session trình duyệt"));
+            }
+        }
+
+        List<LocatorValidationResult> report = new ArrayList<>(results);
+        report.sort(Comparator.comparing(LocatorValidationResult::getPage)
+                .thenComparing(LocatorValidationResult::getObjectFile));
+        Files.createDirectories(outDir);
+        Path reportFile = outDir.resolve("locator-validation.json");
+        MAPPER.writeValue(reportFile.toFile(), report);
+
+        Map<Status, Long> byStatus = report.stream()
+                .collect(Collectors.groupingBy(LocatorValidationResult::getStatus,
+                        () -> new EnumMap<>(Status.class), Collectors.counting()));
+        System.out.println("Đã kiểm tra " + report.size() + " object trên " + pages.size() + " trang với "
+                + sessions + " session");
+        System.out.println("Kết quả: " + byStatus);
+        report.stream()
+                .filter(result -> result.getStatus() == Status.BROKEN || result.getStatus() == Status.AMBIGUOUS)
+                .forEach(result -> System.out.println("  " + result.getStatus() + "  " + result.getObjectFile()));
+        System.out.println("Báo cáo: " + reportFile.toAbsolutePath() + " (" + (System.currentTimeMillis() - start) + "ms)");
+    }
+
+    // === SESSION ===
+
+    private void runSession(ConcurrentLinkedQueue<PageWork> queue, ConcurrentLinkedQueue<LocatorValidationResult> results) {
+        try {
+            DriverManager.initDriver(platform, null);
+        } catch (RuntimeException e) {
+            System.out.println("[" + Thread.currentThread().getName() + "] Không khởi tạo được driver: " + e.getMessage());
+            return;
+        }
+        try {
+            WebDriver driver = DriverManager.getDriver();
+            for (PageWork work; (work = queue.poll()) != null; ) {
+                long pageStart = System.currentTimeMillis();
+                try {
+                    results.addAll(validatePage(driver, work));
+                } catch (RuntimeException e) {
+                    for (ObjectEntry entry : work.objects) {
+                        results.add(error(work, entry, e.toString()));
+                    }
+                }
+                System.out.println("[" + Thread.currentThread().getName() + "] " + work.page + ": "
+                        + work.objects.size() + " object (" + (System.currentTimeMillis() - pageStart) + "ms)");
+            }
+        } finally {
+            DriverManager.quit();
+        }
+    }
+
+    private List<LocatorValidationResult> validatePage(WebDriver driver, PageWork work) {
+        driver.get(work.url);
+        AdaptiveWait.on(driver, PAGE_READY_TIMEOUT)
+                .describedAs("page '" + work.page + "' to be ready")
+                .until(d -> Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(
+                        "return document.readyState==='complete'&&(!window.jQuery||window.jQuery.active===0)")));
+        if (settleMillis > 0) {
+            try {
+                Thread.sleep(settleMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Gom locator đánh giá được của cả trang vào một lệnh script
+        List<List<String>> batch = new ArrayList<>();
+        List<LocatorValidationResult> results = new ArrayList<>();
+        Map<LocatorCheck, Integer> batchIndex = new HashMap<>();
+        for (ObjectEntry entry : work.objects) {
+            LocatorValidationResult result = newResult(work.page, work.url, entry);
+            for (Locator locator : entry.object.getActiveLocators()) {
+                LocatorCheck check = new LocatorCheck();
+                check.setLocator(locator.getStrategy() + "=" + locator.getValue());
+                String reason = notEvaluable(locator);
+                if (reason != null) {
+                    check.setError(reason);
+                } else {
+                    batchIndex.put(check, batch.size());
+                    batch.add(Arrays.asList(locator.getStrategy().name(), locator.getValue()));
+                }
+                result.getLocators().add(check);
+            }
+            results.add(result);
+        }
+
+        List<?> evaluated = batch.isEmpty() ? List.of()
+                : (List<?>) ((JavascriptExecutor) driver).executeScript(BATCH_SCRIPT, batch);
+        for (LocatorValidationResult result : results) {
+            for (LocatorCheck check : result.getLocators()) {
+                Integer index = batchIndex.get(check);
+                if (index == null) {
+                    continue;
+                }
+                Map<?, ?> raw = (Map<?, ?>) evaluated.get(index);
+                check.setMatches(((Number) raw.get("count")).intValue());
+                if (raw.get("error") != null) {
+                    check.setError(String.valueOf(raw.get("error")));
+                } else {
+                    check.setVisible(Boolean.TRUE.equals(raw.get("visible")));
+                }
+            }
+            classify(result);
+        }
+        return results;
+    }
+
+    /**
+     * Trạng thái theo locator mà findElement sẽ dùng: locator đầu tiên (theo thứ tự) có element khớp
+     */
+    static void classify(LocatorValidationResult result) {
+        List<LocatorCheck> checks = result.getLocators();
+        if (checks.isEmpty()) {
+            result.setStatus(Status.SKIPPED);
+            result.setMessage("Object không có locator đang hoạt động");
+            return;
+        }
+        boolean evaluated = false;
+        for (int i = 0; i < checks.size(); i++) {
+            Integer matches = checks.get(i).getMatches();
+            if (matches == null) {
+                continue;
+            }
+            evaluated = true;
+            if (matches > 1) {
+                result.setStatus(Status.AMBIGUOUS);
+                result.setMessage("Locator " + checks.get(i).getLocator() + " khớp " + matches + " element");
+                return;
+            }
+            if (matches == 1) {
+                result.setStatus(i == 0 ? Status.VALID : Status.FALLBACK);
+                if (i > 0) {
+                    result.setMessage("Chỉ locator thứ " + (i + 1) + " khớp: " + checks.get(i).getLocator());
+                }
+                return;
+            }
+        }
+        if (evaluated) {
+            result.setStatus(Status.BROKEN);
+        } else {
+            result.setStatus(Status.SKIPPED);
+            result.setMessage("Không có locator đánh giá được trên trình duyệt");
+        }
+    }
+
+    private static String notEvaluable(Locator locator) {
+        if (locator.getStrategy() == null || locator.getValue() == null || locator.getValue().trim().isEmpty()) {
+            return "Locator thiếu strategy hoặc value";
+        }
+        if (!BROWSER_STRATEGIES.contains(locator.getStrategy())) {
+            return "Strategy " + locator.getStrategy() + " không đánh giá được trên trình duyệt";
+        }
+        if (PLACEHOLDER.matcher(locator.getValue()).find()) {
+            return "Locator tham số hóa";
+        }
+        return null;
+    }
+
+    // === OBJECT REPOSITORY ===
+
+    private Map<String, String> loadPageUrls() throws IOException {
+        if (!Files.isRegularFile(pagesFile)) {
+            System.out.println("Không tìm thấy file trang: " + pagesFile.toAbsolutePath() + " (mọi trang sẽ bị bỏ qua)");
+            return Map.of();
+        }
+        return MAPPER.readValue(pagesFile.toFile(), new TypeReference<Map<String, String>>() {
+        });
+    }
+
+    /**
+     * Nạp mọi object qua {@link UiObjectHelper} (cùng cách test nạp), nhóm theo trang
+     */
+    private Map<String, List<ObjectEntry>> loadObjectRepository() throws IOException {
+        Map<String, List<ObjectEntry>> pages = new TreeMap<>();
+        if (!Files.isDirectory(objectDir)) {
+            System.out.println("Không tìm thấy thư mục object: " + objectDir.toAbsolutePath());
+            return pages;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(objectDir)) {
+            files = walk.filter(path -> path.toString().endsWith(".json")).sorted().collect(Collectors.toList());
+        }
+        int count = 0;
+        for (Path file : files) {
+            Path relative = objectDir.relativize(file);
+            String objectPath = relative.toString().replace('\\', '/');
+            objectPath = objectPath.substring(0, objectPath.length() - ".json".length());
+            String page = relative.getParent() != null ? relative.getParent().toString().replace('\\', '/') : "";
+            try {
+                ObjectUI object = UiObjectHelper.getObject(objectPath);
+                pages.computeIfAbsent(page, key -> new ArrayList<>()).add(new ObjectEntry(objectPath, object));
+                count++;
+            } catch (RuntimeException e) {
+                System.out.println("Bỏ qua file object không hợp lệ: " + file + " - " + e.getMessage());
+            }
+        }
+        System.out.println("Đã nạp " + count + " object (" + pages.size() + " trang) từ " + objectDir.toAbsolutePath());
+        return pages;
+    }
+
+    // === HELPERS ===
+
+    private static LocatorValidationResult newResult(String page, String url, ObjectEntry entry) {
+        LocatorValidationResult result = new LocatorValidationResult();
+        result.setPage(page);
+        result.setUrl(url);
+        result.setObjectName(entry.object.getName());
+        result.setObjectFile(entry.path);
+        return result;
+    }
+
+    private static LocatorValidationResult skipped(String page, String url, ObjectEntry entry, String message) {
+        LocatorValidationResult result = newResult(page, url, entry);
+        result.setStatus(Status.SKIPPED);
+        result.setMessage(message);
+        return result;
+    }
+
+    private static LocatorValidationResult error(PageWork work, ObjectEntry entry, String message) {
+        LocatorValidationResult result = newResult(work.page, work.url, entry);
+        result.setStatus(Status.ERROR);
+        result.setMessage(message);
+        return result;
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Tham số không hợp lệ: " + args[i]);
+            }
+            String key = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(key, args[++i]);
+            } else {
+                options.put(key, "true");
+            }
+        }
+        return options;
+    }
+
+    private static final class ObjectEntry {
+        final String path;
+        final ObjectUI object;
+
+        ObjectEntry(String path, ObjectUI object) {
+            this.path = path;
+            this.object = object;
+        }
+    }
+
+    private static final class PageWork {
+        final String page;
+        final String url;
+        final List<ObjectEntry> objects;
+
+        PageWork(String page, String url, List<ObjectEntry> objects) {
+            this.page = page;
+            this.url = url;
+            this.objects = objects;
+        }
+    }
+}
@@ -1,69 +1,183 @@
 // File: netat-web/src/main/java/com/vtnet/netat/web/ai/AiLocatorCache.java
 package com.vtnet.netat.web.ai;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vtnet.netat.core.utils.JsonFileWriter;
+import com.vtnet.netat.driver.ConfigReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Cache cho AI-generated locators
+ * Cache cho AI-generated locators, key = tên element + fingerprint của DOM.
+ *
+ * <p>Bounded cache dạng segmented LRU (SLRU), chia thành nhiều stripe theo hash của key,
+ * mỗi stripe có lock riêng nên các thread test song song hầu như không tranh chấp.
+ * Trong mỗi stripe:
+ * <ul>
+ *   <li>entry mới vào vùng <i>probation</i>; hit lần nữa thì lên vùng <i>protected</i> (80% dung lượng)</li>
+ *   <li>protected đầy thì entry cũ nhất bị đẩy về probation</li>
+ *   <li>stripe đầy thì bỏ entry cũ nhất của probation</li>
+ * </ul>
+ * Mọi thao tác là O(1); entry dùng một lần không đẩy được locator hay dùng ra khỏi cache.
+ * TTL được kiểm tra lazily khi get với clock cập nhật mỗi giây (không gọi clock mỗi lần get).
+ *
+ * <p>Instance dùng chung ({@link #getShared()}) được lưu xuống file JSON ({@code ai.cache.file})
+ * bởi một thread nền, gộp các put trong vài giây thành một lần ghi (và ghi nốt khi JVM tắt),
+ * nên locator đã heal ở lần chạy trước được dùng lại mà không gọi model.
+ *
+ * <p>Configuration keys:
+ * <ul>
+ *   <li>{@code ai.cache.persistent} - lưu cache xuống đĩa (default: true)</li>
+ *   <li>{@code ai.cache.file} - file cache (default: .netat/ai-locator-cache.json)</li>
+ *   <li>{@code ai.cache.ttl.hours} - thời gian sống của entry (default: 168)</li>
+ *   <li>{@code ai.cache.maxSize} - số entry tối đa (default: 1000)</li>
+ * </ul>
  */
 public class AiLocatorCache {
 
     private static final Logger log = LoggerFactory.getLogger(AiLocatorCache.class);
 
-    private static final Duration CACHE_TTL = Duration.ofHours(24);
-    private static final int MAX_CACHE_SIZE = 1000;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
 
-    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private static final int MAX_STRIPES = 16;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private static volatile AiLocatorCache shared;
+
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Path file;
+    private final JsonFileWriter writer;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
 
     /**
-     * Get locator from cache
+     * Cache chỉ trong bộ nhớ
      */
-    public String get(String elementName, String contextHash) {
-        String key = buildKey(elementName, contextHash);
-        CacheEntry entry = cache.get(key);
+    public AiLocatorCache() {
+        this(null, readDuration(), readInt("ai.cache.maxSize", 1000));
+    }
 
-        if (entry == null) {
-            return null;
-        }
+    /**
+     * @param file file lưu cache (null = chỉ trong bộ nhớ)
+     * @param ttl thời gian sống của entry
+     * @param maxSize số entry tối đa
+     */
+    public AiLocatorCache(Path file, Duration ttl, int maxSize) {
+        this.file = file;
+        this.writer = file != null ? new JsonFileWriter(file, "AI locator cache", this::snapshot) : null;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = Math.max(1, maxSize);
 
-        // Check TTL
-        if (entry.isExpired()) {
-            cache.remove(key);
-            log.debug("Cache expired for key: {}", key);
-            return null;
+        // Số stripe là lũy thừa của 2, mỗi stripe giữ ít nhất 8 entry
+        int stripes = 1;
+        while (stripes < MAX_STRIPES && this.maxSize / (stripes * 2) >= 8) {
+            stripes *= 2;
+        }
+        this.segments = new Segment[stripes];
+        int base = this.maxSize / stripes;
+        int remainder = this.maxSize % stripes;
+        for (int i = 0; i < stripes; i++) {
+            segments[i] = new Segment(base + (i < remainder ? 1 : 0));
         }
+        load();
+    }
 
-        log.debug("Cache HIT for key: {}", key);
-        return entry.locator;
+    /**
+     * Cache dùng chung cho mọi thread và mọi service trong JVM, nạp từ file ở lần gọi đầu
+     */
+    public static AiLocatorCache getShared() {
+        AiLocatorCache instance = shared;
+        if (instance == null) {
+            synchronized (AiLocatorCache.class) {
+                instance = shared;
+                if (instance == null) {
+                    boolean persistent = Boolean.parseBoolean(ConfigReader.getProperty("ai.cache.persistent", "true"));
+                    Path path = persistent
+                            ? Paths.get(ConfigReader.getProperty("ai.cache.file", ".netat/ai-locator-cache.json"))
+                            : null;
+                    instance = new AiLocatorCache(path, readDuration(), readInt("ai.cache.maxSize", 1000));
+                    if (path != null) {
+                        Runtime.getRuntime().addShutdownHook(new Thread(instance::flush, "netat-ai-cache-flush"));
+                    }
+                    shared = instance;
+                }
+            }
+        }
+        return instance;
     }
 
     /**
-     * Put locator into cache
+     * Get locator from cache
      */
-    public void put(String elementName, String contextHash, String locator) {
-        // Check cache size limit
-        if (cache.size() >= MAX_CACHE_SIZE) {
-            evictOldest();
+    public String get(String elementName, String contextHash) {
+        String key = buildKey(elementName, contextHash);
+        String locator = segmentFor(key).get(key, CoarseClock.now());
+        if (locator != null) {
+            hits.increment();
+            log.debug("Cache HIT for key: {}", key);
+        } else {
+            misses.increment();
         }
+        return locator;
+    }
 
+    /**
+     * Put locator into cache (và hẹn ghi file nếu cache persistent)
+     */
+    public void put(String elementName, String contextHash, String locator) {
         String key = buildKey(elementName, contextHash);
-        cache.put(key, new CacheEntry(locator, Instant.now().plus(CACHE_TTL)));
+        segmentFor(key).put(key, new CacheEntry(locator, CoarseClock.now() + ttlMillis));
+        log.debug("Cache PUT for key: {}", key);
+        scheduleFlush();
+    }
 
-        log.debug("Cache PUT for key: {} (size: {})", key, cache.size());
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return thống kê hit/miss/eviction từ lúc tạo cache
+     */
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size(), maxSize);
     }
 
     /**
      * Clear all cache
      */
     public void clear() {
-        cache.clear();
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        scheduleFlush();
         log.info("AI locator cache cleared");
     }
 
@@ -74,25 +188,56 @@ public class AiLocatorCache {
         return elementName + "_" + contextHash;
     }
 
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    // === PERSISTENCE ===
+
+    private void load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            List<Map<String, Object>> entries = objectMapper.readValue(
+                    Files.readAllBytes(file), new TypeReference<List<Map<String, Object>>>() {
+                    });
+            long now = System.currentTimeMillis();
+            for (Map<String, Object> entry : entries) {
+                long expiresAt = ((Number) entry.get("expiresAt")).longValue();
+                if (expiresAt > now) {
+                    String key = (String) entry.get("key");
+                    segmentFor(key).put(key, new CacheEntry((String) entry.get("locator"), expiresAt));
+                }
+            }
+            log.info("Loaded {} AI locator cache entries from {}", size(), file.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot read AI locator cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void scheduleFlush() {
+        if (writer != null) {
+            writer.scheduleFlush();
+        }
+    }
+
     /**
-     * Evict oldest entries
+     * Ghi ngay các thay đổi chưa lưu (thread nền tự ghi sau vài giây, hàm này dùng khi JVM tắt)
      */
-    private void evictOldest() {
-        // Remove expired entries first
-        cache.entrySet().removeIf(e -> e.getValue().isExpired());
-
-        // If still full, remove oldest
-        if (cache.size() >= MAX_CACHE_SIZE) {
-            String oldestKey = cache.entrySet().stream()
-                    .min(Map.Entry.comparingByValue())
-                    .map(Map.Entry::getKey)
-                    .orElse(null);
-
-            if (oldestKey != null) {
-                cache.remove(oldestKey);
-                log.debug("Evicted oldest cache entry: {}", oldestKey);
-            }
+    public void flush() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> entries = new ArrayList<>(size());
+        for (Segment segment : segments) {
+            segment.snapshotInto(entries);
         }
+        return entries;
     }
 
     /**
@@ -101,7 +246,7 @@ public class AiLocatorCache {
     public static String hashContext(String context) {
         try {
             MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] hash = md.digest(context.getBytes());
+            byte[] hash = md.digest(context.getBytes(StandardCharsets.UTF_8));
             StringBuilder hex = new StringBuilder();
             for (byte b : hash) {
                 hex.append(String.format("%02x", b));
@@ -113,25 +258,222 @@ public class AiLocatorCache {
         }
     }
 
+    private static Duration readDuration() {
+        return Duration.ofHours(readInt("ai.cache.ttl.hours", 168));
+    }
+
+    private static int readInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(ConfigReader.getProperty(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Một stripe SLRU: probation + protected, đều là LinkedHashMap theo thứ tự truy cập
+     */
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final int protectedCapacity;
+        private final LinkedHashMap<String, CacheEntry> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<String, CacheEntry> protectedArea = new LinkedHashMap<>(16, 0.75f, true);
+
+        Segment(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.protectedCapacity = Math.max(1, this.capacity * PROTECTED_PERCENT / 100);
+        }
+
+        String get(String key, long now) {
+            lock.lock();
+            try {
+                CacheEntry entry = protectedArea.get(key);
+                if (entry == null) {
+                    entry = probation.get(key);
+                    if (entry == null) {
+                        return null;
+                    }
+                    if (entry.isExpiredAt(now)) {
+                        probation.remove(key);
+                        expirations.increment();
+                        return null;
+                    }
+                    // Hit lần thứ hai: lên protected
+                    probation.remove(key);
+                    protectedArea.put(key, entry);
+                    demoteOverflow();
+                    return entry.locator;
+                }
+                if (entry.isExpiredAt(now)) {
+                    protectedArea.remove(key);
+                    expirations.increment();
+                    return null;
+                }
+                return entry.locator;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(String key, CacheEntry entry) {
+            lock.lock();
+            try {
+                if (protectedArea.containsKey(key)) {
+                    protectedArea.put(key, entry);
+                    return;
+                }
+                probation.put(key, entry);
+                while (probation.size() + protectedArea.size() > capacity) {
+                    Iterator<String> eldest = (probation.isEmpty() ? protectedArea : probation).keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void demoteOverflow() {
+            while (protectedArea.size() > protectedCapacity) {
+                Iterator<Map.Entry<String, CacheEntry>> eldest = protectedArea.entrySet().iterator();
+                Map.Entry<String, CacheEntry> demoted = eldest.next();
+                eldest.remove();
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return probation.size() + protectedArea.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                probation.clear();
+                protectedArea.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Probation trước protected: nạp lại theo thứ tự này giữ entry hay dùng ở cuối
+         */
+        void snapshotInto(List<Map<String, Object>> entries) {
+            lock.lock();
+            try {
+                for (LinkedHashMap<String, CacheEntry> area : List.of(probation, protectedArea)) {
+                    for (Map.Entry<String, CacheEntry> entry : area.entrySet()) {
+                        Map<String, Object> json = new LinkedHashMap<>();
+                        json.put("key", entry.getKey());
+                        json.put("locator", entry.getValue().locator);
+                        json.put("expiresAt", entry.getValue().expiresAt);
+                        entries.add(json);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     /**
      * Cache entry với TTL
      */
-    private static class CacheEntry implements Comparable<CacheEntry> {
+    private static class CacheEntry {
         final String locator;
-        final Instant expiresAt;
+        final long expiresAt;
 
-        CacheEntry(String locator, Instant expiresAt) {
+        CacheEntry(String locator, long expiresAt) {
             this.locator = locator;
             this.expiresAt = expiresAt;
         }
 
-        boolean isExpired() {
-            return Instant.now().isAfter(expiresAt);
+        boolean isExpiredAt(long now) {
+            return now > expiresAt;
+        }
+    }
+
+    /**
+     * Clock độ phân giải 1 giây, cập nhật bởi một daemon thread; đủ cho TTL tính bằng giờ
+     */
+    private static final class CoarseClock {
+        private static volatile long now = System.currentTimeMillis();
+
+        static {
+            ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "netat-ai-cache-clock");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(() -> now = System.currentTimeMillis(), 1, 1, TimeUnit.SECONDS);
+        }
+
+        static long now() {
+            return now;
+        }
+    }
+
+    /**
+     * Thống kê của cache
+     */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long expiredCount;
+        private final int size;
+        private final int maxSize;
+
+        Stats(long hitCount, long missCount, long evictionCount, long expiredCount, int size, int maxSize) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.expiredCount = expiredCount;
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public long getExpiredCount() {
+            return expiredCount;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public double getHitRate() {
+            long total = hitCount + missCount;
+            return total == 0 ? 0.0 : (double) hitCount / total;
         }
 
         @Override
-        public int compareTo(CacheEntry other) {
-            return this.expiresAt.compareTo(other.expiresAt);
+        public String toString() {
+            return String.format("AiLocatorCache{size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, expired=%d}",
+                    size, maxSize, hitCount, missCount, getHitRate() * 100, evictionCount, expiredCount);
         }
     }
-}
\ No newline at end of file
+}
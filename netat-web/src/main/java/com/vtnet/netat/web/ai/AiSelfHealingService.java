@@ -1,24 +1,58 @@
 // File: netat-web/src/main/java/com/vtnet/netat/web/ai/AiSelfHealingService.java
 package com.vtnet.netat.web.ai;
 
+import com.vtnet.netat.core.ui.ElementFingerprint;
 import com.vtnet.netat.driver.ConfigReader;
 import dev.langchain4j.model.chat.ChatModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Self-healing locator bằng AI.
+ *
+ * <p>Pipeline cho mỗi element:
+ * <ol>
+ *   <li>{@link HeuristicLocatorHealer}: so khớp fingerprint đã lưu (hoặc suy ra từ locator cũ) với DOM hiện tại,
+ *       không gọi model; đủ độ tin cậy thì dùng luôn.</li>
+ *   <li>Tra {@link AiLocatorCache} dùng chung (persistent) theo tên element + fingerprint DOM
+ *       (hash của context COMPACT); hit và locator còn tồn tại trong DOM thì không gọi model.</li>
+ *   <li>Gọi model với context COMPACT; chỉ khi thất bại mới leo thang EXPANDED, rồi FULL DOM.
+ *       Các strategy chạy lần lượt (không song song) để mỗi lần heal chỉ tốn số lượt rate limiter
+ *       thực sự cần.</li>
+ * </ol>
+ *
+ * <p>Khi có fingerprint chụp lúc chạy, context COMPACT được dựng quanh các ứng viên giống fingerprint nhất
+ * và gửi kèm mô tả fingerprint, nên đa số lần heal chỉ tốn một lời gọi model với context nhỏ.
+ */
 public class AiSelfHealingService implements IAiSelfHealingService {
 
     private static final Logger log = LoggerFactory.getLogger(AiSelfHealingService.class);
 
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private static final ExecutorService HEALING_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "netat-ai-healing-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final ChatModel aiModel;
     private final AiLocatorCache cache;
     private final RateLimiter rateLimiter;
+    private final HeuristicLocatorHealer heuristicHealer = new HeuristicLocatorHealer();
 
     public AiSelfHealingService() {
         this.aiModel = AiModelFactory.createModel();
-        this.cache = new AiLocatorCache();
+        this.cache = AiLocatorCache.getShared();
         this.rateLimiter = new RateLimiter(10, java.time.Duration.ofMinutes(1));
     }
 
@@ -26,96 +60,189 @@ public class AiSelfHealingService implements IAiSelfHealingService {
     public Optional<String> findNewLocator(String elementName,
                                            String contextHtml,
                                            String previousLocator) {
-        if (!isAvailable()) {
+        return findNewLocator(elementName, contextHtml, previousLocator, null);
+    }
+
+    @Override
+    public Optional<String> findNewLocator(String elementName,
+                                           String contextHtml,
+                                           String previousLocator,
+                                           ElementFingerprint fingerprint) {
+        if (!isEnabled()) {
             log.warn("AI Self-Healing is disabled");
             return Optional.empty();
         }
 
-        // ✅ Try with escalating strategies
-        ContextExtractionStrategy[] strategies = {
-                ContextExtractionStrategy.COMPACT,
-                ContextExtractionStrategy.EXPANDED,
-                ContextExtractionStrategy.FULL
-        };
+        // Parse trang một lần, dùng chung cho mọi strategy và cho validate
+        DomSnapshot page = DomSnapshot.parse(contextHtml);
+
+        // 0. Heuristic cục bộ, không cần model
+        if (HeuristicLocatorHealer.isEnabled()) {
+            ElementFingerprint target = fingerprint != null
+                    ? fingerprint
+                    : HeuristicLocatorHealer.fingerprintFromLocator(previousLocator);
+            Optional<HeuristicLocatorHealer.Match> match = heuristicHealer.healConfidently(page, target);
+            if (match.isPresent()) {
+                log.info("Heuristic healing for '{}': {}", elementName, match.get());
+                return Optional.of(match.get().getLocator());
+            }
+        }
+        if (aiModel == null) {
+            log.warn("No AI model configured, cannot heal '{}'", elementName);
+            return Optional.empty();
+        }
+        String compactContext = compactContext(elementName, page, fingerprint);
+        String contextHash = AiLocatorCache.hashContext(compactContext);
+
+        // 1. Cache: bỏ qua model nếu DOM quanh element không đổi
+        String cached = cache.get(elementName, contextHash);
+        if (cached != null && validateLocatorInHtml(cached, page)) {
+            log.info("Cache HIT for element '{}': {}", elementName, cached);
+            return Optional.of(cached);
+        }
 
-        for (ContextExtractionStrategy strategy : strategies) {
-            log.info("Trying AI self-healing with strategy: {}", strategy);
+        Optional<String> result = askModel(elementName, page, previousLocator, fingerprint, compactContext);
+        if (result.isPresent()) {
+            cache.put(elementName, contextHash, result.get());
+        }
+        return result;
+    }
 
-            Optional<String> result = tryFindWithStrategy(
-                    elementName,
-                    contextHtml,
-                    previousLocator,
-                    strategy
-            );
+    /**
+     * Chỉ tầng model: bỏ qua heuristic và cache, không ghi cache. Dùng cho nơi đã tự chạy heuristic
+     * với ngưỡng riêng (vd tool healing offline), để ứng viên heuristic đã bị loại không quay lại
+     * dưới dạng kết quả của AI.
+     *
+     * @return locator đã kiểm tra tồn tại trong {@code page}, empty nếu AI tắt, không có model hoặc thất bại
+     */
+    public Optional<String> findNewLocatorWithModel(String elementName,
+                                                    DomSnapshot page,
+                                                    String previousLocator,
+                                                    ElementFingerprint fingerprint) {
+        if (!isAvailable()) {
+            log.warn("AI model not available, cannot heal '{}'", elementName);
+            return Optional.empty();
+        }
+        return askModel(elementName, page, previousLocator, fingerprint, compactContext(elementName, page, fingerprint));
+    }
 
-            if (result.isPresent()) {
-                log.info("✅ SUCCESS with strategy: {}", strategy);
-                return result;
+    /**
+     * Context COMPACT: quanh các ứng viên giống fingerprint nhất nếu có fingerprint, không thì theo tên element
+     */
+    private String compactContext(String elementName, DomSnapshot page, ElementFingerprint fingerprint) {
+        if (fingerprint != null && !fingerprint.isEmpty()) {
+            String context = HtmlContextExtractor.extractTargetedContext(
+                    page, fingerprint, ContextExtractionStrategy.COMPACT.getMaxChars());
+            if (!context.isEmpty()) {
+                return HtmlSanitizer.sanitize(context);
+            }
+        }
+        return prepareContext(elementName, page, ContextExtractionStrategy.COMPACT);
+    }
+
+    /**
+     * COMPACT trước, EXPANDED chỉ khi COMPACT thất bại (bỏ qua nếu context trùng COMPACT), cuối cùng FULL DOM
+     */
+    private Optional<String> askModel(String elementName,
+                                      DomSnapshot page,
+                                      String previousLocator,
+                                      ElementFingerprint fingerprint,
+                                      String compactContext) {
+        Optional<String> result = attempt(elementName, page, previousLocator, fingerprint,
+                ContextExtractionStrategy.COMPACT, compactContext);
+        if (!result.isPresent()) {
+            String expandedContext = prepareContext(elementName, page, ContextExtractionStrategy.EXPANDED);
+            if (!expandedContext.equals(compactContext)) {
+                result = attempt(elementName, page, previousLocator, fingerprint,
+                        ContextExtractionStrategy.EXPANDED, expandedContext);
             }
+        }
 
-            log.warn("❌ FAILED with strategy: {}, escalating...", strategy);
+        if (!result.isPresent()) {
+            log.warn("❌ COMPACT/EXPANDED failed for '{}', escalating to FULL", elementName);
+            result = attempt(elementName, page, previousLocator, fingerprint, ContextExtractionStrategy.FULL,
+                    prepareContext(elementName, page, ContextExtractionStrategy.FULL));
         }
 
-        log.error("All strategies failed for element: {}", elementName);
+        if (!result.isPresent()) {
+            log.error("All strategies failed for element: {}", elementName);
+        }
+        return result;
+    }
+
+    /**
+     * Gọi model với một strategy, chờ tối đa timeout của strategy; quá hạn thì hủy request.
+     */
+    private Optional<String> attempt(String elementName,
+                                     DomSnapshot page,
+                                     String previousLocator,
+                                     ElementFingerprint fingerprint,
+                                     ContextExtractionStrategy strategy,
+                                     String context) {
+        log.info("Trying AI self-healing with strategy: {}", strategy);
+        Future<Optional<String>> future = HEALING_EXECUTOR.submit(() ->
+                tryFindWithStrategy(elementName, page, context, previousLocator, fingerprint, strategy));
+        try {
+            return future.get(strategy.getTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("AI self-healing timed out after {}s for strategy {}", strategy.getTimeoutSeconds(), strategy);
+        } catch (ExecutionException e) {
+            log.error("AI self-healing task failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            future.cancel(true);
+        }
         return Optional.empty();
     }
 
+    /**
+     * Context gửi cho model theo strategy (FULL giữ nguyên DOM, còn lại được sanitize)
+     */
+    private String prepareContext(String elementName, DomSnapshot page, ContextExtractionStrategy strategy) {
+        String extractedContext = HtmlContextExtractor.extractContext(page, elementName, strategy);
+        log.debug("Extracted {} chars for strategy {}", extractedContext.length(), strategy);
+        return strategy == ContextExtractionStrategy.FULL
+                ? extractedContext
+                : HtmlSanitizer.sanitize(extractedContext);
+    }
+
     /**
      * ✅ Try to find locator with specific strategy
      */
     private Optional<String> tryFindWithStrategy(String elementName,
-                                                 String fullHtml,
+                                                 DomSnapshot page,
+                                                 String contextToSend,
                                                  String previousLocator,
+                                                 ElementFingerprint fingerprint,
                                                  ContextExtractionStrategy strategy) {
         try {
-            // 1. Extract context based on strategy
-            String extractedContext = HtmlContextExtractor.extractContext(
-                    fullHtml,
-                    elementName,
-                    strategy
-            );
-
-            log.debug("Extracted {} chars for strategy {}",
-                    extractedContext.length(), strategy);
-
-            // 2. Sanitize (only if not FULL - keep full dom as-is for max accuracy)
-            String contextToSend = (strategy == ContextExtractionStrategy.FULL)
-                    ? extractedContext  // Skip sanitization for full DOM
-                    : HtmlSanitizer.sanitize(extractedContext);
-
-            // 3. Check cache
-            String contextHash = AiLocatorCache.hashContext(contextToSend);
-            String cached = cache.get(elementName, contextHash);
-            if (cached != null) {
-                log.info("Cache HIT for strategy: {}", strategy);
-                return Optional.of(cached);
-            }
-
-            // 4. Check rate limit
+            // 1. Check rate limit
             if (!rateLimiter.tryAcquire()) {
                 log.warn("Rate limit exceeded");
                 return Optional.empty();
             }
 
-            // 5. Call AI with timeout based on strategy
+            // 2. Call AI with timeout based on strategy
             String locator = callAiModel(
                     elementName,
                     contextToSend,
                     previousLocator,
+                    fingerprint,
                     strategy.getTimeoutSeconds()
             );
 
-            // 6. Validate locator
+            // 3. Validate locator against original HTML
             if (locator != null && isValidCssSelector(locator)) {
-                // 7. Validate against original HTML
-                if (validateLocatorInHtml(locator, fullHtml)) {
-                    cache.put(elementName, contextHash, locator);
+                if (validateLocatorInHtml(locator, page)) {
+                    log.info("✅ SUCCESS with strategy: {}", strategy);
                     return Optional.of(locator);
                 } else {
                     log.warn("Locator '{}' validation failed against DOM", locator);
                 }
             }
 
+            log.warn("❌ FAILED with strategy: {}", strategy);
             return Optional.empty();
 
         } catch (Exception e) {
@@ -127,10 +254,9 @@ public class AiSelfHealingService implements IAiSelfHealingService {
     /**
      * ✅ Validate locator exists in HTML
      */
-    private boolean validateLocatorInHtml(String cssSelector, String html) {
+    private boolean validateLocatorInHtml(String cssSelector, DomSnapshot page) {
         try {
-            org.jsoup.nodes.Document doc = org.jsoup.Jsoup.parse(html);
-            org.jsoup.select.Elements elements = doc.select(cssSelector);
+            org.jsoup.select.Elements elements = page.select(cssSelector);
 
             boolean found = !elements.isEmpty();
             log.debug("Validation: locator '{}' found {} elements",
@@ -150,8 +276,9 @@ public class AiSelfHealingService implements IAiSelfHealingService {
     private String callAiModel(String elementName,
                                String contextHtml,
                                String previousLocator,
+                               ElementFingerprint fingerprint,
                                int timeoutSeconds) {
-        String prompt = buildPrompt(elementName, contextHtml, previousLocator);
+        String prompt = buildPrompt(elementName, contextHtml, previousLocator, fingerprint);
 
         try {
             // Simple call - no retry for now
@@ -167,11 +294,12 @@ public class AiSelfHealingService implements IAiSelfHealingService {
     /**
      * Build improved prompt
      */
-    private String buildPrompt(String elementName, String html, String previous) {
+    private String buildPrompt(String elementName, String html, String previous, ElementFingerprint fingerprint) {
         System.out.println("AiSelfHealingService.buildPrompt: "+html);
         return "You are a web automation expert. Find the EXACT CSS selector.\n\n" +
                 "ELEMENT: " + elementName + "\n" +
-                "PREVIOUS LOCATOR (FAILED): " + (previous != null ? previous : "none") + "\n\n" +
+                "PREVIOUS LOCATOR (FAILED): " + (previous != null ? previous : "none") + "\n" +
+                (fingerprint != null ? "LAST SEEN AS: " + describeFingerprint(fingerprint) + "\n" : "") + "\n" +
                 "HTML:\n```html\n" + html + "\n```\n\n" +
                 "RULES:\n" +
                 "1. Return ONLY CSS selector that EXISTS in HTML\n" +
@@ -181,6 +309,34 @@ public class AiSelfHealingService implements IAiSelfHealingService {
                 "CSS SELECTOR:";
     }
 
+    /**
+     * Mô tả một dòng của fingerprint cho prompt, chỉ gồm các đặc điểm có giá trị
+     */
+    private static String describeFingerprint(ElementFingerprint fingerprint) {
+        StringBuilder description = new StringBuilder();
+        appendFeature(description, "tag", fingerprint.getTag());
+        appendFeature(description, "id", fingerprint.getId());
+        appendFeature(description, "name", fingerprint.getName());
+        if (!fingerprint.getClasses().isEmpty()) {
+            appendFeature(description, "class", String.join(" ", fingerprint.getClasses()));
+        }
+        appendFeature(description, "text", fingerprint.getText());
+        fingerprint.getAttributes().forEach((key, value) -> appendFeature(description, key, value));
+        if (!fingerprint.getAncestors().isEmpty()) {
+            appendFeature(description, "inside", String.join(" < ", fingerprint.getAncestors()));
+        }
+        if (!fingerprint.getNeighbourText().isEmpty()) {
+            appendFeature(description, "near", String.join(" | ", fingerprint.getNeighbourText()));
+        }
+        return description.toString();
+    }
+
+    private static void appendFeature(StringBuilder description, String key, String value) {
+        if (value != null && !value.isEmpty()) {
+            description.append(description.length() > 0 ? ", " : "").append(key).append("=\"").append(value).append('"');
+        }
+    }
+
     private String extractLocator(String response) {
         java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(
                 "```(?:css)?\\s*(.+?)```",
@@ -206,9 +362,11 @@ public class AiSelfHealingService implements IAiSelfHealingService {
 
     @Override
     public boolean isAvailable() {
-        return Boolean.parseBoolean(
-                ConfigReader.getProperty("ai.self.healing.enabled", "false")
-        ) && aiModel != null;
+        return isEnabled() && aiModel != null;
+    }
+
+    private static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("ai.self.healing.enabled", "false"));
     }
 
     @Override
@@ -216,6 +374,13 @@ public class AiSelfHealingService implements IAiSelfHealingService {
         cache.clear();
     }
 
+    /**
+     * @return thống kê hit/miss/eviction của cache locator dùng chung
+     */
+    public AiLocatorCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
     // RateLimiter inner class (same as before)
     private static class RateLimiter {
         private final int maxCalls;
@@ -0,0 +1,185 @@
+// File: netat-web/src/main/java/com/vtnet/netat/web/ai/DomSnapshot.java
+package com.vtnet.netat.web.ai;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * DOM của trang được parse một lần cho mỗi lần self-healing, dùng chung cho mọi strategy
+ * và cho bước validate locator.
+ *
+ * <p>Lần tra cứu đầu tiên duyệt cây một lượt để dựng index:
+ * <ul>
+ *   <li>token của own text (chữ thường) → element</li>
+ *   <li>giá trị của id, name, class, data-test-id, aria-label (chữ thường) → element</li>
+ *   <li>vùng nội dung chính (main, article, [role=main]) và container (form, .container, .content, #content)</li>
+ * </ul>
+ * Tìm ứng viên chỉ quét từ điển token/giá trị, không duyệt lại cây. Kết quả giữ thứ tự trong tài liệu.
+ */
+public final class DomSnapshot {
+
+    static final String[] INDEXED_ATTRIBUTES = {"id", "name", "class", "data-test-id", "aria-label"};
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final String html;
+    private final Document document;
+
+    private Map<Element, Integer> order;
+    private Map<String, List<Element>> textTokens;
+    private Map<String, Map<String, List<Element>>> attributeValues;
+    private Elements mainAreas;
+    private Elements containerAreas;
+
+    private DomSnapshot(String html, Document document) {
+        this.html = html;
+        this.document = document;
+    }
+
+    public static DomSnapshot parse(String html) {
+        return new DomSnapshot(html, Jsoup.parse(html));
+    }
+
+    public String getHtml() {
+        return html;
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    /**
+     * CSS select trên DOM đã parse. Đồng bộ vì các strategy chạy song song validate trên cùng document.
+     */
+    public synchronized Elements select(String cssQuery) {
+        return document.select(cssQuery);
+    }
+
+    /**
+     * XPath trên DOM đã parse (jsoup chuyển sang W3C DOM để đánh giá)
+     */
+    public synchronized Elements selectXpath(String xpath) {
+        return document.selectXpath(xpath);
+    }
+
+    /**
+     * Element có own text chứa keyword (không phân biệt hoa thường), giống
+     * {@code Document.getElementsContainingOwnText} nhưng tra trên index
+     */
+    public synchronized List<Element> findByOwnText(String keyword) {
+        ensureIndexed();
+        return lookup(textTokens, keyword.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Element có attribute chứa value (không phân biệt hoa thường), giống selector {@code [attr*=value]}
+     */
+    public synchronized List<Element> findByAttributeContaining(String attribute, String value) {
+        ensureIndexed();
+        Map<String, List<Element>> values = attributeValues.get(attribute);
+        if (values == null) {
+            return new ArrayList<>();
+        }
+        return lookup(values, value.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * main, article, [role=main]; không có thì form, .container, .content, #content
+     */
+    public synchronized Elements findMainContentArea() {
+        ensureIndexed();
+        return new Elements(!mainAreas.isEmpty() ? mainAreas : containerAreas);
+    }
+
+    /**
+     * Quét từ điển key theo substring (nhỏ hơn nhiều so với số node của cây)
+     */
+    private List<Element> lookup(Map<String, List<Element>> index, String needle) {
+        if (needle.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Element> found = new LinkedHashSet<>();
+        for (Map.Entry<String, List<Element>> entry : index.entrySet()) {
+            if (entry.getKey().contains(needle)) {
+                found.addAll(entry.getValue());
+            }
+        }
+        List<Element> result = new ArrayList<>(found);
+        result.sort((a, b) -> Integer.compare(order.get(a), order.get(b)));
+        return result;
+    }
+
+    private void ensureIndexed() {
+        if (order != null) {
+            return;
+        }
+        Map<Element, Integer> elementOrder = new IdentityHashMap<>();
+        Map<String, List<Element>> tokens = new LinkedHashMap<>();
+        Map<String, Map<String, List<Element>>> values = new LinkedHashMap<>();
+        for (String attribute : INDEXED_ATTRIBUTES) {
+            values.put(attribute, new LinkedHashMap<>());
+        }
+        Elements main = new Elements();
+        Elements containers = new Elements();
+
+        NodeTraversor.traverse((NodeVisitor) (node, depth) -> {
+            if (!(node instanceof Element)) {
+                return;
+            }
+            Element element = (Element) node;
+            elementOrder.put(element, elementOrder.size());
+
+            String ownText = element.ownText();
+            if (!ownText.isEmpty()) {
+                for (String token : TOKEN_SEPARATOR.split(ownText.toLowerCase(Locale.ROOT))) {
+                    if (!token.isEmpty()) {
+                        addUnique(tokens, token, element);
+                    }
+                }
+            }
+            for (String attribute : INDEXED_ATTRIBUTES) {
+                String value = element.attr(attribute);
+                if (!value.isEmpty()) {
+                    addUnique(values.get(attribute), value.toLowerCase(Locale.ROOT), element);
+                }
+            }
+
+            String tag = element.normalName();
+            if (tag.equals("main") || tag.equals("article") || "main".equals(element.attr("role"))) {
+                main.add(element);
+            }
+            if (tag.equals("form") || element.hasClass("container") || element.hasClass("content")
+                    || "content".equals(element.id())) {
+                containers.add(element);
+            }
+        }, document);
+
+        this.textTokens = tokens;
+        this.attributeValues = values;
+        this.mainAreas = main;
+        this.containerAreas = containers;
+        this.order = elementOrder;
+    }
+
+    private static void addUnique(Map<String, List<Element>> index, String key, Element element) {
+        List<Element> elements = index.computeIfAbsent(key, k -> new ArrayList<>(1));
+        // Element được duyệt theo thứ tự, nên trùng lặp chỉ có thể là phần tử cuối
+        if (elements.isEmpty() || elements.get(elements.size() - 1) != element) {
+            elements.add(element);
+        }
+    }
+}
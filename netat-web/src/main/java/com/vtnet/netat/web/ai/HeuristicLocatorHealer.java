@@ -0,0 +1,871 @@
+// File: netat-web/src/main/java/com/vtnet/netat/web/ai/HeuristicLocatorHealer.java
+package com.vtnet.netat.web.ai;
+
+import com.vtnet.netat.core.ui.ElementFingerprint;
+import com.vtnet.netat.driver.ConfigReader;
+import org.jsoup.nodes.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Healing locator cục bộ, không gọi AI: so khớp {@link ElementFingerprint} của element với mọi element
+ * trong DOM hiện tại theo độ tương đồng có trọng số, rồi sinh CSS selector duy nhất cho element tốt nhất.
+ *
+ * <p>Xử lý được các lỗi thường gặp như id đổi hậu tố số, class bị đổi tên, tag đổi nhưng text giữ nguyên.
+ * Fingerprint chụp lúc chạy ({@link com.vtnet.netat.core.ui.FingerprintStore}) còn có tổ tiên và text lân cận,
+ * dùng để phân biệt các ứng viên giống nhau (ví dụ nhiều nút "Lưu" ở các form khác nhau).
+ * Chạy hoàn toàn offline (chỉ cần HTML), nên dùng được với HTML snapshot đã lưu.
+ *
+ * <p>Configuration keys:
+ * <ul>
+ *   <li>{@code ai.heuristic.enabled} - bật tầng heuristic khi {@code ai.self.healing.enabled} bật (default: true)</li>
+ *   <li>{@code ai.heuristic.minConfidence} - độ tin cậy tối thiểu để dùng kết quả mà không gọi AI (default: 0.7)</li>
+ * </ul>
+ */
+public class HeuristicLocatorHealer {
+
+    private static final Logger log = LoggerFactory.getLogger(HeuristicLocatorHealer.class);
+
+    // Trọng số từng đặc điểm; chỉ đặc điểm có trong fingerprint mới được tính vào mẫu số
+    private static final double WEIGHT_TAG = 0.10;
+    private static final double WEIGHT_ID = 0.25;
+    private static final double WEIGHT_NAME = 0.15;
+    private static final double WEIGHT_CLASS = 0.15;
+    private static final double WEIGHT_TEXT = 0.20;
+    private static final double WEIGHT_ATTRIBUTES = 0.10;
+    private static final double WEIGHT_PATH = 0.05;
+    private static final double WEIGHT_ANCESTORS = 0.05;
+    private static final double WEIGHT_NEIGHBOURS = 0.10;
+
+    /**
+     * Tổ tiên và text lân cận chỉ được chấm cho element đã đạt mức này trên các đặc điểm còn lại,
+     * vì chúng tốn hơn và chỉ dùng để phân định giữa các ứng viên sát nhau
+     */
+    private static final double CONTEXT_MIN_SCORE = 0.3;
+
+    private static final int MAX_ANCESTORS = 3;
+    private static final int MAX_NEIGHBOUR_TEXT = 80;
+
+    /**
+     * Hai ứng viên cách nhau ít hơn mức này bị coi là mơ hồ: độ tin cậy giảm tỉ lệ theo khoảng cách,
+     * hai ứng viên ngang điểm cho độ tin cậy 0 để AI (hoặc người) quyết định
+     */
+    private static final double AMBIGUITY_MARGIN = 0.10;
+
+    /** Attribute được ghi vào fingerprint và dùng để so khớp */
+    static final List<String> STABLE_ATTRIBUTES = Arrays.asList(
+            "type", "placeholder", "aria-label", "title", "role", "href", "alt", "for", "value",
+            "data-test-id", "data-testid", "data-test", "data-qa", "data-cy");
+
+    /** Attribute ưu tiên khi sinh selector, theo thứ tự */
+    private static final List<String> SELECTOR_ATTRIBUTES = Arrays.asList(
+            "data-test-id", "data-testid", "data-test", "data-qa", "data-cy", "name", "aria-label",
+            "placeholder", "title", "alt", "for", "href");
+
+    private static final Set<String> SKIPPED_TAGS = new HashSet<>(Arrays.asList(
+            "html", "head", "body", "script", "style", "noscript", "template", "meta", "link", "title", "br"));
+
+    private static final Pattern CSS_IDENTIFIER = Pattern.compile("-?[A-Za-z_][A-Za-z0-9_-]*");
+    private static final Pattern DYNAMIC_VALUE = Pattern.compile(".*(\\d{3,}|[0-9a-f]{8,}|[-_:][0-9a-f]{4,}$).*");
+
+    private static final Pattern LOCATOR_PREFIX = Pattern.compile("^([A-Za-z_]+)\\s*[=:]\\s*(.+)$", Pattern.DOTALL);
+    private static final Pattern CSS_SIMPLE = Pattern.compile(
+            "^([a-zA-Z][\\w-]*)?(?:#([\\w-]+))?((?:\\.[\\w-]+)*)((?:\\[[^\\]]+\\])*)$");
+    private static final Pattern CSS_ATTRIBUTE = Pattern.compile("\\[\\s*([\\w-]+)\\s*[*^$~|]?=\\s*['\"]?([^'\"\\]]*)['\"]?\\s*\\]");
+    private static final Pattern XPATH_TAG = Pattern.compile("//([a-zA-Z][\\w-]*)(?=[\\[/]|$)");
+    private static final Pattern XPATH_ATTRIBUTE = Pattern.compile("@([\\w-]+)\\s*,?\\s*=?\\s*['\"]([^'\"]+)['\"]");
+    private static final Pattern XPATH_TEXT = Pattern.compile("(?:text\\(\\)|\\.)\\s*(?:=\\s*|,\\s*)['\"]([^'\"]+)['\"]");
+
+    private final double minConfidence;
+
+    public HeuristicLocatorHealer() {
+        this(readMinConfidence());
+    }
+
+    public HeuristicLocatorHealer(double minConfidence) {
+        this.minConfidence = minConfidence;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("ai.heuristic.enabled", "true"));
+    }
+
+    public double getMinConfidence() {
+        return minConfidence;
+    }
+
+    /**
+     * Tìm element giống fingerprint nhất trong HTML
+     *
+     * @return ứng viên tốt nhất (kể cả khi độ tin cậy thấp), empty nếu không có ứng viên nào
+     */
+    public Optional<Match> heal(String html, ElementFingerprint fingerprint) {
+        return heal(DomSnapshot.parse(html), fingerprint);
+    }
+
+    /**
+     * Tìm element giống fingerprint nhất trong DOM đã parse
+     *
+     * @return ứng viên tốt nhất (kể cả khi độ tin cậy thấp), empty nếu không có ứng viên nào
+     */
+    public Optional<Match> heal(DomSnapshot page, ElementFingerprint fingerprint) {
+        if (fingerprint == null || fingerprint.isEmpty()) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        List<Scored> ranked = rank(page, new Target(fingerprint, page), 2);
+        if (ranked.isEmpty()) {
+            return Optional.empty();
+        }
+        Element best = ranked.get(0).element;
+        double bestScore = ranked.get(0).score;
+        double secondScore = ranked.size() > 1 ? ranked.get(1).score : 0;
+
+        double confidence = confidence(bestScore, secondScore);
+        String locator = buildLocator(page, best);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.debug("Heuristic match '{}' score={} second={} confidence={} in {}ms",
+                locator, bestScore, secondScore, confidence, elapsedMs);
+        return locator == null ? Optional.empty() : Optional.of(new Match(locator, confidence, best));
+    }
+
+    /**
+     * Độ tin cậy của ứng viên tốt nhất: điểm của nó, nhân với khoảng cách tới ứng viên thứ hai
+     * chia cho {@link #AMBIGUITY_MARGIN} (tối đa 1). Cách nhau từ margin trở lên thì giữ nguyên điểm,
+     * ngang điểm thì bằng 0.
+     */
+    static double confidence(double bestScore, double secondScore) {
+        return bestScore * Math.min(1.0, (bestScore - secondScore) / AMBIGUITY_MARGIN);
+    }
+
+    /**
+     * Như {@link #heal(DomSnapshot, ElementFingerprint)} nhưng chỉ trả kết quả đạt {@code minConfidence}
+     */
+    public Optional<Match> healConfidently(DomSnapshot page, ElementFingerprint fingerprint) {
+        Optional<Match> match = heal(page, fingerprint);
+        if (match.isPresent() && match.get().getConfidence() < minConfidence) {
+            log.info("Heuristic candidate '{}' below confidence threshold ({} < {})",
+                    match.get().getLocator(), String.format("%.2f", match.get().getConfidence()), minConfidence);
+            return Optional.empty();
+        }
+        return match;
+    }
+
+    /**
+     * Các element giống fingerprint nhất, điểm giảm dần. Dùng để dựng context COMPACT có mục tiêu cho AI
+     * khi heuristic không đủ tin cậy.
+     */
+    public List<Element> candidates(DomSnapshot page, ElementFingerprint fingerprint, int limit) {
+        List<Element> elements = new ArrayList<>();
+        if (fingerprint == null || fingerprint.isEmpty() || limit <= 0) {
+            return elements;
+        }
+        for (Scored scored : rank(page, new Target(fingerprint, page), limit)) {
+            elements.add(scored.element);
+        }
+        return elements;
+    }
+
+    /**
+     * Top {@code limit} element có điểm > 0, giữ bằng chèn vào mảng nhỏ đã sắp xếp
+     */
+    private static List<Scored> rank(DomSnapshot page, Target target, int limit) {
+        List<Scored> top = new ArrayList<>(limit + 1);
+        for (Element element : page.getDocument().getAllElements()) {
+            if (SKIPPED_TAGS.contains(element.normalName())) {
+                continue;
+            }
+            double score = target.score(element);
+            if (score <= 0 || (top.size() == limit && score <= top.get(limit - 1).score)) {
+                continue;
+            }
+            int index = top.size();
+            while (index > 0 && top.get(index - 1).score < score) {
+                index--;
+            }
+            top.add(index, new Scored(element, score));
+            if (top.size() > limit) {
+                top.remove(limit);
+            }
+        }
+        return top;
+    }
+
+    private static final class Scored {
+        private final Element element;
+        private final double score;
+
+        Scored(Element element, double score) {
+            this.element = element;
+            this.score = score;
+        }
+    }
+
+    // === FINGERPRINT ===
+
+    /**
+     * Chụp fingerprint của một element trong DOM đã parse (HTML snapshot, page source)
+     */
+    public static ElementFingerprint fingerprintOf(Element element) {
+        ElementFingerprint fingerprint = new ElementFingerprint();
+        fingerprint.setTag(element.normalName());
+        fingerprint.setId(emptyToNull(element.id()));
+        fingerprint.setName(emptyToNull(element.attr("name")));
+        fingerprint.setClasses(new ArrayList<>(element.classNames()));
+        fingerprint.setText(emptyToNull(element.text().trim()));
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (String attribute : STABLE_ATTRIBUTES) {
+            if (element.hasAttr(attribute)) {
+                attributes.put(attribute, element.attr(attribute));
+            }
+        }
+        fingerprint.setAttributes(attributes);
+        fingerprint.setDomPath(domPath(element));
+        List<String> ancestors = new ArrayList<>();
+        for (Element parent = element.parent(); parent != null && ancestors.size() < MAX_ANCESTORS
+                && !parent.normalName().equals("body") && !parent.normalName().equals("html")
+                && !parent.normalName().equals("#root"); parent = parent.parent()) {
+            ancestors.add(describe(parent));
+        }
+        fingerprint.setAncestors(ancestors);
+        fingerprint.setNeighbourText(neighbourTexts(element, labelFor(element)));
+        return fingerprint;
+    }
+
+    /**
+     * Mô tả ngắn của một tổ tiên, cùng định dạng với fingerprint chụp từ trình duyệt: {@code tag#id.c1.c2.c3}
+     */
+    private static String describe(Element element) {
+        StringBuilder descriptor = new StringBuilder(element.normalName());
+        if (!element.id().isEmpty()) {
+            descriptor.append('#').append(element.id());
+        }
+        int count = 0;
+        for (String className : element.classNames()) {
+            if (count++ == 3) {
+                break;
+            }
+            descriptor.append('.').append(className);
+        }
+        return descriptor.toString();
+    }
+
+    private static String labelFor(Element element) {
+        if (element.id().isEmpty() || element.ownerDocument() == null) {
+            return null;
+        }
+        for (Element label : element.ownerDocument().getElementsByTag("label")) {
+            if (element.id().equals(label.attr("for"))) {
+                return label.text();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Text của label và element anh em ngay trước/sau, bỏ text dài, tối đa 3 giá trị
+     */
+    private static List<String> neighbourTexts(Element element, String label) {
+        List<String> texts = new ArrayList<>(3);
+        if (label == null) {
+            for (Element parent = element.parent(); parent != null && label == null; parent = parent.parent()) {
+                if (parent.normalName().equals("label")) {
+                    label = parent.text();
+                }
+                if (parent.normalName().equals("form") || parent.normalName().equals("body")) {
+                    break;
+                }
+            }
+        }
+        addNeighbour(texts, label);
+        addNeighbour(texts, element.previousElementSibling() != null ? element.previousElementSibling().text() : null);
+        addNeighbour(texts, element.nextElementSibling() != null ? element.nextElementSibling().text() : null);
+        return texts;
+    }
+
+    private static void addNeighbour(List<String> texts, String text) {
+        if (text == null) {
+            return;
+        }
+        String trimmed = text.trim();
+        if (!trimmed.isEmpty() && trimmed.length() <= MAX_NEIGHBOUR_TEXT && texts.size() < 3 && !texts.contains(trimmed)) {
+            texts.add(trimmed);
+        }
+    }
+
+    /**
+     * Suy ra fingerprint tối thiểu từ locator cũ, dạng {@code STRATEGY=value} (ID, NAME, CLASS_NAME,
+     * TAG_NAME, LINK_TEXT, CSS_SELECTOR, XPATH) hoặc CSS selector đơn giản.
+     *
+     * @return fingerprint, hoặc null nếu locator không chứa thông tin dùng được
+     */
+    public static ElementFingerprint fingerprintFromLocator(String previousLocator) {
+        if (previousLocator == null || previousLocator.trim().isEmpty()) {
+            return null;
+        }
+        String strategy = "CSS_SELECTOR";
+        String value = previousLocator.trim();
+        Matcher prefix = LOCATOR_PREFIX.matcher(value);
+        if (prefix.matches()) {
+            strategy = prefix.group(1).toUpperCase(Locale.ROOT);
+            value = prefix.group(2).trim();
+        } else if (value.startsWith("/") || value.startsWith("(")) {
+            strategy = "XPATH";
+        }
+
+        ElementFingerprint fingerprint = new ElementFingerprint();
+        switch (strategy) {
+            case "ID":
+                fingerprint.setId(value);
+                break;
+            case "NAME":
+                fingerprint.setName(value);
+                break;
+            case "CLASS_NAME":
+                fingerprint.setClasses(new ArrayList<>(Arrays.asList(value.split("\\s+"))));
+                break;
+            case "TAG_NAME":
+                fingerprint.setTag(value.toLowerCase(Locale.ROOT));
+                break;
+            case "LINK_TEXT":
+            case "PARTIAL_LINK_TEXT":
+                fingerprint.setTag("a");
+                fingerprint.setText(value);
+                break;
+            case "XPATH":
+                parseXpath(value, fingerprint);
+                break;
+            case "CSS_SELECTOR":
+            case "CSS":
+                parseCss(value, fingerprint);
+                break;
+            default:
+                return null;
+        }
+        return fingerprint.isEmpty() ? null : fingerprint;
+    }
+
+    private static void parseCss(String css, ElementFingerprint fingerprint) {
+        // Chỉ lấy phần tử cuối của selector phức hợp (sau khoảng trắng, >, +, ~)
+        String[] parts = css.trim().split("\\s*[>+~\\s]\\s*(?![^\\[]*\\])");
+        Matcher matcher = CSS_SIMPLE.matcher(parts[parts.length - 1]);
+        if (!matcher.matches()) {
+            return;
+        }
+        if (matcher.group(1) != null) {
+            fingerprint.setTag(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        if (matcher.group(2) != null) {
+            fingerprint.setId(matcher.group(2));
+        }
+        if (!matcher.group(3).isEmpty()) {
+            fingerprint.setClasses(new ArrayList<>(Arrays.asList(matcher.group(3).substring(1).split("\\."))));
+        }
+        Matcher attribute = CSS_ATTRIBUTE.matcher(matcher.group(4));
+        while (attribute.find()) {
+            putAttribute(fingerprint, attribute.group(1), attribute.group(2));
+        }
+    }
+
+    private static void parseXpath(String xpath, ElementFingerprint fingerprint) {
+        Matcher tag = XPATH_TAG.matcher(xpath);
+        String lastTag = null;
+        while (tag.find()) {
+            lastTag = tag.group(1);
+        }
+        if (lastTag != null) {
+            fingerprint.setTag(lastTag.toLowerCase(Locale.ROOT));
+        }
+        Matcher attribute = XPATH_ATTRIBUTE.matcher(xpath);
+        while (attribute.find()) {
+            putAttribute(fingerprint, attribute.group(1), attribute.group(2));
+        }
+        Matcher text = XPATH_TEXT.matcher(xpath);
+        if (text.find()) {
+            fingerprint.setText(text.group(1));
+        }
+    }
+
+    private static void putAttribute(ElementFingerprint fingerprint, String attribute, String value) {
+        switch (attribute) {
+            case "id":
+                fingerprint.setId(value);
+                break;
+            case "name":
+                fingerprint.setName(value);
+                break;
+            case "class":
+                fingerprint.setClasses(new ArrayList<>(Arrays.asList(value.trim().split("\\s+"))));
+                break;
+            default:
+                fingerprint.getAttributes().put(attribute, value);
+        }
+    }
+
+    // === LOCATOR ===
+
+    /**
+     * CSS selector duy nhất cho element: attribute test ổn định, id không động, name/aria-label...,
+     * tag + class, cuối cùng là đường dẫn nth-child do jsoup sinh
+     */
+    static String buildLocator(DomSnapshot page, Element element) {
+        String tag = element.normalName();
+        List<String> candidates = new ArrayList<>();
+
+        String id = element.id();
+        boolean stableId = !id.isEmpty() && !DYNAMIC_VALUE.matcher(id).matches();
+        for (String attribute : SELECTOR_ATTRIBUTES) {
+            if (attribute.equals("name") && stableId) {
+                candidates.add(idSelector(id));
+            }
+            String value = element.attr(attribute);
+            if (!value.isEmpty() && !(attribute.equals("href") && value.length() > 100)) {
+                candidates.add(tag + "[" + attribute + "=\"" + escape(value) + "\"]");
+            }
+        }
+        if (stableId && !candidates.contains(idSelector(id))) {
+            candidates.add(idSelector(id));
+        }
+        StringBuilder classes = new StringBuilder(tag);
+        for (String className : element.classNames()) {
+            if (CSS_IDENTIFIER.matcher(className).matches() && !DYNAMIC_VALUE.matcher(className).matches()) {
+                classes.append('.').append(className);
+                candidates.add(classes.toString());
+            }
+        }
+        if (!id.isEmpty() && !stableId) {
+            candidates.add(idSelector(id));
+        }
+
+        for (String candidate : candidates) {
+            try {
+                if (page.select(candidate).size() == 1) {
+                    return candidate;
+                }
+            } catch (RuntimeException e) {
+                log.debug("Skip invalid selector candidate {}", candidate);
+            }
+        }
+        return element.cssSelector();
+    }
+
+    private static String idSelector(String id) {
+        return CSS_IDENTIFIER.matcher(id).matches() ? "#" + id : "[id=\"" + escape(id) + "\"]";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    // === SCORING ===
+
+    /**
+     * Fingerprint đã chuẩn hóa sẵn để chấm điểm nhanh từng element
+     */
+    private static final class Target {
+        private final String tag;
+        private final String id;
+        private final String name;
+        private final Set<String> classes;
+        private final String text;
+        private final Map<String, String> attributes;
+        private final String[] path;
+        private final List<String> ancestors;
+        private final List<String> neighbourText = new ArrayList<>();
+        private final double baseWeight;
+        private final double totalWeight;
+        private final Map<String, Set<String>> expectedTokens = new HashMap<>();
+        private final Map<String, String> labels;
+
+        Target(ElementFingerprint fingerprint, DomSnapshot page) {
+            this.tag = lower(fingerprint.getTag());
+            this.id = emptyToNull(fingerprint.getId());
+            this.name = emptyToNull(fingerprint.getName());
+            this.classes = new HashSet<>(fingerprint.getClasses());
+            this.text = normalizeText(fingerprint.getText());
+            this.attributes = fingerprint.getAttributes();
+            this.path = fingerprint.getDomPath() != null ? fingerprint.getDomPath().split("\\s*>\\s*") : null;
+
+            double weight = 0;
+            weight += tag != null ? WEIGHT_TAG : 0;
+            weight += id != null ? WEIGHT_ID : 0;
+            weight += name != null ? WEIGHT_NAME : 0;
+            weight += !classes.isEmpty() ? WEIGHT_CLASS : 0;
+            weight += text != null ? WEIGHT_TEXT : 0;
+            weight += !attributes.isEmpty() ? WEIGHT_ATTRIBUTES : 0;
+            weight += path != null ? WEIGHT_PATH : 0;
+            this.baseWeight = weight;
+
+            this.ancestors = fingerprint.getAncestors();
+            for (String neighbour : fingerprint.getNeighbourText()) {
+                String normalized = normalizeText(neighbour);
+                if (normalized != null) {
+                    neighbourText.add(normalized);
+                }
+            }
+            weight += !ancestors.isEmpty() ? WEIGHT_ANCESTORS : 0;
+            weight += !neighbourText.isEmpty() ? WEIGHT_NEIGHBOURS : 0;
+            this.totalWeight = weight;
+
+            // label[for] -> text, chỉ khi fingerprint có text lân cận
+            this.labels = new HashMap<>();
+            if (!neighbourText.isEmpty()) {
+                for (Element label : page.getDocument().getElementsByTag("label")) {
+                    String target = label.attr("for");
+                    if (!target.isEmpty()) {
+                        labels.putIfAbsent(target, label.text());
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return điểm trong khoảng 0..1
+         */
+        double score(Element element) {
+            double score = 0;
+            if (tag != null && tag.equals(element.normalName())) {
+                score += WEIGHT_TAG;
+            }
+            if (id != null) {
+                score += WEIGHT_ID * similarity(id, tokensOf(id), element.id());
+            }
+            if (name != null) {
+                score += WEIGHT_NAME * similarity(name, tokensOf(name), element.attr("name"));
+            }
+            if (!classes.isEmpty()) {
+                score += WEIGHT_CLASS * classSimilarity(element.classNames());
+            }
+            if (text != null) {
+                score += WEIGHT_TEXT * textSimilarity(element);
+            }
+            if (!attributes.isEmpty()) {
+                score += WEIGHT_ATTRIBUTES * attributeSimilarity(element);
+            }
+            if (path != null) {
+                score += WEIGHT_PATH * pathSimilarity(element);
+            }
+            if (totalWeight > baseWeight && (baseWeight == 0 || score / baseWeight >= CONTEXT_MIN_SCORE)) {
+                if (!ancestors.isEmpty()) {
+                    score += WEIGHT_ANCESTORS * ancestorSimilarity(element);
+                }
+                if (!neighbourText.isEmpty()) {
+                    score += WEIGHT_NEIGHBOURS * neighbourSimilarity(element);
+                }
+            }
+            return totalWeight == 0 ? 0 : score / totalWeight;
+        }
+
+        private double ancestorSimilarity(Element element) {
+            double total = 0;
+            Element parent = element.parent();
+            for (String expected : ancestors) {
+                if (parent == null || parent.normalName().equals("body") || parent.normalName().equals("#root")) {
+                    break;
+                }
+                total += similarity(expected, tokensOf(expected), describe(parent));
+                parent = parent.parent();
+            }
+            return total / ancestors.size();
+        }
+
+        private double neighbourSimilarity(Element element) {
+            List<String> actual = neighbourTexts(element, element.id().isEmpty() ? null : labels.get(element.id()));
+            if (actual.isEmpty()) {
+                return 0;
+            }
+            double total = 0;
+            for (String expected : neighbourText) {
+                double best = 0;
+                for (String candidate : actual) {
+                    String normalized = normalizeText(candidate);
+                    if (normalized == null) {
+                        continue;
+                    }
+                    best = Math.max(best, normalized.equals(expected)
+                            ? 1 : tokenSimilarity(tokensOf(expected), normalized, normalized));
+                }
+                total += best;
+            }
+            return total / neighbourText.size();
+        }
+
+        private double classSimilarity(Set<String> actual) {
+            if (actual.isEmpty()) {
+                return 0;
+            }
+            int exact = 0;
+            double partial = 0;
+            for (String expected : classes) {
+                if (actual.contains(expected)) {
+                    exact++;
+                } else {
+                    double best = 0;
+                    for (String candidate : actual) {
+                        best = Math.max(best, similarity(expected, tokensOf(expected), candidate));
+                    }
+                    partial += best * 0.8;
+                }
+            }
+            int union = classes.size() + actual.size() - exact;
+            return (exact + partial) / union;
+        }
+
+        private double textSimilarity(Element element) {
+            // Own text trước (rẻ); chỉ lấy text của cả cây con cho element lá/ít con
+            String actual = normalizeText(element.ownText());
+            if (actual == null && element.childrenSize() <= 3) {
+                actual = normalizeText(element.text());
+            }
+            if (actual == null) {
+                return 0;
+            }
+            if (actual.equals(text)) {
+                return 1;
+            }
+            return tokenSimilarity(tokensOf(text), actual, actual);
+        }
+
+        private double attributeSimilarity(Element element) {
+            double total = 0;
+            for (Map.Entry<String, String> expected : attributes.entrySet()) {
+                String actual = element.attr(expected.getKey());
+                if (!actual.isEmpty()) {
+                    total += similarity(expected.getValue(), tokensOf(expected.getValue()), actual);
+                }
+            }
+            return total / attributes.size();
+        }
+
+        private Set<String> tokensOf(String expected) {
+            return expectedTokens.computeIfAbsent(expected, HeuristicLocatorHealer::tokens);
+        }
+
+        private double pathSimilarity(Element element) {
+            // So sánh phần đuôi của đường dẫn tag, tính từ element lên
+            int matched = 0;
+            int index = path.length - 1;
+            Element current = element;
+            while (current != null && index >= 0 && path[index].equals(current.normalName())) {
+                matched++;
+                index--;
+                current = current.parent();
+            }
+            return (double) matched / path.length;
+        }
+    }
+
+    /**
+     * 1 nếu bằng nhau; 0.9 nếu chỉ khác phần số/hash (id tự sinh); còn lại theo token và tiền tố chung
+     */
+    static double similarity(String expected, String actual) {
+        return similarity(expected, tokens(expected), actual);
+    }
+
+    private static double similarity(String expected, Set<String> expectedTokens, String actual) {
+        if (actual == null || actual.isEmpty()) {
+            return 0;
+        }
+        if (expected.equals(actual)) {
+            return 1;
+        }
+        if (expected.equalsIgnoreCase(actual)) {
+            return 0.95;
+        }
+        String a = expected.toLowerCase(Locale.ROOT);
+        String b = actual.toLowerCase(Locale.ROOT);
+        int prefix = 0;
+        int max = Math.min(a.length(), b.length());
+        while (prefix < max && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix == 0 && Character.isLetter(a.charAt(0)) && Character.isLetter(b.charAt(0))) {
+            // Khác ngay chữ cái đầu: chỉ còn khả năng trùng token
+            return tokenSimilarity(expectedTokens, b, actual) * 0.8;
+        }
+        if (sameLetters(a, b)) {
+            return 0.9;
+        }
+        double prefixScore = prefix >= 3 ? (double) prefix / Math.max(a.length(), b.length()) : 0;
+        return Math.max(prefixScore, tokenSimilarity(expectedTokens, b, actual) * 0.8);
+    }
+
+    /**
+     * Bằng nhau sau khi bỏ mọi ký tự không phải chữ cái (phần số/dấu của id tự sinh)
+     */
+    private static boolean sameLetters(String a, String b) {
+        int i = 0;
+        int j = 0;
+        boolean any = false;
+        while (true) {
+            while (i < a.length() && !isLetter(a.charAt(i))) {
+                i++;
+            }
+            while (j < b.length() && !isLetter(b.charAt(j))) {
+                j++;
+            }
+            if (i == a.length() || j == b.length()) {
+                return any && i == a.length() && j == b.length();
+            }
+            if (a.charAt(i++) != b.charAt(j++)) {
+                return false;
+            }
+            any = true;
+        }
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    /**
+     * Jaccard trên token. Không tách token khi không token nào của expected xuất hiện trong
+     * {@code lowerActual} (trường hợp phổ biến nhất khi quét cả DOM).
+     */
+    private static double tokenSimilarity(Set<String> tokensA, String lowerActual, String actual) {
+        boolean candidate = false;
+        for (String token : tokensA) {
+            if (lowerActual.contains(token)) {
+                candidate = true;
+                break;
+            }
+        }
+        if (!candidate) {
+            return 0;
+        }
+        Set<String> tokensB = tokens(actual);
+        if (tokensB.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (String token : tokensA) {
+            if (tokensB.contains(token)) {
+                common++;
+            }
+        }
+        return (double) common / (tokensA.size() + tokensB.size() - common);
+    }
+
+    /**
+     * Tách theo ký tự không phải chữ/số và theo camelCase, trả về token chữ thường
+     */
+    private static Set<String> tokens(String value) {
+        Set<String> tokens = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= value.length(); i++) {
+            char c = i < value.length() ? value.charAt(i) : ' ';
+            boolean wordChar = Character.isLetterOrDigit(c);
+            boolean camelBoundary = wordChar && start >= 0 && Character.isUpperCase(c)
+                    && Character.isLowerCase(value.charAt(i - 1));
+            if (start >= 0 && (!wordChar || camelBoundary)) {
+                tokens.add(value.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+            if (wordChar && start < 0) {
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    private static String domPath(Element element) {
+        List<String> tags = new ArrayList<>();
+        for (Element current = element; current != null && !current.normalName().equals("#root"); current = current.parent()) {
+            tags.add(0, current.normalName());
+        }
+        return String.join(" > ", tags);
+    }
+
+    /**
+     * Chữ thường, gộp khoảng trắng; null nếu rỗng hoặc quá dài để là text của một element
+     */
+    private static String normalizeText(String text) {
+        if (text == null || text.isEmpty() || text.length() > 400) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.length() == 0 || normalized.length() > 200 ? null : normalized.toString();
+    }
+
+    private static String lower(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static double readMinConfidence() {
+        try {
+            return Double.parseDouble(ConfigReader.getProperty("ai.heuristic.minConfidence", "0.7"));
+        } catch (NumberFormatException e) {
+            return 0.7;
+        }
+    }
+
+    /**
+     * Kết quả healing heuristic
+     */
+    public static final class Match {
+        private final String locator;
+        private final double confidence;
+        private final Element element;
+
+        Match(String locator, double confidence, Element element) {
+            this.locator = locator;
+            this.confidence = confidence;
+            this.element = element;
+        }
+
+        /**
+         * @return CSS selector duy nhất trong DOM đã so khớp
+         */
+        public String getLocator() {
+            return locator;
+        }
+
+        /**
+         * @return độ tin cậy 0..1: điểm tương đồng của element, nhân với
+         *         {@code min(1, (điểm - điểm ứng viên thứ hai) / 0.10)}; bằng điểm khi không có ứng viên nào
+         *         trong khoảng 0.10, bằng 0 khi hai ứng viên ngang điểm
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+
+        public Element getElement() {
+            return element;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (confidence %.2f)", locator, confidence);
+        }
+    }
+}
@@ -1,8 +1,7 @@
 // File: netat-web/src/main/java/com/vtnet/netat/web/ai/HtmlContextExtractor.java
 package com.vtnet.netat.web.ai;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
+import com.vtnet.netat.core.ui.ElementFingerprint;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
@@ -18,6 +17,20 @@ public class HtmlContextExtractor {
     public static String extractContext(String fullHtml,
                                         String elementHint,
                                         ContextExtractionStrategy strategy) {
+        if (strategy == ContextExtractionStrategy.FULL) {
+            log.info("Using FULL DOM strategy: {} chars", fullHtml.length());
+            return fullHtml;
+        }
+        return extractContext(DomSnapshot.parse(fullHtml), elementHint, strategy);
+    }
+
+    /**
+     * Extract trên DOM đã parse sẵn, để các strategy của cùng một lần healing không parse lại trang
+     */
+    public static String extractContext(DomSnapshot doc,
+                                        String elementHint,
+                                        ContextExtractionStrategy strategy) {
+        String fullHtml = doc.getHtml();
 
         if (strategy == ContextExtractionStrategy.FULL) {
             // ✅ Full DOM - no processing
@@ -26,8 +39,6 @@ public class HtmlContextExtractor {
         }
 
         try {
-            Document doc = Jsoup.parse(fullHtml);
-
             if (strategy == ContextExtractionStrategy.EXPANDED) {
                 // ✅ Expanded: lấy form/main container
                 return extractExpandedContext(doc, elementHint, strategy.getMaxChars());
@@ -48,7 +59,7 @@ public class HtmlContextExtractor {
     /**
      * ✅ COMPACT: Tìm specific element context
      */
-    private static String extractCompactContext(Document doc, String hint, int maxChars) {
+    private static String extractCompactContext(DomSnapshot doc, String hint, int maxChars) {
         Elements candidates = findByTextContent(doc, hint);
 
         if (candidates.isEmpty()) {
@@ -72,10 +83,32 @@ public class HtmlContextExtractor {
         return context.toString();
     }
 
+    /**
+     * COMPACT có mục tiêu: snippet quanh các element giống fingerprint đã chụp nhất, thay vì đoán theo tên element.
+     *
+     * @return context, rỗng nếu không có ứng viên nào (caller dùng COMPACT thường)
+     */
+    public static String extractTargetedContext(DomSnapshot doc, ElementFingerprint fingerprint, int maxChars) {
+        StringBuilder context = new StringBuilder();
+        for (Element element : new HeuristicLocatorHealer(0).candidates(doc, fingerprint, 3)) {
+            String snippet = buildCompactSnippet(element);
+            if (context.length() == 0 && snippet.length() >= maxChars) {
+                // Ứng viên tốt nhất luôn có mặt, kể cả khi phải cắt bớt
+                return snippet.substring(0, maxChars);
+            }
+            if (context.length() + snippet.length() >= maxChars) {
+                break;
+            }
+            context.append(snippet);
+        }
+        log.debug("Targeted context from fingerprint: {} chars", context.length());
+        return context.toString();
+    }
+
     /**
      * ✅ EXPANDED: Lấy toàn bộ form/container chứa element
      */
-    private static String extractExpandedContext(Document doc, String hint, int maxChars) {
+    private static String extractExpandedContext(DomSnapshot doc, String hint, int maxChars) {
         // 1. Tìm element
         Elements candidates = findByTextContent(doc, hint);
         if (candidates.isEmpty()) {
@@ -107,7 +140,7 @@ public class HtmlContextExtractor {
                     : html;
         }
 
-        return doc.body().html();
+        return doc.getDocument().body().html();
     }
 
     /**
@@ -167,36 +200,31 @@ public class HtmlContextExtractor {
 
     // ... rest of helper methods (findByTextContent, etc.) remain same
 
-    private static Elements findByTextContent(Document doc, String hint) {
+    private static Elements findByTextContent(DomSnapshot doc, String hint) {
         Elements results = new Elements();
         String normalizedHint = normalizeText(hint);
         String[] keywords = extractKeywords(normalizedHint);
 
         for (String keyword : keywords) {
-            Elements found = doc.getElementsContainingOwnText(keyword);
-            results.addAll(found);
+            results.addAll(doc.findByOwnText(keyword));
             if (results.size() >= 5) break;
         }
         return results;
     }
 
-    private static Elements findByAttributes(Document doc, String hint) {
+    private static Elements findByAttributes(DomSnapshot doc, String hint) {
         Elements results = new Elements();
-        String[] attrs = {"id", "name", "class", "data-test-id", "aria-label"};
         String normalizedHint = normalizeText(hint);
 
-        for (String attr : attrs) {
-            Elements found = doc.select("[" + attr + "*=" + normalizedHint + "]");
-            results.addAll(found);
+        for (String attr : DomSnapshot.INDEXED_ATTRIBUTES) {
+            results.addAll(doc.findByAttributeContaining(attr, normalizedHint));
             if (results.size() >= 5) break;
         }
         return results;
     }
 
-    private static Elements findMainContentArea(Document doc) {
-        Elements main = doc.select("main, article, [role=main]");
-        if (!main.isEmpty()) return main;
-        return doc.select("form, .container, .content, #content");
+    private static Elements findMainContentArea(DomSnapshot doc) {
+        return doc.findMainContentArea();
     }
 
     private static void appendRelevantAttributes(StringBuilder sb, Element element) {
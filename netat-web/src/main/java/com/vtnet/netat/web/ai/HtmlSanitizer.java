@@ -4,10 +4,16 @@ package com.vtnet.netat.web.ai;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Sanitize HTML trước khi gửi cho AI
+ *
+ * <p>Quét HTML một lượt từ trái sang phải. Tại mỗi vị trí chỉ thử những pattern có thể bắt đầu
+ * ở ký tự đó (ví dụ email chỉ thử ở đầu chuỗi ký tự email có '@' theo sau, số điện thoại/thẻ chỉ
+ * thử ở chữ số), theo thứ tự ưu tiên: email, token/API key, attribute nhạy cảm, thẻ tín dụng,
+ * số điện thoại.
  */
 public class HtmlSanitizer {
 
@@ -27,10 +33,18 @@ public class HtmlSanitizer {
             Pattern.CASE_INSENSITIVE
     );
 
+    private static final Pattern SENSITIVE_ATTRIBUTE_PATTERN = Pattern.compile(
+            "(password|secret|token|api-key|auth|session)\\s*=\\s*[\"']([^\"']+)[\"']",
+            Pattern.CASE_INSENSITIVE
+    );
+
     private static final Pattern CREDIT_CARD_PATTERN = Pattern.compile(
             "\\b\\d{4}[\\s-]?\\d{4}[\\s-]?\\d{4}[\\s-]?\\d{4}\\b"
     );
 
+    // Tiền tố của TOKEN_PATTERN và SENSITIVE_ATTRIBUTE_PATTERN
+    private static final String[] KEYWORDS = {"token", "api", "auth", "session", "jwt", "password", "secret"};
+
     /**
      * Sanitize HTML - remove sensitive data
      */
@@ -39,62 +53,131 @@ public class HtmlSanitizer {
             return html;
         }
 
-        String sanitized = html;
-
-        // 1. Remove emails
-        sanitized = EMAIL_PATTERN.matcher(sanitized).replaceAll("***@***.***");
-
-        // 2. Remove phone numbers
-        sanitized = PHONE_PATTERN.matcher(sanitized).replaceAll("***-***-****");
+        Matcher email = prepare(EMAIL_PATTERN, html);
+        Matcher token = prepare(TOKEN_PATTERN, html);
+        Matcher attribute = prepare(SENSITIVE_ATTRIBUTE_PATTERN, html);
+        Matcher card = prepare(CREDIT_CARD_PATTERN, html);
+        // Ngay sau một đoạn vừa bị thay, ký tự trước trong bản gốc (chữ số, chữ) đã thành '*':
+        // bounds mặc định (opaque) coi đầu region là biên từ, như khi chạy trên chuỗi đã thay
+        Matcher cardAfterMask = CREDIT_CARD_PATTERN.matcher(html);
+        Matcher phone = prepare(PHONE_PATTERN, html);
+
+        int length = html.length();
+        StringBuilder sanitized = null;
+        int last = 0;
+        int replaced = 0;
+        int emailRunEnd = -1;
+
+        for (int i = 0; i < length; ) {
+            char c = html.charAt(i);
+            String replacement = null;
+            Matcher matched = null;
+
+            // 1. Email: chỉ ở đầu chuỗi ký tự email, và chuỗi đó phải kết thúc bằng '@'
+            if (i >= emailRunEnd && isEmailChar(c)) {
+                emailRunEnd = i;
+                while (emailRunEnd < length && isEmailChar(html.charAt(emailRunEnd))) {
+                    emailRunEnd++;
+                }
+                if (emailRunEnd < length && html.charAt(emailRunEnd) == '@' && lookingAt(email, i)) {
+                    matched = email;
+                    replacement = "***@***.***";
+                }
+            }
+
+            // 2-3. Token/API key và attribute nhạy cảm
+            if (matched == null && startsWithKeyword(html, i)) {
+                if (lookingAt(token, i)) {
+                    matched = token;
+                    replacement = token.group(1) + "=\"***\"";
+                } else if (lookingAt(attribute, i)) {
+                    matched = attribute;
+                    replacement = attribute.group(1) + "=\"***\"";
+                }
+            }
+
+            // 4-5. Thẻ tín dụng và số điện thoại
+            if (matched == null && (isDigit(c) || c == '+' || c == '(')) {
+                int digits = countDigits(html, i, 20);
+                Matcher cardMatcher = replaced > 0 && i == last ? cardAfterMask : card;
+                if (digits >= 16 && isDigit(c) && lookingAt(cardMatcher, i)) {
+                    matched = cardMatcher;
+                    replacement = "****-****-****-****";
+                } else if (digits >= 10 && lookingAt(phone, i)) {
+                    matched = phone;
+                    replacement = "***-***-****";
+                }
+            }
+
+            if (matched == null) {
+                i++;
+                continue;
+            }
+            if (sanitized == null) {
+                sanitized = new StringBuilder(length);
+            }
+            sanitized.append(html, last, i).append(replacement);
+            last = matched.end();
+            i = last;
+            replaced++;
+        }
 
-        // 3. Remove tokens/API keys
-        sanitized = TOKEN_PATTERN.matcher(sanitized).replaceAll("$1=\"***\"");
+        if (sanitized == null) {
+            return html;
+        }
+        sanitized.append(html, last, length);
 
-        // 4. Remove credit cards
-        sanitized = CREDIT_CARD_PATTERN.matcher(sanitized).replaceAll("****-****-****-****");
+        if (log.isDebugEnabled()) {
+            log.debug("Sanitized HTML: removed {} sensitive data instances", replaced);
+        }
+        return sanitized.toString();
+    }
 
-        // 5. Remove common sensitive attributes
-        sanitized = sanitizeSensitiveAttributes(sanitized);
+    /**
+     * Transparent bounds để \b nhìn được ký tự trước vị trí bắt đầu
+     */
+    private static Matcher prepare(Pattern pattern, String html) {
+        return pattern.matcher(html).useTransparentBounds(true).useAnchoringBounds(false);
+    }
 
-        log.debug("Sanitized HTML: removed {} sensitive data instances",
-                countSensitiveData(html) - countSensitiveData(sanitized));
+    private static boolean lookingAt(Matcher matcher, int from) {
+        matcher.region(from, matcher.regionEnd());
+        return matcher.lookingAt();
+    }
 
-        return sanitized;
+    private static boolean startsWithKeyword(String html, int index) {
+        char c = Character.toLowerCase(html.charAt(index));
+        if (c != 't' && c != 'a' && c != 's' && c != 'j' && c != 'p') {
+            return false;
+        }
+        for (String keyword : KEYWORDS) {
+            if (html.regionMatches(true, index, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Sanitize sensitive HTML attributes
+     * Số chữ số trong {@code window} ký tự kể từ {@code from}; thẻ cần 16, số điện thoại cần 10
      */
-    private static String sanitizeSensitiveAttributes(String html) {
-        // Remove values của sensitive attributes
-        String[] sensitiveAttrs = {
-                "password", "secret", "token", "api-key", "auth", "session"
-        };
-
-        String result = html;
-        for (String attr : sensitiveAttrs) {
-            result = result.replaceAll(
-                    "(?i)" + attr + "\\s*=\\s*[\"']([^\"']+)[\"']",
-                    attr + "=\"***\""
-            );
+    private static int countDigits(String html, int from, int window) {
+        int end = Math.min(html.length(), from + window);
+        int digits = 0;
+        for (int i = from; i < end; i++) {
+            if (isDigit(html.charAt(i))) {
+                digits++;
+            }
         }
-
-        return result;
+        return digits;
     }
 
-    /**
-     * Count sensitive data instances (for logging)
-     */
-    private static int countSensitiveData(String html) {
-        int count = 0;
-        count += countMatches(EMAIL_PATTERN, html);
-        count += countMatches(PHONE_PATTERN, html);
-        count += countMatches(TOKEN_PATTERN, html);
-        count += countMatches(CREDIT_CARD_PATTERN, html);
-        return count;
+    private static boolean isEmailChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c)
+                || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
     }
 
-    private static int countMatches(Pattern pattern, String text) {
-        return (int) pattern.matcher(text).results().count();
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
-}
\ No newline at end of file
+}
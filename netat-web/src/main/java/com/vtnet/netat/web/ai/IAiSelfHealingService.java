@@ -1,5 +1,7 @@
 package com.vtnet.netat.web.ai;
 
+import com.vtnet.netat.core.ui.ElementFingerprint;
+
 import java.util.Optional;
 
 /**
@@ -17,6 +19,16 @@ public interface IAiSelfHealingService {
      */
     Optional<String> findNewLocator(String elementName, String contextHtml, String previousLocator);
 
+    /**
+     * Tìm locator mới, dùng thêm fingerprint đã lưu của element để so khớp cục bộ trước khi gọi AI
+     *
+     * @param fingerprint Fingerprint của element ở lần tìm thấy gần nhất (optional)
+     */
+    default Optional<String> findNewLocator(String elementName, String contextHtml, String previousLocator,
+                                            ElementFingerprint fingerprint) {
+        return findNewLocator(elementName, contextHtml, previousLocator);
+    }
+
     /**
      * Check xem service có available không
      */
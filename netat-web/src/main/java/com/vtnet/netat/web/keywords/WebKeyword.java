@@ -4,12 +4,23 @@ import com.vtnet.netat.core.BaseUiKeyword;
 import com.vtnet.netat.core.annotations.NetatKeyword;
 import com.vtnet.netat.core.context.ExecutionContext;
 import com.vtnet.netat.core.secret.SecretDecryptor;
+import com.vtnet.netat.core.ui.ElementFingerprint;
+import com.vtnet.netat.core.ui.FingerprintStore;
 import com.vtnet.netat.core.ui.Locator;
 import com.vtnet.netat.core.ui.ObjectUI;
+import com.vtnet.netat.core.wait.AdaptiveWait;
 import com.vtnet.netat.driver.ConfigReader;
 import com.vtnet.netat.driver.DriverManager;
 import com.vtnet.netat.driver.SessionManager;
 import com.vtnet.netat.web.ai.AiModelFactory;
+import com.vtnet.netat.web.ai.ContextExtractionStrategy;
+import com.vtnet.netat.web.ai.DomSnapshot;
+import com.vtnet.netat.web.ai.HeuristicLocatorHealer;
+import com.vtnet.netat.web.ai.HtmlContextExtractor;
+import com.vtnet.netat.web.ai.HtmlSanitizer;
+import com.vtnet.netat.web.network.NetworkCall;
+import com.vtnet.netat.web.network.NetworkMonitor;
+import com.vtnet.netat.web.wait.InBrowserWait;
 import dev.langchain4j.model.chat.ChatModel;
 import io.qameta.allure.Allure;
 import io.qameta.allure.model.Status;
@@ -21,7 +32,6 @@ import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 
 import java.io.File;
@@ -60,10 +70,22 @@ public class WebKeyword extends BaseUiKeyword {
             logger.warn("Failed with all defined locators. Switching to AI-based self-healing search.");
 
             try {
-                String aiLocatorValue = getLocatorByAI(uiObject.getName() + " :[description: " + uiObject.getDescription() + "] ", DriverManager.getDriver().getPageSource());
+                DomSnapshot page = DomSnapshot.parse(DriverManager.getDriver().getPageSource());
+                Optional<String> heuristicLocator = getLocatorByHeuristic(uiObject, page);
+                if (heuristicLocator.isPresent()) {
+                    try {
+                        AdaptiveWait healWait = AdaptiveWait.on(DriverManager.getDriver(), SECONDARY_TIMEOUT);
+                        return healWait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(heuristicLocator.get())));
+                    } catch (TimeoutException heuristicMiss) {
+                        logger.warn("Heuristic locator '{}' not found in live page, falling back to AI.", heuristicLocator.get());
+                    }
+                }
+
+                String aiLocatorValue = getLocatorByAI(uiObject.getName() + " :[description: " + uiObject.getDescription() + "] ",
+                        buildAiContext(uiObject, page));
                 if (aiLocatorValue != null && !aiLocatorValue.isEmpty()) {
                     logger.info("AI suggested new locator (CSS): '{}'", aiLocatorValue);
-                    WebDriverWait aiWait = new WebDriverWait(DriverManager.getDriver(), SECONDARY_TIMEOUT);
+                    AdaptiveWait aiWait = AdaptiveWait.on(DriverManager.getDriver(), SECONDARY_TIMEOUT);
                     return aiWait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(aiLocatorValue)));
                 }
             } catch (Exception aiException) {
@@ -125,6 +147,17 @@ public class WebKeyword extends BaseUiKeyword {
 //        }
 //    }
 
+    /**
+     * So sánh giá trị trả về từ JavaScript: số được so theo giá trị (executeScript trả Long/Double,
+     * tham số keyword có thể là Integer)
+     */
+    private static boolean sameValue(Object actual, Object expected) {
+        if (actual instanceof Number && expected instanceof Number) {
+            return ((Number) actual).doubleValue() == ((Number) expected).doubleValue();
+        }
+        return Objects.equals(actual, expected);
+    }
+
     /**
      * ✅ Build element description cho AI
      */
@@ -147,6 +180,42 @@ public class WebKeyword extends BaseUiKeyword {
         return null;
     }
 
+    /**
+     * Healing cục bộ không gọi AI: so khớp fingerprint đã lưu của object (hoặc suy ra từ locator cũ) với page source.
+     */
+    private Optional<String> getLocatorByHeuristic(ObjectUI uiObject, DomSnapshot page) {
+        boolean isEnabled = Boolean.parseBoolean(ConfigReader.getProperty("ai.self.healing.enabled", "false"));
+        if (!isEnabled || !HeuristicLocatorHealer.isEnabled()) {
+            return Optional.empty();
+        }
+        ElementFingerprint fingerprint = FingerprintStore.getShared().resolve(uiObject);
+        if (fingerprint == null) {
+            fingerprint = HeuristicLocatorHealer.fingerprintFromLocator(getPreviousLocator(uiObject));
+        }
+        Optional<HeuristicLocatorHealer.Match> match = new HeuristicLocatorHealer()
+                .healConfidently(page, fingerprint);
+        match.ifPresent(m -> logger.info("Heuristic healing suggested locator (CSS) for '{}': {}", uiObject.getName(), m));
+        return match.map(HeuristicLocatorHealer.Match::getLocator);
+    }
+
+    /**
+     * HTML gửi cho AI: nếu đã có fingerprint chụp ở lần chạy trước thì chỉ gửi snippet quanh các ứng viên
+     * giống nhất (COMPACT), ngược lại gửi cả page source như trước
+     */
+    private String buildAiContext(ObjectUI uiObject, DomSnapshot page) {
+        ElementFingerprint fingerprint = FingerprintStore.getShared().resolve(uiObject);
+        if (fingerprint != null && !fingerprint.isEmpty()) {
+            String context = HtmlContextExtractor.extractTargetedContext(
+                    page, fingerprint, ContextExtractionStrategy.COMPACT.getMaxChars());
+            if (!context.isEmpty()) {
+                logger.info("Sending targeted context ({} chars) instead of full page ({} chars) for '{}'",
+                        context.length(), page.getHtml().length(), uiObject.getName());
+                return HtmlSanitizer.sanitize(context);
+            }
+        }
+        return page.getHtml();
+    }
+
     private String getLocatorByAI(String elementName, String html) {
         boolean isEnabled = Boolean.parseBoolean(ConfigReader.getProperty("ai.self.healing.enabled", "false"));
         if (!isEnabled) {
@@ -1844,7 +1913,7 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementClickable(ObjectUI uiObject) {
         execute(() -> {
-            new WebDriverWait(DriverManager.getDriver(), DEFAULT_TIMEOUT)
+            AdaptiveWait.on(DriverManager.getDriver(), DEFAULT_TIMEOUT)
                     .until(ExpectedConditions.elementToBeClickable(findElement(uiObject)));
             return null;
         }, uiObject);
@@ -1878,7 +1947,7 @@ public class WebKeyword extends BaseUiKeyword {
     public void waitForElementNotVisible(ObjectUI uiObject) {
         execute(() -> {
             WebElement element = findElement(uiObject);
-            new WebDriverWait(DriverManager.getDriver(), DEFAULT_TIMEOUT)
+            AdaptiveWait.on(DriverManager.getDriver(), DEFAULT_TIMEOUT)
                     .until(ExpectedConditions.invisibilityOf(element));
             return null;
         }, uiObject);
@@ -1911,7 +1980,7 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementPresent(ObjectUI uiObject, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
             wait.until(ExpectedConditions.presenceOfElementLocated(uiObject.getActiveLocators().get(0).convertToBy()));
             return null;
         }, uiObject, timeoutInSeconds);
@@ -1944,7 +2013,7 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForPageLoaded(int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
             wait.until(driver -> ((JavascriptExecutor) driver).executeScript("return document.readyState").equals("complete"));
             return null;
         }, timeoutInSeconds);
@@ -1975,7 +2044,7 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForUrlContains(String partialUrl, int timeoutInSeconds) {
         execute(() -> {
-            new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds))
+            AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds))
                     .until(ExpectedConditions.urlContains(partialUrl));
             return null;
         }, partialUrl, timeoutInSeconds);
@@ -2006,7 +2075,7 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForTitleIs(String expectedTitle, int timeoutInSeconds) {
         execute(() -> {
-            new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds))
+            AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds))
                     .until(ExpectedConditions.titleIs(expectedTitle));
             return null;
         }, expectedTitle, timeoutInSeconds);
@@ -2061,7 +2130,7 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementNotPresent(ObjectUI uiObject, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
+            AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
             By by = uiObject.getActiveLocators().get(0).convertToBy();
             wait.until(ExpectedConditions.not(ExpectedConditions.presenceOfElementLocated(by)));
             return null;
@@ -2083,8 +2152,15 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementTextContains(ObjectUI uiObject, String expectedText, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(ExpectedConditions.textToBePresentInElement(findElement(uiObject), expectedText));
+            WebElement element = findElement(uiObject);
+            InBrowserWait.untilElement(DriverManager.getDriver(), element, InBrowserWait.Condition.TEXT_CONTAINS,
+                    null, expectedText, Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            return findElement(uiObject).getText().contains(expectedText);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, uiObject, expectedText, timeoutInSeconds);
     }
@@ -2105,8 +2181,16 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementAttributeToBe(ObjectUI uiObject, String attributeName, String expectedValue, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(ExpectedConditions.attributeToBe(findElement(uiObject), attributeName, expectedValue));
+            WebElement element = findElement(uiObject);
+            InBrowserWait.untilElement(DriverManager.getDriver(), element, InBrowserWait.Condition.ATTRIBUTE_IS,
+                    attributeName, expectedValue, Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            return ExpectedConditions.attributeToBe(findElement(uiObject), attributeName, expectedValue)
+                                    .apply(driver);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, uiObject, attributeName, expectedValue, timeoutInSeconds);
     }
@@ -2126,16 +2210,15 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForJavaScriptReturnsValue(String script, Object expectedValue, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(driver -> {
-                try {
-                    JavascriptExecutor js = (JavascriptExecutor) driver;
-                    Object actualValue = js.executeScript(script);
-                    return Objects.equals(actualValue, expectedValue);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+            InBrowserWait.untilScript(DriverManager.getDriver(), script, expectedValue, false,
+                    Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            Object actualValue = ((JavascriptExecutor) driver).executeScript(script);
+                            return sameValue(actualValue, expectedValue);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, script, expectedValue, timeoutInSeconds);
     }
@@ -2156,15 +2239,16 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementTextNotContains(ObjectUI uiObject, String unwantedText, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(driver -> {
-                try {
-                    String actualText = getText(uiObject);
-                    return !actualText.contains(unwantedText);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+            WebElement element = findElement(uiObject);
+            InBrowserWait.untilElement(DriverManager.getDriver(), element, InBrowserWait.Condition.TEXT_NOT_CONTAINS,
+                    null, unwantedText, Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            String actualText = getText(uiObject);
+                            return !actualText.contains(unwantedText);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, uiObject, unwantedText, timeoutInSeconds);
     }
@@ -2184,15 +2268,16 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementTextToBe(ObjectUI uiObject, String expectedText, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(driver -> {
-                try {
-                    String actualText = getText(uiObject);
-                    return actualText.equals(expectedText);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+            WebElement element = findElement(uiObject);
+            InBrowserWait.untilElement(DriverManager.getDriver(), element, InBrowserWait.Condition.TEXT_IS,
+                    null, expectedText, Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            String actualText = getText(uiObject);
+                            return actualText.equals(expectedText);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, uiObject, expectedText, timeoutInSeconds);
     }
@@ -2212,15 +2297,16 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementTextNotToBe(ObjectUI uiObject, String unwantedText, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(driver -> {
-                try {
-                    String actualText = getText(uiObject);
-                    return !actualText.equals(unwantedText);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+            WebElement element = findElement(uiObject);
+            InBrowserWait.untilElement(DriverManager.getDriver(), element, InBrowserWait.Condition.TEXT_IS_NOT,
+                    null, unwantedText, Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            String actualText = getText(uiObject);
+                            return !actualText.equals(unwantedText);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, uiObject, unwantedText, timeoutInSeconds);
     }
@@ -2241,15 +2327,16 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementAttributeNotToBe(ObjectUI uiObject, String attributeName, String unwantedValue, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(driver -> {
-                try {
-                    String actualValue = getAttribute(uiObject, attributeName);
-                    return !Objects.equals(actualValue, unwantedValue);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+            WebElement element = findElement(uiObject);
+            InBrowserWait.untilElement(DriverManager.getDriver(), element, InBrowserWait.Condition.ATTRIBUTE_IS_NOT,
+                    attributeName, unwantedValue, Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            String actualValue = getAttribute(uiObject, attributeName);
+                            return !Objects.equals(actualValue, unwantedValue);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, uiObject, attributeName, unwantedValue, timeoutInSeconds);
     }
@@ -2270,15 +2357,16 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementAttributeContains(ObjectUI uiObject, String attributeName, String partialValue, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(driver -> {
-                try {
-                    String actualValue = getAttribute(uiObject, attributeName);
-                    return actualValue != null && actualValue.contains(partialValue);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+            WebElement element = findElement(uiObject);
+            InBrowserWait.untilElement(DriverManager.getDriver(), element, InBrowserWait.Condition.ATTRIBUTE_CONTAINS,
+                    attributeName, partialValue, Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            String actualValue = getAttribute(uiObject, attributeName);
+                            return actualValue != null && actualValue.contains(partialValue);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, uiObject, attributeName, partialValue, timeoutInSeconds);
     }
@@ -2299,15 +2387,16 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForElementAttributeNotContains(ObjectUI uiObject, String attributeName, String unwantedPartialValue, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(driver -> {
-                try {
-                    String actualValue = getAttribute(uiObject, attributeName);
-                    return actualValue == null || !actualValue.contains(unwantedPartialValue);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+            WebElement element = findElement(uiObject);
+            InBrowserWait.untilElement(DriverManager.getDriver(), element, InBrowserWait.Condition.ATTRIBUTE_NOT_CONTAINS,
+                    attributeName, unwantedPartialValue, Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            String actualValue = getAttribute(uiObject, attributeName);
+                            return actualValue == null || !actualValue.contains(unwantedPartialValue);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, uiObject, attributeName, unwantedPartialValue, timeoutInSeconds);
     }
@@ -2328,16 +2417,15 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void waitForJavaScriptNotReturnsValue(String script, Object unwantedValue, int timeoutInSeconds) {
         execute(() -> {
-            WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
-            wait.until(driver -> {
-                try {
-                    JavascriptExecutor js = (JavascriptExecutor) driver;
-                    Object actualValue = js.executeScript(script);
-                    return !Objects.equals(actualValue, unwantedValue);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+            InBrowserWait.untilScript(DriverManager.getDriver(), script, unwantedValue, true,
+                    Duration.ofSeconds(timeoutInSeconds), driver -> {
+                        try {
+                            Object actualValue = ((JavascriptExecutor) driver).executeScript(script);
+                            return !sameValue(actualValue, unwantedValue);
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    });
             return null;
         }, script, unwantedValue, timeoutInSeconds);
     }
@@ -2657,7 +2745,7 @@ public class WebKeyword extends BaseUiKeyword {
                 Assert.fail("Driver is null when checking page URL.");
                 return null;
             }
-            WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT);
+            AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
             String actualUrl = "";
 
             try {
@@ -2716,7 +2804,7 @@ public class WebKeyword extends BaseUiKeyword {
                 return null;
             }
 
-            WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT);
+            AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
             String actualUrl = "";
             boolean urlMatched = false;
             try {
@@ -2775,7 +2863,7 @@ public class WebKeyword extends BaseUiKeyword {
                 Assert.fail("Driver is null when checking page title.");
                 return null;
             }
-            WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT);
+            AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
             String actualTitle = "";
 
             try {
@@ -2830,7 +2918,7 @@ public class WebKeyword extends BaseUiKeyword {
                 return null;
             }
 
-            WebDriverWait wait = new WebDriverWait(driver, DEFAULT_TIMEOUT);
+            AdaptiveWait wait = AdaptiveWait.on(driver, DEFAULT_TIMEOUT);
             String actualTitle = "";
             boolean titleMatched = false;
 
@@ -3411,7 +3499,7 @@ public class WebKeyword extends BaseUiKeyword {
             try {
                 driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(0));
 
-                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+                AdaptiveWait wait = AdaptiveWait.on(driver, Duration.ofSeconds(timeoutInSeconds));
                 wait.until(d -> !d.findElements(by).isEmpty());
 
                 return true; // Tìm thấy element
@@ -3446,7 +3534,7 @@ public class WebKeyword extends BaseUiKeyword {
     public void verifyAlertPresent(int timeoutInSeconds) {
         execute(() -> {
             try {
-                WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), POLLING_INTERVAL);
+                AdaptiveWait wait = AdaptiveWait.on(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
                 wait.until(ExpectedConditions.alertIsPresent());
             } catch (Exception e) {
                 throw new AssertionError("HARD ASSERT FAILED: Alert does not appear after " + timeoutInSeconds + " seconds.");
@@ -3662,7 +3750,7 @@ public class WebKeyword extends BaseUiKeyword {
             findElement(uiObject).click();
 
             // Chờ cho đến khi có cửa sổ mới xuất hiện
-            new WebDriverWait(driver, DEFAULT_TIMEOUT).until(ExpectedConditions.numberOfWindowsToBe(2));
+            AdaptiveWait.on(driver, DEFAULT_TIMEOUT).until(ExpectedConditions.numberOfWindowsToBe(2));
 
             for (String handle : driver.getWindowHandles()) {
                 if (!handle.equals(originalHandle)) {
@@ -3704,7 +3792,7 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public String getAlertText() {
         return execute(() -> {
-            Alert alert = new WebDriverWait(DriverManager.getDriver(), DEFAULT_TIMEOUT)
+            Alert alert = AdaptiveWait.on(DriverManager.getDriver(), DEFAULT_TIMEOUT)
                     .until(ExpectedConditions.alertIsPresent());
             return alert.getText();
         });
@@ -3736,7 +3824,7 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void sendKeysToAlert(String text) {
         execute(() -> {
-            Alert alert = new WebDriverWait(DriverManager.getDriver(), DEFAULT_TIMEOUT)
+            Alert alert = AdaptiveWait.on(DriverManager.getDriver(), DEFAULT_TIMEOUT)
                     .until(ExpectedConditions.alertIsPresent());
             alert.sendKeys(text);
             return null;
@@ -4070,7 +4158,8 @@ public class WebKeyword extends BaseUiKeyword {
 
     @NetatKeyword(
             name = "isApiCalled",
-            description = "Kiểm tra xem API có được gọi hay không bằng JavaScript injection. " +
+            description = "Kiểm tra xem API có được gọi hay không qua sự kiện network của CDP " +
+                    "(fallback JavaScript injection nếu browser không hỗ trợ CDP). " +
                     "Hỗ trợ check params linh hoạt: exact match, ignore ('*'), hoặc check not null ('?')",
             category = "Web",
             subCategory = "Network",
@@ -4086,12 +4175,24 @@ public class WebKeyword extends BaseUiKeyword {
                     "params.put(\"end\", \"?\");    // Check not null\n" +
                     "params.put(\"service\", \"tv360\"); // Exact match\n" +
                     "web.isApiCalled(\"/service-stats\", params, 15);",
-            note = "Hoạt động với mọi browser. Giá trị đặc biệt: '*'=ignore, '?'=not null"
+            note = "Chrome/Edge: đọc từ buffer của CDP network monitor nên bắt được cả request gửi trước khi gọi keyword " +
+                    "(dùng clearApiCalls để bỏ call cũ). Browser khác: inject JS. Giá trị đặc biệt: '*'=ignore, '?'=not null"
     )
     public boolean isApiCalled(String apiPath,
                                Map<String, String> expectedParams,
                                int timeoutSeconds) {
         return execute(() -> {
+            NetworkMonitor monitor = activeNetworkMonitor();
+            if (monitor != null) {
+                NetworkCall call = monitor.await(
+                        c -> c.getUrl().contains(apiPath) && c.matchesParams(expectedParams),
+                        false, timeoutSeconds * 1000L);
+                if (call != null) {
+                    logger.info("API '{}' detected: {}", apiPath, call.getUrl());
+                }
+                return call != null;
+            }
+
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
 
             String paramChecks = buildParamCheckScript(expectedParams);
@@ -4191,6 +4292,20 @@ public class WebKeyword extends BaseUiKeyword {
                                                      Map<String, String> expectedParams,
                                                      int timeoutSeconds) {
         return execute(() -> {
+            NetworkMonitor monitor = activeNetworkMonitor();
+            if (monitor != null) {
+                NetworkCall call = monitor.await(
+                        c -> c.getUrl().contains(apiPath) && c.matchesParams(expectedParams),
+                        true, timeoutSeconds * 1000L);
+                Map<String, Object> resultMap = new HashMap<>();
+                resultMap.put("found", call != null);
+                resultMap.put("statusCode", call != null ? call.getStatusCode() : null);
+                if (call != null) {
+                    logger.info("API '{}' detected: {} (Status: {})", apiPath, call.getUrl(), call.getStatusCode());
+                }
+                return resultMap;
+            }
+
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
 
             String paramChecks = buildParamCheckScriptWithStatus(expectedParams);
@@ -4435,6 +4550,11 @@ public class WebKeyword extends BaseUiKeyword {
     public List<Integer> verifyMultipleApisCalledParallel(List<Map<String, Object>> apiConfigs,
                                                           int maxTimeoutSeconds) {
         return execute(() -> {
+            NetworkMonitor monitor = activeNetworkMonitor();
+            if (monitor != null) {
+                return verifyApisCalledViaMonitor(monitor, apiConfigs, maxTimeoutSeconds);
+            }
+
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
 
             StringBuilder monitorScript = new StringBuilder();
@@ -4665,7 +4785,8 @@ public class WebKeyword extends BaseUiKeyword {
 
     @NetatKeyword(
             name = "startApiMonitor",
-            description = "Bắt đầu monitor các API calls. Inject hooks để bắt fetch/XHR requests. " +
+            description = "Bắt đầu monitor các API calls. Chrome/Edge dùng sự kiện network của CDP " +
+                    "(không mất khi reload/điều hướng), browser khác inject hooks fetch/XHR. " +
                     "Phải gọi TRƯỚC khi thực hiện action trigger API.",
             category = "Web",
             subCategory = "Network",
@@ -4682,6 +4803,13 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void startApiMonitor(String... apiPatterns) {
         execute(() -> {
+            NetworkMonitor monitor = NetworkMonitor.forDriver(DriverManager.getDriver());
+            if (monitor != null) {
+                monitor.start(apiPatterns);
+                logger.info("Started CDP API monitor for patterns: {}", Arrays.toString(apiPatterns));
+                return null;
+            }
+
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
 
             StringBuilder patternsConfig = new StringBuilder("[");
@@ -4827,6 +4955,21 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public Map<String, Object> waitForApiCall(String apiPattern, int timeoutSeconds) {
         return execute(() -> {
+            NetworkMonitor monitor = NetworkMonitor.existing(DriverManager.getDriver());
+            if (monitor != null) {
+                NetworkCall call = monitor.awaitPattern(apiPattern, timeoutSeconds * 1000L);
+                if (call != null) {
+                    logger.info("API call detected: {} -> Status: {}, ID: {}",
+                            call.getUrl(), call.getStatusCode(), call.getExtractedId());
+                    return call.toMap();
+                }
+                logger.warn("API call '{}' not detected within {} seconds", apiPattern, timeoutSeconds);
+                Map<String, Object> result = new HashMap<>();
+                result.put("found", false);
+                result.put("pattern", apiPattern);
+                return result;
+            }
+
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
 
             long startTime = System.currentTimeMillis();
@@ -4900,10 +5043,10 @@ public class WebKeyword extends BaseUiKeyword {
             }
 
             if (expectedStatusCode != null) {
-                Long actualStatus = (Long) result.get("statusCode");
-                if (!expectedStatusCode.equals(actualStatus+"")) {
+                Object actualStatus = result.get("statusCode");
+                if (!expectedStatusCode.equals(String.valueOf(actualStatus))) {
                     throw new AssertionError(String.format(
-                            "API '%s' returned status %d, expected %d. URL: %s",
+                            "API '%s' returned status %s, expected %s. URL: %s",
                             apiPattern, actualStatus, expectedStatusCode, result.get("url")
                     ));
                 }
@@ -4941,6 +5084,16 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public List<Map<String, Object>> getAllApiCalls(String apiPattern) {
         return execute(() -> {
+            NetworkMonitor monitor = NetworkMonitor.existing(DriverManager.getDriver());
+            if (monitor != null) {
+                List<Map<String, Object>> captured = new ArrayList<>();
+                for (NetworkCall call : monitor.getCalls(apiPattern)) {
+                    captured.add(call.toMap());
+                }
+                logger.info("Found {} API calls matching pattern '{}'", captured.size(), apiPattern);
+                return captured;
+            }
+
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
 
             List<Map<String, Object>> calls = (List<Map<String, Object>>) js.executeScript(
@@ -4974,6 +5127,13 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void clearApiCalls() {
         execute(() -> {
+            NetworkMonitor monitor = NetworkMonitor.existing(DriverManager.getDriver());
+            if (monitor != null) {
+                monitor.clear();
+                logger.info("Cleared all captured API calls");
+                return null;
+            }
+
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
 
             js.executeScript(
@@ -5003,6 +5163,18 @@ public class WebKeyword extends BaseUiKeyword {
     )
     public void stopApiMonitor(boolean restoreOriginal) {
         execute(() -> {
+            NetworkMonitor monitor = NetworkMonitor.existing(DriverManager.getDriver());
+            if (monitor != null) {
+                if (restoreOriginal) {
+                    monitor.stop();
+                    logger.info("API monitor stopped and cleaned up");
+                } else {
+                    monitor.pause();
+                    logger.info("API monitor paused");
+                }
+                return null;
+            }
+
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
 
             if (restoreOriginal) {
@@ -5052,6 +5224,11 @@ public class WebKeyword extends BaseUiKeyword {
     public Map<String, Map<String, Object>> waitForMultipleApiCalls(List<String> apiPatterns,
                                                                     int timeoutSeconds) {
         return execute(() -> {
+            NetworkMonitor monitor = NetworkMonitor.existing(DriverManager.getDriver());
+            if (monitor != null) {
+                return waitForPatternsViaMonitor(monitor, apiPatterns, timeoutSeconds);
+            }
+
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
 
             Map<String, Map<String, Object>> results = new HashMap<>();
@@ -5103,6 +5280,78 @@ public class WebKeyword extends BaseUiKeyword {
         }, apiPatterns, timeoutSeconds);
     }
 
+    /**
+     * Monitor CDP của driver hiện tại (tạo nếu chưa có); null nếu browser không hỗ trợ CDP.
+     * Monitor đã bị {@code stopApiMonitor(false)} pause vẫn giữ trạng thái pause: keyword chỉ đọc
+     * các call đã ghi trong buffer, cần {@code startApiMonitor} để ghi tiếp.
+     */
+    private NetworkMonitor activeNetworkMonitor() {
+        NetworkMonitor monitor = NetworkMonitor.forDriver(DriverManager.getDriver());
+        if (monitor != null && !monitor.isActive()) {
+            logger.info("API monitor is paused, only calls recorded before the pause are checked");
+        }
+        return monitor;
+    }
+
+    private Map<String, Map<String, Object>> waitForPatternsViaMonitor(NetworkMonitor monitor,
+                                                                       List<String> apiPatterns,
+                                                                       int timeoutSeconds) throws InterruptedException {
+        Map<String, Map<String, Object>> results = new HashMap<>();
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        int found = 0;
+        for (String pattern : apiPatterns) {
+            NetworkCall call = monitor.awaitPattern(pattern, Math.max(0, deadline - System.currentTimeMillis()));
+            if (call != null) {
+                results.put(pattern, call.toMap());
+                found++;
+                logger.info("API '{}' detected: {} (Status: {})", pattern, call.getUrl(), call.getStatusCode());
+            } else {
+                Map<String, Object> notFound = new HashMap<>();
+                notFound.put("found", false);
+                notFound.put("pattern", pattern);
+                results.put(pattern, notFound);
+                logger.warn("API '{}' NOT detected within timeout", pattern);
+            }
+        }
+        logger.info("Multiple API check complete: {}/{} found", found, apiPatterns.size());
+        return results;
+    }
+
+    private List<Integer> verifyApisCalledViaMonitor(NetworkMonitor monitor,
+                                                     List<Map<String, Object>> apiConfigs,
+                                                     int maxTimeoutSeconds) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + maxTimeoutSeconds * 1000L;
+        List<Integer> statusCodes = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (Map<String, Object> config : apiConfigs) {
+            String apiPath = (String) config.get("apiPath");
+            @SuppressWarnings("unchecked")
+            Map<String, String> expectedParams = (Map<String, String>) config.get("expectedParams");
+            NetworkCall call = monitor.await(
+                    c -> c.getUrl().contains(apiPath) && c.matchesParams(expectedParams),
+                    true, Math.max(0, deadline - System.currentTimeMillis()));
+            if (call == null) {
+                String paramsStr = expectedParams != null ? expectedParams.toString() : "any";
+                errors.add(String.format("API '%s' with params %s NOT detected", apiPath, paramsStr));
+                statusCodes.add(null);
+            } else {
+                logger.info("API '{}' detected with status {}", apiPath, call.getStatusCode());
+                statusCodes.add(call.getStatusCode());
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new AssertionError(
+                    String.format("Failed to detect %d API(s) in %d seconds:\n%s",
+                            errors.size(), maxTimeoutSeconds, String.join("\n", errors))
+            );
+        }
+
+        logger.info("All {} APIs verified successfully", apiConfigs.size());
+        logger.info("Status codes: {}", statusCodes);
+        return statusCodes;
+    }
+
     @NetatKeyword(
             name = "verifyMultipleApiCalls",
             description = "Verify nhiều API calls. Fail test nếu bất kỳ API nào không được gọi.",
@@ -0,0 +1,194 @@
+package com.vtnet.netat.web.network;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Một request mạng do {@link NetworkMonitor} ghi nhận từ sự kiện CDP {@code Network.*}.
+ *
+ * <p>{@link #getStatusCode()} là null cho tới khi có response; {@link #getError()} khác null
+ * nếu request lỗi (mạng, CORS, bị hủy).
+ */
+public class NetworkCall {
+
+    private final String requestId;
+    private final String url;
+    private final String method;
+    private final String type;
+    private final long timestamp;
+
+    private volatile String pattern;
+    private volatile String extractedId;
+    private volatile Integer statusCode;
+    private volatile String statusText;
+    private volatile String mimeType;
+    private volatile String error;
+
+    NetworkCall(String requestId, String url, String method, String type, long timestamp) {
+        this.requestId = requestId;
+        this.url = url;
+        this.method = method;
+        this.type = type;
+        this.timestamp = timestamp;
+    }
+
+    void matched(String pattern, String extractedId) {
+        this.pattern = pattern;
+        this.extractedId = extractedId;
+    }
+
+    void responded(int statusCode, String statusText, String mimeType) {
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.mimeType = mimeType;
+    }
+
+    void failed(String error) {
+        this.error = error;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return loại resource theo CDP (XHR, Fetch, Document, Script...)
+     */
+    public String getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return pattern đã đăng ký trong startApiMonitor mà URL khớp, null nếu không khớp pattern nào
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    public String getExtractedId() {
+        return extractedId;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public String getStatusText() {
+        return statusText;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return true khi đã có response hoặc request đã lỗi
+     */
+    public boolean isCompleted() {
+        return statusCode != null || error != null;
+    }
+
+    public boolean isSuccess() {
+        return error == null && statusCode != null && statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * Kiểm tra query params của URL. Giá trị mong đợi: {@code '*'} = bỏ qua,
+     * {@code '?'} = có và không rỗng, còn lại = bằng chính xác.
+     */
+    public boolean matchesParams(Map<String, String> expectedParams) {
+        if (expectedParams == null || expectedParams.isEmpty()) {
+            return true;
+        }
+        Map<String, String> actual = queryParams(url);
+        for (Map.Entry<String, String> expected : expectedParams.entrySet()) {
+            String value = actual.get(expected.getKey());
+            if ("*".equals(expected.getValue())) {
+                continue;
+            }
+            if ("?".equals(expected.getValue())) {
+                if (value == null || value.isEmpty()) {
+                    return false;
+                }
+            } else if (!String.valueOf(expected.getValue()).equals(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cùng key với kết quả của monitor JS cũ: found, pattern, url, method, extractedId,
+     * statusCode (Long), statusText, success, timestamp, type, error.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("found", true);
+        map.put("pattern", pattern);
+        map.put("url", url);
+        map.put("method", method);
+        map.put("extractedId", extractedId);
+        map.put("statusCode", statusCode != null ? Long.valueOf(statusCode) : null);
+        map.put("statusText", statusText);
+        map.put("success", isSuccess());
+        map.put("timestamp", timestamp);
+        map.put("type", type);
+        if (error != null) {
+            map.put("error", error);
+        }
+        return map;
+    }
+
+    private static Map<String, String> queryParams(String url) {
+        Map<String, String> params = new HashMap<>();
+        String query;
+        try {
+            query = URI.create(url).getRawQuery();
+        } catch (IllegalArgumentException e) {
+            int index = url.indexOf('?');
+            query = index >= 0 ? url.substring(index + 1) : null;
+        }
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = decode(eq >= 0 ? pair.substring(0, eq) : pair);
+            String value = eq >= 0 ? decode(pair.substring(eq + 1)) : "";
+            params.putIfAbsent(name, value);
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + url + " -> " + (error != null ? "error: " + error : statusCode);
+    }
+}
@@ -0,0 +1,420 @@
+package com.vtnet.netat.web.network;
+
+import com.vtnet.netat.driver.ConfigReader;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Monitor network của browser qua Chrome DevTools Protocol (sự kiện {@code Network.*}).
+ *
+ * <p>Sự kiện request/response được đẩy từ browser về buffer phía Java (giới hạn
+ * {@code web.network.maxCalls}, mặc định 2000), đánh index theo pattern đã đăng ký.
+ * Các hàm chờ block trên buffer này (wait/notify) thay vì poll {@code executeScript},
+ * bắt được cả request bắn ra ngay khi trang load và không mất dữ liệu khi reload/điều hướng.
+ *
+ * <p>Mỗi WebDriver có một monitor, tạo lần đầu qua {@link #forDriver(WebDriver)}.
+ * Trả về null nếu driver không hỗ trợ CDP (Firefox, Safari, Grid không bật CDP) hoặc
+ * {@code web.network.monitor=js}; khi đó keyword dùng lại cơ chế inject JS.
+ *
+ * <p>Chỉ request {@code XHR}/{@code Fetch} được ghi (như các hook fetch/XHR trước đây): document, script,
+ * stylesheet, ảnh và preflight CORS bị bỏ qua. Với chuỗi redirect, chỉ hop cuối được giữ.
+ *
+ * <p>Pattern hỗ trợ placeholder {@code {id}} (hoặc bất kỳ {@code {name}}) cho một segment động;
+ * giá trị của placeholder đầu tiên được trả về trong {@code extractedId}.
+ */
+public final class NetworkMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkMonitor.class);
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{[^/{}]+}");
+
+    /** Resource type (CDP) của các call API */
+    private static final Set<String> API_TYPES = new HashSet<>(Arrays.asList("XHR", "Fetch"));
+
+    /**
+     * Listener đăng ký trên mỗi DevTools session. Selenium không cho gỡ từng listener, còn
+     * {@code clearListeners()} xóa cả listener của người khác trên session dùng chung, nên mỗi session chỉ
+     * đăng ký một lần và chuyển sự kiện tới monitor hiện tại (null khi đã stop). Dispatcher chỉ giữ
+     * monitor qua WeakReference, vì monitor giữ DevTools (key của map) nên tham chiếu mạnh sẽ không bao giờ
+     * cho entry được thu hồi.
+     */
+    private static final Map<DevTools, Dispatcher> DISPATCHERS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Optional.empty() = driver đã thử và không hỗ trợ CDP.
+    // Monitor không giữ driver mạnh (value của WeakHashMap không được tham chiếu tới key),
+    // nên driver đã quit và bị bỏ đi thì entry, DevTools và buffer cũng được thu hồi dù không gọi stop().
+    private static final Map<WebDriver, Optional<NetworkMonitor>> MONITORS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<WebDriver> driver;
+    private final DevTools devTools;
+    private final int maxCalls;
+
+    // Các field dưới đây được bảo vệ bởi monitor của this
+    private final Map<String, NetworkCall> byRequestId = new LinkedHashMap<>();
+    private final Deque<NetworkCall> calls = new ArrayDeque<>();
+    private final Map<String, Pattern> patterns = new LinkedHashMap<>();
+    private final Map<String, List<NetworkCall>> byPattern = new LinkedHashMap<>();
+    private boolean active = true;
+
+    private NetworkMonitor(WebDriver driver, DevTools devTools, int maxCalls) {
+        this.driver = new WeakReference<>(driver);
+        this.devTools = devTools;
+        this.maxCalls = maxCalls;
+    }
+
+    /**
+     * Monitor của driver, tạo và bật CDP Network domain ở lần gọi đầu.
+     *
+     * @return monitor, hoặc null nếu driver không hỗ trợ CDP
+     */
+    public static NetworkMonitor forDriver(WebDriver driver) {
+        if (driver == null || "js".equalsIgnoreCase(ConfigReader.getProperty("web.network.monitor", "cdp"))) {
+            return null;
+        }
+        synchronized (MONITORS) {
+            Optional<NetworkMonitor> existing = MONITORS.get(driver);
+            if (existing == null) {
+                existing = Optional.ofNullable(create(driver));
+                MONITORS.put(driver, existing);
+            }
+            return existing.orElse(null);
+        }
+    }
+
+    /**
+     * @return monitor đã tạo cho driver, null nếu chưa có (không tạo mới)
+     */
+    public static NetworkMonitor existing(WebDriver driver) {
+        if (driver == null) {
+            return null;
+        }
+        Optional<NetworkMonitor> existing = MONITORS.get(driver);
+        return existing != null ? existing.orElse(null) : null;
+    }
+
+    private static NetworkMonitor create(WebDriver driver) {
+        try {
+            WebDriver target = driver;
+            if (!(target instanceof HasDevTools) && target instanceof RemoteWebDriver) {
+                target = new Augmenter().augment(target);
+            }
+            if (!(target instanceof HasDevTools)) {
+                log.info("CDP not available for {}, API monitor falls back to JavaScript hooks",
+                        driver.getClass().getSimpleName());
+                return null;
+            }
+            Optional<DevTools> devTools = ((HasDevTools) target).maybeGetDevTools();
+            if (!devTools.isPresent()) {
+                log.info("DevTools session not available, API monitor falls back to JavaScript hooks");
+                return null;
+            }
+            int maxCalls = Integer.parseInt(ConfigReader.getProperty("web.network.maxCalls", "2000"));
+            NetworkMonitor monitor = new NetworkMonitor(driver, devTools.get(), Math.max(1, maxCalls));
+            monitor.enable();
+            log.info("CDP network monitor enabled (buffer: {} calls)", monitor.maxCalls);
+            return monitor;
+        } catch (RuntimeException e) {
+            log.info("Cannot start CDP network monitor ({}), falling back to JavaScript hooks", e.getMessage());
+            return null;
+        }
+    }
+
+    private void enable() {
+        devTools.createSessionIfThereIsNotOne();
+        synchronized (DISPATCHERS) {
+            Dispatcher dispatcher = DISPATCHERS.get(devTools);
+            if (dispatcher == null) {
+                dispatcher = new Dispatcher();
+                Dispatcher registered = dispatcher;
+                devTools.addListener(event("Network.requestWillBeSent"), params -> registered.dispatch(m -> m.onRequest(params)));
+                devTools.addListener(event("Network.responseReceived"), params -> registered.dispatch(m -> m.onResponse(params)));
+                devTools.addListener(event("Network.loadingFailed"), params -> registered.dispatch(m -> m.onFailure(params)));
+                DISPATCHERS.put(devTools, dispatcher);
+            }
+            dispatcher.target = new WeakReference<>(this);
+        }
+        devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+    }
+
+    private static final class Dispatcher {
+        volatile WeakReference<NetworkMonitor> target;
+
+        void dispatch(Consumer<NetworkMonitor> handler) {
+            WeakReference<NetworkMonitor> ref = target;
+            NetworkMonitor monitor = ref != null ? ref.get() : null;
+            if (monitor != null) {
+                handler.accept(monitor);
+            }
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    // === PATTERNS & BUFFER ===
+
+    /**
+     * Đăng ký pattern, xóa các call đã ghi và bật ghi nhận.
+     */
+    public synchronized void start(String... apiPatterns) {
+        patterns.clear();
+        byPattern.clear();
+        clearCalls();
+        for (String pattern : apiPatterns) {
+            patterns.put(pattern, compile(pattern));
+            byPattern.put(pattern, new ArrayList<>());
+        }
+        active = true;
+        notifyAll();
+    }
+
+    /**
+     * Bật lại ghi nhận mà không xóa buffer.
+     */
+    public synchronized void resume() {
+        active = true;
+    }
+
+    /**
+     * Tạm dừng ghi nhận; buffer và pattern được giữ nguyên.
+     */
+    public synchronized void pause() {
+        active = false;
+    }
+
+    public synchronized boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Xóa các call đã ghi, giữ pattern và trạng thái.
+     */
+    public synchronized void clear() {
+        clearCalls();
+    }
+
+    private void clearCalls() {
+        calls.clear();
+        byRequestId.clear();
+        byPattern.values().forEach(List::clear);
+    }
+
+    /**
+     * Tắt CDP Network domain, ngắt listener của monitor và xóa monitor khỏi driver.
+     * Listener khác trên cùng DevTools session không bị ảnh hưởng.
+     */
+    public void stop() {
+        synchronized (this) {
+            active = false;
+            patterns.clear();
+            byPattern.clear();
+            clearCalls();
+            notifyAll();
+        }
+        WebDriver owner = driver.get();
+        if (owner != null) {
+            MONITORS.remove(owner);
+        }
+        Dispatcher dispatcher = DISPATCHERS.get(devTools);
+        if (dispatcher != null && dispatcher.target != null && dispatcher.target.get() == this) {
+            dispatcher.target = null;
+        }
+        try {
+            devTools.send(new Command<>("Network.disable", Collections.emptyMap()));
+        } catch (RuntimeException e) {
+            log.debug("Cannot disable CDP network domain: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param apiPattern pattern đã đăng ký, hoặc null để lấy mọi call khớp một pattern bất kỳ
+     * @return bản copy các call theo thứ tự thời gian
+     */
+    public synchronized List<NetworkCall> getCalls(String apiPattern) {
+        if (apiPattern != null) {
+            List<NetworkCall> matched = byPattern.get(apiPattern);
+            return matched != null ? new ArrayList<>(matched) : new ArrayList<>();
+        }
+        List<NetworkCall> all = new ArrayList<>();
+        for (NetworkCall call : calls) {
+            if (call.getPattern() != null) {
+                all.add(call);
+            }
+        }
+        return all;
+    }
+
+    // === WAITING ===
+
+    /**
+     * Chờ call đầu tiên khớp pattern đã đăng ký và đã có response (hoặc lỗi).
+     *
+     * @return call, hoặc null nếu hết thời gian
+     */
+    public NetworkCall awaitPattern(String apiPattern, long timeoutMs) throws InterruptedException {
+        return await(call -> apiPattern.equals(call.getPattern()), true, timeoutMs);
+    }
+
+    /**
+     * Chờ call đầu tiên trong buffer thỏa điều kiện.
+     *
+     * @param filter điều kiện trên call
+     * @param requireResponse true để chỉ nhận call đã có response hoặc lỗi
+     * @param timeoutMs thời gian chờ tối đa
+     * @return call, hoặc null nếu hết thời gian
+     */
+    public synchronized NetworkCall await(Predicate<NetworkCall> filter, boolean requireResponse, long timeoutMs)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            for (NetworkCall call : calls) {
+                if ((!requireResponse || call.isCompleted()) && filter.test(call)) {
+                    return call;
+                }
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+    }
+
+    // === CDP EVENTS (chạy trên thread WebSocket của DevTools) ===
+
+    @SuppressWarnings("unchecked")
+    private synchronized void onRequest(Map<String, Object> params) {
+        if (!active) {
+            return;
+        }
+        String type = params.get("type") != null ? String.valueOf(params.get("type")) : null;
+        if (!API_TYPES.contains(type)) {
+            return;
+        }
+        String requestId = String.valueOf(params.get("requestId"));
+        NetworkCall previous = byRequestId.get(requestId);
+        if (params.get("redirectResponse") != null && previous != null) {
+            // Redirect dùng lại requestId: bỏ hop trước (status 3xx), chỉ giữ request cuối của chuỗi
+            remove(previous);
+        }
+
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        if (request == null) {
+            return;
+        }
+        NetworkCall call = new NetworkCall(requestId, String.valueOf(request.get("url")),
+                String.valueOf(request.getOrDefault("method", "GET")),
+                type, System.currentTimeMillis());
+        for (Map.Entry<String, Pattern> pattern : patterns.entrySet()) {
+            Matcher matcher = pattern.getValue().matcher(call.getUrl());
+            if (matcher.find()) {
+                call.matched(pattern.getKey(), matcher.groupCount() > 0 ? matcher.group(1) : null);
+                byPattern.get(pattern.getKey()).add(call);
+                break;
+            }
+        }
+
+        byRequestId.put(requestId, call);
+        calls.addLast(call);
+        if (calls.size() > maxCalls) {
+            evictOldest();
+        }
+        notifyAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void onResponse(Map<String, Object> params) {
+        NetworkCall call = byRequestId.get(String.valueOf(params.get("requestId")));
+        Map<String, Object> response = (Map<String, Object>) params.get("response");
+        if (call == null || response == null) {
+            return;
+        }
+        call.responded(toInt(response.get("status")), (String) response.get("statusText"),
+                (String) response.get("mimeType"));
+        notifyAll();
+    }
+
+    private synchronized void onFailure(Map<String, Object> params) {
+        NetworkCall call = byRequestId.get(String.valueOf(params.get("requestId")));
+        if (call == null) {
+            return;
+        }
+        Object errorText = params.get("errorText");
+        call.failed(Boolean.TRUE.equals(params.get("canceled")) ? "Canceled"
+                : errorText != null ? String.valueOf(errorText) : "Network error");
+        notifyAll();
+    }
+
+    private void remove(NetworkCall call) {
+        calls.remove(call);
+        byRequestId.remove(call.getRequestId(), call);
+        if (call.getPattern() != null) {
+            List<NetworkCall> list = byPattern.get(call.getPattern());
+            if (list != null) {
+                list.remove(call);
+            }
+        }
+    }
+
+    private void evictOldest() {
+        NetworkCall oldest = calls.removeFirst();
+        if (byRequestId.get(oldest.getRequestId()) == oldest) {
+            byRequestId.remove(oldest.getRequestId());
+        }
+        if (oldest.getPattern() != null) {
+            List<NetworkCall> list = byPattern.get(oldest.getPattern());
+            if (list != null && !list.isEmpty() && list.get(0) == oldest) {
+                list.remove(0);
+            }
+        }
+    }
+
+    /**
+     * "/api/download/{id}" → regex tìm trong URL, phần literal được quote, placeholder thành group.
+     */
+    static Pattern compile(String apiPattern) {
+        StringBuilder regex = new StringBuilder();
+        Matcher matcher = PLACEHOLDER.matcher(apiPattern);
+        int last = 0;
+        while (matcher.find()) {
+            regex.append(Pattern.quote(apiPattern.substring(last, matcher.start()))).append("([^/?&#]+)");
+            last = matcher.end();
+        }
+        regex.append(Pattern.quote(apiPattern.substring(last)));
+        return Pattern.compile(regex.toString());
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(String.valueOf(value));
+    }
+}
@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.MessageFormat;
 
@@ -21,9 +22,7 @@ public final class UiObjectHelper {
     // Sử dụng src/main/resources/ui_objects là một chuẩn mực tốt hơn
     // vì nó tương thích với cách Maven đóng gói tài nguyên.
 
-    private static final String OBJECT_REPO_PATH = Paths.get(
-            System.getProperty("user.dir"),
-            "src", "test", "java", "automationtest", "object").toString();
+    private static final String OBJECT_REPO_PATH = ObjectUI.getRepositoryRoot().toString();
 
     /**
      * Phương thức chính và duy nhất người dùng sẽ sử dụng.
@@ -42,6 +41,13 @@ public final class UiObjectHelper {
         return readObjectFromFile(fullPath, params);
     }
 
+    /**
+     * Thư mục gốc của kho object mà {@link #getObject} đọc (dùng cho các tool duyệt toàn bộ kho).
+     */
+    public static Path getRepositoryRoot() {
+        return ObjectUI.getRepositoryRoot();
+    }
+
     /**
      * Phương thức nội bộ để đọc và xử lý file.
      * Giữ nó ở private để người dùng không gọi trực tiếp.
@@ -63,6 +69,11 @@ public final class UiObjectHelper {
                 }
             }
 
+            // Biên dịch locator một lần lúc nạp; locator lỗi vẫn giữ để findElement thử locator kế tiếp
+            for (String error : uiObject.compileLocators()) {
+                log.warn("Invalid locator in ObjectUI '{}' ({}): {}", uiObject.getName(), jsonPath, error);
+            }
+
             log.info("Successfully loaded ObjectUI '{}' from path: {}", uiObject.getName(), jsonPath);
             return uiObject;
 
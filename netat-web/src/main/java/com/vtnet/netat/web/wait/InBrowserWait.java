@@ -0,0 +1,228 @@
+package com.vtnet.netat.web.wait;
+
+import com.vtnet.netat.core.wait.AdaptiveWait;
+import com.vtnet.netat.driver.ConfigReader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * Chờ điều kiện ngay trong trang bằng một lệnh {@code executeAsyncScript}: điều kiện được dịch thành predicate JS,
+ * kiểm tra lại mỗi khi DOM thay đổi (MutationObserver) và theo một interval ngắn trong trang,
+ * rồi resolve ngay khi thỏa hoặc khi hết thời gian.
+ *
+ * <p>Mỗi lần chờ chỉ tốn một round trip WebDriver bất kể chờ bao lâu, và phản ứng nhanh hơn mọi polling interval.
+ * Khi không dùng được (element bị thay thế, trang điều hướng, CSP chặn {@code new Function}, driver không hỗ trợ
+ * async script...), phần thời gian còn lại được chờ bằng {@link AdaptiveWait} với điều kiện phía client.
+ *
+ * <p>Configuration keys:
+ * <ul>
+ *   <li>{@code smart.wait.inBrowser.enabled} - bật chờ trong trang (default: true)</li>
+ * </ul>
+ */
+public final class InBrowserWait {
+
+    private static final Logger log = LoggerFactory.getLogger(InBrowserWait.class);
+
+    /** Thời gian dư cho script timeout của driver so với timeout của điều kiện */
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 2000;
+
+    /** Script timeout mặc định theo W3C; framework không đổi giá trị này ở nơi khác */
+    private static final Duration DEFAULT_SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Script timeout đã đặt cho từng session, để không phải hỏi driver (thêm round trip) trước mỗi lần chờ.
+     * Chỉ tăng, không hạ lại: script timeout chỉ là giới hạn trên cho async script.
+     */
+    private static final Map<WebDriver, Duration> SCRIPT_TIMEOUTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Điều kiện hỗ trợ. Text đọc như {@code getText} của keyword (value với input/textarea/select,
+     * innerText, rồi textContent); attribute đọc như {@code WebElement.getAttribute} (property boolean và value).
+     */
+    public enum Condition {
+        TEXT_CONTAINS,
+        TEXT_NOT_CONTAINS,
+        TEXT_IS,
+        TEXT_IS_NOT,
+        ATTRIBUTE_IS,
+        ATTRIBUTE_IS_NOT,
+        ATTRIBUTE_CONTAINS,
+        ATTRIBUTE_NOT_CONTAINS,
+        SCRIPT_RETURNS,
+        SCRIPT_NOT_RETURNS;
+
+        boolean isScript() {
+            return this == SCRIPT_RETURNS || this == SCRIPT_NOT_RETURNS;
+        }
+    }
+
+    private static final String SCRIPT =
+            "var el=arguments[0],mode=arguments[1],name=arguments[2],exp=arguments[3],body=arguments[4],ms=arguments[5]," +
+            "done=arguments[arguments.length-1];" +
+            "var fn=null;if(body!==null){try{fn=new Function(body);}catch(x){done({error:'compile: '+x});return;}}" +
+            "var last=null,fin=false,obs=null,iv=null,to=null;" +
+            "function text(){var t=el.tagName.toLowerCase();" +
+            "if((t==='input'||t==='textarea'||t==='select')&&el.value)return el.value;" +
+            "var s=el.innerText;if(s==null||!s.trim())s=el.textContent||'';return s.trim();}" +
+            // Như atom getAttribute của WebDriver: href/src đã resolve, attribute boolean, property trước attribute
+            "var BOOL=['allowfullscreen','allowpaymentrequest','allowusermedia','async','autofocus','autoplay','checked'," +
+            "'compact','complete','controls','declare','default','defaultchecked','defaultselected','defer','disabled'," +
+            "'ended','formnovalidate','hidden','indeterminate','iscontenteditable','ismap','itemscope','loop','multiple'," +
+            "'muted','nohref','nomodule','noresize','noshade','novalidate','nowrap','open','paused','playsinline','pubdate'," +
+            "'readonly','required','reversed','scoped','seamless','seeking','selected','truespeed','typemustmatch','willvalidate'];" +
+            "function attr(){var n=name.toLowerCase(),t=el.tagName.toLowerCase();" +
+            "if(n==='style')return el.getAttribute('style');" +
+            "if((n==='selected'||n==='checked')&&(t==='option'||t==='input'))return el[n]?'true':null;" +
+            "if(((t==='a'||t==='link')&&n==='href')||(t==='img'&&n==='src')){var u=el[n];" +
+            "return typeof u==='string'&&u!==''?u:el.getAttribute(n);}" +
+            "var prop={'class':'className','readonly':'readOnly'}[n]||name;" +
+            "if(BOOL.indexOf(n)>=0)return el.hasAttribute(name)||el[prop]===true?'true':null;" +
+            "var p;try{p=el[prop];}catch(x){}" +
+            "if(p==null||typeof p==='object'||typeof p==='function')p=el.getAttribute(name);" +
+            "return p==null?null:String(p);}" +
+            // executeScript trả undefined về Java là null
+            "function eq(a,b){if(a===undefined)a=null;return a===b||(typeof a==='number'&&typeof b==='number'&&a==b);}" +
+            "function test(){if(el&&!el.isConnected)return 'stale';switch(mode){" +
+            "case 'TEXT_CONTAINS':last=text();return last.indexOf(exp)>=0;" +
+            "case 'TEXT_NOT_CONTAINS':last=text();return last.indexOf(exp)<0;" +
+            "case 'TEXT_IS':last=text();return last===exp;" +
+            "case 'TEXT_IS_NOT':last=text();return last!==exp;" +
+            "case 'ATTRIBUTE_IS':last=attr();return last===exp||window.getComputedStyle(el).getPropertyValue(name)===exp;" +
+            "case 'ATTRIBUTE_IS_NOT':last=attr();return last!==exp;" +
+            "case 'ATTRIBUTE_CONTAINS':last=attr();return last!=null&&last.indexOf(exp)>=0;" +
+            "case 'ATTRIBUTE_NOT_CONTAINS':last=attr();return last==null||last.indexOf(exp)<0;" +
+            "case 'SCRIPT_RETURNS':last=fn();if(last===undefined)last=null;return eq(last,exp);" +
+            "case 'SCRIPT_NOT_RETURNS':last=fn();if(last===undefined)last=null;return !eq(last,exp);}return false;}" +
+            "function finish(r){if(fin)return;fin=true;if(obs)obs.disconnect();clearInterval(iv);clearTimeout(to);" +
+            "r.value=last==null?null:String(last);done(r);}" +
+            "function check(){var r;try{r=test();}catch(x){r=false;}" +
+            "if(r==='stale')finish({stale:true});else if(r)finish({ok:true});}" +
+            "check();if(fin)return;" +
+            "if(el&&window.MutationObserver){obs=new MutationObserver(check);" +
+            "obs.observe(el,{subtree:true,childList:true,characterData:true,attributes:true});}" +
+            "iv=setInterval(check,el?100:50);" +
+            "to=setTimeout(function(){finish({ok:false});},ms);";
+
+    private InBrowserWait() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("smart.wait.inBrowser.enabled", "true"));
+    }
+
+    /**
+     * Chờ điều kiện trên text/attribute của element
+     *
+     * @param attribute tên attribute (null với điều kiện text)
+     * @param fallback điều kiện phía client, dùng cho phần thời gian còn lại khi không chờ được trong trang
+     * @throws TimeoutException khi hết thời gian mà điều kiện chưa thỏa
+     */
+    public static void untilElement(WebDriver driver, WebElement element, Condition condition, String attribute,
+                                    String expected, Duration timeout, Function<WebDriver, Boolean> fallback) {
+        if (condition.isScript()) {
+            throw new IllegalArgumentException("Use untilScript for " + condition);
+        }
+        run(driver, element, condition, attribute, expected, null, timeout, fallback);
+    }
+
+    /**
+     * Chờ script (thân hàm JS, ví dụ {@code return window.isLoading}) trả về / không trả về giá trị mong đợi
+     *
+     * @param expected String, Number, Boolean hoặc null
+     * @throws TimeoutException khi hết thời gian mà điều kiện chưa thỏa
+     */
+    public static void untilScript(WebDriver driver, String script, Object expected, boolean negate,
+                                   Duration timeout, Function<WebDriver, Boolean> fallback) {
+        Condition condition = negate ? Condition.SCRIPT_NOT_RETURNS : Condition.SCRIPT_RETURNS;
+        boolean transferable = expected == null || expected instanceof String
+                || expected instanceof Number || expected instanceof Boolean;
+        if (!transferable) {
+            pollOnClient(driver, timeout, condition, fallback);
+            return;
+        }
+        run(driver, null, condition, null, expected, script, timeout, fallback);
+    }
+
+    private static void run(WebDriver driver, WebElement element, Condition condition, String attribute,
+                            Object expected, String body, Duration timeout, Function<WebDriver, Boolean> fallback) {
+        if (!isEnabled() || !(driver instanceof JavascriptExecutor)) {
+            pollOnClient(driver, timeout, condition, fallback);
+            return;
+        }
+        long start = System.nanoTime();
+        Map<?, ?> result;
+        try {
+            result = evaluate(driver, element, condition, attribute, expected, body, timeout);
+        } catch (WebDriverException e) {
+            log.debug("In-browser wait for {} unavailable ({}), polling from client", condition, e.getClass().getSimpleName());
+            pollOnClient(driver, remaining(timeout, start), condition, fallback);
+            return;
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        if (Boolean.TRUE.equals(result.get("ok"))) {
+            log.debug("In-browser wait {} satisfied in {}ms", condition, elapsedMs);
+            return;
+        }
+        if (result.containsKey("ok")) {
+            // Kiểm tra lại một lần bằng điều kiện phía client, phòng khác biệt ngữ nghĩa giữa predicate JS và WebDriver
+            if (confirmedOnClient(driver, fallback)) {
+                log.debug("In-browser wait {} timed out but client condition holds", condition);
+                return;
+            }
+            throw new TimeoutException(String.format(
+                    "Expected condition failed: waiting for %s '%s' (tried in browser for %d ms); last value: '%s'",
+                    condition, expected, timeout.toMillis(), result.get("value")));
+        }
+        // Element bị thay thế hoặc script không biên dịch được trong trang
+        log.debug("In-browser wait for {} returned {}, polling from client", condition, result);
+        pollOnClient(driver, remaining(timeout, start), condition, fallback);
+    }
+
+    private static Map<?, ?> evaluate(WebDriver driver, WebElement element, Condition condition, String attribute,
+                                      Object expected, String body, Duration timeout) {
+        Duration required = timeout.plusMillis(SCRIPT_TIMEOUT_MARGIN_MS);
+        Duration current = SCRIPT_TIMEOUTS.getOrDefault(driver, DEFAULT_SCRIPT_TIMEOUT);
+        if (current.compareTo(required) < 0) {
+            driver.manage().timeouts().scriptTimeout(required);
+            SCRIPT_TIMEOUTS.put(driver, required);
+        }
+        Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                SCRIPT, element, condition.name(), attribute, expected, body, timeout.toMillis());
+        if (!(result instanceof Map)) {
+            throw new WebDriverException("Unexpected in-browser wait result: " + result);
+        }
+        return (Map<?, ?>) result;
+    }
+
+    private static boolean confirmedOnClient(WebDriver driver, Function<WebDriver, Boolean> fallback) {
+        try {
+            return Boolean.TRUE.equals(fallback.apply(driver));
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void pollOnClient(WebDriver driver, Duration timeout, Condition condition,
+                                     Function<WebDriver, Boolean> fallback) {
+        AdaptiveWait.on(driver, timeout)
+                .describedAs(condition.name())
+                .until(fallback);
+    }
+
+    private static Duration remaining(Duration timeout, long startNanos) {
+        long left = timeout.toNanos() - (System.nanoTime() - startNanos);
+        return Duration.ofNanos(Math.max(1_000_000, left));
+    }
+}
@@ -0,0 +1,120 @@
+package com.vtnet.netat.web.ai;
+
+import com.vtnet.netat.core.ui.ElementFingerprint;
+import org.jsoup.nodes.Element;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Healing trên cặp HTML đã lưu (trước/sau khi trang đổi) trong {@code src/test/resources/healing}:
+ * fingerprint chụp từ bản "before", healing chạy trên bản "after".
+ */
+public class HeuristicLocatorHealerTest {
+
+    private static final double DELTA = 1e-9;
+
+    private final HeuristicLocatorHealer healer = new HeuristicLocatorHealer(0.7);
+
+    @Test
+    public void healsRenamedIdAndClassByTextAndAttributes() {
+        ElementFingerprint fingerprint = fingerprintOf("login-before.html", "#btn-login-2931");
+        DomSnapshot after = fixture("login-after.html");
+
+        HeuristicLocatorHealer.Match match = healer.healConfidently(after, fingerprint).orElse(null);
+
+        assertNotNull(match, "expected a confident match");
+        assertEquals(match.getElement().id(), "btn-login-8812");
+        assertEquals(after.select(match.getLocator()).size(), 1);
+        assertEquals(after.select(match.getLocator()).first(), match.getElement());
+        assertTrue(match.getConfidence() >= 0.7, "confidence " + match.getConfidence());
+    }
+
+    @Test
+    public void siblingsSharingClassesAreToldApartByText() {
+        // Cả hai nút còn class "btn" và id cùng dạng; chỉ text và type phân biệt được nút "Đăng ký"
+        ElementFingerprint fingerprint = fingerprintOf("login-before.html", "#btn-register-2931");
+
+        Optional<HeuristicLocatorHealer.Match> match = healer.heal(fixture("login-after.html"), fingerprint);
+
+        assertTrue(match.isPresent());
+        assertEquals(match.get().getElement().id(), "btn-register-8812");
+    }
+
+    @Test
+    public void identicalCandidatesAreAmbiguous() {
+        // Hai nút "Lưu" giống hệt nhau, fingerprint không có tổ tiên/text lân cận để phân biệt
+        ElementFingerprint fingerprint = new ElementFingerprint();
+        fingerprint.setTag("button");
+        fingerprint.setClasses(Arrays.asList("btn"));
+        fingerprint.setText("Lưu");
+        DomSnapshot after = fixture("address-after.html");
+
+        Optional<HeuristicLocatorHealer.Match> match = healer.heal(after, fingerprint);
+
+        assertTrue(match.isPresent(), "heal() returns the best candidate even when ambiguous");
+        assertEquals(match.get().getConfidence(), 0.0, DELTA);
+        assertTrue(!healer.healConfidently(after, fingerprint).isPresent());
+    }
+
+    @Test
+    public void ancestorsAndNeighbourTextSeparateIdenticalButtons() {
+        ElementFingerprint fingerprint = fingerprintOf("address-before.html", "#save-shipping");
+        DomSnapshot after = fixture("address-after.html");
+
+        HeuristicLocatorHealer.Match match = healer.heal(after, fingerprint).orElse(null);
+
+        assertNotNull(match);
+        assertEquals(match.getElement().parents().select("section").first().id(), "shipping");
+        assertTrue(match.getConfidence() > 0, "confidence " + match.getConfidence());
+        assertEquals(after.select(match.getLocator()).first(), match.getElement());
+    }
+
+    @Test
+    public void confidenceIsScaledByMarginToSecondCandidate() {
+        // Cách ứng viên thứ hai từ 0.10 trở lên: giữ nguyên điểm
+        assertEquals(HeuristicLocatorHealer.confidence(0.9, 0.5), 0.9, DELTA);
+        assertEquals(HeuristicLocatorHealer.confidence(0.9, 0.8), 0.9, DELTA);
+        assertEquals(HeuristicLocatorHealer.confidence(0.8, 0.0), 0.8, DELTA);
+        // Trong margin: giảm tuyến tính theo khoảng cách
+        assertEquals(HeuristicLocatorHealer.confidence(0.9, 0.85), 0.45, DELTA);
+        assertEquals(HeuristicLocatorHealer.confidence(1.0, 0.98), 0.2, DELTA);
+        // Ngang điểm
+        assertEquals(HeuristicLocatorHealer.confidence(0.9, 0.9), 0.0, DELTA);
+    }
+
+    @Test
+    public void fingerprintFromLocatorHealsWithoutStoredFingerprint() {
+        ElementFingerprint fingerprint = HeuristicLocatorHealer.fingerprintFromLocator(
+                "xpath=//button[@id='btn-login-2931' and text()='Đăng nhập']");
+
+        Optional<HeuristicLocatorHealer.Match> match = healer.heal(fixture("login-after.html"), fingerprint);
+
+        assertTrue(match.isPresent());
+        assertEquals(match.get().getElement().id(), "btn-login-8812");
+    }
+
+    private static ElementFingerprint fingerprintOf(String fixture, String selector) {
+        Element element = fixture(fixture).select(selector).first();
+        assertNotNull(element, selector + " in " + fixture);
+        return HeuristicLocatorHealer.fingerprintOf(element);
+    }
+
+    private static DomSnapshot fixture(String name) {
+        try (InputStream in = HeuristicLocatorHealerTest.class.getResourceAsStream("/healing/" + name)) {
+            assertNotNull(in, "missing fixture " + name);
+            return DomSnapshot.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}